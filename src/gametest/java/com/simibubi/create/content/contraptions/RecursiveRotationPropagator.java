@@ -0,0 +1,99 @@
+package com.simibubi.create.content.contraptions;
+
+import com.simibubi.create.content.contraptions.base.KineticTileEntity;
+import com.simibubi.create.foundation.config.AllConfigs;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+
+/**
+ * The recursive walk {@link RotationPropagator} used before it was rewritten
+ * with an explicit stack, kept as a reference for {@link RotationPropagationTests}.
+ * Connection and speed rules are shared with the propagator.
+ */
+public class RecursiveRotationPropagator {
+
+	private static final int MAX_FLICKER_SCORE = 128;
+
+	public static void propagateNewSource(KineticTileEntity currentTE) {
+		BlockPos pos = currentTE.getBlockPos();
+		Level world = currentTE.getLevel();
+
+		for (KineticTileEntity neighbourTE : RotationPropagator.getConnectedNeighbours(currentTE)) {
+			float speedOfCurrent = currentTE.getTheoreticalSpeed();
+			float speedOfNeighbour = neighbourTE.getTheoreticalSpeed();
+			float newSpeed = RotationPropagator.getConveyedSpeed(currentTE, neighbourTE);
+			float oppositeSpeed = RotationPropagator.getConveyedSpeed(neighbourTE, currentTE);
+
+			if (newSpeed == 0 && oppositeSpeed == 0)
+				continue;
+
+			boolean incompatible =
+				Math.signum(newSpeed) != Math.signum(speedOfNeighbour) && (newSpeed != 0 && speedOfNeighbour != 0);
+
+			boolean tooFast = Math.abs(newSpeed) > AllConfigs.SERVER.kinetics.maxRotationSpeed.get()
+				|| Math.abs(oppositeSpeed) > AllConfigs.SERVER.kinetics.maxRotationSpeed.get();
+
+			boolean speedChangedTooOften = currentTE.getFlickerScore() > MAX_FLICKER_SCORE;
+			if (tooFast || speedChangedTooOften) {
+				world.destroyBlock(pos, true);
+				return;
+			}
+
+			// Opposite directions
+			if (incompatible) {
+				world.destroyBlock(pos, true);
+				return;
+
+				// Same direction: overpower the slower speed
+			} else {
+
+				// Neighbour faster, overpower the incoming tree
+				if (Math.abs(oppositeSpeed) > Math.abs(speedOfCurrent)) {
+					float prevSpeed = currentTE.getSpeed();
+					currentTE.setSource(neighbourTE.getBlockPos());
+					currentTE.setSpeed(RotationPropagator.getConveyedSpeed(neighbourTE, currentTE));
+					currentTE.onSpeedChanged(prevSpeed);
+					currentTE.sendData();
+
+					propagateNewSource(currentTE);
+					return;
+				}
+
+				// Current faster, overpower the neighbours' tree
+				if (Math.abs(newSpeed) >= Math.abs(speedOfNeighbour)) {
+
+					// Do not overpower you own network -> cycle
+					if (!currentTE.hasNetwork() || currentTE.network.equals(neighbourTE.network)) {
+						float epsilon = Math.abs(speedOfNeighbour) / 256f / 256f;
+						if (Math.abs(newSpeed) > Math.abs(speedOfNeighbour) + epsilon)
+							world.destroyBlock(pos, true);
+						continue;
+					}
+
+					if (currentTE.hasSource() && currentTE.source.equals(neighbourTE.getBlockPos()))
+						currentTE.removeSource();
+
+					float prevSpeed = neighbourTE.getSpeed();
+					neighbourTE.setSource(currentTE.getBlockPos());
+					neighbourTE.setSpeed(RotationPropagator.getConveyedSpeed(currentTE, neighbourTE));
+					neighbourTE.onSpeedChanged(prevSpeed);
+					neighbourTE.sendData();
+					propagateNewSource(neighbourTE);
+					continue;
+				}
+			}
+
+			if (neighbourTE.getTheoreticalSpeed() == newSpeed)
+				continue;
+
+			float prevSpeed = neighbourTE.getSpeed();
+			neighbourTE.setSpeed(newSpeed);
+			neighbourTE.setSource(currentTE.getBlockPos());
+			neighbourTE.onSpeedChanged(prevSpeed);
+			neighbourTE.sendData();
+			propagateNewSource(neighbourTE);
+		}
+	}
+
+}
@@ -0,0 +1,246 @@
+package com.simibubi.create.content.contraptions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.simibubi.create.AllBlocks;
+import com.simibubi.create.content.contraptions.base.DirectionalKineticBlock;
+import com.simibubi.create.content.contraptions.base.KineticTileEntity;
+import com.simibubi.create.content.contraptions.base.RotatedPillarKineticBlock;
+
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.Direction.Axis;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Builds kinetic networks, then propagates them from their source once with
+ * {@link RotationPropagator} and once with the {@link RecursiveRotationPropagator}
+ * it replaced, starting from the same cleared state. Both have to assign every
+ * member the same speed and source.<br>
+ * The missing source tests remove a block that feeds part of a network and
+ * check what the flood in {@link RotationPropagator#handleRemoved} leaves behind.
+ */
+public class RotationPropagationTests implements FabricGameTest {
+
+	private static final String EMPTY = "create_gametest:empty";
+
+	@GameTest(template = EMPTY)
+	public void shaftLine(GameTestHelper helper) {
+		BlockPos motor = new BlockPos(0, 1, 0);
+		List<BlockPos> members = new ArrayList<>();
+		placeMotor(helper, motor, Direction.EAST);
+
+		// Rows of shafts along x, joined into one line by cogs at alternating ends
+		for (int z = 0; z < 16; z += 2) {
+			for (int x = 0; x < 16; x++) {
+				BlockPos pos = new BlockPos(x, 1, z);
+				if (pos.equals(motor))
+					continue;
+				if (x == 0 || x == 15)
+					placeCog(helper, members, pos, Axis.X);
+				else
+					place(helper, members, pos, AllBlocks.SHAFT.getDefaultState(), Axis.X);
+			}
+			if (z < 14)
+				placeCog(helper, members, new BlockPos(z % 4 == 0 ? 15 : 0, 1, z + 1), Axis.X);
+		}
+		compareAfterPlacement(helper, motor, members);
+	}
+
+	@GameTest(template = EMPTY)
+	public void gearTrain(GameTestHelper helper) {
+		BlockPos motor = new BlockPos(0, 1, 0);
+		List<BlockPos> members = new ArrayList<>();
+		placeMotor(helper, motor, Direction.EAST);
+		for (int x = 1; x < 3; x++)
+			place(helper, members, new BlockPos(x, 1, 0), AllBlocks.SHAFT.getDefaultState(), Axis.X);
+		placeCog(helper, members, new BlockPos(3, 1, 0), Axis.X);
+		place(helper, members, new BlockPos(3, 2, 1), AllBlocks.LARGE_COGWHEEL.getDefaultState(), Axis.X);
+		for (int x = 4; x < 9; x++)
+			place(helper, members, new BlockPos(x, 2, 1), AllBlocks.SHAFT.getDefaultState(), Axis.X);
+		for (int y = 2; y < 6; y++)
+			placeCog(helper, members, new BlockPos(9, y, 1), Axis.X);
+		place(helper, members, new BlockPos(9, 6, 2), AllBlocks.LARGE_COGWHEEL.getDefaultState(), Axis.X);
+		place(helper, members, new BlockPos(10, 6, 3), AllBlocks.LARGE_COGWHEEL.getDefaultState(), Axis.Z);
+		compareAfterPlacement(helper, motor, members);
+	}
+
+	@GameTest(template = EMPTY)
+	public void cogGrid(GameTestHelper helper) {
+		BlockPos motor = new BlockPos(0, 1, 0);
+		List<BlockPos> members = new ArrayList<>();
+		placeMotor(helper, motor, Direction.UP);
+		for (int x = 0; x < 12; x++)
+			for (int z = 0; z < 12; z++)
+				placeCog(helper, members, new BlockPos(x, 2, z), Axis.Y);
+		compareAfterPlacement(helper, motor, members);
+	}
+
+	@GameTest(template = EMPTY)
+	public void missingSourceStopsCutOffMembers(GameTestHelper helper) {
+		BlockPos motor = new BlockPos(0, 1, 0);
+		List<BlockPos> members = new ArrayList<>();
+		placeMotor(helper, motor, Direction.UP);
+		for (int x = 0; x < 13; x++)
+			placeCog(helper, members, new BlockPos(x, 2, 0), Axis.Y);
+
+		BlockPos cut = new BlockPos(6, 2, 0);
+		helper.runAfterDelay(5, () -> {
+			Map<BlockPos, Result> before = snapshot(kineticsAt(helper, members));
+			helper.setBlock(cut, Blocks.AIR.defaultBlockState());
+
+			for (BlockPos pos : members) {
+				if (pos.equals(cut))
+					continue;
+				KineticTileEntity te = kineticAt(helper, pos);
+				if (pos.getX() < cut.getX()) {
+					Result expected = before.get(te.getBlockPos());
+					Result actual = snapshot(List.of(te)).get(te.getBlockPos());
+					if (!expected.equals(actual))
+						helper.fail("Member before the cut changed to " + actual, pos);
+					continue;
+				}
+				if (te.getTheoreticalSpeed() != 0 || te.hasSource() || te.hasNetwork())
+					helper.fail("Member after the cut kept its rotation", pos);
+			}
+			helper.succeed();
+		});
+	}
+
+	@GameTest(template = EMPTY)
+	public void missingSourceFallsBackToOtherMotor(GameTestHelper helper) {
+		BlockPos first = new BlockPos(0, 1, 0);
+		BlockPos second = new BlockPos(12, 1, 0);
+		List<BlockPos> members = new ArrayList<>();
+		placeMotor(helper, first, Direction.UP);
+		placeMotor(helper, second, Direction.UP);
+		for (int x = 0; x < 13; x++)
+			placeCog(helper, members, new BlockPos(x, 2, 0), Axis.Y);
+
+		helper.runAfterDelay(5, () -> {
+			Map<BlockPos, Result> before = snapshot(kineticsAt(helper, members));
+			helper.setBlock(first, Blocks.AIR.defaultBlockState());
+
+			KineticTileEntity remaining = kineticAt(helper, second);
+			List<KineticTileEntity> after = kineticsAt(helper, members);
+			for (KineticTileEntity te : after) {
+				BlockPos pos = helper.relativePos(te.getBlockPos());
+				if (te.getTheoreticalSpeed() != before.get(te.getBlockPos())
+					.speed())
+					helper.fail("Member changed its speed to " + te.getTheoreticalSpeed(), pos);
+				if (!remaining.network.equals(te.network))
+					helper.fail("Member is not on the remaining motor's network", pos);
+				if (!leadsTo(helper, te, remaining.getBlockPos(), members.size() + 1))
+					helper.fail("Member's sources do not lead to the remaining motor", pos);
+			}
+			helper.succeed();
+		});
+	}
+
+	private static void placeMotor(GameTestHelper helper, BlockPos pos, Direction facing) {
+		helper.setBlock(pos, AllBlocks.CREATIVE_MOTOR.getDefaultState()
+			.setValue(DirectionalKineticBlock.FACING, facing));
+	}
+
+	private static void placeCog(GameTestHelper helper, List<BlockPos> members, BlockPos pos, Axis axis) {
+		place(helper, members, pos, AllBlocks.COGWHEEL.getDefaultState(), axis);
+	}
+
+	private static void place(GameTestHelper helper, List<BlockPos> members, BlockPos pos, BlockState state,
+		Axis axis) {
+		helper.setBlock(pos, state.setValue(RotatedPillarKineticBlock.AXIS, axis));
+		members.add(pos);
+	}
+
+	/**
+	 * Waits for the network to settle, as the motor attaches on its first tick,
+	 * then compares both propagators.
+	 */
+	private static void compareAfterPlacement(GameTestHelper helper, BlockPos motorPos, List<BlockPos> memberPositions) {
+		helper.runAfterDelay(5, () -> {
+			KineticTileEntity motor = kineticAt(helper, motorPos);
+			List<KineticTileEntity> members = kineticsAt(helper, memberPositions);
+
+			clear(helper, members);
+			RotationPropagator.handleAdded(helper.getLevel(), motor.getBlockPos(), motor);
+			Map<BlockPos, Result> iterative = snapshot(members);
+
+			clear(helper, members);
+			RecursiveRotationPropagator.propagateNewSource(motor);
+			Map<BlockPos, Result> recursive = snapshot(members);
+
+			for (KineticTileEntity te : members) {
+				BlockPos pos = te.getBlockPos();
+				Result expected = recursive.get(pos);
+				Result actual = iterative.get(pos);
+				if (expected.speed() == 0)
+					helper.fail("Member was not reached by the recursive walk", helper.relativePos(pos));
+				if (!expected.equals(actual))
+					helper.fail("Expected " + expected + " but propagated " + actual, helper.relativePos(pos));
+			}
+			helper.succeed();
+		});
+	}
+
+	private static KineticTileEntity kineticAt(GameTestHelper helper, BlockPos pos) {
+		BlockEntity te = helper.getBlockEntity(pos);
+		if (!(te instanceof KineticTileEntity kte)) {
+			helper.fail("Missing kinetic tile entity", pos);
+			return null;
+		}
+		return kte;
+	}
+
+	private static List<KineticTileEntity> kineticsAt(GameTestHelper helper, List<BlockPos> positions) {
+		List<KineticTileEntity> members = new ArrayList<>();
+		for (BlockPos pos : positions)
+			members.add(kineticAt(helper, pos));
+		return members;
+	}
+
+	/**
+	 * Follows the source of each member, which has to end at the given position
+	 * within a bounded number of steps.
+	 */
+	private static boolean leadsTo(GameTestHelper helper, KineticTileEntity te, BlockPos target, int maxSteps) {
+		for (int i = 0; i < maxSteps; i++) {
+			if (te.getBlockPos()
+				.equals(target))
+				return true;
+			if (!te.hasSource())
+				return false;
+			if (!(helper.getLevel()
+				.getBlockEntity(te.source) instanceof KineticTileEntity next))
+				return false;
+			te = next;
+		}
+		return false;
+	}
+
+	private static void clear(GameTestHelper helper, List<KineticTileEntity> members) {
+		for (KineticTileEntity te : members)
+			te.removeSource();
+		for (KineticTileEntity te : members)
+			if (te.getTheoreticalSpeed() != 0 || te.hasNetwork())
+				helper.fail("Member kept its rotation after clearing", helper.relativePos(te.getBlockPos()));
+	}
+
+	private static Map<BlockPos, Result> snapshot(List<KineticTileEntity> members) {
+		Map<BlockPos, Result> results = new HashMap<>();
+		for (KineticTileEntity te : members)
+			results.put(te.getBlockPos(), new Result(te.getTheoreticalSpeed(), te.source, te.network));
+		return results;
+	}
+
+	private record Result(float speed, BlockPos source, Long network) {
+	}
+
+}
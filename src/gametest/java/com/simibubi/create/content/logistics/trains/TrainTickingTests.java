@@ -0,0 +1,154 @@
+package com.simibubi.create.content.logistics.trains;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.simibubi.create.AllBlocks;
+import com.simibubi.create.content.logistics.trains.entity.Carriage;
+import com.simibubi.create.content.logistics.trains.entity.CarriageBogey;
+import com.simibubi.create.content.logistics.trains.entity.Train;
+import com.simibubi.create.content.logistics.trains.entity.TravellingPoint;
+import com.simibubi.create.foundation.config.AllConfigs;
+import com.simibubi.create.foundation.utility.Couple;
+
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Lays out the same trains on several separate graphs twice, then ticks one
+ * copy serially and the other with parallel train ticking. Every train has to
+ * end up at the same place, with the same speed and state.<br>
+ * The tracks lie in unloaded chunks, so carriages never try to spawn their
+ * entities and only the train logic itself is compared.
+ */
+public class TrainTickingTests implements FabricGameTest {
+
+	private static final String EMPTY = "create_gametest:empty";
+
+	private static final int GRAPHS = 6;
+	private static final int SEGMENTS = 8;
+	private static final int SEGMENT_LENGTH = 16;
+	private static final int TICKS = 80;
+	private static final Vec3 ORIGIN = new Vec3(1_000_000, 64, 1_000_000);
+
+	@GameTest(template = EMPTY)
+	public void parallelTickMatchesSerial(GameTestHelper helper) {
+		ServerLevel level = helper.getLevel();
+		List<Train> serial = tick(level, false);
+		List<Train> parallel = tick(level, true);
+
+		for (int i = 0; i < serial.size(); i++) {
+			Train expected = serial.get(i);
+			Train actual = parallel.get(i);
+			if (expected.speed != actual.speed)
+				helper.fail("Train " + i + " has speed " + actual.speed + " instead of " + expected.speed);
+			if (expected.derailed != actual.derailed || expected.invalid != actual.invalid)
+				helper.fail("Train " + i + " ended up in a different state");
+			List<TravellingPoint> expectedPoints = points(expected);
+			List<TravellingPoint> actualPoints = points(actual);
+			for (int j = 0; j < expectedPoints.size(); j++)
+				if (!samePlace(expectedPoints.get(j), actualPoints.get(j)))
+					helper.fail("Train " + i + " moved point " + j + " somewhere else");
+		}
+		helper.succeed();
+	}
+
+	private static List<Train> tick(ServerLevel level, boolean parallel) {
+		GlobalRailwayManager railways = new GlobalRailwayManager();
+		List<Train> trains = new ArrayList<>();
+		for (int g = 0; g < GRAPHS; g++) {
+			Track track = straightTrack(level, ORIGIN.add(0, 0, g * 8));
+			railways.putGraph(track.graph());
+			// One train runs into the end of the track, the other one backs away
+			trains.add(train(track, 100 + g, 1.2));
+			trains.add(train(track, 40 + g * 3, -0.6 - g * 0.05));
+		}
+		trains.forEach(railways::addTrain);
+
+		boolean wasParallel = AllConfigs.SERVER.trains.parallelTrainTicking.get();
+		AllConfigs.SERVER.trains.parallelTrainTicking.set(parallel);
+		try {
+			for (int i = 0; i < TICKS; i++)
+				railways.tick(level);
+		} finally {
+			AllConfigs.SERVER.trains.parallelTrainTicking.set(wasParallel);
+		}
+		return trains;
+	}
+
+	private static Track straightTrack(ServerLevel level, Vec3 start) {
+		TrackGraph graph = new TrackGraph();
+		List<TrackNode> nodes = new ArrayList<>();
+		for (int i = 0; i <= SEGMENTS; i++) {
+			TrackNodeLocation location = new TrackNodeLocation(start.add(i * SEGMENT_LENGTH, 0, 0)).in(level);
+			TrackNode node = new TrackNode(location, TrackGraph.nextNodeId(), new Vec3(0, 1, 0));
+			graph.addNode(node);
+			nodes.add(node);
+		}
+		for (int i = 0; i < SEGMENTS; i++) {
+			TrackNode node1 = nodes.get(i);
+			TrackNode node2 = nodes.get(i + 1);
+			graph.putConnection(node1, node2, new TrackEdge(node1, node2, null));
+			graph.putConnection(node2, node1, new TrackEdge(node2, node1, null));
+		}
+		return new Track(graph, nodes);
+	}
+
+	private static Train train(Track track, double front, double speed) {
+		List<Carriage> carriages = new ArrayList<>();
+		List<Integer> spacing = new ArrayList<>();
+		double x = front;
+		for (int i = 0; i < 3; i++) {
+			if (i > 0) {
+				spacing.add(5);
+				x -= 5;
+			}
+			CarriageBogey bogey =
+				new CarriageBogey(AllBlocks.SMALL_BOGEY.get(), pointAt(track, x), pointAt(track, x - 2));
+			carriages.add(new Carriage(bogey, null, 0));
+			x -= 2;
+		}
+
+		Train train = new Train(UUID.randomUUID(), null, track.graph(), carriages, spacing, false);
+		train.speed = speed;
+		return train;
+	}
+
+	private static TravellingPoint pointAt(Track track, double x) {
+		int segment = (int) (x / SEGMENT_LENGTH);
+		TrackNode node1 = track.nodes()
+			.get(segment);
+		TrackNode node2 = track.nodes()
+			.get(segment + 1);
+		TrackEdge edge = track.graph()
+			.getConnection(Couple.create(node1, node2));
+		return new TravellingPoint(node1, node2, edge, x - segment * SEGMENT_LENGTH);
+	}
+
+	private static List<TravellingPoint> points(Train train) {
+		List<TravellingPoint> points = new ArrayList<>();
+		for (Carriage carriage : train.carriages) {
+			points.add(carriage.getLeadingPoint());
+			points.add(carriage.getTrailingPoint());
+		}
+		return points;
+	}
+
+	private static boolean samePlace(TravellingPoint a, TravellingPoint b) {
+		if (a.edge == null || b.edge == null)
+			return a.edge == b.edge;
+		return a.node1.getLocation()
+			.equals(b.node1.getLocation())
+			&& a.node2.getLocation()
+				.equals(b.node2.getLocation())
+			&& a.position == b.position;
+	}
+
+	private record Track(TrackGraph graph, List<TrackNode> nodes) {
+	}
+
+}
@@ -0,0 +1,217 @@
+package com.simibubi.create.content.contraptions.fluids;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.simibubi.create.TestBootstrap;
+import com.simibubi.create.content.contraptions.fluids.PipeConnection.Flow;
+import com.simibubi.create.foundation.tileEntity.SmartTileEntity;
+import com.simibubi.create.foundation.utility.BlockFace;
+import com.simibubi.create.foundation.utility.Couple;
+import com.simibubi.create.foundation.utility.Iterate;
+
+import io.github.fabricators_of_create.porting_lib.util.FluidStack;
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidConstants;
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleVariantStorage;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.Fluids;
+
+/**
+ * A fluid network fed by a pump below a generated tree of pipe segments. Each
+ * segment branches off a random earlier one, and segments without a branch of
+ * their own end in a tank. Every connection already carries a complete flow,
+ * like pipes that were pumped full.
+ * <ul>
+ * <li>compile resets the network and ticks it until it compiled its pipes into
+ * junctions and tanks, which happens whenever a pipe along the network
+ * changes</li>
+ * <li>compiledTick is one tick of a compiled network, which is what pumps run
+ * on most ticks. It only visits the tanks, however long the pipes are</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FluidNetworkBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	int segments;
+
+	private FluidNetwork network;
+	private FluidStack fluid;
+	private long gameTime;
+
+	@Setup
+	public void setUp() {
+		TestBootstrap.bootstrap();
+		Random random = new Random(24);
+		fluid = new FluidStack(Fluids.WATER, FluidConstants.BUCKET);
+
+		// Segments grow off a random earlier segment, towards a free neighbour
+		Map<BlockPos, Direction> towardsParent = new HashMap<>();
+		Map<BlockPos, List<Direction>> branches = new HashMap<>();
+		List<BlockPos> grown = new ArrayList<>();
+		towardsParent.put(BlockPos.ZERO, Direction.DOWN);
+		branches.put(BlockPos.ZERO, new ArrayList<>());
+		grown.add(BlockPos.ZERO);
+		while (grown.size() < segments) {
+			BlockPos from = grown.get(random.nextInt(grown.size()));
+			Direction side = Iterate.directions[random.nextInt(Iterate.directions.length)];
+			BlockPos to = from.relative(side);
+			if (towardsParent.containsKey(to) || to.equals(BlockPos.ZERO.below()))
+				continue;
+			towardsParent.put(to, side.getOpposite());
+			branches.put(to, new ArrayList<>());
+			branches.get(from)
+				.add(side);
+			grown.add(to);
+		}
+
+		SingleVariantStorage<FluidVariant> pump = tank(Long.MAX_VALUE / 4);
+		SingleVariantStorage<FluidVariant> tanks = tank(0);
+		Map<BlockPos, BlockEntity> pipes = new HashMap<>();
+		int tankCount = 0;
+		for (BlockPos pos : grown) {
+			SmartTileEntity te = mock(SmartTileEntity.class, withSettings().stubOnly());
+			Pipe pipe = new Pipe(te);
+			when(te.getBehaviour(FluidTransportBehaviour.TYPE)).thenReturn(pipe);
+			pipes.put(pos, te);
+
+			Direction parentSide = towardsParent.get(pos);
+			connect(pipe, parentSide, true, new FlowSource.OtherPipe(new BlockFace(pos, parentSide)));
+			for (Direction side : branches.get(pos))
+				connect(pipe, side, false, new FlowSource.OtherPipe(new BlockFace(pos, side)));
+			if (!branches.get(pos)
+				.isEmpty())
+				continue;
+			connect(pipe, parentSide.getOpposite(), false, new Tank(new BlockFace(pos, parentSide.getOpposite()), tanks));
+			tankCount++;
+		}
+
+		Level level = mock(Level.class, withSettings().stubOnly());
+		when(level.isLoaded(any(BlockPos.class))).thenReturn(true);
+		when(level.getBlockEntity(any(BlockPos.class))).thenAnswer(i -> pipes.get(i.getArgument(0)));
+		when(level.getGameTime()).thenAnswer(i -> gameTime);
+		network = new FluidNetwork(level, new BlockFace(BlockPos.ZERO, Direction.DOWN), () -> pump);
+
+		int found = compile();
+		if (found != tankCount)
+			throw new IllegalStateException("The network found " + found + " of " + tankCount + " tanks");
+	}
+
+	@Benchmark
+	public int compile() {
+		network.reset();
+		while (network.graph == null)
+			tick();
+		return network.graph.endpoints.size();
+	}
+
+	@Benchmark
+	public int compiledTick() {
+		tick();
+		return network.transferSpeed;
+	}
+
+	private void tick() {
+		gameTime++;
+		network.tick();
+	}
+
+	private void connect(FluidTransportBehaviour pipe, Direction side, boolean inbound, FlowSource source) {
+		PipeConnection connection = new PipeConnection(side);
+		connection.pressure = inbound ? Couple.create(16f, 0f) : Couple.create(0f, 16f);
+		connection.source = Optional.of(source);
+		Flow flow = connection.new Flow(inbound, fluid);
+		flow.complete = true;
+		connection.flow = Optional.of(flow);
+		pipe.interfaces.put(side, connection);
+	}
+
+	private static SingleVariantStorage<FluidVariant> tank(long amount) {
+		SingleVariantStorage<FluidVariant> tank = new SingleVariantStorage<>() {
+
+			@Override
+			protected FluidVariant getBlankVariant() {
+				return FluidVariant.blank();
+			}
+
+			@Override
+			protected long getCapacity(FluidVariant variant) {
+				return Long.MAX_VALUE / 2;
+			}
+
+		};
+		tank.variant = FluidVariant.of(Fluids.WATER);
+		tank.amount = amount;
+		return tank;
+	}
+
+	private static class Pipe extends FluidTransportBehaviour {
+
+		private Pipe(SmartTileEntity te) {
+			super(te);
+			interfaces = new IdentityHashMap<>();
+		}
+
+		@Override
+		public boolean canHaveFlowToward(BlockState state, Direction direction) {
+			return true;
+		}
+
+	}
+
+	private static class Tank extends FlowSource {
+
+		private final Storage<FluidVariant> handler;
+
+		private Tank(BlockFace location, Storage<FluidVariant> handler) {
+			super(location);
+			this.handler = handler;
+		}
+
+		@Override
+		public Storage<FluidVariant> provideHandler() {
+			return handler;
+		}
+
+		@Override
+		public boolean isEndpoint() {
+			return true;
+		}
+
+	}
+
+}
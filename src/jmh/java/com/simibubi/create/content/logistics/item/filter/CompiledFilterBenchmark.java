@@ -0,0 +1,136 @@
+package com.simibubi.create.content.logistics.item.filter;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.simibubi.create.TestBootstrap;
+import com.simibubi.create.content.logistics.item.filter.AttributeFilterContainer.WhitelistMode;
+import com.simibubi.create.content.logistics.item.filter.CompiledFilter.AttributeFilter;
+import com.simibubi.create.content.logistics.item.filter.CompiledFilter.ListFilter;
+import com.simibubi.create.content.logistics.item.filter.ItemAttribute.StandardTraits;
+
+import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandler;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.Level;
+
+/**
+ * One stack tested against one filter, for full list filters and for attribute
+ * filters with three attributes. The uncompiled tests read the filter's nbt on
+ * every call, like {@link FilterItem#test} did before filters were compiled.
+ * Tests cycle through 64 filters and 256 stacks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledFilterBenchmark {
+
+	private static final StandardTraits[] TRAITS = { StandardTraits.PLACEABLE, StandardTraits.CONSUMABLE,
+		StandardTraits.RENAMED, StandardTraits.DAMAGED, StandardTraits.NOT_STACKABLE, StandardTraits.EQUIPABLE };
+
+	private Level level;
+	private ItemStack[] stacks;
+
+	private CompoundTag[] listItems;
+	private ListFilter[] listFilters;
+
+	private ListTag[] attributes;
+	private WhitelistMode[] modes;
+	private AttributeFilter[] attributeFilters;
+
+	private int next;
+
+	@Setup
+	public void setUp() {
+		TestBootstrap.bootstrap();
+		level = mock(Level.class);
+		Random random = new Random(11);
+		Item[] items = { Items.STONE, Items.DIRT, Items.OAK_LOG, Items.APPLE, Items.BREAD, Items.DIAMOND_SWORD,
+			Items.IRON_HELMET, Items.PAPER, Items.DIAMOND, Items.TORCH, Items.COBBLESTONE, Items.SAND, Items.GRAVEL,
+			Items.IRON_INGOT, Items.GOLD_INGOT, Items.COAL, Items.STICK, Items.GLASS, Items.BRICK, Items.CLAY_BALL };
+
+		stacks = new ItemStack[256];
+		for (int i = 0; i < stacks.length; i++)
+			stacks[i] = new ItemStack(items[random.nextInt(items.length)]);
+
+		listItems = new CompoundTag[64];
+		listFilters = new ListFilter[64];
+		for (int i = 0; i < listFilters.length; i++) {
+			ItemStackHandler filterItems = new ItemStackHandler(18);
+			for (int slot = 0; slot < 18; slot++)
+				filterItems.setStackInSlot(slot, new ItemStack(items[random.nextInt(items.length)]));
+			listItems[i] = filterItems.serializeNBT();
+			listFilters[i] = new ListFilter(filterItems, false, false);
+		}
+
+		attributes = new ListTag[64];
+		modes = new WhitelistMode[64];
+		attributeFilters = new AttributeFilter[64];
+		for (int i = 0; i < attributeFilters.length; i++) {
+			ListTag list = new ListTag();
+			for (int a = 0; a < 3; a++) {
+				CompoundTag compound = new CompoundTag();
+				TRAITS[random.nextInt(TRAITS.length)].serializeNBT(compound);
+				compound.putBoolean("Inverted", random.nextBoolean());
+				list.add(compound);
+			}
+			WhitelistMode mode = WhitelistMode.values()[random.nextInt(WhitelistMode.values().length)];
+
+			ItemStack filter = new ItemStack(Items.PAPER);
+			filter.getOrCreateTag()
+				.putInt("WhitelistMode", mode.ordinal());
+			filter.getOrCreateTag()
+				.put("MatchedAttributes", list);
+
+			attributes[i] = list;
+			modes[i] = mode;
+			attributeFilters[i] = new AttributeFilter(filter);
+		}
+	}
+
+	@Benchmark
+	public boolean listFromNbt() {
+		int i = next++;
+		ItemStackHandler filterItems = new ItemStackHandler(18);
+		filterItems.deserializeNBT(listItems[i & 63]);
+		return CompiledFilterTest.legacyListTest(level, stacks[i & 255], filterItems, false, false);
+	}
+
+	@Benchmark
+	public boolean listCompiled() {
+		int i = next++;
+		return listFilters[i & 63].test(level, stacks[i & 255]);
+	}
+
+	@Benchmark
+	public boolean attributeFromNbt() {
+		int i = next++;
+		return CompiledFilterTest.legacyAttributeTest(level, stacks[i & 255], attributes[i & 63], modes[i & 63]);
+	}
+
+	@Benchmark
+	public boolean attributeCompiled() {
+		int i = next++;
+		return attributeFilters[i & 63].test(level, stacks[i & 255]);
+	}
+
+}
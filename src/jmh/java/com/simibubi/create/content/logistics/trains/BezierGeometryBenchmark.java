@@ -0,0 +1,55 @@
+package com.simibubi.create.content.logistics.trains;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Position and increment queries on a resolved curve, the ones trains and
+ * track placement run most. Each invocation picks the next of a fixed set of
+ * random parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BezierGeometryBenchmark {
+
+	private BezierGeometry geometry;
+	private double[] ts;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		geometry = BezierGeometry.of(BezierGeometryTest.STARTS, BezierGeometryTest.AXES, BezierGeometryTest.NORMALS);
+		Random random = new Random(18);
+		ts = new double[1024];
+		for (int i = 0; i < ts.length; i++)
+			ts[i] = random.nextDouble();
+	}
+
+	@Benchmark
+	public Vec3 getPosition() {
+		return geometry.getPosition(ts[next++ & 1023]);
+	}
+
+	@Benchmark
+	public double incrementT() {
+		return geometry.incrementT(ts[next++ & 1023], 0.25);
+	}
+
+}
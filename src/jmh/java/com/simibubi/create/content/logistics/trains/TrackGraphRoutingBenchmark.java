@@ -0,0 +1,144 @@
+package com.simibubi.create.content.logistics.trains;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.simibubi.create.content.logistics.trains.TrackGraphRouting.DistanceBounds;
+
+import it.unimi.dsi.fastutil.objects.Reference2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Reference2DoubleOpenHashMap;
+
+/**
+ * Routing on a generated network of 5,000 nodes, see
+ * {@link TrackGraphRoutingTest#syntheticNetwork}. Targets and starting nodes
+ * cycle through 64 random pairs.
+ * <ul>
+ * <li>exactTable builds the full distance table of one target, which every new
+ * destination used to cost</li>
+ * <li>landmarkTables rebuilds the landmark tables, which every layout change
+ * costs once per graph</li>
+ * <li>landmarkBound is the lookup that lets schedules skip a candidate
+ * station</li>
+ * <li>the searches stand in for Navigation.search, which needs a placed train,
+ * and expand nodes until the target is reached with and without bounds</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackGraphRoutingBenchmark {
+
+	private static final int NODES = 5000;
+
+	private TrackGraph graph;
+	private TrackGraphRouting routing;
+	private TrackNode[] starts;
+	private TrackNode[][] targets;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(5);
+		List<TrackNode> nodes = new ArrayList<>();
+		graph = TrackGraphRoutingTest.syntheticNetwork(random, NODES, nodes);
+		routing = graph.getRouting();
+
+		starts = new TrackNode[64];
+		targets = new TrackNode[64][];
+		for (int i = 0; i < starts.length; i++) {
+			starts[i] = nodes.get(random.nextInt(NODES));
+			TrackNode target = nodes.get(random.nextInt(NODES));
+			targets[i] = new TrackNode[] { target, graph.getConnectionsFrom(target)
+				.keySet()
+				.iterator()
+				.next() };
+		}
+		routing.getDistancesTo(targets[0][0], targets[0][1]);
+	}
+
+	@Benchmark
+	public Reference2DoubleMap<TrackNode> exactTable() {
+		TrackNode[] target = targets[next++ & 63];
+		return routing.computeDistances(List.of(target[0], target[1]));
+	}
+
+	@Benchmark
+	public DistanceBounds landmarkTables() {
+		TrackNode[] target = targets[next++ & 63];
+		routing.invalidateLayout();
+		return routing.getDistancesTo(target[0], target[1]);
+	}
+
+	@Benchmark
+	public double landmarkBound() {
+		int i = next++ & 63;
+		return routing.getDistancesTo(targets[i][0], targets[i][1])
+			.getBound(starts[i]);
+	}
+
+	@Benchmark
+	public double searchWithoutBounds() {
+		int i = next++ & 63;
+		return search(starts[i], targets[i], null);
+	}
+
+	@Benchmark
+	public double searchWithBounds() {
+		int i = next++ & 63;
+		return search(starts[i], targets[i], routing.getDistancesTo(targets[i][0], targets[i][1]));
+	}
+
+	private double search(TrackNode start, TrackNode[] target, DistanceBounds bounds) {
+		Reference2DoubleMap<TrackNode> settled = new Reference2DoubleOpenHashMap<>();
+		PriorityQueue<SearchEntry> frontier = new PriorityQueue<>();
+		frontier.add(new SearchEntry(start, 0, 0));
+
+		while (!frontier.isEmpty()) {
+			SearchEntry entry = frontier.poll();
+			if (settled.containsKey(entry.node))
+				continue;
+			settled.put(entry.node, entry.distance);
+			if (entry.node == target[0] || entry.node == target[1])
+				return entry.distance;
+
+			for (Map.Entry<TrackNode, TrackEdge> connection : graph.getConnectionsFrom(entry.node)
+				.entrySet()) {
+				TrackNode nextNode = connection.getKey();
+				if (settled.containsKey(nextNode))
+					continue;
+				double distance = entry.distance + connection.getValue()
+					.getLength();
+				frontier.add(new SearchEntry(nextNode, distance, bounds == null ? 0 : bounds.getBound(nextNode)));
+			}
+		}
+		return -1;
+	}
+
+	private record SearchEntry(TrackNode node, double distance, double remaining) implements Comparable<SearchEntry> {
+
+		@Override
+		public int compareTo(SearchEntry o) {
+			return Double.compare(distance + remaining, o.distance + o.remaining);
+		}
+
+	}
+
+}
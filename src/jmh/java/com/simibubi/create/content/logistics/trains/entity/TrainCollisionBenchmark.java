@@ -0,0 +1,89 @@
+package com.simibubi.create.content.logistics.trains.entity;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.simibubi.create.content.logistics.trains.entity.Train.CollisionSegment;
+
+/**
+ * One tick of collision checks, where every train tests its leading carriage
+ * against all others. Trains are spread over an area growing with their count,
+ * so the density of the network stays the same. Segments are looked up from a
+ * map on both sides, as the trains are mocks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrainCollisionBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	int trains;
+
+	private List<Train> all;
+	private Map<Train, List<CollisionSegment>> segments;
+	private TrainCollisionIndex index;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(7);
+		int area = (int) (64 * Math.sqrt(trains));
+		all = new ArrayList<>();
+		segments = new IdentityHashMap<>();
+		index = new TrainCollisionIndex();
+		for (int i = 0; i < trains; i++) {
+			Train train = TrainCollisionIndexTest.syntheticTrain(random, area);
+			all.add(train);
+			segments.put(train, train.getCollisionSegments());
+		}
+		index.rebuild(all);
+	}
+
+	@Benchmark
+	public void allPairs(Blackhole blackhole) {
+		for (Train train : all) {
+			CollisionSegment leading = segments.get(train)
+				.get(0);
+			for (Train other : all) {
+				if (other == train)
+					continue;
+				blackhole.consume(Train.findCollision(segments.get(other), leading.start(), leading.end(),
+					leading.dimension()));
+			}
+		}
+	}
+
+	@Benchmark
+	public void grid(Blackhole blackhole) {
+		for (Train train : all) {
+			CollisionSegment leading = segments.get(train)
+				.get(0);
+			for (Train other : index.getCandidates(leading.dimension(), leading.start(), leading.end())) {
+				if (other == train)
+					continue;
+				blackhole.consume(Train.findCollision(segments.get(other), leading.start(), leading.end(),
+					leading.dimension()));
+			}
+		}
+	}
+
+}
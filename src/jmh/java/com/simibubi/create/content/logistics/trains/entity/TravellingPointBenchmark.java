@@ -0,0 +1,91 @@
+package com.simibubi.create.content.logistics.trains.entity;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.simibubi.create.content.logistics.trains.TrackGraph;
+import com.simibubi.create.content.logistics.trains.TrackNode;
+import com.simibubi.create.content.logistics.trains.entity.TravellingPoint.ITrackSelector;
+
+/**
+ * One tick of a carriage, whose leading point picks junction branches in turn
+ * and whose trailing point follows it, on the junction graph of
+ * {@link TravellingPointTest}. The carriage moves back to the start once it
+ * reaches the end of the graph. The trailing point either reuses its follow
+ * selector or gets a fresh one every tick, as it did before. Run with
+ * {@code -prof gc}, gc.alloc.rate.norm is the number of bytes allocated per
+ * carriage and tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TravellingPointBenchmark {
+
+	private static final double SPEED = 1.2;
+
+	private TrackGraph graph;
+	private TrackNode[][] nodes;
+	private TravellingPoint leading;
+	private TravellingPoint trailing;
+	private ITrackSelector branches;
+	private int branch;
+
+	@Setup
+	public void setUp() {
+		nodes = new TrackNode[TravellingPointTest.LAYERS][TravellingPointTest.WIDTH];
+		graph = TravellingPointTest.junctionGraph(nodes);
+		leading = new TravellingPoint();
+		trailing = new TravellingPoint();
+		branches = (g, pair) -> pair.getSecond()
+			.get(branch++ % pair.getSecond()
+				.size());
+		reset();
+	}
+
+	@Benchmark
+	public double reusedSelector() {
+		double moved = leading.travel(graph, SPEED, branches);
+		moved += trailing.travel(graph, SPEED, trailing.follow(leading), trailing.ignoreEdgePoints(),
+			trailing.ignoreTurns(), trailing.ignorePortals());
+		if (leading.blocked || trailing.blocked)
+			reset();
+		return moved;
+	}
+
+	@Benchmark
+	public double freshSelector() {
+		double moved = leading.travel(graph, SPEED, branches);
+		moved += trailing.travel(graph, SPEED, trailing.follow(leading, null), (d, c) -> false, (d, c) -> {
+		}, $ -> false);
+		if (leading.blocked || trailing.blocked)
+			reset();
+		return moved;
+	}
+
+	private void reset() {
+		place(leading, 12);
+		place(trailing, 4);
+	}
+
+	private void place(TravellingPoint point, double position) {
+		point.node1 = nodes[0][0];
+		point.node2 = nodes[1][0];
+		point.edge = graph.getConnectionsFrom(point.node1)
+			.get(point.node2);
+		point.position = position;
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.simibubi.create.content.logistics.trains.management.edgePoint.station;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.simibubi.create.content.logistics.trains.management.schedule.destination.DestinationInstruction;
+
+/**
+ * Resolving a schedule destination on a graph with 2,000 stations, named
+ * after 40 lines with 50 stops each. Compares matching every station name
+ * against the filter regex, as schedules did before, with the
+ * {@link StationNameIndex}. Destinations cycle through 64 filters, either
+ * exact station names or names with a wildcard.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StationNameIndexBenchmark {
+
+	private static final int LINES = 40;
+	private static final int STOPS = 50;
+
+	@Param({ "exact", "wildcard" })
+	String filters;
+
+	private List<GlobalStation> stations;
+	private StationNameIndex index;
+	private String[] destinations;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		stations = new ArrayList<>();
+		for (int line = 0; line < LINES; line++) {
+			for (int stop = 0; stop < STOPS; stop++) {
+				GlobalStation station = new GlobalStation();
+				station.name = "Line " + line + " Stop " + stop;
+				stations.add(station);
+			}
+		}
+		index = new StationNameIndex();
+		index.rebuild(stations, 0);
+
+		Random random = new Random(17);
+		destinations = new String[64];
+		for (int i = 0; i < destinations.length; i++) {
+			int line = random.nextInt(LINES);
+			destinations[i] = filters.equals("exact") ? "Line " + line + " Stop " + random.nextInt(STOPS)
+				: random.nextBoolean() ? "Line " + line + " Stop *" : "* Stop " + random.nextInt(STOPS);
+		}
+	}
+
+	@Benchmark
+	public List<GlobalStation> regexScan() {
+		String regex = DestinationInstruction.getFilterForRegex(destinations[next++ & 63]);
+		List<GlobalStation> matches = new ArrayList<>();
+		for (GlobalStation station : stations)
+			if (station.name.matches(regex))
+				matches.add(station);
+		return matches;
+	}
+
+	@Benchmark
+	public List<GlobalStation> index() {
+		return index.find(destinations[next++ & 63]);
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.simibubi.create.foundation.item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.simibubi.create.TestBootstrap;
+
+import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandler;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * One insertion into the largest item vault, 3x3x9 blocks with 20 slots each,
+ * that is aborted afterwards so the vault keeps its contents. Compares the
+ * {@link CombinedStorage} vaults used before with the
+ * {@link SlotIndexedStorage}. Full vaults hold a full stack in every slot,
+ * empty vaults nothing, and mixed vaults random stacks in three out of four
+ * slots. Insertions cycle through eight items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotIndexedStorageBenchmark {
+
+	private static final int PARTS = 3 * 3 * 9;
+	private static final int SLOTS = 20;
+
+	@Param({ "full", "empty", "mixed" })
+	String contents;
+
+	private CombinedStorage<ItemVariant, ItemStackHandler> combined;
+	private SlotIndexedStorage<ItemStackHandler> indexed;
+	private ItemVariant[] inserted;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		TestBootstrap.bootstrap();
+		Random random = new Random(25);
+		Item[] items = { Items.COBBLESTONE, Items.DIRT, Items.SAND, Items.GRAVEL, Items.IRON_INGOT, Items.GOLD_INGOT,
+			Items.COAL, Items.REDSTONE, Items.DIAMOND, Items.ENDER_PEARL, Items.OAK_LOG, Items.GLASS };
+
+		List<ItemStackHandler> plainParts = new ArrayList<>();
+		List<ItemStackHandler> indexedParts = new ArrayList<>();
+		for (int part = 0; part < PARTS; part++) {
+			ItemStackHandler plainPart = new ItemStackHandler(SLOTS);
+			ItemStackHandler indexedPart = new IndexedItemStackHandler(SLOTS);
+			for (int slot = 0; slot < SLOTS; slot++) {
+				ItemStack stack = switch (contents) {
+				case "full" -> fullStack(items[random.nextInt(items.length)]);
+				case "mixed" -> random.nextInt(4) == 0 ? ItemStack.EMPTY
+					: new ItemStack(items[random.nextInt(items.length)], 1 + random.nextInt(16));
+				default -> ItemStack.EMPTY;
+				};
+				plainPart.setStackInSlot(slot, stack);
+				indexedPart.setStackInSlot(slot, stack.copy());
+			}
+			plainParts.add(plainPart);
+			indexedParts.add(indexedPart);
+		}
+		combined = new CombinedStorage<>(plainParts);
+		indexed = new SlotIndexedStorage<>(indexedParts);
+
+		inserted = new ItemVariant[8];
+		for (int i = 0; i < inserted.length; i++)
+			inserted[i] = ItemVariant.of(items[i]);
+	}
+
+	@Benchmark
+	public long combinedInsert() {
+		try (Transaction transaction = Transaction.openOuter()) {
+			return combined.insert(inserted[next++ & 7], 32, transaction);
+		}
+	}
+
+	@Benchmark
+	public long indexedInsert() {
+		try (Transaction transaction = Transaction.openOuter()) {
+			return indexed.insert(inserted[next++ & 7], 32, transaction);
+		}
+	}
+
+	private static ItemStack fullStack(Item item) {
+		return new ItemStack(item, item.getMaxStackSize());
+	}
+
+}
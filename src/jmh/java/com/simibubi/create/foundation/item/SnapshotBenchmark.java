@@ -0,0 +1,147 @@
+package com.simibubi.create.foundation.item;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.simibubi.create.TestBootstrap;
+import com.simibubi.create.content.contraptions.relays.belt.transport.TransportedItemStack;
+import com.simibubi.create.foundation.tileEntity.SyncedTileEntity;
+
+import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandler;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * One simulated insertion, a transaction that takes a snapshot and is aborted,
+ * like the ones funnels and tunnels run every tick. Belt items are snapshotted
+ * once by deep copying them, as belts did before, and once through
+ * {@link SnapshotSharedList}. Inventories compare a {@link SmartInventory}
+ * with the copying snapshots of a plain {@link ItemStackHandler}. Run with
+ * {@code -prof gc}, gc.alloc.rate.norm is the number of bytes allocated per
+ * insertion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+	@Param({ "8", "64" })
+	int items;
+
+	private CopiedBelt copiedBelt;
+	private SharedBelt sharedBelt;
+	private ItemStackHandler copiedInventory;
+	private SmartInventory sharedInventory;
+	private ItemVariant inserted;
+
+	@Setup
+	public void setUp() {
+		TestBootstrap.bootstrap();
+		copiedBelt = new CopiedBelt();
+		sharedBelt = new SharedBelt();
+		for (int i = 0; i < items; i++) {
+			TransportedItemStack transported = new TransportedItemStack(new ItemStack(Items.COBBLESTONE, 16));
+			transported.beltPosition = i * .5f;
+			copiedBelt.items.add(transported);
+			sharedBelt.items.mutable()
+				.add(transported.copy());
+		}
+
+		// One slot per belt item, half of them holding stacks
+		copiedInventory = new ItemStackHandler(items);
+		sharedInventory = new SmartInventory(items, mock(SyncedTileEntity.class));
+		for (int slot = 0; slot < items; slot += 2) {
+			copiedInventory.setStackInSlot(slot, new ItemStack(Items.IRON_INGOT, 32));
+			sharedInventory.setStackInSlot(slot, new ItemStack(Items.IRON_INGOT, 32));
+		}
+		inserted = ItemVariant.of(Items.IRON_INGOT);
+	}
+
+	@Benchmark
+	public int copiedBeltSnapshot() {
+		try (Transaction transaction = Transaction.openOuter()) {
+			copiedBelt.updateSnapshots(transaction);
+			return copiedBelt.items.size();
+		}
+	}
+
+	@Benchmark
+	public int sharedBeltSnapshot() {
+		try (Transaction transaction = Transaction.openOuter()) {
+			sharedBelt.updateSnapshots(transaction);
+			return sharedBelt.items.get()
+				.size();
+		}
+	}
+
+	@Benchmark
+	public long copiedInventoryInsert() {
+		try (Transaction transaction = Transaction.openOuter()) {
+			return copiedInventory.insert(inserted, 16, transaction);
+		}
+	}
+
+	@Benchmark
+	public long sharedInventoryInsert() {
+		try (Transaction transaction = Transaction.openOuter()) {
+			return sharedInventory.insert(inserted, 16, transaction);
+		}
+	}
+
+	private static class CopiedBelt extends SnapshotParticipant<List<TransportedItemStack>> {
+
+		private List<TransportedItemStack> items = new ArrayList<>();
+
+		@Override
+		protected List<TransportedItemStack> createSnapshot() {
+			List<TransportedItemStack> copy = new ArrayList<>(items.size());
+			items.forEach(transported -> copy.add(transported.copy()));
+			return copy;
+		}
+
+		@Override
+		protected void readSnapshot(List<TransportedItemStack> snapshot) {
+			items = snapshot;
+		}
+
+	}
+
+	private static class SharedBelt extends SnapshotParticipant<List<TransportedItemStack>> {
+
+		private final SnapshotSharedList<TransportedItemStack, List<TransportedItemStack>> items =
+			new SnapshotSharedList<>(new ArrayList<>(), ArrayList::new);
+
+		@Override
+		protected List<TransportedItemStack> createSnapshot() {
+			return items.snapshot();
+		}
+
+		@Override
+		protected void readSnapshot(List<TransportedItemStack> snapshot) {
+			items.restore(snapshot);
+		}
+
+	}
+
+}
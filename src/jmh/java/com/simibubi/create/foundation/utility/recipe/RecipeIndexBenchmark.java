@@ -0,0 +1,102 @@
+package com.simibubi.create.foundation.utility.recipe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.simibubi.create.TestBootstrap;
+
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.Container;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.SmeltingRecipe;
+
+/**
+ * Single slot lookups among 10k synthetic smelting recipes, each accepting a
+ * random registered item. Compares the linear scan of the recipe manager with
+ * scanning the indexed candidates and with the memoized lookup. Queries cycle
+ * through fewer stacks than the memo holds, like a row of fans processing the
+ * same few items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeIndexBenchmark {
+
+	private static final int RECIPES = 10_000;
+
+	private List<Recipe<?>> recipes;
+	private RecipeIndex index;
+	private Container[] queries;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		TestBootstrap.bootstrap();
+		Random random = new Random(21);
+		List<Item> items = new ArrayList<>();
+		for (Item item : Registry.ITEM)
+			if (item != Items.AIR)
+				items.add(item);
+
+		recipes = new ArrayList<>();
+		for (int i = 0; i < RECIPES; i++)
+			recipes.add(new SmeltingRecipe(new ResourceLocation("test", "smelting_" + i), "",
+				Ingredient.of(items.get(random.nextInt(items.size()))), new ItemStack(Items.STONE), 0, 200));
+		index = new RecipeIndex(recipes);
+
+		queries = new Container[64];
+		for (int i = 0; i < queries.length; i++)
+			queries[i] = new SimpleContainer(new ItemStack(items.get(random.nextInt(items.size()))));
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public Optional<Recipe<?>> linearScan() {
+		Container container = queries[next++ & 63];
+		for (Recipe<?> recipe : recipes)
+			if (((Recipe<Container>) recipe).matches(container, null))
+				return Optional.of(recipe);
+		return Optional.empty();
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public Optional<Recipe<?>> candidateScan() {
+		Container container = queries[next++ & 63];
+		for (Recipe<?> recipe : index.getCandidates(container.getItem(0)
+			.getItem()))
+			if (((Recipe<Container>) recipe).matches(container, null))
+				return Optional.of(recipe);
+		return Optional.empty();
+	}
+
+	@Benchmark
+	public Optional<Recipe<?>> memoizedFind() {
+		Container container = queries[next++ & 63];
+		return index.find(container.getItem(0), container, null);
+	}
+
+}
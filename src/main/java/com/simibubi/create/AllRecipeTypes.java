@@ -30,6 +30,7 @@ import com.simibubi.create.content.curiosities.tools.SandPaperPolishingRecipe;
 import com.simibubi.create.foundation.utility.Lang;
 import com.simibubi.create.foundation.utility.RegisteredObjects;
 import com.simibubi.create.foundation.utility.recipe.IRecipeTypeInfo;
+import com.simibubi.create.foundation.utility.recipe.RecipeFinder;
 
 import io.github.fabricators_of_create.porting_lib.util.ShapedRecipeUtil;
 import net.minecraft.core.Registry;
@@ -130,8 +131,7 @@ public enum AllRecipeTypes implements IRecipeTypeInfo {
 	}
 
 	public <C extends Container, T extends Recipe<C>> Optional<T> find(C inv, Level world) {
-		return world.getRecipeManager()
-			.getRecipeFor(getType(), inv, world);
+		return RecipeFinder.find(getType(), inv, world);
 	}
 
 	public static final Set<ResourceLocation> RECIPE_DENY_SET =
@@ -6,6 +6,7 @@ import com.simibubi.create.content.contraptions.base.KineticTileEntity;
 import com.simibubi.create.content.contraptions.base.KineticTileEntityRenderer;
 import com.simibubi.create.foundation.config.AllConfigs;
 import com.simibubi.create.foundation.utility.Color;
+import com.simibubi.create.foundation.utility.Components;
 import com.simibubi.create.foundation.utility.VecHelper;
 
 import net.minecraft.client.Minecraft;
@@ -24,6 +25,9 @@ import net.minecraft.world.phys.shapes.VoxelShape;
 
 public class KineticDebugger {
 
+	private static int recalculationTimer;
+	private static long lastRecalculations;
+
 	public static void tick() {
 		if (!isActive()) {
 			if (KineticTileEntityRenderer.rainbowMode) {
@@ -33,6 +37,8 @@ public class KineticDebugger {
 			return;
 		}
 
+		tickRecalculationCounter();
+
 		KineticTileEntity te = getSelectedTE();
 		if (te == null)
 			return;
@@ -60,6 +66,30 @@ public class KineticDebugger {
 
 	}
 
+	/**
+	 * Shows how often kinetic networks fall back to a full stress recalculation,
+	 * refreshed once a second and only while recalculations are happening.
+	 * Network totals only exist on the server, so this is limited to singleplayer.
+	 */
+	private static void tickRecalculationCounter() {
+		Minecraft mc = Minecraft.getInstance();
+		if (!mc.hasSingleplayerServer() || mc.player == null)
+			return;
+
+		if (recalculationTimer-- > 0)
+			return;
+		recalculationTimer = 20;
+
+		long recalculations = KineticNetwork.fullRecalculations.get();
+		long recalculationsPerSecond = recalculations - lastRecalculations;
+		lastRecalculations = recalculations;
+		if (recalculationsPerSecond == 0)
+			return;
+
+		mc.player.displayClientMessage(Components.literal("Network recalculations: " + recalculations + " ("
+			+ recalculationsPerSecond + "/s)"), true);
+	}
+
 	public static boolean isActive() {
 		return isF3DebugModeActive() && AllConfigs.CLIENT.rainbowDebug.get();
 	}
@@ -1,17 +1,26 @@
 package com.simibubi.create.content.contraptions;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.simibubi.create.content.contraptions.base.KineticTileEntity;
+import com.simibubi.create.foundation.config.AllConfigs;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.world.level.Level;
 
 public class KineticNetwork {
 
+	/**
+	 * Total amount of full stress recalculations performed by all networks, shown by
+	 * the {@link KineticDebugger}
+	 */
+	public static final AtomicLong fullRecalculations = new AtomicLong();
+
+	private static final int INITIAL_CAPACITY = 8;
+
 	public Long id;
 	public boolean initialized;
-	public Map<KineticTileEntity, Float> sources;
-	public Map<KineticTileEntity, Float> members;
 
 	private float currentCapacity;
 	private float currentStress;
@@ -19,9 +28,32 @@ public class KineticNetwork {
 	private float unloadedStress;
 	private int unloadedMembers;
 
+	// Running totals of the loaded members, kept up to date with deltas
+	private float presentCapacity;
+	private float presentStress;
+
+	// Loaded members, stored in parallel arrays and indexed by their packed position
+	private final Long2IntOpenHashMap slots;
+	private KineticTileEntity[] members;
+	private boolean[] sources;
+	private float[] impact;
+	private float[] capacity;
+	private float[] appliedStress;
+	private float[] appliedCapacity;
+	private int size;
+
+	private Level world;
+	private long lastRecalculation;
+
 	public KineticNetwork() {
-		sources = new HashMap<>();
-		members = new HashMap<>();
+		slots = new Long2IntOpenHashMap();
+		slots.defaultReturnValue(-1);
+		members = new KineticTileEntity[INITIAL_CAPACITY];
+		sources = new boolean[INITIAL_CAPACITY];
+		impact = new float[INITIAL_CAPACITY];
+		capacity = new float[INITIAL_CAPACITY];
+		appliedStress = new float[INITIAL_CAPACITY];
+		appliedCapacity = new float[INITIAL_CAPACITY];
 	}
 
 	public void initFromTE(float maxStress, float currentStress, int members) {
@@ -34,17 +66,18 @@ public class KineticNetwork {
 	}
 
 	public void addSilently(KineticTileEntity te, float lastCapacity, float lastStress) {
-		if (members.containsKey(te))
+		if (contains(te))
 			return;
-		if (te.isSource()) {
+		boolean source = te.isSource();
+		float addedStressCapacity = 0;
+		if (source) {
 			unloadedCapacity -= lastCapacity * getStressMultiplierForSpeed(te.getGeneratedSpeed());
-			float addedStressCapacity = te.calculateAddedStressCapacity();
-			sources.put(te, addedStressCapacity);
+			addedStressCapacity = te.calculateAddedStressCapacity();
 		}
 
 		unloadedStress -= lastStress * getStressMultiplierForSpeed(te.getTheoreticalSpeed());
 		float stressApplied = te.calculateStressApplied();
-		members.put(te, stressApplied);
+		track(te, source, addedStressCapacity, stressApplied);
 
 		unloadedMembers--;
 		if (unloadedMembers < 0)
@@ -56,48 +89,62 @@ public class KineticNetwork {
 	}
 
 	public void add(KineticTileEntity te) {
-		if (members.containsKey(te))
+		if (contains(te))
 			return;
-		if (te.isSource())
-			sources.put(te, te.calculateAddedStressCapacity());
-		members.put(te, te.calculateStressApplied());
+		boolean source = te.isSource();
+		track(te, source, source ? te.calculateAddedStressCapacity() : 0, te.calculateStressApplied());
 		updateFromNetwork(te);
 		te.networkDirty = true;
 	}
 
 	public void updateCapacityFor(KineticTileEntity te, float capacity) {
-		sources.put(te, capacity);
+		int slot = slotOf(te);
+		if (slot != -1) {
+			sources[slot] = true;
+			this.capacity[slot] = capacity;
+			account(slot);
+		}
 		updateCapacity();
 	}
 
 	public void updateStressFor(KineticTileEntity te, float stress) {
-		members.put(te, stress);
+		int slot = slotOf(te);
+		if (slot != -1) {
+			impact[slot] = stress;
+			account(slot);
+		}
 		updateStress();
 	}
 
+	/**
+	 * Re-applies the contribution of a member whose speed has changed. The network
+	 * is not synced here, the new totals are picked up by its next update.
+	 */
+	public void updateSpeedFor(KineticTileEntity te) {
+		int slot = slotOf(te);
+		if (slot != -1)
+			account(slot);
+	}
+
 	public void remove(KineticTileEntity te) {
-		if (!members.containsKey(te))
+		int slot = slotOf(te);
+		if (slot == -1)
 			return;
-		if (te.isSource())
-			sources.remove(te);
-		members.remove(te);
+		untrack(slot);
 		te.updateFromNetwork(0, 0, 0);
 
-		if (members.isEmpty()) {
+		if (size == 0) {
 			TorquePropagator.networks.get(te.getLevel())
-				.remove(this.id);
+				.remove(this.id.longValue());
 			return;
 		}
 
-		members.keySet()
-			.stream()
-			.findFirst()
-			.map(member -> member.networkDirty = true);
+		members[0].networkDirty = true;
 	}
 
 	public void sync() {
-		for (KineticTileEntity te : members.keySet())
-			updateFromNetwork(te);
+		for (int i = 0; i < size; i++)
+			updateFromNetwork(members[i]);
 	}
 
 	private void updateFromNetwork(KineticTileEntity te) {
@@ -105,6 +152,7 @@ public class KineticNetwork {
 	}
 
 	public void updateCapacity() {
+		recalculateIfDue();
 		float newMaxStress = calculateCapacity();
 		if (currentCapacity != newMaxStress) {
 			currentCapacity = newMaxStress;
@@ -113,6 +161,7 @@ public class KineticNetwork {
 	}
 
 	public void updateStress() {
+		recalculateIfDue();
 		float newStress = calculateStress();
 		if (currentStress != newStress) {
 			currentStress = newStress;
@@ -121,6 +170,7 @@ public class KineticNetwork {
 	}
 
 	public void updateNetwork() {
+		recalculateIfDue();
 		float newStress = calculateStress();
 		float newMaxStress = calculateCapacity();
 		if (currentStress != newStress || currentCapacity != newMaxStress) {
@@ -131,43 +181,148 @@ public class KineticNetwork {
 	}
 
 	public float calculateCapacity() {
-		float presentCapacity = 0;
-		for (Iterator<KineticTileEntity> iterator = sources.keySet()
-			.iterator(); iterator.hasNext();) {
-			KineticTileEntity te = iterator.next();
-			if (te.getLevel()
-				.getBlockEntity(te.getBlockPos()) != te) {
-				iterator.remove();
-				continue;
-			}
-			presentCapacity += getActualCapacityOf(te);
-		}
-		float newMaxStress = presentCapacity + unloadedCapacity;
-		return newMaxStress;
+		return presentCapacity + unloadedCapacity;
 	}
 
 	public float calculateStress() {
-		float presentStress = 0;
-		for (Iterator<KineticTileEntity> iterator = members.keySet()
-			.iterator(); iterator.hasNext();) {
-			KineticTileEntity te = iterator.next();
+		return presentStress + unloadedStress;
+	}
+
+	/**
+	 * Rebuilds the running totals from scratch, dropping members which are no
+	 * longer present in the world. Catches any drift of the incremental totals,
+	 * for instance from members in chunks that were unloaded.
+	 */
+	public void recalculate() {
+		presentCapacity = 0;
+		presentStress = 0;
+
+		for (int slot = size - 1; slot >= 0; slot--) {
+			KineticTileEntity te = members[slot];
 			if (te.getLevel()
 				.getBlockEntity(te.getBlockPos()) != te) {
-				iterator.remove();
+				appliedStress[slot] = 0;
+				appliedCapacity[slot] = 0;
+				untrack(slot);
 				continue;
 			}
-			presentStress += getActualStressOf(te);
+			appliedStress[slot] = getActualStressOf(slot);
+			appliedCapacity[slot] = getActualCapacityOf(slot);
+			presentStress += appliedStress[slot];
+			presentCapacity += appliedCapacity[slot];
+		}
+
+		if (world != null)
+			lastRecalculation = world.getGameTime();
+		fullRecalculations.incrementAndGet();
+	}
+
+	private void recalculateIfDue() {
+		if (world == null)
+			return;
+		int interval = AllConfigs.SERVER.kinetics.kineticNetworkRecalculationInterval.get();
+		if (world.getGameTime() - lastRecalculation < interval)
+			return;
+		recalculate();
+	}
+
+	private boolean contains(KineticTileEntity te) {
+		return slotOf(te) != -1;
+	}
+
+	private int slotOf(KineticTileEntity te) {
+		int slot = slots.get(te.getBlockPos()
+			.asLong());
+		if (slot == -1 || members[slot] != te)
+			return -1;
+		return slot;
+	}
+
+	private void track(KineticTileEntity te, boolean source, float addedCapacity, float stressApplied) {
+		if (world == null) {
+			world = te.getLevel();
+			if (world != null)
+				lastRecalculation = world.getGameTime();
+		}
+
+		long key = te.getBlockPos()
+			.asLong();
+		int slot = slots.get(key);
+
+		// A stale entity at the same position is replaced
+		if (slot == -1) {
+			if (size == members.length)
+				grow();
+			slot = size++;
+			slots.put(key, slot);
+			appliedStress[slot] = 0;
+			appliedCapacity[slot] = 0;
 		}
-		float newStress = presentStress + unloadedStress;
-		return newStress;
+
+		members[slot] = te;
+		sources[slot] = source;
+		capacity[slot] = addedCapacity;
+		impact[slot] = stressApplied;
+		account(slot);
+	}
+
+	private void untrack(int slot) {
+		presentStress -= appliedStress[slot];
+		presentCapacity -= appliedCapacity[slot];
+		slots.remove(members[slot].getBlockPos()
+			.asLong());
+
+		int last = --size;
+		if (slot != last) {
+			members[slot] = members[last];
+			sources[slot] = sources[last];
+			impact[slot] = impact[last];
+			capacity[slot] = capacity[last];
+			appliedStress[slot] = appliedStress[last];
+			appliedCapacity[slot] = appliedCapacity[last];
+			slots.put(members[slot].getBlockPos()
+				.asLong(), slot);
+		}
+		members[last] = null;
+	}
+
+	private void account(int slot) {
+		float stress = getActualStressOf(slot);
+		float capacity = getActualCapacityOf(slot);
+		presentStress += stress - appliedStress[slot];
+		presentCapacity += capacity - appliedCapacity[slot];
+		appliedStress[slot] = stress;
+		appliedCapacity[slot] = capacity;
+	}
+
+	private void grow() {
+		int length = members.length * 2;
+		members = Arrays.copyOf(members, length);
+		sources = Arrays.copyOf(sources, length);
+		impact = Arrays.copyOf(impact, length);
+		capacity = Arrays.copyOf(capacity, length);
+		appliedStress = Arrays.copyOf(appliedStress, length);
+		appliedCapacity = Arrays.copyOf(appliedCapacity, length);
 	}
 
 	public float getActualCapacityOf(KineticTileEntity te) {
-		return sources.get(te) * getStressMultiplierForSpeed(te.getGeneratedSpeed());
+		int slot = slotOf(te);
+		return slot == -1 ? 0 : getActualCapacityOf(slot);
 	}
 
 	public float getActualStressOf(KineticTileEntity te) {
-		return members.get(te) * getStressMultiplierForSpeed(te.getTheoreticalSpeed());
+		int slot = slotOf(te);
+		return slot == -1 ? 0 : getActualStressOf(slot);
+	}
+
+	private float getActualCapacityOf(int slot) {
+		if (!sources[slot])
+			return 0;
+		return capacity[slot] * getStressMultiplierForSpeed(members[slot].getGeneratedSpeed());
+	}
+
+	private float getActualStressOf(int slot) {
+		return impact[slot] * getStressMultiplierForSpeed(members[slot].getTheoreticalSpeed());
 	}
 
 	private static float getStressMultiplierForSpeed(float speed) {
@@ -175,7 +330,7 @@ public class KineticNetwork {
 	}
 
 	public int getSize() {
-		return unloadedMembers + members.size();
+		return unloadedMembers + size;
 	}
 
 }
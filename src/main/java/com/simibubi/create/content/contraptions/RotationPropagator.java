@@ -2,8 +2,15 @@ package com.simibubi.create.content.contraptions;
 
 import static net.minecraft.world.level.block.state.properties.BlockStateProperties.AXIS;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.simibubi.create.AllBlocks;
 import com.simibubi.create.content.contraptions.base.IRotate;
@@ -17,12 +24,18 @@ import com.simibubi.create.content.contraptions.relays.encased.EncasedBeltBlock;
 import com.simibubi.create.content.contraptions.relays.encased.SplitShaftTileEntity;
 import com.simibubi.create.content.contraptions.relays.gearbox.GearboxTileEntity;
 import com.simibubi.create.foundation.config.AllConfigs;
+import com.simibubi.create.foundation.networking.AllPackets;
+import com.simibubi.create.foundation.networking.BatchedTileEntityDataPacket;
 import com.simibubi.create.foundation.utility.Iterate;
 import io.github.fabricators_of_create.porting_lib.util.LevelUtil;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.Direction.Axis;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
@@ -33,6 +46,9 @@ public class RotationPropagator {
 
 	private static final int MAX_FLICKER_SCORE = 128;
 
+	private static final Set<KineticTileEntity> pendingSyncs = new LinkedHashSet<>();
+	private static int batchDepth;
+
 	/**
 	 * Determines the change in rotation between two attached kinetic entities. For
 	 * instance, an axis connection returns 1 while a 1-to-1 gear connection
@@ -122,7 +138,7 @@ public class RotationPropagator {
 		return 0;
 	}
 
-	private static float getConveyedSpeed(KineticTileEntity from, KineticTileEntity to) {
+	static float getConveyedSpeed(KineticTileEntity from, KineticTileEntity to) {
 		final BlockState stateFrom = from.getBlockState();
 		final BlockState stateTo = to.getBlockState();
 
@@ -216,89 +232,110 @@ public class RotationPropagator {
 
 	/**
 	 * Search for sourceless networks attached to the given entity and update them.
+	 * The subgraph is walked depth-first using an explicit stack of frames, which
+	 * visits members in the same order as a recursive walk without growing the
+	 * call stack on long shaft lines.
 	 *
-	 * @param currentTE
+	 * @param startTE
 	 */
-	private static void propagateNewSource(KineticTileEntity currentTE) {
-		BlockPos pos = currentTE.getBlockPos();
-		Level world = currentTE.getLevel();
+	private static void propagateNewSource(KineticTileEntity startTE) {
+		beginBatch();
+		try {
+			Deque<PropagationFrame> stack = new ArrayDeque<>();
+			stack.push(new PropagationFrame(startTE));
+
+			while (!stack.isEmpty()) {
+				PropagationFrame frame = stack.peek();
+				if (!frame.neighbours.hasNext()) {
+					stack.pop();
+					continue;
+				}
 
-		for (KineticTileEntity neighbourTE : getConnectedNeighbours(currentTE)) {
-			float speedOfCurrent = currentTE.getTheoreticalSpeed();
-			float speedOfNeighbour = neighbourTE.getTheoreticalSpeed();
-			float newSpeed = getConveyedSpeed(currentTE, neighbourTE);
-			float oppositeSpeed = getConveyedSpeed(neighbourTE, currentTE);
+				KineticTileEntity currentTE = frame.te;
+				KineticTileEntity neighbourTE = frame.neighbours.next();
+				BlockPos pos = currentTE.getBlockPos();
+				Level world = currentTE.getLevel();
 
-			if (newSpeed == 0 && oppositeSpeed == 0)
-				continue;
+				float speedOfCurrent = currentTE.getTheoreticalSpeed();
+				float speedOfNeighbour = neighbourTE.getTheoreticalSpeed();
+				float newSpeed = getConveyedSpeed(currentTE, neighbourTE);
+				float oppositeSpeed = getConveyedSpeed(neighbourTE, currentTE);
 
-			boolean incompatible =
-				Math.signum(newSpeed) != Math.signum(speedOfNeighbour) && (newSpeed != 0 && speedOfNeighbour != 0);
-
-			boolean tooFast = Math.abs(newSpeed) > AllConfigs.SERVER.kinetics.maxRotationSpeed.get()
-					|| Math.abs(oppositeSpeed) > AllConfigs.SERVER.kinetics.maxRotationSpeed.get();
-			// Check for both the new speed and the opposite speed, just in case
+				if (newSpeed == 0 && oppositeSpeed == 0)
+					continue;
 
-			boolean speedChangedTooOften = currentTE.getFlickerScore() > MAX_FLICKER_SCORE;
-			if (tooFast || speedChangedTooOften) {
-				world.destroyBlock(pos, true);
-				return;
-			}
+				boolean incompatible =
+					Math.signum(newSpeed) != Math.signum(speedOfNeighbour) && (newSpeed != 0 && speedOfNeighbour != 0);
 
-			// Opposite directions
-			if (incompatible) {
-				world.destroyBlock(pos, true);
-				return;
+				boolean tooFast = Math.abs(newSpeed) > AllConfigs.SERVER.kinetics.maxRotationSpeed.get()
+						|| Math.abs(oppositeSpeed) > AllConfigs.SERVER.kinetics.maxRotationSpeed.get();
+				// Check for both the new speed and the opposite speed, just in case
 
-				// Same direction: overpower the slower speed
-			} else {
+				boolean speedChangedTooOften = currentTE.getFlickerScore() > MAX_FLICKER_SCORE;
+				if (tooFast || speedChangedTooOften) {
+					stack.pop();
+					world.destroyBlock(pos, true);
+					continue;
+				}
 
-				// Neighbour faster, overpower the incoming tree
-				if (Math.abs(oppositeSpeed) > Math.abs(speedOfCurrent)) {
-					float prevSpeed = currentTE.getSpeed();
-					currentTE.setSource(neighbourTE.getBlockPos());
-					currentTE.setSpeed(getConveyedSpeed(neighbourTE, currentTE));
-					currentTE.onSpeedChanged(prevSpeed);
-					currentTE.sendData();
+				// Opposite directions
+				if (incompatible) {
+					stack.pop();
+					world.destroyBlock(pos, true);
+					continue;
 
-					propagateNewSource(currentTE);
-					return;
-				}
+					// Same direction: overpower the slower speed
+				} else {
 
-				// Current faster, overpower the neighbours' tree
-				if (Math.abs(newSpeed) >= Math.abs(speedOfNeighbour)) {
+					// Neighbour faster, overpower the incoming tree
+					if (Math.abs(oppositeSpeed) > Math.abs(speedOfCurrent)) {
+						float prevSpeed = currentTE.getSpeed();
+						currentTE.setSource(neighbourTE.getBlockPos());
+						currentTE.setSpeed(getConveyedSpeed(neighbourTE, currentTE));
+						currentTE.onSpeedChanged(prevSpeed);
+						queueSync(currentTE);
 
-					// Do not overpower you own network -> cycle
-					if (!currentTE.hasNetwork() || currentTE.network.equals(neighbourTE.network)) {
-						float epsilon = Math.abs(speedOfNeighbour) / 256f / 256f;
-						if (Math.abs(newSpeed) > Math.abs(speedOfNeighbour) + epsilon)
-							world.destroyBlock(pos, true);
+						stack.pop();
+						stack.push(new PropagationFrame(currentTE));
 						continue;
 					}
 
-					if (currentTE.hasSource() && currentTE.source.equals(neighbourTE.getBlockPos()))
-						currentTE.removeSource();
-
-					float prevSpeed = neighbourTE.getSpeed();
-					neighbourTE.setSource(currentTE.getBlockPos());
-					neighbourTE.setSpeed(getConveyedSpeed(currentTE, neighbourTE));
-					neighbourTE.onSpeedChanged(prevSpeed);
-					neighbourTE.sendData();
-					propagateNewSource(neighbourTE);
-					continue;
+					// Current faster, overpower the neighbours' tree
+					if (Math.abs(newSpeed) >= Math.abs(speedOfNeighbour)) {
+
+						// Do not overpower you own network -> cycle
+						if (!currentTE.hasNetwork() || currentTE.network.equals(neighbourTE.network)) {
+							float epsilon = Math.abs(speedOfNeighbour) / 256f / 256f;
+							if (Math.abs(newSpeed) > Math.abs(speedOfNeighbour) + epsilon)
+								world.destroyBlock(pos, true);
+							continue;
+						}
+
+						if (currentTE.hasSource() && currentTE.source.equals(neighbourTE.getBlockPos()))
+							currentTE.removeSource();
+
+						float prevSpeed = neighbourTE.getSpeed();
+						neighbourTE.setSource(currentTE.getBlockPos());
+						neighbourTE.setSpeed(getConveyedSpeed(currentTE, neighbourTE));
+						neighbourTE.onSpeedChanged(prevSpeed);
+						queueSync(neighbourTE);
+						stack.push(new PropagationFrame(neighbourTE));
+						continue;
+					}
 				}
-			}
 
-			if (neighbourTE.getTheoreticalSpeed() == newSpeed)
-				continue;
-
-			float prevSpeed = neighbourTE.getSpeed();
-			neighbourTE.setSpeed(newSpeed);
-			neighbourTE.setSource(currentTE.getBlockPos());
-			neighbourTE.onSpeedChanged(prevSpeed);
-			neighbourTE.sendData();
-			propagateNewSource(neighbourTE);
+				if (neighbourTE.getTheoreticalSpeed() == newSpeed)
+					continue;
 
+				float prevSpeed = neighbourTE.getSpeed();
+				neighbourTE.setSpeed(newSpeed);
+				neighbourTE.setSource(currentTE.getBlockPos());
+				neighbourTE.onSpeedChanged(prevSpeed);
+				queueSync(neighbourTE);
+				stack.push(new PropagationFrame(neighbourTE));
+			}
+		} finally {
+			endBatch();
 		}
 	}
 
@@ -343,20 +380,37 @@ public class RotationPropagator {
 	private static void propagateMissingSource(KineticTileEntity updateTE) {
 		final Level world = updateTE.getLevel();
 
-		List<KineticTileEntity> potentialNewSources = new LinkedList<>();
-		List<BlockPos> frontier = new LinkedList<>();
+		List<KineticTileEntity> potentialNewSources = new ArrayList<>();
+		Deque<BlockPos> frontier = new ArrayDeque<>();
 		frontier.add(updateTE.getBlockPos());
 		BlockPos missingSource = updateTE.hasSource() ? updateTE.source : null;
 
+		beginBatch();
+		try {
+			clearDependentSubnetwork(world, frontier, missingSource, potentialNewSources);
+
+			for (KineticTileEntity newSource : potentialNewSources) {
+				if (newSource.hasSource() || newSource.isSource()) {
+					propagateNewSource(newSource);
+					return;
+				}
+			}
+		} finally {
+			endBatch();
+		}
+	}
+
+	private static void clearDependentSubnetwork(Level world, Deque<BlockPos> frontier, BlockPos missingSource,
+		List<KineticTileEntity> potentialNewSources) {
 		while (!frontier.isEmpty()) {
-			final BlockPos pos = frontier.remove(0);
+			final BlockPos pos = frontier.poll();
 			BlockEntity tileEntity = world.getBlockEntity(pos);
 			if (!(tileEntity instanceof KineticTileEntity))
 				continue;
 			final KineticTileEntity currentTE = (KineticTileEntity) tileEntity;
 
 			currentTE.removeSource();
-			currentTE.sendData();
+			queueSync(currentTE);
 
 			for (KineticTileEntity neighbourTE : getConnectedNeighbours(currentTE)) {
 				if (neighbourTE.getBlockPos()
@@ -376,12 +430,76 @@ public class RotationPropagator {
 				frontier.add(neighbourTE.getBlockPos());
 			}
 		}
+	}
+
+	/**
+	 * Opens a propagation batch. Client syncs requested while a batch is open are
+	 * deferred until the outermost batch closes, so a member touched several times
+	 * during one propagation only sends its data once, and members sharing a chunk
+	 * are sent together in one packet. Batches nest, as destroying an overpowered
+	 * block re-enters the propagator through its removal.
+	 */
+	private static void beginBatch() {
+		batchDepth++;
+	}
 
-		for (KineticTileEntity newSource : potentialNewSources) {
-			if (newSource.hasSource() || newSource.isSource()) {
-				propagateNewSource(newSource);
-				return;
+	private static void endBatch() {
+		if (--batchDepth > 0)
+			return;
+		if (pendingSyncs.isEmpty())
+			return;
+		List<KineticTileEntity> toSync = new ArrayList<>(pendingSyncs);
+		pendingSyncs.clear();
+
+		Map<Level, Long2ObjectMap<List<KineticTileEntity>>> byChunk = new HashMap<>();
+		for (KineticTileEntity te : toSync) {
+			if (te.isRemoved())
+				continue;
+			if (!(te.getLevel() instanceof ServerLevel)) {
+				te.sendData();
+				continue;
 			}
+			byChunk.computeIfAbsent(te.getLevel(), $ -> new Long2ObjectLinkedOpenHashMap<>())
+				.computeIfAbsent(ChunkPos.asLong(te.getBlockPos()), $ -> new ArrayList<>())
+				.add(te);
+		}
+
+		byChunk.forEach((world, chunks) -> {
+			for (List<KineticTileEntity> members : chunks.values())
+				sendChunkSync((ServerLevel) world, members);
+		});
+	}
+
+	private static void sendChunkSync(ServerLevel world, List<KineticTileEntity> members) {
+		if (members.size() == 1) {
+			members.get(0)
+				.sendData();
+			return;
+		}
+		BlockPos pos = members.get(0)
+			.getBlockPos();
+		for (int i = 0; i < members.size(); i += BatchedTileEntityDataPacket.MAX_ENTRIES) {
+			List<KineticTileEntity> batch =
+				members.subList(i, Math.min(members.size(), i + BatchedTileEntityDataPacket.MAX_ENTRIES));
+			AllPackets.channel.sendToClientsTracking(new BatchedTileEntityDataPacket(batch), world, pos);
+		}
+	}
+
+	private static void queueSync(KineticTileEntity te) {
+		if (batchDepth > 0) {
+			pendingSyncs.add(te);
+			return;
+		}
+		te.sendData();
+	}
+
+	private static class PropagationFrame {
+		private final KineticTileEntity te;
+		private final Iterator<KineticTileEntity> neighbours;
+
+		private PropagationFrame(KineticTileEntity te) {
+			this.te = te;
+			this.neighbours = getConnectedNeighbours(te).iterator();
 		}
 	}
 
@@ -413,8 +531,8 @@ public class RotationPropagator {
 			|| from.isCustomConnection(to, stateFrom, stateTo);
 	}
 
-	private static List<KineticTileEntity> getConnectedNeighbours(KineticTileEntity te) {
-		List<KineticTileEntity> neighbours = new LinkedList<>();
+	static List<KineticTileEntity> getConnectedNeighbours(KineticTileEntity te) {
+		List<KineticTileEntity> neighbours = new ArrayList<>();
 		for (BlockPos neighbourPos : getPotentialNeighbourLocations(te)) {
 			final KineticTileEntity neighbourTE = findConnectedNeighbour(te, neighbourPos);
 			if (neighbourTE == null)
@@ -426,7 +544,7 @@ public class RotationPropagator {
 	}
 
 	private static List<BlockPos> getPotentialNeighbourLocations(KineticTileEntity te) {
-		List<BlockPos> neighbours = new LinkedList<>();
+		List<BlockPos> neighbours = new ArrayList<>();
 
 		if (!LevelUtil.isAreaLoaded(te.getLevel(), te.getBlockPos(), 1))
 			return neighbours;
@@ -7,14 +7,16 @@ import com.simibubi.create.Create;
 import com.simibubi.create.content.contraptions.base.KineticTileEntity;
 import com.simibubi.create.foundation.utility.WorldHelper;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.world.level.LevelAccessor;
 
 public class TorquePropagator {
 
-	static Map<LevelAccessor, Map<Long, KineticNetwork>> networks = new HashMap<>();
+	static Map<LevelAccessor, Long2ObjectMap<KineticNetwork>> networks = new HashMap<>();
 
 	public void onLoadWorld(LevelAccessor world) {
-		networks.put(world, new HashMap<>());
+		networks.put(world, new Long2ObjectOpenHashMap<>());
 		Create.LOGGER.debug("Prepared Kinetic Network Space for " + WorldHelper.getDimensionID(world));
 	}
 
@@ -25,18 +27,32 @@ public class TorquePropagator {
 
 	public KineticNetwork getOrCreateNetworkFor(KineticTileEntity te) {
 		Long id = te.network;
-		KineticNetwork network;
-		Map<Long, KineticNetwork> map = networks.computeIfAbsent(te.getLevel(), $ -> new HashMap<>());
+		Long2ObjectMap<KineticNetwork> map = networks.computeIfAbsent(te.getLevel(), $ -> new Long2ObjectOpenHashMap<>());
 		if (id == null)
 			return null;
 
-		if (!map.containsKey(id)) {
+		long key = id.longValue();
+		KineticNetwork network = map.get(key);
+		if (network == null) {
 			network = new KineticNetwork();
-			network.id = te.network;
-			map.put(id, network);
+			network.id = id;
+			map.put(key, network);
 		}
-		network = map.get(id);
 		return network;
 	}
 
+	/**
+	 * Looks up the network a tile entity belongs to without creating it.
+	 * Returns null if the network is gone or was never created.
+	 */
+	public KineticNetwork getNetworkFor(KineticTileEntity te) {
+		Long id = te.network;
+		if (id == null)
+			return null;
+		Long2ObjectMap<KineticNetwork> map = networks.get(te.getLevel());
+		if (map == null)
+			return null;
+		return map.get(id.longValue());
+	}
+
 }
@@ -139,8 +139,10 @@ public class KineticTileEntity extends SmartTileEntity implements IHaveGoggleInf
 		}
 
 		if (speed != 0) {
-			if (getGeneratedSpeed() == 0)
+			if (getGeneratedSpeed() == 0) {
 				speed = 0;
+				updateNetworkSpeed();
+			}
 		}
 	}
 
@@ -182,6 +184,19 @@ public class KineticTileEntity extends SmartTileEntity implements IHaveGoggleInf
 		if (fromOrToZero || directionSwap)
 			flickerTally = getFlickerScore() + 5;
 		setChanged();
+		updateNetworkSpeed();
+	}
+
+	/**
+	 * Lets the network re-apply this member's contribution to its running
+	 * stress and capacity totals after its speed changed.
+	 */
+	protected void updateNetworkSpeed() {
+		if (!hasNetwork() || level == null || level.isClientSide)
+			return;
+		KineticNetwork network = Create.TORQUE_PROPAGATOR.getNetworkFor(this);
+		if (network != null)
+			network.updateSpeedFor(this);
 	}
 
 	@Override
@@ -18,6 +18,7 @@ import com.simibubi.create.AllRecipeTypes;
 import com.simibubi.create.foundation.config.AllConfigs;
 import com.simibubi.create.foundation.utility.Iterate;
 import com.simibubi.create.foundation.utility.Pointing;
+import com.simibubi.create.foundation.utility.recipe.RecipeFinder;
 import io.github.fabricators_of_create.porting_lib.util.NBTSerializer;
 
 import net.minecraft.core.BlockPos;
@@ -146,8 +147,7 @@ public class RecipeGridHandler {
 		CraftingContainer craftinginventory = new MechanicalCraftingInventory(items);
 		ItemStack result = null;
 		if (AllConfigs.SERVER.recipes.allowRegularCraftingInCrafter.get())
-			result = world.getRecipeManager()
-				.getRecipeFor(RecipeType.CRAFTING, craftinginventory, world)
+			result = RecipeFinder.find(RecipeType.CRAFTING, craftinginventory, world)
 				.filter(r -> isRecipeAllowed(r, craftinginventory))
 				.map(r -> r.assemble(craftinginventory))
 				.orElse(null);
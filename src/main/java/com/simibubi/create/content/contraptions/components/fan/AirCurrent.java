@@ -19,6 +19,7 @@ import com.simibubi.create.foundation.utility.Iterate;
 import com.simibubi.create.foundation.utility.VecHelper;
 import io.github.fabricators_of_create.porting_lib.mixin.common.accessor.ServerGamePacketListenerImplAccessor;
 import io.github.fabricators_of_create.porting_lib.util.DamageSourceHelper;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import com.tterrag.registrate.fabric.EnvExecutor;
 
 import net.fabricmc.api.EnvType;
@@ -55,6 +56,12 @@ public class AirCurrent {
 		new ArrayList<>();
 	protected List<Entity> caughtEntities = new ArrayList<>();
 
+	// Set by AirCurrentTracker when a block this current was built from changes
+	boolean blocksChanged;
+	boolean reachedUnloaded;
+	int trackedRange;
+	LongSet trackedSections;
+
 	static boolean isClientPlayerInAirCurrent;
 
 	public AirCurrent(IAirCurrentSource source) {
@@ -135,10 +142,14 @@ public class AirCurrent {
 	}
 
 	public void rebuild() {
+		blocksChanged = false;
 		if (source.getSpeed() == 0) {
 			maxDistance = 0;
 			segments.clear();
+			affectedItemHandlers.clear();
 			bounds = new AABB(0, 0, 0, 0, 0, 0);
+			reachedUnloaded = false;
+			untrack();
 			return;
 		}
 
@@ -152,6 +163,7 @@ public class AirCurrent {
 		Direction facing = direction;
 		Vec3 directionVec = Vec3.atLowerCornerOf(facing.getNormal());
 		maxDistance = getFlowLimit(world, start, max, facing);
+		track(world, start, max);
 
 		// Determine segments with transported fluids/gases
 		AirCurrentSegment currentSegment = new AirCurrentSegment();
@@ -197,6 +209,53 @@ public class AirCurrent {
 		findAffectedHandlers();
 	}
 
+	private void track(Level world, BlockPos start, float max) {
+		trackedRange = Mth.ceil(max) + 1;
+		BlockPos end = start.relative(direction, trackedRange);
+		reachedUnloaded = !world.isLoaded(end);
+		if (world.isClientSide)
+			return;
+		BlockPos from = direction.getAxis()
+			.isHorizontal() ? start.below() : start;
+		AirCurrentTracker.track(world, this, AirCurrentTracker.sectionsOf(from, end));
+	}
+
+	public void untrack() {
+		Level world = source.getAirCurrentWorld();
+		if (world != null)
+			AirCurrentTracker.untrack(world, this);
+	}
+
+	/**
+	 * @return true if the block at this position may affect the flow limit,
+	 *         segments or handlers of this current
+	 */
+	boolean dependsOn(BlockPos pos) {
+		if (direction == null)
+			return true;
+		BlockPos start = source.getAirCurrentPos();
+		Vec3i normal = direction.getNormal();
+		int dx = pos.getX() - start.getX();
+		int dy = pos.getY() - start.getY();
+		int dz = pos.getZ() - start.getZ();
+		int along = dx * normal.getX() + dy * normal.getY() + dz * normal.getZ();
+		if (along < 0 || along > trackedRange)
+			return false;
+		if (dx != normal.getX() * along || dz != normal.getZ() * along)
+			return false;
+		int below = dy - normal.getY() * along;
+		return below == 0 || below == -1 && direction.getAxis()
+			.isHorizontal();
+	}
+
+	/**
+	 * Block changes in chunks that are not loaded yet or in levels that bypass
+	 * {@link Level#setBlock} are not seen by the tracker
+	 */
+	boolean needsPolling() {
+		return reachedUnloaded;
+	}
+
 	public static float getFlowLimit(Level world, BlockPos start, float max, Direction facing) {
 		Vec3 directionVec = Vec3.atLowerCornerOf(facing.getNormal());
 		Vec3 planeVec = VecHelper.axisAlingedPlaneOf(directionVec);
@@ -250,8 +309,9 @@ public class AirCurrent {
 
 	public void findEntities() {
 		caughtEntities.clear();
-		caughtEntities = source.getAirCurrentWorld()
-			.getEntities(null, bounds);
+		if (bounds.getSize() == 0)
+			return;
+		caughtEntities = AirCurrentTracker.getEntities(source.getAirCurrentWorld(), bounds);
 	}
 
 	public void findAffectedHandlers() {
@@ -0,0 +1,134 @@
+package com.simibubi.create.content.contraptions.components.fan;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.simibubi.create.foundation.utility.WorldAttached;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * Keeps track of the chunk sections each air current passes through, so that a
+ * block changing in its path marks it for a rebuild instead of every fan
+ * rescanning its path periodically. See {@link AirCurrent#dependsOn}<br>
+ * Also remembers the entities found in each section for the rest of the tick,
+ * so fans sharing a section only look it up once.
+ */
+public class AirCurrentTracker {
+
+	private static final WorldAttached<Long2ObjectMap<Set<AirCurrent>>> BY_SECTION =
+		new WorldAttached<>($ -> new Long2ObjectOpenHashMap<>());
+	private static final WorldAttached<EntitySections> ENTITIES = new WorldAttached<>($ -> new EntitySections());
+
+	static void track(LevelAccessor world, AirCurrent current, LongSet sections) {
+		untrack(world, current);
+		Long2ObjectMap<Set<AirCurrent>> bySection = BY_SECTION.get(world);
+		for (LongIterator iterator = sections.iterator(); iterator.hasNext();)
+			bySection.computeIfAbsent(iterator.nextLong(), $ -> Collections.newSetFromMap(new IdentityHashMap<>()))
+				.add(current);
+		current.trackedSections = sections;
+	}
+
+	static void untrack(LevelAccessor world, AirCurrent current) {
+		LongSet sections = current.trackedSections;
+		if (sections == null)
+			return;
+		current.trackedSections = null;
+		Long2ObjectMap<Set<AirCurrent>> bySection = BY_SECTION.get(world);
+		for (LongIterator iterator = sections.iterator(); iterator.hasNext();) {
+			long section = iterator.nextLong();
+			Set<AirCurrent> currents = bySection.get(section);
+			if (currents == null)
+				continue;
+			currents.remove(current);
+			if (currents.isEmpty())
+				bySection.remove(section);
+		}
+	}
+
+	static LongSet sectionsOf(BlockPos from, BlockPos to) {
+		LongSet sections = new LongOpenHashSet();
+		for (int x = SectionPos.blockToSectionCoord(Math.min(from.getX(), to.getX())); x <= SectionPos
+			.blockToSectionCoord(Math.max(from.getX(), to.getX())); x++)
+			for (int y = SectionPos.blockToSectionCoord(Math.min(from.getY(), to.getY())); y <= SectionPos
+				.blockToSectionCoord(Math.max(from.getY(), to.getY())); y++)
+				for (int z = SectionPos.blockToSectionCoord(Math.min(from.getZ(), to.getZ())); z <= SectionPos
+					.blockToSectionCoord(Math.max(from.getZ(), to.getZ())); z++)
+					sections.add(SectionPos.asLong(x, y, z));
+		return sections;
+	}
+
+	public static void onBlockChanged(Level world, BlockPos pos) {
+		// Only server currents are tracked, client levels would just add entries
+		if (world.isClientSide())
+			return;
+		Long2ObjectMap<Set<AirCurrent>> bySection = BY_SECTION.get(world);
+		if (bySection.isEmpty())
+			return;
+		Set<AirCurrent> currents = bySection.get(SectionPos.asLong(pos));
+		if (currents == null)
+			return;
+		for (AirCurrent current : currents)
+			if (current.dependsOn(pos))
+				current.blocksChanged = true;
+	}
+
+	/**
+	 * Same as {@link Level#getEntities(Entity, AABB)} without an excluded entity.
+	 * On the server, the entities of each chunk section the bounds pass through
+	 * are looked up once per tick and shared between all currents.
+	 */
+	static List<Entity> getEntities(Level world, AABB bounds) {
+		if (!(world instanceof ServerLevel))
+			return world.getEntities((Entity) null, bounds);
+
+		EntitySections sections = ENTITIES.get(world);
+		long time = world.getGameTime();
+		if (sections.time != time) {
+			sections.time = time;
+			sections.bySection.clear();
+		}
+
+		Set<Entity> found = new ReferenceLinkedOpenHashSet<>();
+		for (int x = SectionPos.posToSectionCoord(bounds.minX); x <= SectionPos.posToSectionCoord(bounds.maxX); x++)
+			for (int y = SectionPos.posToSectionCoord(bounds.minY); y <= SectionPos.posToSectionCoord(bounds.maxY); y++)
+				for (int z = SectionPos.posToSectionCoord(bounds.minZ); z <= SectionPos
+					.posToSectionCoord(bounds.maxZ); z++) {
+					List<Entity> entities = sections.bySection.computeIfAbsent(SectionPos.asLong(x, y, z),
+						section -> world.getEntities((Entity) null, sectionBounds(section)));
+					for (Entity entity : entities)
+						if (entity.getBoundingBox()
+							.intersects(bounds))
+							found.add(entity);
+				}
+		return new ArrayList<>(found);
+	}
+
+	private static AABB sectionBounds(long section) {
+		int x = SectionPos.sectionToBlockCoord(SectionPos.x(section));
+		int y = SectionPos.sectionToBlockCoord(SectionPos.y(section));
+		int z = SectionPos.sectionToBlockCoord(SectionPos.z(section));
+		return new AABB(x, y, z, x + 16, y + 16, z + 16);
+	}
+
+	private static class EntitySections {
+		long time = Long.MIN_VALUE;
+		Long2ObjectMap<List<Entity>> bySection = new Long2ObjectOpenHashMap<>();
+	}
+
+}
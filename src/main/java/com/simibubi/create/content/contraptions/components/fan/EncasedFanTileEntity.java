@@ -89,7 +89,13 @@ public class EncasedFanTileEntity extends KineticTileEntity implements IAirCurre
 		super.remove();
 		updateChute();
 	}
-	
+
+	@Override
+	public void invalidate() {
+		super.invalidate();
+		airCurrent.untrack();
+	}
+
 	@Override
 	public boolean isSourceRemoved() {
 		return remove;
@@ -129,9 +135,14 @@ public class EncasedFanTileEntity extends KineticTileEntity implements IAirCurre
 
 		if (server && airCurrentUpdateCooldown-- <= 0) {
 			airCurrentUpdateCooldown = AllConfigs.SERVER.kinetics.fanBlockCheckRate.get();
-			updateAirFlow = true;
+			// Other block changes in the current's path are picked up by AirCurrentTracker
+			if (isVirtual() || airCurrent.needsPolling())
+				updateAirFlow = true;
 		}
 
+		if (airCurrent.blocksChanged)
+			updateAirFlow = true;
+
 		if (updateAirFlow) {
 			updateAirFlow = false;
 			airCurrent.rebuild();
@@ -1,11 +1,14 @@
 package com.simibubi.create.content.contraptions.components.structureMovement;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import io.github.fabricators_of_create.porting_lib.entity.RemovalFromWorldListener;
@@ -105,6 +108,11 @@ public abstract class AbstractContraptionEntity extends Entity implements ExtraS
 	 */
 	public int staleTicks = 3;
 
+	// Blocks left out of the spawn packet, still to be sent to each player
+	private static final int BLOCK_STREAM_BATCH = 4096;
+	private final Map<ServerPlayer, BlockStream> blockStreams = new IdentityHashMap<>();
+	private int spawnPayloadSize;
+
 	public AbstractContraptionEntity(EntityType<?> entityTypeIn, Level worldIn) {
 		super(entityTypeIn, worldIn);
 		prevPosInvalid = true;
@@ -381,6 +389,8 @@ public abstract class AbstractContraptionEntity extends Entity implements ExtraS
 		if (!(level instanceof ServerLevelAccessor sl))
 			return;
 
+		tickBlockStreams();
+
 		for (Entity entity : getPassengers()) {
 			if (entity instanceof Player)
 				continue;
@@ -606,7 +616,73 @@ public abstract class AbstractContraptionEntity extends Entity implements ExtraS
 			compound = null;
 		}
 
+		int start = buffer.writerIndex();
 		buffer.writeNbt(compound);
+		spawnPayloadSize = buffer.writerIndex() - start;
+	}
+
+	@Override
+	public void startSeenByPlayer(ServerPlayer player) {
+		super.startSeenByPlayer(player);
+		if (contraption == null)
+			return;
+		Set<BlockPos> streamed = contraption.getStreamedBlocks();
+		if (!streamed.isEmpty())
+			blockStreams.put(player, new BlockStream(new ArrayList<>(streamed).iterator(), spawnPayloadSize));
+	}
+
+	@Override
+	public void stopSeenByPlayer(ServerPlayer player) {
+		super.stopSeenByPlayer(player);
+		blockStreams.remove(player);
+	}
+
+	/**
+	 * @return the bytes last sent to spawn this contraption on a client, including
+	 *         all streamed blocks
+	 */
+	public int getSpawnPayloadSize() {
+		return spawnPayloadSize;
+	}
+
+	private void tickBlockStreams() {
+		for (Iterator<Entry<ServerPlayer, BlockStream>> iterator = blockStreams.entrySet()
+			.iterator(); iterator.hasNext();) {
+			Entry<ServerPlayer, BlockStream> entry = iterator.next();
+			BlockStream stream = entry.getValue();
+
+			// Blocks are looked up now in case they changed since the spawn packet
+			List<StructureBlockInfo> batch = new ArrayList<>();
+			while (stream.remaining.hasNext() && batch.size() < BLOCK_STREAM_BATCH) {
+				StructureBlockInfo info = contraption.blocks.get(stream.remaining.next());
+				if (info != null)
+					batch.add(info);
+			}
+
+			boolean complete = !stream.remaining.hasNext();
+			ContraptionBlockStreamPacket packet = new ContraptionBlockStreamPacket(getId(), batch, complete);
+			AllPackets.channel.sendToClient(packet, entry.getKey());
+			stream.bytes += packet.getSize();
+			if (!complete)
+				continue;
+
+			spawnPayloadSize = stream.bytes;
+			Create.LOGGER.debug("Sent Contraption " + getContraption().getType().id + " @" + position() + " using "
+				+ spawnPayloadSize + " bytes");
+			iterator.remove();
+		}
+	}
+
+	private static class BlockStream {
+
+		private final Iterator<BlockPos> remaining;
+		private int bytes;
+
+		private BlockStream(Iterator<BlockPos> remaining, int bytes) {
+			this.remaining = remaining;
+			this.bytes = bytes;
+		}
+
 	}
 
 	@Override
@@ -741,6 +817,13 @@ public abstract class AbstractContraptionEntity extends Entity implements ExtraS
 			ce.handleBlockChange(packet.localPos, packet.newState);
 	}
 
+	@Environment(EnvType.CLIENT)
+	static void handleBlockStreamPacket(ContraptionBlockStreamPacket packet) {
+		if (Minecraft.getInstance().level.getEntity(packet.entityID) instanceof AbstractContraptionEntity ce
+			&& ce.contraption != null)
+			ce.contraption.addStreamedBlocks(packet.blocks, packet.complete);
+	}
+
 	@Environment(EnvType.CLIENT)
 	static void handleDisassemblyPacket(ContraptionDisassemblyPacket packet) {
 		if (Minecraft.getInstance().level.getEntity(packet.entityID) instanceof AbstractContraptionEntity ce)
@@ -759,7 +842,7 @@ public abstract class AbstractContraptionEntity extends Entity implements ExtraS
 		contraption.blocks.put(localPos, new StructureBlockInfo(info.pos, newState, info.nbt));
 		if (info.state != newState && !(newState.getBlock() instanceof SlidingDoorBlock))
 			contraption.deferInvalidate = true;
-		contraption.invalidateColliders();
+		contraption.invalidateColliders(localPos);
 	}
 
 	@Override
@@ -5,18 +5,17 @@ import static com.simibubi.create.content.contraptions.components.structureMovem
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 
 import javax.annotation.Nullable;
@@ -25,7 +24,6 @@ import com.simibubi.create.foundation.fluid.CombinedTankWrapper;
 
 import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
 import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
-import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
 
 import net.minecraft.world.level.block.DoorBlock;
 
@@ -73,6 +71,7 @@ import com.simibubi.create.content.logistics.block.redstone.RedstoneContactBlock
 import com.simibubi.create.content.logistics.block.vault.ItemVaultTileEntity;
 import com.simibubi.create.content.logistics.trains.IBogeyBlock;
 import com.simibubi.create.foundation.config.AllConfigs;
+import com.simibubi.create.foundation.item.SlotIndexedStorage;
 import com.simibubi.create.foundation.tileEntity.IMultiTileContainer;
 import com.simibubi.create.foundation.tileEntity.behaviour.filtering.FilteringBehaviour;
 import com.simibubi.create.foundation.utility.BBHelper;
@@ -125,14 +124,11 @@ import net.minecraft.world.level.material.Fluids;
 import net.minecraft.world.level.material.PushReaction;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
-import net.minecraft.world.phys.shapes.BooleanOp;
-import net.minecraft.world.phys.shapes.CollisionContext;
-import net.minecraft.world.phys.shapes.Shapes;
-import net.minecraft.world.phys.shapes.VoxelShape;
 
 public abstract class Contraption {
 
-	public Optional<List<AABB>> simplifiedEntityColliders;
+	private static final int STREAMED_BLOCKS_THRESHOLD = 4096;
+
 	public AbstractContraptionEntity entity;
 
 	public AABB bounds;
@@ -154,7 +150,7 @@ public abstract class Contraption {
 	private Map<BlockPos, Entity> initialPassengers;
 	private List<BlockFace> pendingSubContraptions;
 
-	private CompletableFuture<Void> simplifiedEntityColliderProvider;
+	private ContraptionColliderSections simplifiedEntityColliders;
 
 	// Client
 	public Map<BlockPos, BlockEntity> presentTileEntities;
@@ -163,6 +159,7 @@ public abstract class Contraption {
 
 	protected ContraptionWorld world;
 	public boolean deferInvalidate;
+	private boolean streamingBlocks;
 
 	public Contraption() {
 		blocks = new HashMap<>();
@@ -178,7 +175,7 @@ public abstract class Contraption {
 		specialRenderedTileEntities = new ArrayList<>();
 		pendingSubContraptions = new ArrayList<>();
 		stabilizedSubContraptions = new HashMap<>();
-		simplifiedEntityColliders = Optional.empty();
+		simplifiedEntityColliders = new ContraptionColliderSections();
 		storage = new MountedStorageManager();
 	}
 
@@ -267,10 +264,7 @@ public abstract class Contraption {
 	}
 
 	public void onEntityRemoved(AbstractContraptionEntity entity) {
-		if (simplifiedEntityColliderProvider != null) {
-			simplifiedEntityColliderProvider.cancel(false);
-			simplifiedEntityColliderProvider = null;
-		}
+		simplifiedEntityColliders.cancel();
 	}
 
 	public void onEntityInitialize(Level world, AbstractContraptionEntity contraptionEntity) {
@@ -693,6 +687,7 @@ public abstract class Contraption {
 		boolean usePalettedDeserialization =
 			blocks != null && blocks.getId() == 10 && ((CompoundTag) blocks).contains("Palette");
 		readBlocksCompound(blocks, world, usePalettedDeserialization);
+		streamingBlocks = spawnData && nbt.getBoolean("StreamingBlocks");
 
 		actors.clear();
 		nbt.getList("Actors", 10)
@@ -745,7 +740,10 @@ public abstract class Contraption {
 		CompoundTag nbt = new CompoundTag();
 		nbt.putString("Type", getType().id);
 
-		CompoundTag blocksNBT = writeBlocksCompound();
+		Set<BlockPos> streamed = spawnPacket ? getStreamedBlocks() : Collections.emptySet();
+		CompoundTag blocksNBT = writeBlocksCompound(streamed);
+		if (!streamed.isEmpty())
+			nbt.putBoolean("StreamingBlocks", true);
 
 		ListTag actorsNBT = new ListTag();
 		for (MutablePair<StructureBlockInfo, MovementContext> actor : getActors()) {
@@ -813,7 +811,51 @@ public abstract class Contraption {
 		return storage;
 	}
 
-	private CompoundTag writeBlocksCompound() {
+	/**
+	 * @return the blocks left out of the spawn packet, which are streamed to
+	 *         clients in separate packets afterwards. Only large contraptions do
+	 *         this, and only for blocks without tile entity data that no actor,
+	 *         interactor or seat refers to, as those are resolved while reading
+	 *         the spawn data.
+	 */
+	public Set<BlockPos> getStreamedBlocks() {
+		if (blocks.size() < STREAMED_BLOCKS_THRESHOLD)
+			return Collections.emptySet();
+
+		Set<BlockPos> referenced = new HashSet<>(interactors.keySet());
+		referenced.addAll(seats);
+		for (MutablePair<StructureBlockInfo, MovementContext> actor : actors)
+			referenced.add(actor.left.pos);
+
+		Set<BlockPos> streamed = new HashSet<>();
+		for (StructureBlockInfo info : blocks.values())
+			if (info.nbt == null && !referenced.contains(info.pos))
+				streamed.add(info.pos);
+		return streamed.size() < STREAMED_BLOCKS_THRESHOLD ? Collections.emptySet() : streamed;
+	}
+
+	@Environment(EnvType.CLIENT)
+	public void addStreamedBlocks(List<StructureBlockInfo> streamed, boolean complete) {
+		for (StructureBlockInfo info : streamed)
+			blocks.put(info.pos, info);
+		deferInvalidate = true;
+		// Colliders are gathered off-thread from the block map, so wait for the last batch
+		if (!complete)
+			return;
+		streamingBlocks = false;
+		invalidateColliders();
+	}
+
+	/**
+	 * @return whether blocks left out of the spawn packet are still on their way to
+	 *         this client. Entities do not collide with the contraption and players
+	 *         cannot interact with it until they are all in.
+	 */
+	public boolean isStreamingBlocks() {
+		return streamingBlocks;
+	}
+
+	private CompoundTag writeBlocksCompound(Set<BlockPos> skipped) {
 		CompoundTag compound = new CompoundTag();
 		HashMapPalette<BlockState> palette = new HashMapPalette<>(new IdMapper<>(), 16, (i, s) -> {
 			throw new IllegalStateException("Palette Map index exceeded maximum");
@@ -821,6 +863,8 @@ public abstract class Contraption {
 		ListTag blockList = new ListTag();
 
 		for (StructureBlockInfo block : this.blocks.values()) {
+			if (skipped.contains(block.pos))
+				continue;
 			int id = palette.idFor(block.state);
 			CompoundTag c = new CompoundTag();
 			c.putLong("Pos", block.pos.asLong());
@@ -1233,30 +1277,18 @@ public abstract class Contraption {
 	}
 
 	public void invalidateColliders() {
-		simplifiedEntityColliders = Optional.empty();
 		gatherBBsOffThread();
 	}
 
+	/**
+	 * Only rebuilds the colliders of the section around the changed block
+	 */
+	public void invalidateColliders(BlockPos localPos) {
+		simplifiedEntityColliders.rebuild(getContraptionWorld(), blocks, localPos);
+	}
+
 	private void gatherBBsOffThread() {
-		getContraptionWorld();
-		simplifiedEntityColliderProvider = CompletableFuture.supplyAsync(() -> {
-			VoxelShape combinedShape = Shapes.empty();
-			for (Entry<BlockPos, StructureBlockInfo> entry : blocks.entrySet()) {
-				StructureBlockInfo info = entry.getValue();
-				BlockPos localPos = entry.getKey();
-				VoxelShape collisionShape = info.state.getCollisionShape(world, localPos, CollisionContext.empty());
-				if (collisionShape.isEmpty())
-					continue;
-				combinedShape = Shapes.joinUnoptimized(combinedShape,
-					collisionShape.move(localPos.getX(), localPos.getY(), localPos.getZ()), BooleanOp.OR);
-			}
-			return combinedShape.optimize()
-				.toAabbs();
-		})
-			.thenAccept(r -> {
-				simplifiedEntityColliders = Optional.of(r);
-				simplifiedEntityColliderProvider = null;
-			});
+		simplifiedEntityColliders.rebuildAll(getContraptionWorld(), blocks);
 	}
 
 	public static float getRadius(Set<BlockPos> blocks, Direction.Axis axis) {
@@ -1311,15 +1343,21 @@ public abstract class Contraption {
 		return false;
 	}
 
-	public Optional<List<AABB>> getSimplifiedEntityColliders() {
-		return simplifiedEntityColliders;
+	/**
+	 * @return the merged collision boxes near the given area of local space, or
+	 *         nothing while they are not gathered yet
+	 */
+	public Optional<List<AABB>> getSimplifiedEntityColliders(AABB localBB) {
+		if (!simplifiedEntityColliders.isReady())
+			return Optional.empty();
+		return Optional.of(simplifiedEntityColliders.getNear(localBB));
 	}
 
 	public void handleContraptionFluidPacket(BlockPos localPos, FluidStack containedFluid) {
 		storage.updateContainedFluid(localPos, containedFluid);
 	}
 
-	public static class ContraptionInvWrapper extends CombinedStorage<ItemVariant, Storage<ItemVariant>> {
+	public static class ContraptionInvWrapper extends SlotIndexedStorage<Storage<ItemVariant>> {
 		protected final boolean isExternal;
 
 		public ContraptionInvWrapper(boolean isExternal, Storage<ItemVariant>... itemHandler) {
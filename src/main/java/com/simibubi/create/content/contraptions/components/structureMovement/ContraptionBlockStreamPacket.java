@@ -0,0 +1,114 @@
+package com.simibubi.create.content.contraptions.components.structureMovement;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.simibubi.create.foundation.networking.SimplePacketBase;
+import com.tterrag.registrate.fabric.EnvExecutor;
+
+import io.netty.buffer.Unpooled;
+import net.fabricmc.api.EnvType;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate.StructureBlockInfo;
+
+/**
+ * A batch of plain contraption blocks left out of the spawn packet, see
+ * {@link Contraption#getStreamedBlocks()}
+ */
+public class ContraptionBlockStreamPacket extends SimplePacketBase {
+
+	int entityID;
+	boolean complete;
+	List<StructureBlockInfo> blocks;
+	private byte[] compressed;
+
+	public ContraptionBlockStreamPacket(int id, List<StructureBlockInfo> blocks, boolean complete) {
+		entityID = id;
+		this.blocks = blocks;
+		this.complete = complete;
+		compressed = compress(blocks);
+	}
+
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeVarInt(entityID);
+		buffer.writeBoolean(complete);
+		buffer.writeByteArray(compressed);
+	}
+
+	public ContraptionBlockStreamPacket(FriendlyByteBuf buffer) {
+		entityID = buffer.readVarInt();
+		complete = buffer.readBoolean();
+		blocks = decompress(buffer.readByteArray());
+	}
+
+	public int getSize() {
+		return FriendlyByteBuf.getVarIntSize(entityID) + 1 + FriendlyByteBuf.getVarIntSize(compressed.length)
+			+ compressed.length;
+	}
+
+	@Override
+	public void handle(Supplier<Context> context) {
+		context.get()
+			.enqueueWork(() -> EnvExecutor.runWhenOn(EnvType.CLIENT,
+				() -> () -> AbstractContraptionEntity.handleBlockStreamPacket(this)));
+		context.get()
+			.setPacketHandled(true);
+	}
+
+	private static byte[] compress(List<StructureBlockInfo> blocks) {
+		FriendlyByteBuf raw = new FriendlyByteBuf(Unpooled.buffer());
+		raw.writeVarInt(blocks.size());
+		for (StructureBlockInfo info : blocks) {
+			raw.writeLong(info.pos.asLong());
+			raw.writeVarInt(Block.getId(info.state));
+		}
+
+		Deflater deflater = new Deflater();
+		deflater.setInput(raw.array(), raw.arrayOffset(), raw.writerIndex());
+		deflater.finish();
+		ByteArrayOutputStream output = new ByteArrayOutputStream(raw.writerIndex() / 4);
+		byte[] chunk = new byte[8192];
+		while (!deflater.finished())
+			output.write(chunk, 0, deflater.deflate(chunk));
+		deflater.end();
+		raw.release();
+		return output.toByteArray();
+	}
+
+	private static List<StructureBlockInfo> decompress(byte[] data) {
+		Inflater inflater = new Inflater();
+		inflater.setInput(data);
+		FriendlyByteBuf raw = new FriendlyByteBuf(Unpooled.buffer());
+		byte[] chunk = new byte[8192];
+		try {
+			while (!inflater.finished()) {
+				int length = inflater.inflate(chunk);
+				if (length == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					break;
+				raw.writeBytes(chunk, 0, length);
+			}
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("Malformed contraption block data", e);
+		} finally {
+			inflater.end();
+		}
+
+		int count = raw.readVarInt();
+		List<StructureBlockInfo> blocks = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			BlockPos pos = BlockPos.of(raw.readLong());
+			blocks.add(new StructureBlockInfo(pos, Block.stateById(raw.readVarInt()), null));
+		}
+		raw.release();
+		return blocks;
+	}
+
+}
@@ -68,6 +68,8 @@ public class ContraptionCollider {
 
 		if (contraption == null)
 			return;
+		if (contraption.isStreamingBlocks())
+			return;
 		if (bounds == null)
 			return;
 
@@ -125,7 +127,9 @@ public class ContraptionCollider {
 
 			// Use simplified bbs when present
 			final Vec3 motionCopy = motion;
-			List<AABB> collidableBBs = contraption.getSimplifiedEntityColliders()
+			AABB nearbyBB = localBB.expandTowards(motion)
+				.inflate(Math.max(localBB.getXsize(), localBB.getYsize()) + 2);
+			List<AABB> collidableBBs = contraption.getSimplifiedEntityColliders(nearbyBB)
 				.orElseGet(() -> {
 
 					// Else find 'nearby' individual block shapes to collide with
@@ -0,0 +1,146 @@
+package com.simibubi.create.content.contraptions.components.structureMovement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate.StructureBlockInfo;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.shapes.BooleanOp;
+import net.minecraft.world.phys.shapes.CollisionContext;
+import net.minecraft.world.phys.shapes.Shapes;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+/**
+ * Simplified collision boxes of a contraption, merged per 16x16x16 section of
+ * its local space. Sections are built off-thread; a changed block only rebuilds
+ * its own section, and the previous boxes stay in use until it is done.
+ */
+public class ContraptionColliderSections {
+
+	private final Map<Long, Section> sections;
+	private int nextVersion;
+	// The latest full rebuild, only that one may report the sections as ready
+	private volatile int latestRebuild;
+	private volatile boolean ready;
+	private volatile boolean cancelled;
+
+	public ContraptionColliderSections() {
+		sections = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * @return whether every section has been built at least once
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	public void cancel() {
+		cancelled = true;
+	}
+
+	public void rebuildAll(BlockGetter world, Map<BlockPos, StructureBlockInfo> blocks) {
+		int version = nextVersion++;
+		latestRebuild = version;
+		Long2ObjectMap<List<StructureBlockInfo>> bySection = new Long2ObjectOpenHashMap<>();
+		for (StructureBlockInfo info : blocks.values())
+			bySection.computeIfAbsent(sectionOf(info.pos), $ -> new ArrayList<>())
+				.add(info);
+
+		ready = false;
+		CompletableFuture.runAsync(() -> {
+			for (Long2ObjectMap.Entry<List<StructureBlockInfo>> entry : bySection.long2ObjectEntrySet()) {
+				if (cancelled || latestRebuild != version)
+					return;
+				store(entry.getLongKey(), version, build(world, entry.getValue()));
+			}
+			// Sections that lost all their blocks
+			sections.entrySet()
+				.removeIf(e -> e.getValue().version < version && !bySection.containsKey(e.getKey()
+					.longValue()));
+			if (latestRebuild == version)
+				ready = true;
+		});
+	}
+
+	public void rebuild(BlockGetter world, Map<BlockPos, StructureBlockInfo> blocks, BlockPos localPos) {
+		int version = nextVersion++;
+		int minX = localPos.getX() & ~15;
+		int minY = localPos.getY() & ~15;
+		int minZ = localPos.getZ() & ~15;
+
+		List<StructureBlockInfo> infos = new ArrayList<>();
+		for (BlockPos pos : BlockPos.betweenClosed(minX, minY, minZ, minX + 15, minY + 15, minZ + 15)) {
+			StructureBlockInfo info = blocks.get(pos);
+			if (info != null)
+				infos.add(info);
+		}
+
+		long section = sectionOf(localPos);
+		CompletableFuture.runAsync(() -> {
+			if (!cancelled)
+				store(section, version, build(world, infos));
+		});
+	}
+
+	/**
+	 * @return the boxes of all sections overlapping the given area of local space
+	 */
+	public List<AABB> getNear(AABB localBB) {
+		int minX = SectionPos.blockToSectionCoord(Mth.floor(localBB.minX));
+		int minY = SectionPos.blockToSectionCoord(Mth.floor(localBB.minY));
+		int minZ = SectionPos.blockToSectionCoord(Mth.floor(localBB.minZ));
+		int maxX = SectionPos.blockToSectionCoord(Mth.floor(localBB.maxX));
+		int maxY = SectionPos.blockToSectionCoord(Mth.floor(localBB.maxY));
+		int maxZ = SectionPos.blockToSectionCoord(Mth.floor(localBB.maxZ));
+
+		List<AABB> near = new ArrayList<>();
+		for (int x = minX; x <= maxX; x++)
+			for (int y = minY; y <= maxY; y++)
+				for (int z = minZ; z <= maxZ; z++) {
+					Section section = sections.get(SectionPos.asLong(x, y, z));
+					if (section != null)
+						near.addAll(section.boxes);
+				}
+		return near;
+	}
+
+	private void store(long key, int version, List<AABB> boxes) {
+		sections.merge(key, new Section(version, boxes),
+			(current, built) -> built.version >= current.version ? built : current);
+	}
+
+	private static List<AABB> build(BlockGetter world, List<StructureBlockInfo> infos) {
+		VoxelShape combinedShape = Shapes.empty();
+		for (StructureBlockInfo info : infos) {
+			BlockPos localPos = info.pos;
+			VoxelShape collisionShape = info.state.getCollisionShape(world, localPos, CollisionContext.empty());
+			if (collisionShape.isEmpty())
+				continue;
+			combinedShape = Shapes.joinUnoptimized(combinedShape,
+				collisionShape.move(localPos.getX(), localPos.getY(), localPos.getZ()), BooleanOp.OR);
+		}
+		return combinedShape.isEmpty() ? Collections.emptyList()
+			: combinedShape.optimize()
+				.toAabbs();
+	}
+
+	private static long sectionOf(BlockPos pos) {
+		return SectionPos.asLong(SectionPos.blockToSectionCoord(pos.getX()),
+			SectionPos.blockToSectionCoord(pos.getY()), SectionPos.blockToSectionCoord(pos.getZ()));
+	}
+
+	private record Section(int version, List<AABB> boxes) {
+	}
+
+}
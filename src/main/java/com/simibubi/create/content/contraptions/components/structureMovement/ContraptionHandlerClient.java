@@ -99,6 +99,9 @@ public class ContraptionHandlerClient {
 			if (!contraptionEntity.getBoundingBox()
 				.intersects(aabb))
 				continue;
+			Contraption contraption = contraptionEntity.getContraption();
+			if (contraption != null && contraption.isStreamingBlocks())
+				continue;
 
 			BlockHitResult rayTraceResult = rayTraceContraption(origin, target, contraptionEntity);
 			if (rayTraceResult == null)
@@ -7,6 +7,7 @@ import com.simibubi.create.content.contraptions.components.crafter.MechanicalCra
 import com.simibubi.create.content.contraptions.processing.ProcessingInventory;
 import com.simibubi.create.content.logistics.block.inventories.BottomlessItemHandler;
 import com.simibubi.create.content.logistics.block.vault.ItemVaultTileEntity;
+import com.simibubi.create.foundation.item.IndexedItemStackHandler;
 import com.simibubi.create.foundation.utility.NBTHelper;
 
 import io.github.fabricators_of_create.porting_lib.transfer.TransferUtil;
@@ -71,7 +72,7 @@ public class MountedStorage {
 			if (tag.contains("LootTable", 8))
 				return;
 
-			handler = new ItemStackHandler(chest.getContainerSize());
+			handler = new IndexedItemStackHandler(chest.getContainerSize());
 			for (int i = 0; i < handler.getSlots(); i++) {
 				handler.setStackInSlot(i, chest.getItem(i));
 			}
@@ -114,7 +115,7 @@ public class MountedStorage {
 					if (extracted != contained) return; // can't extract it all for whatever reason - that's bad, give up
 					stacks[i] = variant.toStack((int) extracted);
 				}
-				handler = new ItemStackHandler(stacks);
+				handler = new IndexedItemStackHandler(stacks);
 				valid = true;
 			}
 		}
@@ -172,7 +173,7 @@ public class MountedStorage {
 
 	public static MountedStorage deserialize(CompoundTag nbt) {
 		MountedStorage storage = new MountedStorage(null);
-		storage.handler = new ItemStackHandler();
+		storage.handler = new IndexedItemStackHandler();
 		if (nbt == null)
 			return storage;
 		storage.valid = true;
@@ -27,7 +27,7 @@ public abstract class SimpleBlockMovingInteraction extends MovingInteractionBeha
 
 		setContraptionBlockData(contraptionEntity, localPos, new StructureBlockInfo(info.pos, newState, info.nbt));
 		if (updateColliders())
-			contraption.invalidateColliders();
+			contraption.invalidateColliders(localPos);
 		return true;
 	}
 
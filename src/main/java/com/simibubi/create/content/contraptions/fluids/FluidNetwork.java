@@ -4,7 +4,6 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,10 +27,16 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.world.level.Level;
 
+/**
+ * Moves fluid from the source at the start of a pipe network to every endpoint
+ * the network's pressure points to. The pipes are compiled into a tree of
+ * junctions and endpoints once, so each tick only visits the endpoints. The
+ * tree is compiled again whenever the network is reset, which
+ * {@link FluidPropagator#propagateChangedPipe} does for every network along a
+ * changed pipe, or when the pressure at the start changes.
+ */
 public class FluidNetwork {
 
-	private static int CYCLES_PER_TICK = 16;
-
 	Level world;
 	BlockFace start;
 
@@ -40,11 +45,9 @@ public class FluidNetwork {
 	int transferSpeed;
 
 	int pauseBeforePropagation;
-	List<BlockFace> queued;
-	Set<Pair<BlockFace, PipeConnection>> frontier;
-	Set<BlockPos> visited;
 	FluidStack fluid;
-	List<Pair<BlockFace, Storage<FluidVariant>>> targets;
+	@Nullable
+	Graph graph;
 	Map<BlockPos, WeakReference<FluidTransportBehaviour>> cache;
 
 	public FluidNetwork(Level world, BlockFace location, Supplier<Storage<FluidVariant>> sourceSupplier) {
@@ -53,11 +56,7 @@ public class FluidNetwork {
 		this.sourceSupplier = sourceSupplier;
 		this.source = null;
 		this.fluid = FluidStack.EMPTY;
-		this.frontier = new HashSet<>();
-		this.visited = new HashSet<>();
-		this.targets = new ArrayList<>();
 		this.cache = new HashMap<>();
-		this.queued = new ArrayList<>();
 		reset();
 	}
 
@@ -67,121 +66,57 @@ public class FluidNetwork {
 			return;
 		}
 
-		for (int cycle = 0; cycle < CYCLES_PER_TICK; cycle++) {
-			boolean shouldContinue = false;
-			for (Iterator<BlockFace> iterator = queued.iterator(); iterator.hasNext();) {
-				BlockFace blockFace = iterator.next();
-				if (!isPresent(blockFace))
-					continue;
-				PipeConnection pipeConnection = get(blockFace);
-				if (pipeConnection != null) {
-					if (blockFace.equals(start))
-						transferSpeed = (int) Math.max(1, pipeConnection.pressure.get(true) / 2f) * 81; // fabric: 81 times speed to match 81 times larger amounts
-					frontier.add(Pair.of(blockFace, pipeConnection));
-				}
-				iterator.remove();
-			}
-
-//			drawDebugOutlines();
-
-			for (Iterator<Pair<BlockFace, PipeConnection>> iterator = frontier.iterator(); iterator.hasNext();) {
-				Pair<BlockFace, PipeConnection> pair = iterator.next();
-				BlockFace blockFace = pair.getFirst();
-				PipeConnection pipeConnection = pair.getSecond();
-
-				if (!pipeConnection.hasFlow())
-					continue;
-
-				Flow flow = pipeConnection.flow.get();
-				if (!fluid.isEmpty() && !flow.fluid.isFluidEqual(fluid)) {
-					iterator.remove();
-					continue;
-				}
-				if (!flow.inbound) {
-					if (pipeConnection.comparePressure() >= 0)
-						iterator.remove();
-					continue;
-				}
-				if (!flow.complete)
-					continue;
-
-				if (fluid.isEmpty())
-					fluid = flow.fluid;
-
-				boolean canRemove = true;
-				for (Direction side : Iterate.directions) {
-					if (side == blockFace.getFace())
-						continue;
-					BlockFace adjacentLocation = new BlockFace(blockFace.getPos(), side);
-					PipeConnection adjacent = get(adjacentLocation);
-					if (adjacent == null)
-						continue;
-					if (!adjacent.hasFlow()) {
-						// Branch could potentially still appear
-						if (adjacent.hasPressure() && adjacent.pressure.getSecond() > 0)
-							canRemove = false;
-						continue;
-					}
-					Flow outFlow = adjacent.flow.get();
-					if (outFlow.inbound) {
-						if (adjacent.comparePressure() > 0)
-							canRemove = false;
-						continue;
-					}
-					if (!outFlow.complete) {
-						canRemove = false;
-						continue;
-					}
-
-					// Give pipe end a chance to init connections
-					if (!adjacent.source.isPresent() && !adjacent.determineSource(world, blockFace.getPos())) {
-						canRemove = false;
-						continue;
-					}
-
-					if (adjacent.source.isPresent() && adjacent.source.get()
-						.isEndpoint()) {
-						targets.add(Pair.of(adjacentLocation, adjacent.source.get()
-							.provideHandler()));
-						continue;
-					}
+		if (!isPresent(start))
+			return;
+		PipeConnection startConnection = get(start);
+		if (startConnection == null)
+			return;
 
-					if (visited.add(adjacentLocation.getConnectedPos())) {
-						queued.add(adjacentLocation.getOpposite());
-						shouldContinue = true;
-					}
-				}
-				if (canRemove)
-					iterator.remove();
-			}
-			if (!shouldContinue)
-				break;
+		float pressure = startConnection.pressure.get(true);
+		if (graph == null || graph.pressure != pressure || !graph.complete && world.getGameTime() % 20 == 0) {
+			graph = compile(pressure);
+			graph.solve();
+			transferSpeed = (int) Math.max(1, pressure / 2f) * 81; // fabric: 81 times speed to match 81 times larger amounts
 		}
 
-//		drawDebugOutlines();
+		if (fluid.isEmpty() && startConnection.hasFlow()) {
+			Flow flow = startConnection.flow.get();
+			if (flow.inbound && flow.complete)
+				fluid = flow.fluid;
+		}
+		if (fluid.isEmpty())
+			return;
 
 		if (source == null)
 			source = sourceSupplier.get();
 		if (source == null)
 			return;
 
-		keepPortableFluidInterfaceEngaged();
-
-		if (targets.isEmpty())
-			return;
-		for (Pair<BlockFace, Storage<FluidVariant>> pair : targets) {
-			if (pair.getSecond()
-				!= null && world.getGameTime() % 40 != 0)
-				continue;
-			PipeConnection pipeConnection = get(pair.getFirst());
+		List<Endpoint> reached = new ArrayList<>(graph.endpoints.size());
+		for (Endpoint endpoint : graph.endpoints) {
+			PipeConnection pipeConnection = get(endpoint.location);
 			if (pipeConnection == null)
 				continue;
-			pipeConnection.source.ifPresent(fs -> {
-				if (fs.isEndpoint())
-					pair.setSecond(fs.provideHandler());
-			});
+			if (endpoint.handler == null || world.getGameTime() % 40 == 0)
+				pipeConnection.source.ifPresent(fs -> {
+					if (fs.isEndpoint())
+						endpoint.handler = fs.provideHandler();
+				});
+			if (!pipeConnection.hasFlow())
+				continue;
+
+			// Fluid only leaves the network once its flow has made it through the pipes
+			Flow flow = pipeConnection.flow.get();
+			if (flow.inbound || !flow.complete || !flow.fluid.isFluidEqual(fluid))
+				continue;
+			reached.add(endpoint);
 		}
 
+		keepPortableFluidInterfaceEngaged(reached);
+
+		if (reached.isEmpty())
+			return;
+
 		long flowSpeed = transferSpeed;
 		try (Transaction t = TransferUtil.getTransaction()) {
 
@@ -199,16 +134,26 @@ public class FluidNetwork {
 					return;
 				test.abort();
 			}
-			List<Pair<BlockFace, Storage<FluidVariant>>> availableOutputs = new ArrayList<>(targets);
+			List<Endpoint> availableOutputs = reached;
 
 			while (!availableOutputs.isEmpty() && transfer.getAmount() > 0) {
-				long dividedTransfer = transfer.getAmount() / availableOutputs.size();
-				long remainder = transfer.getAmount() % availableOutputs.size();
+				// Outputs share the transfer by the pressure that reaches them
+				float totalPressure = 0;
+				for (Endpoint endpoint : availableOutputs)
+					totalPressure += endpoint.pressure;
+				long amount = transfer.getAmount();
+				long remainder = amount;
+				long[] divided = new long[availableOutputs.size()];
+				for (int i = 0; i < divided.length; i++) {
+					float share = totalPressure > 0 ? availableOutputs.get(i).pressure / totalPressure : 1f / divided.length;
+					divided[i] = (long) (amount * share);
+					remainder -= divided[i];
+				}
 
-				for (Iterator<Pair<BlockFace, Storage<FluidVariant>>> iterator =
-					 availableOutputs.iterator(); iterator.hasNext();) {
-					Pair<BlockFace, Storage<FluidVariant>> pair = iterator.next();
-					long toTransfer = dividedTransfer;
+				List<Endpoint> remainingOutputs = new ArrayList<>(availableOutputs.size());
+				for (int i = 0; i < divided.length; i++) {
+					Endpoint endpoint = availableOutputs.get(i);
+					long toTransfer = divided[i];
 					if (remainder > 0) {
 						toTransfer++;
 						remainder--;
@@ -216,22 +161,25 @@ public class FluidNetwork {
 
 					if (transfer.isEmpty())
 						break;
-					Storage<FluidVariant> targetHandler = pair.getSecond();
-					if (targetHandler == null) {
-						iterator.remove();
+					Storage<FluidVariant> targetHandler = endpoint.handler;
+					if (targetHandler == null)
+						continue;
+					if (toTransfer == 0) {
+						remainingOutputs.add(endpoint);
 						continue;
 					}
 
-					FluidStack divided = transfer.copy();
-					divided.setAmount(toTransfer);
-					long fill = targetHandler.insert(divided.getType(), divided.getAmount(), t);
+					long fill = targetHandler.insert(transfer.getType(), toTransfer, t);
 
 					transfer.setAmount(transfer.getAmount() - fill);
 					transferredAmount += fill;
-					if (fill < toTransfer)
-						iterator.remove();
+					if (fill == toTransfer)
+						remainingOutputs.add(endpoint);
 				}
 
+				if (remainingOutputs.size() == availableOutputs.size())
+					break;
+				availableOutputs = remainingOutputs;
 			}
 
 			try (Transaction extract = t.openNested()) {
@@ -242,6 +190,68 @@ public class FluidNetwork {
 		}
 	}
 
+	/**
+	 * Walks the pipes along their pressure, away from the start. Pipes with a
+	 * single way onwards only extend the run they are on, so the tree holds
+	 * nothing but the start, pipes where the flow branches, and endpoints.
+	 */
+	Graph compile(float pressure) {
+		Graph graph = new Graph(pressure);
+		Set<BlockPos> visited = new HashSet<>();
+		List<Pair<BlockFace, Node>> frontier = new ArrayList<>();
+		Node root = graph.add(new Node(null));
+		visited.add(start.getPos());
+		frontier.add(Pair.of(start, root));
+
+		while (!frontier.isEmpty()) {
+			Pair<BlockFace, Node> entry = frontier.remove(frontier.size() - 1);
+			BlockFace entered = entry.getFirst();
+			BlockPos pos = entered.getPos();
+			Node node = entry.getSecond();
+
+			if (!isPresent(entered)) {
+				graph.complete = false;
+				continue;
+			}
+			FluidTransportBehaviour pipe = getFluidTransfer(pos);
+			if (pipe == null)
+				continue;
+
+			List<Direction> onwards = new ArrayList<>(5);
+			for (Direction side : Iterate.directions) {
+				if (side == entered.getFace())
+					continue;
+				PipeConnection connection = pipe.getConnection(side);
+				if (connection != null && connection.comparePressure() > 0)
+					onwards.add(side);
+			}
+
+			if (onwards.size() > 1 && entered != start)
+				node = graph.add(new Node(node));
+
+			for (Direction side : onwards) {
+				PipeConnection connection = pipe.getConnection(side);
+				// Give pipe end a chance to init connections
+				if (!connection.source.isPresent() && !connection.determineSource(world, pos)) {
+					graph.complete = false;
+					continue;
+				}
+
+				FlowSource flowSource = connection.source.get();
+				if (flowSource.isEndpoint()) {
+					graph.endpoints.add(graph.add(new Endpoint(node, new BlockFace(pos, side))));
+					continue;
+				}
+
+				BlockPos connectedPos = pos.relative(side);
+				if (visited.add(connectedPos))
+					frontier.add(Pair.of(new BlockFace(connectedPos, side.getOpposite()), node));
+			}
+		}
+
+		return graph;
+	}
+
 //	private void drawDebugOutlines() {
 //		FluidPropagator.showBlockFace(start)
 //			.lineWidth(1 / 8f)
@@ -256,22 +266,18 @@ public class FluidNetwork {
 //				.colored(0xfaaa33);
 //	}
 
-	private void keepPortableFluidInterfaceEngaged() {
+	private void keepPortableFluidInterfaceEngaged(List<Endpoint> reached) {
 		Storage<FluidVariant> handler = source;
 		if (!(handler instanceof InterfaceFluidHandler))
 			return;
-		if (frontier.isEmpty())
+		if (graph.complete && reached.size() == graph.endpoints.size())
 			return;
 		((InterfaceFluidHandler) handler).keepAlive();
 	}
 
 	public void reset() {
-		frontier.clear();
-		visited.clear();
-		targets.clear();
-		queued.clear();
+		graph = null;
 		fluid = FluidStack.EMPTY;
-		queued.add(start);
 		pauseBeforePropagation = 2;
 	}
 
@@ -302,4 +308,74 @@ public class FluidNetwork {
 		return behaviour;
 	}
 
+	/**
+	 * The start of a network, a pipe where its flow branches, or an endpoint
+	 */
+	static class Node {
+
+		@Nullable
+		final Node parent;
+		int liveBranches;
+		float pressure;
+
+		Node(@Nullable Node parent) {
+			this.parent = parent;
+		}
+
+	}
+
+	static class Endpoint extends Node {
+
+		final BlockFace location;
+		@Nullable
+		Storage<FluidVariant> handler;
+
+		Endpoint(Node parent, BlockFace location) {
+			super(parent);
+			this.location = location;
+		}
+
+	}
+
+	static class Graph {
+
+		final float pressure;
+		/** Every node comes after the node it branched off from */
+		final List<Node> nodes = new ArrayList<>();
+		final List<Endpoint> endpoints = new ArrayList<>();
+		boolean complete = true;
+
+		Graph(float pressure) {
+			this.pressure = pressure;
+		}
+
+		<T extends Node> T add(T node) {
+			nodes.add(node);
+			return node;
+		}
+
+		/**
+		 * Splits the pressure at the start evenly among the branches of each
+		 * junction, like pumps do when they spread pressure along their pipes.
+		 * Branches that do not lead to an endpoint get nothing.
+		 */
+		void solve() {
+			for (Node node : nodes)
+				node.liveBranches = 0;
+			for (int i = nodes.size() - 1; i > 0; i--) {
+				Node node = nodes.get(i);
+				if (node instanceof Endpoint || node.liveBranches > 0)
+					node.parent.liveBranches++;
+			}
+
+			nodes.get(0).pressure = pressure;
+			for (int i = 1; i < nodes.size(); i++) {
+				Node node = nodes.get(i);
+				boolean live = node instanceof Endpoint || node.liveBranches > 0;
+				node.pressure = live ? node.parent.pressure / node.parent.liveBranches : 0;
+			}
+		}
+
+	}
+
 }
@@ -60,6 +60,7 @@ public class FluidPropagator {
 			FluidTransportBehaviour pipe = getPipe(world, currentPos);
 			if (pipe == null)
 				continue;
+			// Also resets fluid networks starting here, so they compile their pipes again
 			pipe.wipePressure();
 
 			for (Direction direction : getPipeConnections(currentState, pipe)) {
@@ -48,9 +48,7 @@ public class ItemDrainItemHandler extends SnapshotParticipant<Unit> implements S
 		ItemStack stack = held.stack.copy();
 		stack.shrink(toExtract);
 		te.snapshotParticipant.updateSnapshots(transaction);
-		te.heldItem.stack = stack;
-		if (stack.isEmpty())
-			te.heldItem = null;
+		te.heldItem = stack.isEmpty() ? null : held.withStack(stack);
 		return toExtract;
 	}
 
@@ -56,7 +56,8 @@ public class ItemDrainTileEntity extends SmartTileEntity implements IHaveGoggleI
 	SnapshotParticipant<TransportedItemStack> snapshotParticipant = new SnapshotParticipant<>() {
 		@Override
 		protected TransportedItemStack createSnapshot() {
-			return heldItem == null ? TransportedItemStack.EMPTY : heldItem.copy();
+			// The held item is replaced rather than changed inside a transaction
+			return heldItem == null ? TransportedItemStack.EMPTY : heldItem;
 		}
 
 		@Override
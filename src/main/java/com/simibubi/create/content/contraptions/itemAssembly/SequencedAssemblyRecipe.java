@@ -15,6 +15,7 @@ import com.simibubi.create.foundation.fluid.FluidIngredient;
 import com.simibubi.create.foundation.utility.Components;
 import com.simibubi.create.foundation.utility.Lang;
 import com.simibubi.create.foundation.utility.Pair;
+import com.simibubi.create.foundation.utility.recipe.RecipeFinder;
 
 import io.github.fabricators_of_create.porting_lib.transfer.item.ItemHandlerHelper;
 import net.fabricmc.api.EnvType;
@@ -63,9 +64,8 @@ public class SequencedAssemblyRecipe implements Recipe<Container> {
 
 	public static <R extends ProcessingRecipe<?>> Optional<R> getRecipe(Level world, ItemStack item,
 		RecipeType<R> type, Class<R> recipeClass) {
-		List<SequencedAssemblyRecipe> all = world.getRecipeManager()
-			.getAllRecipesFor(AllRecipeTypes.SEQUENCED_ASSEMBLY.getType());
-		for (SequencedAssemblyRecipe sequencedAssemblyRecipe : all) {
+		for (Recipe<?> candidate : getCandidates(world, item)) {
+			SequencedAssemblyRecipe sequencedAssemblyRecipe = (SequencedAssemblyRecipe) candidate;
 			if (!sequencedAssemblyRecipe.appliesTo(item))
 				continue;
 			SequencedRecipe<?> nextRecipe = sequencedAssemblyRecipe.getNextRecipe(item);
@@ -80,10 +80,8 @@ public class SequencedAssemblyRecipe implements Recipe<Container> {
 
 	public static <R extends ProcessingRecipe<?>> Stream<R> getRecipes(Level world, ItemStack item,
 		RecipeType<R> type, Class<R> recipeClass) {
-		List<SequencedAssemblyRecipe> all = world.getRecipeManager()
-			.getAllRecipesFor(AllRecipeTypes.SEQUENCED_ASSEMBLY.getType());
-
-		return all.stream()
+		return getCandidates(world, item).stream()
+				.map(SequencedAssemblyRecipe.class::cast)
 				.filter(it -> it.appliesTo(item))
 				.map(it -> Pair.of(it, it.getNextRecipe(item).getRecipe()))
 				.filter(it -> it.getSecond()
@@ -96,6 +94,10 @@ public class SequencedAssemblyRecipe implements Recipe<Container> {
 				.map(recipeClass::cast);
 	}
 
+	private static List<Recipe<?>> getCandidates(Level world, ItemStack item) {
+		return RecipeFinder.getCandidates(AllRecipeTypes.SEQUENCED_ASSEMBLY.getType(), world, item.getItem());
+	}
+
 	private ItemStack advance(ItemStack input) {
 		int step = getStep(input);
 		if ((step + 1) / sequence.size() >= loops)
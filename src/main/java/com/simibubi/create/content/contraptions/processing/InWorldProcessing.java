@@ -7,12 +7,16 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.mojang.math.Vector3f;
 import com.simibubi.create.AllBlocks;
 import com.simibubi.create.AllRecipeTypes;
 import com.simibubi.create.content.contraptions.components.deployer.ManualApplicationRecipe;
-import com.simibubi.create.content.contraptions.components.fan.HauntingRecipe;
-import com.simibubi.create.content.contraptions.components.fan.SplashingRecipe;
 import com.simibubi.create.content.contraptions.processing.burner.BlazeBurnerBlock;
 import com.simibubi.create.content.contraptions.processing.burner.LitBlazeBurnerBlock;
 import com.simibubi.create.content.contraptions.relays.belt.transport.TransportedItemStack;
@@ -21,7 +25,9 @@ import com.simibubi.create.foundation.item.ItemHelper;
 import com.simibubi.create.foundation.tileEntity.behaviour.belt.TransportedItemStackHandlerBehaviour.TransportedResult;
 import com.simibubi.create.foundation.utility.Color;
 import com.simibubi.create.foundation.utility.VecHelper;
+import com.simibubi.create.foundation.utility.recipe.RecipeFinder;
 
+import io.github.fabricators_of_create.porting_lib.mixin.common.accessor.RecipeManagerAccessor;
 import io.github.fabricators_of_create.porting_lib.transfer.item.ItemHandlerHelper;
 import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandlerContainer;
 import io.github.fabricators_of_create.porting_lib.util.DamageSourceHelper;
@@ -44,6 +50,7 @@ import net.minecraft.world.entity.animal.horse.Horse;
 import net.minecraft.world.entity.animal.horse.SkeletonHorse;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.monster.EnderMan;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.BlastingRecipe;
 import net.minecraft.world.item.crafting.Recipe;
@@ -66,9 +73,12 @@ public class InWorldProcessing {
 
 	private static final DamageSource LAVA_DAMAGE_SOURCE = DamageSourceHelper.port_lib$createFireDamageSource("create.fan_lava").setScalesWithDifficulty();
 
-	private static final Container RECIPE_WRAPPER = new ItemStackHandlerContainer(1);
-	private static final SplashingWrapper SPLASHING_WRAPPER = new SplashingWrapper();
-	private static final HauntingWrapper HAUNTING_WRAPPER = new HauntingWrapper();
+	// Keyed by the recipes of a recipe manager, which are replaced on every reload
+	private static final LoadingCache<Object, Cache<OutcomeKey, Outcome>> OUTCOMES = CacheBuilder.newBuilder()
+		.weakKeys()
+		.build(CacheLoader.from(() -> CacheBuilder.newBuilder()
+			.maximumSize(4096)
+			.build()));
 
 	public static boolean canProcess(ItemEntity entity, Type type) {
 		if (entity.getExtraCustomData()
@@ -90,15 +100,11 @@ public class InWorldProcessing {
 	}
 
 	public static boolean isWashable(ItemStack stack, Level world) {
-		SPLASHING_WRAPPER.setItem(0, stack);
-		Optional<SplashingRecipe> recipe = AllRecipeTypes.SPLASHING.find(SPLASHING_WRAPPER, world);
-		return recipe.isPresent();
+		return getOutcome(stack, Type.SPLASHING, world).canProcess();
 	}
 
 	public static boolean isHauntable(ItemStack stack, Level world) {
-		HAUNTING_WRAPPER.setItem(0, stack);
-		Optional<HauntingRecipe> recipe = AllRecipeTypes.HAUNTING.find(HAUNTING_WRAPPER, world);
-		return recipe.isPresent();
+		return getOutcome(stack, Type.HAUNTING, world).canProcess();
 	}
 
 	public static boolean applyProcessing(ItemEntity entity, Type type) {
@@ -151,49 +157,63 @@ public class InWorldProcessing {
 	}
 
 	private static List<ItemStack> process(ItemStack stack, Type type, Level world) {
-		if (type == Type.SPLASHING) {
-			SPLASHING_WRAPPER.setItem(0, stack);
-			Optional<SplashingRecipe> recipe = AllRecipeTypes.SPLASHING.find(SPLASHING_WRAPPER, world);
-			if (recipe.isPresent())
-				return applyRecipeOn(stack, recipe.get());
-			return null;
-		}
-		if (type == Type.HAUNTING) {
-			HAUNTING_WRAPPER.setItem(0, stack);
-			Optional<HauntingRecipe> recipe = AllRecipeTypes.HAUNTING.find(HAUNTING_WRAPPER, world);
-			if (recipe.isPresent())
-				return applyRecipeOn(stack, recipe.get());
-			return null;
-		}
-
-		RECIPE_WRAPPER.setItem(0, stack);
-		Optional<SmokingRecipe> smokingRecipe = world.getRecipeManager()
-			.getRecipeFor(RecipeType.SMOKING, RECIPE_WRAPPER, world);
-
-		if (type == Type.BLASTING) {
-			if (!smokingRecipe.isPresent()) {
-				RECIPE_WRAPPER.setItem(0, stack);
-				Optional<SmeltingRecipe> smeltingRecipe = world.getRecipeManager()
-					.getRecipeFor(RecipeType.SMELTING, RECIPE_WRAPPER, world);
-
-				if (smeltingRecipe.isPresent())
-					return applyRecipeOn(stack, smeltingRecipe.get());
-
-				RECIPE_WRAPPER.setItem(0, stack);
-				Optional<BlastingRecipe> blastingRecipe = world.getRecipeManager()
-					.getRecipeFor(RecipeType.BLASTING, RECIPE_WRAPPER, world);
+		Recipe<?> recipe = getOutcome(stack, type, world).recipe();
+		if (recipe != null)
+			return applyRecipeOn(stack, recipe);
+		// Anything blasted without a recipe burns up
+		if (type == Type.BLASTING)
+			return Collections.emptyList();
+		return null;
+	}
 
-				if (blastingRecipe.isPresent())
-					return applyRecipeOn(stack, blastingRecipe.get());
-			}
+	/**
+	 * Looks up what a fan does to the given stack. Results only depend on the item
+	 * and its nbt, so they are remembered until recipes change. Safe to call from
+	 * any thread.
+	 */
+	private static Outcome getOutcome(ItemStack stack, Type type, Level world) {
+		if (type == Type.NONE)
+			return Outcome.NONE;
+
+		Cache<OutcomeKey, Outcome> outcomes =
+			OUTCOMES.getUnchecked(((RecipeManagerAccessor) world.getRecipeManager()).port_lib$getRecipes());
+
+		Outcome outcome = outcomes.getIfPresent(new OutcomeKey(type, stack.getItem(), stack.getTag()));
+		if (outcome == null) {
+			outcome = findOutcome(stack, type, world);
+			CompoundTag tag = stack.getTag();
+			outcomes.put(new OutcomeKey(type, stack.getItem(), tag == null ? null : tag.copy()), outcome);
+		}
+		return outcome;
+	}
 
-			return Collections.emptyList();
+	private static Outcome findOutcome(ItemStack stack, Type type, Level world) {
+		// New containers each time, lookups may happen on more than one thread
+		if (type == Type.SPLASHING) {
+			SplashingWrapper wrapper = new SplashingWrapper();
+			wrapper.setItem(0, stack);
+			return Outcome.of(AllRecipeTypes.SPLASHING.find(wrapper, world));
 		}
 
-		if (type == Type.SMOKING && smokingRecipe.isPresent())
-			return applyRecipeOn(stack, smokingRecipe.get());
+		if (type == Type.HAUNTING) {
+			HauntingWrapper wrapper = new HauntingWrapper();
+			wrapper.setItem(0, stack);
+			return Outcome.of(AllRecipeTypes.HAUNTING.find(wrapper, world));
+		}
 
-		return null;
+		Container wrapper = new ItemStackHandlerContainer(1);
+		wrapper.setItem(0, stack);
+		Optional<SmokingRecipe> smokingRecipe = RecipeFinder.find(RecipeType.SMOKING, wrapper, world);
+		if (type == Type.SMOKING)
+			return Outcome.of(smokingRecipe);
+
+		Optional<SmeltingRecipe> smeltingRecipe = RecipeFinder.find(RecipeType.SMELTING, wrapper, world);
+		Optional<BlastingRecipe> blastingRecipe = RecipeFinder.find(RecipeType.BLASTING, wrapper, world);
+		Recipe<?> recipe = smeltingRecipe.isPresent() ? smeltingRecipe.get() : blastingRecipe.orElse(null);
+		boolean canProcess = recipe != null || !stack.getItem()
+			.isFireResistant();
+		// Smokable items burn up, even if they could be smelted
+		return new Outcome(smokingRecipe.isPresent() ? null : recipe, canProcess);
 	}
 
 	private static int decrementProcessingTime(ItemEntity entity, Type type) {
@@ -327,10 +347,7 @@ public class InWorldProcessing {
 
 			@Override
 			public boolean canProcess(ItemStack stack, Level level) {
-				RECIPE_WRAPPER.setItem(0, stack);
-				Optional<SmokingRecipe> recipe = level.getRecipeManager()
-					.getRecipeFor(RecipeType.SMOKING, RECIPE_WRAPPER, level);
-				return recipe.isPresent();
+				return getOutcome(stack, this, level).canProcess();
 			}
 		},
 		HAUNTING {
@@ -425,22 +442,7 @@ public class InWorldProcessing {
 
 			@Override
 			public boolean canProcess(ItemStack stack, Level level) {
-				RECIPE_WRAPPER.setItem(0, stack);
-				Optional<SmeltingRecipe> smeltingRecipe = level.getRecipeManager()
-					.getRecipeFor(RecipeType.SMELTING, RECIPE_WRAPPER, level);
-
-				if (smeltingRecipe.isPresent())
-					return true;
-
-				RECIPE_WRAPPER.setItem(0, stack);
-				Optional<BlastingRecipe> blastingRecipe = level.getRecipeManager()
-					.getRecipeFor(RecipeType.BLASTING, RECIPE_WRAPPER, level);
-
-				if (blastingRecipe.isPresent())
-					return true;
-
-				return !stack.getItem()
-					.isFireResistant();
+				return getOutcome(stack, this, level).canProcess();
 			}
 		},
 		NONE {
@@ -491,6 +493,19 @@ public class InWorldProcessing {
 		}
 	}
 
+	private record OutcomeKey(Type type, Item item, @Nullable CompoundTag tag) {
+	}
+
+	private record Outcome(@Nullable Recipe<?> recipe, boolean canProcess) {
+
+		static final Outcome NONE = new Outcome(null, false);
+
+		static Outcome of(Optional<? extends Recipe<?>> recipe) {
+			return recipe.isPresent() ? new Outcome(recipe.get(), true) : NONE;
+		}
+
+	}
+
 	public static class SplashingWrapper extends ItemStackHandlerContainer {
 		public SplashingWrapper() {
 			super(1);
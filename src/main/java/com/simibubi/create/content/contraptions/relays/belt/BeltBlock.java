@@ -22,6 +22,7 @@ import com.simibubi.create.content.contraptions.relays.belt.BeltTileEntity.Casin
 import com.simibubi.create.content.contraptions.relays.belt.transport.BeltMovementHandler.TransportedEntityInfo;
 import com.simibubi.create.content.contraptions.relays.belt.transport.BeltTunnelInteractionHandler;
 import com.simibubi.create.content.logistics.block.belts.tunnel.BeltTunnelBlock;
+import com.simibubi.create.content.logistics.block.belts.tunnel.BrassTunnelTileEntity;
 import com.simibubi.create.content.schematics.ISpecialBlockItemRequirement;
 import com.simibubi.create.content.schematics.ItemRequirement;
 import com.simibubi.create.content.schematics.ItemRequirement.ItemUseType;
@@ -503,14 +504,27 @@ public class BeltBlock extends HorizontalKineticBlock implements ITE<BeltTileEnt
 		if (side.getAxis()
 			.isHorizontal())
 			updateTunnelConnections(world, pos.above());
+		if (side == Direction.UP)
+			BeltHelper.invalidateInteractionsAbove(world, pos);
 		return state;
 	}
 
+	@Override
+	public void neighborChanged(BlockState state, Level world, BlockPos pos, Block block, BlockPos fromPos,
+		boolean isMoving) {
+		super.neighborChanged(state, world, pos, block, fromPos, isMoving);
+		if (fromPos.equals(pos.above()))
+			BeltHelper.invalidateInteractionsAbove(world, pos);
+	}
+
 	private void updateTunnelConnections(LevelAccessor world, BlockPos pos) {
 		Block tunnelBlock = world.getBlockState(pos)
 			.getBlock();
 		if (tunnelBlock instanceof BeltTunnelBlock)
 			((BeltTunnelBlock) tunnelBlock).updateTunnel(world, pos);
+		// Tunnels output into the blocks next to the belt
+		if (!world.isClientSide() && world.getBlockEntity(pos) instanceof BrassTunnelTileEntity brassTunnel)
+			brassTunnel.invalidateOutputs();
 	}
 
 	public static List<BlockPos> getBeltChain(Level world, BlockPos controllerPos) {
@@ -43,6 +43,18 @@ public class BeltHelper {
 		return getSegmentTE(world, controllerPos);
 	}
 
+	/**
+	 * Lets the belt at the given position know that the block above it changed
+	 */
+	public static void invalidateInteractionsAbove(LevelAccessor world, BlockPos pos) {
+		if (world.isClientSide())
+			return;
+		BeltTileEntity controller = getControllerTE(world, pos);
+		if (controller != null)
+			controller.getInventory()
+				.invalidateInteractionsAbove();
+	}
+
 	public static BeltTileEntity getBeltForOffset(BeltTileEntity controller, float offset) {
 		return getBeltAtSegment(controller, (int) Math.floor(offset));
 	}
@@ -1,7 +1,6 @@
 package com.simibubi.create.content.contraptions.relays.belt;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -107,7 +106,8 @@ public class BeltSlicer {
 					if (transportedItemStack.beltPosition > beltLength - 1)
 						toEject.add(transportedItemStack);
 				toEject.forEach(inventory::eject);
-				toEject.forEach(inventory.getTransportedItems()::remove);
+				toEject.forEach(inventory::markItemChanged);
+				inventory.removeIf(toEject::contains);
 			}
 
 			// Transfer items to new controller
@@ -218,17 +218,15 @@ public class BeltSlicer {
 			if (newController != null && inventory != null) {
 				newController.inventory = null;
 				newController.setController(newController.getBlockPos());
-				for (Iterator<TransportedItemStack> iterator = inventory.getTransportedItems()
-					.iterator(); iterator.hasNext();) {
-					TransportedItemStack transportedItemStack = iterator.next();
+				inventory.removeIf(transportedItemStack -> {
 					float newPosition = transportedItemStack.beltPosition - hitSegment - (towardPositive ? 1 : 0);
 					if (newPosition <= 0)
-						continue;
+						return false;
 					transportedItemStack.beltPosition = newPosition;
-					iterator.remove();
 					newController.getInventory()
 						.addItem(transportedItemStack);
-				}
+					return true;
+				});
 			}
 		}
 
@@ -297,6 +295,7 @@ public class BeltSlicer {
 						transportedItemStack.beltPosition = mergedBeltLength - transportedItemStack.beltPosition;
 						transportedItemStack.prevBeltPosition =
 							mergedBeltLength - transportedItemStack.prevBeltPosition;
+						mergedController.inventory.markItemChanged(transportedItemStack);
 					}
 				}
 			}
@@ -150,6 +150,17 @@ public class BeltTileEntity extends KineticTileEntity implements ItemTransferabl
 		toRemove.forEach(passengers::remove);
 	}
 
+	@Override
+	public void onSpeedChanged(float previousSpeed) {
+		super.onSpeedChanged(previousSpeed);
+		if (level == null || level.isClientSide)
+			return;
+		// Tunnel outputs depend on whether and which way the belt moves
+		if (Math.signum(previousSpeed) != Math.signum(getSpeed())
+			&& level.getBlockEntity(worldPosition.above()) instanceof BrassTunnelTileEntity tunnel)
+			tunnel.invalidateOutputs();
+	}
+
 	@Override
 	public float calculateStressApplied() {
 		if (!isController())
@@ -218,7 +229,7 @@ public class BeltTileEntity extends KineticTileEntity implements ItemTransferabl
 			NBTHelper.writeEnum(compound, "Dye", color.get());
 
 		if (isController())
-			compound.put("Inventory", getInventory().write());
+			compound.put("Inventory", getInventory().write(clientPacket));
 		super.write(compound, clientPacket);
 	}
 
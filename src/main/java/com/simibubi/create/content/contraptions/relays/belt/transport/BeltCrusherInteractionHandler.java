@@ -30,6 +30,8 @@ public class BeltCrusherInteractionHandler {
 
         for (int segment = firstUpcomingSegment; beltMovementPositive ? segment <= nextOffset
                 : segment + 1 >= nextOffset; segment += step) {
+            if (!beltInventory.mayInteractAbove(segment))
+                continue;
             BlockPos crusherPos = BeltHelper.getPositionForOffset(beltInventory.belt, segment)
                     .above();
             Level world = beltInventory.belt.getLevel();
@@ -72,7 +74,7 @@ public class BeltCrusherInteractionHandler {
 					remainder = ItemHandlerHelper.copyStackWithSize(currentItem.stack, notFilled);
 
 				currentItem.stack = remainder;
-				beltInventory.belt.sendData();
+				beltInventory.markItemChanged(currentItem);
 				return true;
 			}
         }
@@ -28,6 +28,8 @@ public class BeltFunnelInteractionHandler {
 
 		for (int segment = firstUpcomingSegment; beltMovementPositive ? segment <= nextOffset
 			: segment + 1 >= nextOffset; segment += step) {
+			if (!beltInventory.mayInteractAbove(segment))
+				continue;
 			BlockPos funnelPos = BeltHelper.getPositionForOffset(beltInventory.belt, segment)
 				.above();
 			Level world = beltInventory.belt.getLevel();
@@ -107,7 +109,7 @@ public class BeltFunnelInteractionHandler {
 			funnelTE.flap(true);
 			funnelTE.onTransfer(toInsert);
 			currentItem.stack = remainder;
-			beltInventory.belt.sendData();
+			beltInventory.markItemChanged(currentItem);
 			if (blocking)
 				return true;
 		}
@@ -2,16 +2,22 @@ package com.simibubi.create.content.contraptions.relays.belt.transport;
 
 import static com.simibubi.create.content.contraptions.relays.belt.transport.BeltTunnelInteractionHandler.flapTunnel;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
+import com.simibubi.create.content.contraptions.components.crusher.CrushingWheelControllerBlock;
 import com.simibubi.create.content.contraptions.relays.belt.BeltBlock;
 import com.simibubi.create.content.contraptions.relays.belt.BeltHelper;
 import com.simibubi.create.content.contraptions.relays.belt.BeltSlope;
 import com.simibubi.create.content.contraptions.relays.belt.BeltTileEntity;
+import com.simibubi.create.content.logistics.block.funnel.BeltFunnelBlock;
+import com.simibubi.create.foundation.item.SnapshotSharedList;
+import com.simibubi.create.foundation.networking.AllPackets;
 import com.simibubi.create.foundation.tileEntity.TileEntityBehaviour;
 import com.simibubi.create.foundation.tileEntity.behaviour.belt.BeltProcessingBehaviour;
 import com.simibubi.create.foundation.tileEntity.behaviour.belt.BeltProcessingBehaviour.ProcessingResult;
@@ -22,76 +28,101 @@ import com.simibubi.create.foundation.utility.BlockHelper;
 import com.simibubi.create.foundation.utility.ServerSpeedProvider;
 import io.github.fabricators_of_create.porting_lib.util.ItemStackUtil;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.phys.Vec3;
 
 public class BeltInventory {
 
 	final BeltTileEntity belt;
-	private List<TransportedItemStack> items;
-	List<TransportedItemStack> toInsert;
-	List<TransportedItemStack> toRemove;
+	private final SnapshotSharedList<TransportedItemStack, BeltItemList> items;
+	final SnapshotSharedList<TransportedItemStack, List<TransportedItemStack>> toInsert;
+	final SnapshotSharedList<TransportedItemStack, List<TransportedItemStack>> toRemove;
 	boolean beltMovementPositive;
 	final float SEGMENT_WINDOW = .75f;
 
+	// Server: items to include in the next partial sync, see BeltItemsPacket
+	private IntSet changedItems;
+	private int nextSyncId;
+
+	// Server: segments with a funnel or crusher above them, null until looked up
+	private BitSet interactionsAbove;
+
 	public final SnapshotParticipant<Data> snapshotParticipant = new SnapshotParticipant<>() {
 
 		@Override
 		protected Data createSnapshot() {
-			List<TransportedItemStack> items = new LinkedList<>();
-			BeltInventory.this.items.forEach(transported -> items.add(transported.copy()));
-			List<TransportedItemStack> toInsert = new LinkedList<>();
-			BeltInventory.this.toInsert.forEach(transported -> toInsert.add(transported.copy()));
-			List<TransportedItemStack> toRemove = new LinkedList<>();
-			BeltInventory.this.toRemove.forEach(transported -> toRemove.add(transported.copy()));
-			return new Data(items, toInsert, toRemove);
+			return new Data(items.snapshot(), toInsert.snapshot(), toRemove.snapshot());
 		}
 
 		@Override
 		protected void readSnapshot(Data snapshot) {
-			BeltInventory.this.items = snapshot.items;
-			BeltInventory.this.toInsert = snapshot.toInsert;
-			BeltInventory.this.toRemove = snapshot.toRemove;
+			items.restore(snapshot.items);
+			toInsert.restore(snapshot.toInsert);
+			toRemove.restore(snapshot.toRemove);
 		}
 
 		@Override
 		protected void onFinalCommit() {
 			super.onFinalCommit();
 			belt.setChanged();
-			belt.sendData();
 		}
 	};
 
 	public BeltInventory(BeltTileEntity te) {
 		this.belt = te;
-		items = new LinkedList<>();
-		toInsert = new LinkedList<>();
-		toRemove = new LinkedList<>();
+		items = new SnapshotSharedList<>(new BeltItemList(), BeltItemList::new);
+		toInsert = new SnapshotSharedList<>(new ArrayList<>(), ArrayList::new);
+		toRemove = new SnapshotSharedList<>(new ArrayList<>(), ArrayList::new);
+		changedItems = new IntLinkedOpenHashSet();
+		nextSyncId = 1;
 	}
 
-	public record Data(List<TransportedItemStack> items,
+	public record Data(BeltItemList items,
 					   List<TransportedItemStack> toInsert,
 					   List<TransportedItemStack> toRemove) {
 	}
 
 	public void tick() {
+		tickItems();
+		if (!belt.getLevel().isClientSide)
+			sendItemChanges();
+	}
+
+	private void tickItems() {
 
 		// Added/Removed items from previous cycle
-		if (!toInsert.isEmpty() || !toRemove.isEmpty()) {
-			toInsert.forEach(this::insert);
-			toInsert.clear();
-			items.removeAll(toRemove);
-			toRemove.clear();
+		if (!toInsert.get()
+			.isEmpty()
+			|| !toRemove.get()
+				.isEmpty()) {
+			toInsert.get()
+				.forEach(this::insert);
+			toInsert.mutable()
+				.clear();
+			toRemove.get()
+				.forEach(this::markItemChanged);
+			items.mutable()
+				.removeAll(toRemove.get());
+			toRemove.mutable()
+				.clear();
 			belt.setChanged();
-			belt.sendData();
 		}
 
 		if (belt.getSpeed() == 0)
@@ -100,7 +131,8 @@ public class BeltInventory {
 		// Reverse item collection if belt just reversed
 		if (beltMovementPositive != belt.getDirectionAwareBeltMovementSpeed() > 0) {
 			beltMovementPositive = !beltMovementPositive;
-			Collections.reverse(items);
+			items.mutable()
+				.reverse();
 			belt.setChanged();
 			belt.sendData();
 		}
@@ -108,7 +140,8 @@ public class BeltInventory {
 		// Assuming the first entry is furthest on the belt
 		TransportedItemStack stackInFront = null;
 		TransportedItemStack currentItem = null;
-		Iterator<TransportedItemStack> iterator = items.iterator();
+		Iterator<TransportedItemStack> iterator = items.mutable()
+			.iterator();
 
 		// Useful stuff
 		float beltSpeed = belt.getDirectionAwareBeltMovementSpeed();
@@ -130,6 +163,7 @@ public class BeltInventory {
 			currentItem.prevSideOffset = currentItem.sideOffset;
 
 			if (currentItem.stack.isEmpty()) {
+				markItemChanged(currentItem);
 				iterator.remove();
 				currentItem = null;
 				continue;
@@ -175,12 +209,12 @@ public class BeltInventory {
 			if (!onClient && horizontal) {
 				ItemStack item = currentItem.stack;
 				if (handleBeltProcessingAndCheckIfRemoved(currentItem, nextOffset, noMovement)) {
+					markItemChanged(currentItem);
 					iterator.remove();
-					belt.sendData();
 					continue;
 				}
 				if (item != currentItem.stack)
-					belt.sendData();
+					markItemChanged(currentItem);
 				if (currentItem.locked)
 					continue;
 			}
@@ -190,6 +224,7 @@ public class BeltInventory {
 			if (currentItem.stack.isEmpty()) {
 				// fabric: don't hold on to empty stacks, they cause crashes
 				// there's already a check for this above, but checkForFunnels modifies the stack
+				markItemChanged(currentItem);
 				iterator.remove();
 				continue;
 			}
@@ -234,11 +269,11 @@ public class BeltInventory {
 					continue;
 
 				currentItem.stack = remainder;
+				markItemChanged(currentItem);
 				if (remainder.isEmpty())
 					iterator.remove();
 
 				flapTunnel(this, lastOffset, movementFacing, false);
-				belt.sendData();
 				continue;
 			}
 
@@ -247,9 +282,9 @@ public class BeltInventory {
 
 			if (ending == Ending.EJECT) {
 				eject(currentItem);
+				markItemChanged(currentItem);
 				iterator.remove();
 				flapTunnel(this, lastOffset, movementFacing, false);
-				belt.sendData();
 				continue;
 			}
 		}
@@ -269,7 +304,7 @@ public class BeltInventory {
 				return false;
 			if (processingBehaviour == null) {
 				currentItem.locked = false;
-				belt.sendData();
+				markItemChanged(currentItem);
 				return false;
 			}
 
@@ -280,7 +315,7 @@ public class BeltInventory {
 				return false;
 
 			currentItem.locked = false;
-			belt.sendData();
+			markItemChanged(currentItem);
 			return false;
 		}
 
@@ -313,7 +348,7 @@ public class BeltInventory {
 				if (result == ProcessingResult.HOLD) {
 					currentItem.beltPosition = segment + .5f + (beltMovementPositive ? 1 / 512f : -1 / 512f);
 					currentItem.locked = true;
-					belt.sendData();
+					markItemChanged(currentItem);
 					return false;
 				}
 			}
@@ -377,10 +412,10 @@ public class BeltInventory {
 		else if (!beltMovementPositive)
 			segmentPos += 1f;
 
-		for (TransportedItemStack stack : items)
+		for (TransportedItemStack stack : items.get())
 			if (isBlocking(segment, side, segmentPos, stack))
 				return false;
-		for (TransportedItemStack stack : toInsert)
+		for (TransportedItemStack stack : toInsert.get())
 			if (isBlocking(segment, side, segmentPos, stack))
 				return false;
 
@@ -395,11 +430,55 @@ public class BeltInventory {
 		return false;
 	}
 
+	/**
+	 * Funnels and crushers check the segments every moving item is about to pass,
+	 * each tick. The server remembers which segments have one above them, until a
+	 * block above the belt changes. Clients are not told about neighbouring block
+	 * changes, so they always look.
+	 */
+	boolean mayInteractAbove(int segment) {
+		Level world = belt.getLevel();
+		if (world.isClientSide || segment < 0 || segment >= belt.beltLength)
+			return true;
+		if (interactionsAbove == null) {
+			interactionsAbove = new BitSet(belt.beltLength);
+			for (int i = 0; i < belt.beltLength; i++) {
+				Block block = world.getBlockState(BeltHelper.getPositionForOffset(belt, i)
+					.above())
+					.getBlock();
+				if (block instanceof BeltFunnelBlock || block instanceof CrushingWheelControllerBlock)
+					interactionsAbove.set(i);
+			}
+		}
+		return interactionsAbove.get(segment);
+	}
+
+	public void invalidateInteractionsAbove() {
+		interactionsAbove = null;
+	}
+
 	public void addItem(TransportedItemStack newStack) {
-		toInsert.add(newStack);
+		toInsert.mutable()
+			.add(newStack);
+	}
+
+	/**
+	 * Transactions replace items instead of changing them, since snapshots share
+	 * them
+	 */
+	void replaceItem(TransportedItemStack transported, TransportedItemStack replacement) {
+		BeltItemList list = items.mutable();
+		int index = list.indexOf(transported);
+		if (index != -1)
+			list.set(index, replacement);
 	}
 
 	private void insert(TransportedItemStack newStack) {
+		if (!belt.getLevel().isClientSide) {
+			newStack.syncId = nextSyncId++;
+			markItemChanged(newStack);
+		}
+		BeltItemList items = this.items.mutable();
 		if (items.isEmpty())
 			items.add(newStack);
 		else {
@@ -416,7 +495,7 @@ public class BeltInventory {
 	public TransportedItemStack getStackAtOffset(int offset) {
 		float min = offset;
 		float max = offset + 1;
-		for (TransportedItemStack stack : items) {
+		for (TransportedItemStack stack : items.get()) {
 			if (stack.beltPosition > max)
 				continue;
 			if (stack.beltPosition > min)
@@ -425,17 +504,85 @@ public class BeltInventory {
 		return null;
 	}
 
+	/**
+	 * Only has to be called for items that changed outside of the belt's own
+	 * tick. Removed items are synced as such.
+	 */
+	public void markItemChanged(TransportedItemStack transported) {
+		if (transported.syncId != 0 && !belt.getLevel().isClientSide)
+			changedItems.add(transported.syncId);
+	}
+
+	private void sendItemChanges() {
+		if (changedItems.isEmpty())
+			return;
+
+		Int2ObjectMap<TransportedItemStack> present = new Int2ObjectOpenHashMap<>();
+		items.get()
+			.forEach(transported -> present.put(transported.syncId, transported));
+
+		List<TransportedItemStack> changed = new ArrayList<>();
+		IntList removed = new IntArrayList();
+		changedItems.forEach(id -> {
+			TransportedItemStack transported = present.get(id);
+			if (transported != null)
+				changed.add(transported.copy());
+			else
+				removed.add(id);
+		});
+		changedItems.clear();
+
+		AllPackets.channel.sendToClientsTracking(new BeltItemsPacket(belt.getBlockPos(), changed, removed),
+			(ServerLevel) belt.getLevel(), belt.getBlockPos());
+	}
+
+	public void applyItemChanges(List<TransportedItemStack> changed, IntList removed) {
+		IntSet replaced = new IntOpenHashSet(removed);
+		changed.forEach(transported -> replaced.add(transported.syncId));
+
+		Int2ObjectMap<TransportedItemStack> previous = new Int2ObjectOpenHashMap<>();
+		items.mutable()
+			.removeIf(transported -> {
+				if (!replaced.contains(transported.syncId))
+					return false;
+				previous.put(transported.syncId, transported);
+				return true;
+			});
+
+		for (TransportedItemStack transported : changed) {
+			// Keep interpolating from where the item was rendered last
+			TransportedItemStack before = previous.get(transported.syncId);
+			if (before != null) {
+				transported.prevBeltPosition = before.prevBeltPosition;
+				transported.prevSideOffset = before.prevSideOffset;
+			}
+			insert(transported);
+		}
+	}
+
 	public void read(CompoundTag nbt) {
-		items.clear();
+		BeltItemList list = new BeltItemList();
 		nbt.getList("Items", Tag.TAG_COMPOUND)
-			.forEach(inbt -> items.add(TransportedItemStack.read((CompoundTag) inbt)));
+			.forEach(inbt -> {
+				CompoundTag tag = (CompoundTag) inbt;
+				TransportedItemStack transported = TransportedItemStack.read(tag);
+				transported.syncId = tag.contains("SyncId") ? tag.getInt("SyncId") : nextSyncId++;
+				list.add(transported);
+			});
+		items.set(list);
 		beltMovementPositive = nbt.getBoolean("PositiveOrder");
 	}
 
-	public CompoundTag write() {
+	public CompoundTag write(boolean clientPacket) {
 		CompoundTag nbt = new CompoundTag();
 		ListTag itemsNBT = new ListTag();
-		items.forEach(stack -> itemsNBT.add(stack.serializeNBT()));
+		items.get()
+			.forEach(stack -> {
+				CompoundTag tag = stack.serializeNBT();
+				if (clientPacket)
+					tag.putInt("SyncId", stack.syncId);
+				itemsNBT.add(tag);
+			});
 		nbt.put("Items", itemsNBT);
 		nbt.putBoolean("PositiveOrder", beltMovementPositive);
 		return nbt;
@@ -459,15 +606,18 @@ public class BeltInventory {
 	}
 
 	public void ejectAll() {
-		items.forEach(this::eject);
-		items.clear();
+		items.get()
+			.forEach(this::eject);
+		items.mutable()
+			.clear();
 	}
 
 	public void applyToEachWithin(float position, float maxDistanceToPosition,
 		Function<TransportedItemStack, TransportedResult> processFunction) {
 		boolean dirty = false;
-		for (TransportedItemStack transported : items) {
-			if (toRemove.contains(transported))
+		for (TransportedItemStack transported : items.get()) {
+			if (toRemove.get()
+				.contains(transported))
 				continue;
 			ItemStack stackBefore = transported.stack.copy();
 			if (Math.abs(position - transported.beltPosition) >= maxDistanceToPosition)
@@ -480,19 +630,29 @@ public class BeltInventory {
 			if (result.hasHeldOutput()) {
 				TransportedItemStack held = result.getHeldOutput();
 				held.beltPosition = ((int) position) + .5f - (beltMovementPositive ? 1 / 512f : -1 / 512f);
-				toInsert.add(held);
+				toInsert.mutable()
+					.add(held);
 			}
-			toInsert.addAll(result.getOutputs());
-			toRemove.add(transported);
+			toInsert.mutable()
+				.addAll(result.getOutputs());
+			toRemove.mutable()
+				.add(transported);
 		}
-		if (dirty) {
+		if (dirty)
 			belt.setChanged();
-			belt.sendData();
-		}
 	}
 
+	/**
+	 * @return a read-only view of the items on this belt, use {@link #removeIf} to
+	 *         take items off it directly
+	 */
 	public List<TransportedItemStack> getTransportedItems() {
-		return items;
+		return Collections.unmodifiableList(items.get());
+	}
+
+	public void removeIf(Predicate<TransportedItemStack> filter) {
+		items.mutable()
+			.removeIf(filter);
 	}
 
 }
@@ -0,0 +1,69 @@
+package com.simibubi.create.content.contraptions.relays.belt.transport;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Array backed list of the items on a belt. Since the belt keeps them ordered
+ * front to back, a change of direction has to reverse the list, which only
+ * flips the way indices are mapped onto the backing array.
+ */
+public class BeltItemList extends AbstractList<TransportedItemStack> {
+
+	private final List<TransportedItemStack> backing;
+	private boolean reversed;
+
+	public BeltItemList() {
+		backing = new ArrayList<>();
+	}
+
+	public BeltItemList(Collection<TransportedItemStack> items) {
+		backing = new ArrayList<>(items);
+	}
+
+	public void reverse() {
+		reversed = !reversed;
+		modCount++;
+	}
+
+	private int toBackingIndex(int index) {
+		return reversed ? backing.size() - 1 - index : index;
+	}
+
+	@Override
+	public TransportedItemStack get(int index) {
+		return backing.get(toBackingIndex(index));
+	}
+
+	@Override
+	public TransportedItemStack set(int index, TransportedItemStack element) {
+		return backing.set(toBackingIndex(index), element);
+	}
+
+	@Override
+	public void add(int index, TransportedItemStack element) {
+		backing.add(reversed ? backing.size() - index : index, element);
+		modCount++;
+	}
+
+	@Override
+	public TransportedItemStack remove(int index) {
+		TransportedItemStack removed = backing.remove(toBackingIndex(index));
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		backing.clear();
+		modCount++;
+	}
+
+	@Override
+	public int size() {
+		return backing.size();
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.simibubi.create.content.contraptions.relays.belt.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.simibubi.create.content.contraptions.relays.belt.BeltTileEntity;
+import com.simibubi.create.foundation.networking.TileEntityDataPacket;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * Items that were added to, changed on or removed from a belt since the last
+ * sync. The client keeps moving all other items on its own.
+ */
+public class BeltItemsPacket extends TileEntityDataPacket<BeltTileEntity> {
+
+	private List<TransportedItemStack> changed;
+	private IntList removed;
+
+	public BeltItemsPacket(BlockPos pos, List<TransportedItemStack> changed, IntList removed) {
+		super(pos);
+		this.changed = changed;
+		this.removed = removed;
+	}
+
+	public BeltItemsPacket(FriendlyByteBuf buffer) {
+		super(buffer);
+		int count = buffer.readVarInt();
+		changed = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			TransportedItemStack transported = new TransportedItemStack(buffer.readItem());
+			transported.syncId = buffer.readVarInt();
+			transported.beltPosition = transported.prevBeltPosition = buffer.readFloat();
+			transported.sideOffset = transported.prevSideOffset = buffer.readFloat();
+			transported.angle = buffer.readShort();
+			transported.insertedAt = buffer.readVarInt();
+			transported.insertedFrom = Direction.from3DDataValue(buffer.readByte());
+			transported.locked = buffer.readBoolean();
+			changed.add(transported);
+		}
+
+		count = buffer.readVarInt();
+		removed = new IntArrayList(count);
+		for (int i = 0; i < count; i++)
+			removed.add(buffer.readVarInt());
+	}
+
+	@Override
+	protected void writeData(FriendlyByteBuf buffer) {
+		buffer.writeVarInt(changed.size());
+		for (TransportedItemStack transported : changed) {
+			buffer.writeItem(transported.stack);
+			buffer.writeVarInt(transported.syncId);
+			buffer.writeFloat(transported.beltPosition);
+			buffer.writeFloat(transported.sideOffset);
+			buffer.writeShort(transported.angle);
+			buffer.writeVarInt(transported.insertedAt);
+			buffer.writeByte(transported.insertedFrom.get3DDataValue());
+			buffer.writeBoolean(transported.locked);
+		}
+
+		buffer.writeVarInt(removed.size());
+		for (int i = 0; i < removed.size(); i++)
+			buffer.writeVarInt(removed.getInt(i));
+	}
+
+	@Override
+	protected void handlePacket(BeltTileEntity tile) {
+		if (!tile.isController())
+			return;
+		tile.getInventory()
+			.applyItemChanges(changed, removed);
+	}
+
+}
@@ -56,7 +56,7 @@ public class BeltTunnelInteractionHandler {
 				if (onServer) {
 					brassTunnel.setStackToDistribute(current.stack, movementFacing.getOpposite(), null);
 					current.stack = ItemStack.EMPTY;
-					beltInventory.belt.sendData();
+					beltInventory.markItemChanged(current);
 					beltInventory.belt.setChanged();
 				}
 				removed = true;
@@ -92,7 +92,7 @@ public class BeltTunnelInteractionHandler {
 						flapTunnel(beltInventory, upcomingSegment, d, false);
 
 					current.stack.shrink(1);
-					beltInventory.belt.sendData();
+					beltInventory.markItemChanged(current);
 					if (current.stack.getCount() <= 1)
 						break;
 				}
@@ -38,7 +38,11 @@ public class ItemHandlerBeltSegment implements SingleSlotStorage<ItemVariant> {
 		// TODO PORT
 		int toExtract = (int) Math.min(maxAmount, transported.stack.getCount());
 		this.beltInventory.snapshotParticipant.updateSnapshots(transaction);
-		transported.stack.shrink(toExtract);
+		ItemStack remaining = transported.stack.copy();
+		remaining.shrink(toExtract);
+		TransportedItemStack replacement = transported.withStack(remaining);
+		this.beltInventory.replaceItem(transported, replacement);
+		this.beltInventory.markItemChanged(replacement);
 		return toExtract;
 	}
 
@@ -30,6 +30,9 @@ public class TransportedItemStack implements Comparable<TransportedItemStack> {
 	public InWorldProcessing.Type processedBy;
 	public int processingTime;
 
+	// Identifies the item in partial belt syncs, not saved
+	public int syncId;
+
 	public TransportedItemStack(ItemStack stack) {
 		this.stack = stack;
 		boolean centered = BeltHelper.isItemUpright(stack);
@@ -63,6 +66,28 @@ public class TransportedItemStack implements Comparable<TransportedItemStack> {
 		TransportedItemStack copy = getSimilar();
 		copy.angle = angle;
 		copy.sideOffset = sideOffset;
+		copy.syncId = syncId;
+		return copy;
+	}
+
+	/**
+	 * @return an exact copy holding the given stack instead. Inside a transaction
+	 *         items are replaced by these, as snapshots may still share them
+	 */
+	public TransportedItemStack withStack(ItemStack stack) {
+		TransportedItemStack copy = new TransportedItemStack(stack);
+		copy.beltPosition = beltPosition;
+		copy.sideOffset = sideOffset;
+		copy.angle = angle;
+		copy.insertedAt = insertedAt;
+		copy.insertedFrom = insertedFrom;
+		copy.locked = locked;
+		copy.lockedExternally = lockedExternally;
+		copy.prevBeltPosition = prevBeltPosition;
+		copy.prevSideOffset = prevSideOffset;
+		copy.processedBy = processedBy;
+		copy.processingTime = processingTime;
+		copy.syncId = syncId;
 		return copy;
 	}
 
@@ -0,0 +1,31 @@
+package com.simibubi.create.content.logistics.block.belts.tunnel;
+
+/**
+ * Server side counts of the brass tunnels that ticked during the last server
+ * tick, split into those asleep until an item or a neighbour change wakes them
+ * and those that ran their distribution. Counted anew every tick, so unloaded
+ * tunnels drop out on their own. Reported by /create tunnels
+ */
+public class BrassTunnelActivity {
+
+	static int sleeping;
+	static int active;
+	private static int sleepingLastTick;
+	private static int activeLastTick;
+
+	public static void serverTick() {
+		sleepingLastTick = sleeping;
+		activeLastTick = active;
+		sleeping = 0;
+		active = 0;
+	}
+
+	public static int getSleepingLastTick() {
+		return sleepingLastTick;
+	}
+
+	public static int getActiveLastTick() {
+		return activeLastTick;
+	}
+
+}
@@ -82,6 +82,12 @@ public class BrassTunnelTileEntity extends BeltTunnelTileEntity implements IHave
 	private boolean syncedOutputActive;
 	private Set<BrassTunnelTileEntity> syncSet;
 
+	// Outputs of the connected tunnels, until one of them or their belts change
+	@Nullable
+	private List<Pair<BrassTunnelTileEntity, Direction>> cachedOutputs;
+	// Idle tunnels skip distributing until an item or a neighbour change wakes them
+	private boolean sleeping;
+
 	protected ScrollOptionBehaviour<SelectionMode> selectionMode;
 	private StorageProvider<ItemVariant> beltProvider;
 	private BrassTunnelItemHandler tunnelCapability;
@@ -98,6 +104,7 @@ public class BrassTunnelTileEntity extends BeltTunnelTileEntity implements IHave
 			stackToDistribute = snapshot.stack;
 			distributionProgress = snapshot.progress;
 			stackEnteredFrom = snapshot.enteredFrom;
+			wakeUp();
 		}
 	};
 
@@ -145,6 +152,18 @@ public class BrassTunnelTileEntity extends BeltTunnelTileEntity implements IHave
 	@Override
 	public void tick() {
 		super.tick();
+
+		if (!level.isClientSide) {
+			if (!sleeping && stackToDistribute.isEmpty() && !syncedOutputActive && distributionProgress <= 0
+				&& flapsToSend.isEmpty())
+				sleeping = true;
+			if (sleeping) {
+				BrassTunnelActivity.sleeping++;
+				return;
+			}
+			BrassTunnelActivity.active++;
+		}
+
 		BeltTileEntity beltBelow = BeltHelper.getSegmentTE(level, worldPosition.below());
 
 		if (distributionProgress > 0)
@@ -161,7 +180,6 @@ public class BrassTunnelTileEntity extends BeltTunnelTileEntity implements IHave
 			distributionDistanceLeft = 0;
 			distributionDistanceRight = 0;
 
-			syncSet.clear();
 			List<Pair<BrassTunnelTileEntity, Direction>> validOutputs = gatherValidOutputs();
 			if (selectionMode.get() == SelectionMode.SYNCHRONIZE) {
 				boolean allEmpty = true;
@@ -173,7 +191,7 @@ public class BrassTunnelTileEntity extends BeltTunnelTileEntity implements IHave
 				}
 				final boolean notifySyncedOut = !allEmpty;
 				if (allFull || allEmpty)
-					syncSet.forEach(te -> te.syncedOutputActive = notifySyncedOut);
+					syncSet.forEach(te -> te.setSyncedOutputActive(notifySyncedOut));
 			}
 
 			if (validOutputs == null)
@@ -184,6 +202,8 @@ public class BrassTunnelTileEntity extends BeltTunnelTileEntity implements IHave
 			for (Pair<BrassTunnelTileEntity, Direction> pair : validOutputs) {
 				BrassTunnelTileEntity tunnel = pair.getKey();
 				Direction output = pair.getValue();
+				if (tunnel.isRemoved())
+					continue;
 				if (insertIntoTunnel(tunnel, output, stackToDistribute, true) == null)
 					continue;
 				distributionTargets.get(!tunnel.flapFilterEmpty(output))
@@ -357,6 +377,25 @@ public class BrassTunnelTileEntity extends BeltTunnelTileEntity implements IHave
 		stackToDistribute = stack;
 		stackEnteredFrom = enteredFrom;
 		distributionProgress = -1;
+		wakeUp();
+	}
+
+	private void setSyncedOutputActive(boolean active) {
+		syncedOutputActive = active;
+		if (active)
+			wakeUp();
+	}
+
+	public void wakeUp() {
+		if (!sleeping)
+			return;
+		sleeping = false;
+	}
+
+	@Override
+	public void flap(Direction side, boolean inward) {
+		super.flap(side, inward);
+		wakeUp();
 	}
 
 	public ItemStack getStackToDistribute() {
@@ -511,8 +550,37 @@ public class BrassTunnelTileEntity extends BeltTunnelTileEntity implements IHave
 	}
 
 	private List<Pair<BrassTunnelTileEntity, Direction>> gatherValidOutputs() {
-		List<Pair<BrassTunnelTileEntity, Direction>> validOutputs = new ArrayList<>();
+		if (cachedOutputs == null) {
+			syncSet.clear();
+			cachedOutputs = collectValidOutputs();
+		}
+
 		boolean synchronize = selectionMode.get() == SelectionMode.SYNCHRONIZE;
+		if (!syncedOutputActive && synchronize)
+			return null;
+		return cachedOutputs;
+	}
+
+	/**
+	 * Drops the cached outputs of this tunnel and of all tunnels connected to
+	 * it, since they may distribute into this one and the blocks next to it
+	 */
+	public void invalidateOutputs() {
+		for (boolean left : Iterate.trueAndFalse) {
+			BrassTunnelTileEntity adjacent = this;
+			while (adjacent != null) {
+				adjacent.cachedOutputs = null;
+				adjacent.wakeUp();
+				if (!level.isLoaded(adjacent.getBlockPos()))
+					break;
+				adjacent = adjacent.getAdjacent(left);
+			}
+		}
+	}
+
+	@Nullable
+	private List<Pair<BrassTunnelTileEntity, Direction>> collectValidOutputs() {
+		List<Pair<BrassTunnelTileEntity, Direction>> validOutputs = new ArrayList<>();
 		addValidOutputsOf(this, validOutputs);
 
 		for (boolean left : Iterate.trueAndFalse) {
@@ -527,8 +595,6 @@ public class BrassTunnelTileEntity extends BeltTunnelTileEntity implements IHave
 			}
 		}
 
-		if (!syncedOutputActive && synchronize)
-			return null;
 		return validOutputs;
 	}
 
@@ -650,6 +716,7 @@ public class BrassTunnelTileEntity extends BeltTunnelTileEntity implements IHave
 		previousOutputIndex = compound.getInt("PreviousIndex");
 		distributionDistanceLeft = compound.getInt("DistanceLeft");
 		distributionDistanceRight = compound.getInt("DistanceRight");
+		wakeUp();
 
 		for (boolean filtered : Iterate.trueAndFalse) {
 			distributionTargets.set(filtered, NBTHelper
@@ -707,6 +774,8 @@ public class BrassTunnelTileEntity extends BeltTunnelTileEntity implements IHave
 			filtering.updateFilterPresence();
 		if (connectivityChanged)
 			sendData();
+		if (hasLevel())
+			invalidateOutputs();
 	}
 
 	protected boolean determineIfConnected(boolean leftSide) {
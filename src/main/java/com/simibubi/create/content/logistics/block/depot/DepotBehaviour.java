@@ -13,6 +13,7 @@ import com.simibubi.create.content.contraptions.relays.belt.BeltHelper;
 import com.simibubi.create.content.contraptions.relays.belt.transport.TransportedItemStack;
 import com.simibubi.create.content.logistics.block.funnel.AbstractFunnelBlock;
 import com.simibubi.create.foundation.item.ItemHelper;
+import com.simibubi.create.foundation.item.SnapshotSharedList;
 import com.simibubi.create.foundation.tileEntity.SmartTileEntity;
 import com.simibubi.create.foundation.tileEntity.TileEntityBehaviour;
 import com.simibubi.create.foundation.tileEntity.behaviour.BehaviourType;
@@ -50,7 +51,7 @@ public class DepotBehaviour extends TileEntityBehaviour {
 	public static final BehaviourType<DepotBehaviour> TYPE = new BehaviourType<>();
 
 	TransportedItemStack heldItem;
-	List<TransportedItemStack> incoming;
+	SnapshotSharedList<TransportedItemStack, List<TransportedItemStack>> incoming;
 	ItemStackHandler processingOutputBuffer;
 	public DepotItemHandler itemHandler;
 	TransportedItemStackHandlerBehaviour transportedHandler;
@@ -64,12 +65,13 @@ public class DepotBehaviour extends TileEntityBehaviour {
 	SnapshotParticipant<Data> snapshotParticipant = new SnapshotParticipant<>() {
 		@Override
 		protected Data createSnapshot() {
-			return new Data(new ArrayList<>(incoming), heldItem == null ? null : heldItem.copy());
+			// The held item is replaced rather than changed inside a transaction
+			return new Data(incoming.snapshot(), heldItem);
 		}
 
 		@Override
 		protected void readSnapshot(Data snapshot) {
-			incoming = snapshot.incoming;
+			incoming.restore(snapshot.incoming);
 			heldItem = snapshot.held;
 		}
 
@@ -90,7 +92,7 @@ public class DepotBehaviour extends TileEntityBehaviour {
 		acceptedItems = $ -> true;
 		onHeldInserted = $ -> {
 		};
-		incoming = new ArrayList<>();
+		incoming = new SnapshotSharedList<>(new ArrayList<>(), ArrayList::new);
 		itemHandler = new DepotItemHandler(this);
 		processingOutputBuffer = new ItemStackHandler(8) {
 			protected void onContentsChanged(int slot) {
@@ -119,7 +121,8 @@ public class DepotBehaviour extends TileEntityBehaviour {
 
 		Level world = tileEntity.getLevel();
 
-		for (Iterator<TransportedItemStack> iterator = incoming.iterator(); iterator.hasNext();) {
+		for (Iterator<TransportedItemStack> iterator = incoming.mutable()
+			.iterator(); iterator.hasNext();) {
 			TransportedItemStack ts = iterator.next();
 			if (!tick(ts))
 				continue;
@@ -238,7 +241,7 @@ public class DepotBehaviour extends TileEntityBehaviour {
 		Level level = getWorld();
 		BlockPos pos = getPos();
 		ItemHelper.dropContents(level, pos, processingOutputBuffer);
-		for (TransportedItemStack transportedItemStack : incoming)
+		for (TransportedItemStack transportedItemStack : incoming.get())
 			Block.popResource(level, pos, transportedItemStack.stack);
 		if (!getHeldItemStack().isEmpty())
 			Block.popResource(level, pos, getHeldItemStack());
@@ -254,8 +257,9 @@ public class DepotBehaviour extends TileEntityBehaviour {
 		if (heldItem != null)
 			compound.put("HeldItem", heldItem.serializeNBT());
 		compound.put("OutputBuffer", processingOutputBuffer.serializeNBT());
-		if (canMergeItems() && !incoming.isEmpty())
-			compound.put("Incoming", NBTHelper.writeCompoundList(incoming, TransportedItemStack::serializeNBT));
+		if (canMergeItems() && !incoming.get()
+			.isEmpty())
+			compound.put("Incoming", NBTHelper.writeCompoundList(incoming.get(), TransportedItemStack::serializeNBT));
 	}
 
 	@Override
@@ -266,7 +270,7 @@ public class DepotBehaviour extends TileEntityBehaviour {
 		processingOutputBuffer.deserializeNBT(compound.getCompound("OutputBuffer"));
 		if (canMergeItems()) {
 			ListTag list = compound.getList("Incoming", Tag.TAG_COMPOUND);
-			incoming = NBTHelper.readCompoundList(list, TransportedItemStack::read);
+			incoming.set(NBTHelper.readCompoundList(list, TransportedItemStack::read));
 		}
 	}
 
@@ -297,7 +301,7 @@ public class DepotBehaviour extends TileEntityBehaviour {
 
 	public int getRemainingSpace() {
 		int cumulativeStackSize = getPresentStackSize();
-		for (TransportedItemStack transportedItemStack : incoming)
+		for (TransportedItemStack transportedItemStack : incoming.get())
 			cumulativeStackSize += transportedItemStack.stack.getCount();
 		int fromGetter = maxStackSize.get();
 		return (fromGetter == 0 ? 64 : fromGetter) - cumulativeStackSize;
@@ -324,12 +328,14 @@ public class DepotBehaviour extends TileEntityBehaviour {
 				TransportedItemStack copy = heldItem.copy();
 				copy.stack.setCount(remainingSpace);
 				if (this.heldItem != null)
-					incoming.add(copy);
+					incoming.mutable()
+						.add(copy);
 				else
 					this.heldItem = copy;
 			} else {
 				if (this.heldItem != null)
-					incoming.add(heldItem);
+					incoming.mutable()
+						.add(heldItem);
 				else
 					this.heldItem = heldItem;
 			}
@@ -60,9 +60,7 @@ public class DepotItemHandler extends SnapshotParticipant<Unit> implements Stora
 		if (stack.isEmpty())
 			stack = ItemStack.EMPTY;
 		te.snapshotParticipant.updateSnapshots(transaction);
-		te.heldItem.stack = stack;
-		if (stack.isEmpty())
-			te.heldItem = null;
+		te.heldItem = stack.isEmpty() ? null : held.withStack(stack);
 		return toExtract;
 	}
 
@@ -44,10 +44,11 @@ public class DepotRenderer extends SafeTileEntityRenderer<DepotTileEntity> {
 		ms.translate(.5f, 15 / 16f, .5f);
 
 		if (transported != null)
-			depotBehaviour.incoming.add(transported);
+			depotBehaviour.incoming.mutable()
+				.add(transported);
 
 		// Render main items
-		for (TransportedItemStack tis : depotBehaviour.incoming) {
+		for (TransportedItemStack tis : depotBehaviour.incoming.get()) {
 			ms.pushPose();
 			msr.nudge(0);
 			float offset = Mth.lerp(partialTicks, tis.prevBeltPosition, tis.beltPosition);
@@ -73,7 +74,8 @@ public class DepotRenderer extends SafeTileEntityRenderer<DepotTileEntity> {
 		}
 
 		if (transported != null)
-			depotBehaviour.incoming.remove(transported);
+			depotBehaviour.incoming.mutable()
+				.remove(transported);
 
 		// Render output items
 		for (int i = 0; i < depotBehaviour.processingOutputBuffer.getSlots(); i++) {
@@ -219,7 +219,8 @@ public class EjectorTileEntity extends KineticTileEntity implements ItemTransfer
 					depotBehaviour.heldItem.stack = remainder;
 			}
 
-			for (Iterator<TransportedItemStack> iterator = depotBehaviour.incoming.iterator(); iterator.hasNext();) {
+			for (Iterator<TransportedItemStack> iterator = depotBehaviour.incoming.mutable()
+				.iterator(); iterator.hasNext();) {
 				TransportedItemStack transportedItemStack = iterator.next();
 				ItemStack stack = transportedItemStack.stack;
 				ItemStack remainder = directOutput.tryExportingToBeltFunnel(stack, funnelFacing, false);
@@ -256,9 +257,10 @@ public class EjectorTileEntity extends KineticTileEntity implements ItemTransfer
 			depotBehaviour.removeHeldItem();
 		}
 
-		for (TransportedItemStack transportedItemStack : depotBehaviour.incoming)
+		for (TransportedItemStack transportedItemStack : depotBehaviour.incoming.get())
 			addToLaunchedItems(transportedItemStack.stack);
-		depotBehaviour.incoming.clear();
+		depotBehaviour.incoming.mutable()
+			.clear();
 
 		ItemStackHandler outputs = depotBehaviour.processingOutputBuffer;
 		try (Transaction t = TransferUtil.getTransaction()) {
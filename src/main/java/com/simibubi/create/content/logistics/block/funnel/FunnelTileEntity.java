@@ -84,6 +84,14 @@ public class FunnelTileEntity extends SmartTileEntity implements IHaveHoveringIn
 		return Mode.INVALID;
 	}
 
+	@Override
+	public void initialize() {
+		super.initialize();
+		// Schematicannons place funnels without notifying the belt below
+		if (getBlockState().getBlock() instanceof BeltFunnelBlock)
+			BeltHelper.invalidateInteractionsAbove(level, worldPosition.below());
+	}
+
 	@Override
 	public void tick() {
 		super.tick();
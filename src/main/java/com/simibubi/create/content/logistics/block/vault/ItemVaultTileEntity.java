@@ -7,6 +7,8 @@ import javax.annotation.Nullable;
 import com.simibubi.create.AllTileEntities;
 import com.simibubi.create.api.connectivity.ConnectivityHandler;
 import com.simibubi.create.foundation.config.AllConfigs;
+import com.simibubi.create.foundation.item.IndexedItemStackHandler;
+import com.simibubi.create.foundation.item.SlotIndexedStorage;
 import com.simibubi.create.foundation.tileEntity.IMultiTileContainer;
 import com.simibubi.create.foundation.tileEntity.SmartTileEntity;
 import com.simibubi.create.foundation.tileEntity.TileEntityBehaviour;
@@ -15,7 +17,6 @@ import io.github.fabricators_of_create.porting_lib.transfer.item.ItemTransferabl
 
 import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
 import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
-import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.Direction.Axis;
@@ -44,7 +45,7 @@ public class ItemVaultTileEntity extends SmartTileEntity implements IMultiTileCo
 	public ItemVaultTileEntity(BlockEntityType<?> tileEntityTypeIn, BlockPos pos, BlockState state) {
 		super(tileEntityTypeIn, pos, state);
 
-		inventory = new ItemStackHandler(AllConfigs.SERVER.logistics.vaultCapacity.get()) {
+		inventory = new IndexedItemStackHandler(AllConfigs.SERVER.logistics.vaultCapacity.get()) {
 			@Override
 			protected void onContentsChanged(int slot) {
 				super.onContentsChanged(slot);
@@ -266,7 +267,7 @@ public class ItemVaultTileEntity extends SmartTileEntity implements IMultiTileCo
 			}
 		}
 
-		CombinedStorage<ItemVariant, ItemStackHandler> combinedInvWrapper = new CombinedStorage<>(List.of(invs));
+		SlotIndexedStorage<ItemStackHandler> combinedInvWrapper = new SlotIndexedStorage<>(List.of(invs));
 		itemCapability = combinedInvWrapper;
 	}
 
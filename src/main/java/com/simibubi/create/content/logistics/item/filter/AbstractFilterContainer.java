@@ -57,6 +57,13 @@ public abstract class AbstractFilterContainer extends GhostItemContainer<ItemSta
 				.put("Items", ghostInventory.serializeNBT());
 	}
 
+	@Override
+	public void removed(Player playerIn) {
+		super.removed(playerIn);
+		// The filter's nbt was rewritten in place
+		FilterItem.invalidateCompiledFilter(contentHolder);
+	}
+
 	@Override
 	public boolean stillValid(Player player) {
 		return playerInventory.getSelected() == contentHolder;
@@ -0,0 +1,172 @@
+package com.simibubi.create.content.logistics.item.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.simibubi.create.AllItems;
+import com.simibubi.create.content.logistics.item.filter.AttributeFilterContainer.WhitelistMode;
+
+import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandler;
+import io.github.fabricators_of_create.porting_lib.util.FluidStack;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+
+/**
+ * The settings of a filter item, read from its nbt once instead of on every
+ * test. See {@link FilterItem#getCompiledFilter(ItemStack)}
+ */
+abstract class CompiledFilter {
+
+	static final CompiledFilter NONE = new CompiledFilter() {
+
+		@Override
+		boolean test(Level world, ItemStack stack) {
+			return false;
+		}
+
+		@Override
+		boolean test(Level world, FluidStack stack) {
+			return false;
+		}
+
+	};
+
+	abstract boolean test(Level world, ItemStack stack);
+
+	abstract boolean test(Level world, FluidStack stack);
+
+	static CompiledFilter compile(ItemStack filter) {
+		if (AllItems.FILTER.get() == filter.getItem())
+			return new ListFilter(filter);
+		if (AllItems.ATTRIBUTE_FILTER.get() == filter.getItem())
+			return new AttributeFilter(filter);
+		return NONE;
+	}
+
+	static class ListFilter extends CompiledFilter {
+
+		private final boolean blacklist;
+		private final boolean respectNBT;
+		private final List<ItemStack> stacks;
+		// Stacks that only need a matching item, when nbt is ignored
+		private final Set<Item> items;
+		// Nested filters, or stacks that need matching nbt
+		private final List<ItemStack> remaining;
+
+		ListFilter(ItemStack filter) {
+			this(FilterItem.getFilterItems(filter), filter.getOrCreateTag()
+				.getBoolean("Blacklist"),
+				filter.getOrCreateTag()
+					.getBoolean("RespectNBT"));
+		}
+
+		ListFilter(ItemStackHandler filterItems, boolean blacklist, boolean respectNBT) {
+			this.blacklist = blacklist;
+			this.respectNBT = respectNBT;
+			stacks = new ArrayList<>();
+			items = new ReferenceOpenHashSet<>();
+			remaining = new ArrayList<>();
+
+			for (int slot = 0; slot < filterItems.getSlots(); slot++) {
+				ItemStack stackInSlot = filterItems.getStackInSlot(slot);
+				if (stackInSlot.isEmpty())
+					continue;
+				stacks.add(stackInSlot);
+				if (!respectNBT && !(stackInSlot.getItem() instanceof FilterItem))
+					items.add(stackInSlot.getItem());
+				else
+					remaining.add(stackInSlot);
+			}
+		}
+
+		@Override
+		boolean test(Level world, ItemStack stack) {
+			if (!stack.isEmpty() && items.contains(stack.getItem()))
+				return !blacklist;
+			for (ItemStack stackInSlot : remaining)
+				if (FilterItem.test(world, stack, stackInSlot, respectNBT))
+					return !blacklist;
+			return blacklist;
+		}
+
+		@Override
+		boolean test(Level world, FluidStack stack) {
+			for (ItemStack stackInSlot : stacks)
+				if (FilterItem.test(world, stack, stackInSlot, respectNBT))
+					return !blacklist;
+			return blacklist;
+		}
+
+	}
+
+	static class AttributeFilter extends CompiledFilter {
+
+		private final WhitelistMode whitelistMode;
+		private final List<ItemAttribute> attributes;
+		private final boolean[] inverted;
+
+		AttributeFilter(ItemStack filter) {
+			CompoundTag tag = filter.getOrCreateTag();
+			whitelistMode = WhitelistMode.values()[tag.getInt("WhitelistMode")];
+			attributes = new ArrayList<>();
+
+			ListTag attributeTags = tag.getList("MatchedAttributes", Tag.TAG_COMPOUND);
+			List<Boolean> invertedList = new ArrayList<>();
+			for (Tag inbt : attributeTags) {
+				CompoundTag compound = (CompoundTag) inbt;
+				ItemAttribute attribute = ItemAttribute.fromNBT(compound);
+				if (attribute == null)
+					continue;
+				attributes.add(attribute);
+				invertedList.add(compound.getBoolean("Inverted"));
+			}
+
+			inverted = new boolean[invertedList.size()];
+			for (int i = 0; i < inverted.length; i++)
+				inverted[i] = invertedList.get(i);
+		}
+
+		@Override
+		boolean test(Level world, ItemStack stack) {
+			for (int i = 0; i < attributes.size(); i++) {
+				boolean matches = attributes.get(i)
+					.appliesTo(stack, world) != inverted[i];
+
+				if (matches) {
+					switch (whitelistMode) {
+					case BLACKLIST:
+						return false;
+					case WHITELIST_CONJ:
+						continue;
+					case WHITELIST_DISJ:
+						return true;
+					}
+				} else {
+					switch (whitelistMode) {
+					case BLACKLIST:
+						continue;
+					case WHITELIST_CONJ:
+						return false;
+					case WHITELIST_DISJ:
+						continue;
+					}
+				}
+			}
+
+			return whitelistMode != WhitelistMode.WHITELIST_DISJ;
+		}
+
+		@Override
+		boolean test(Level world, FluidStack stack) {
+			return false;
+		}
+
+	}
+
+}
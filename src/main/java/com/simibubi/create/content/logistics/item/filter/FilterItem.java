@@ -6,6 +6,9 @@ import java.util.List;
 
 import javax.annotation.Nonnull;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import com.simibubi.create.AllItems;
 import com.simibubi.create.AllKeys;
 import com.simibubi.create.content.contraptions.processing.EmptyingByBasin;
@@ -41,6 +44,11 @@ import net.minecraft.world.level.Level;
 
 public class FilterItem extends Item implements MenuProvider {
 
+	// Weak keys are compared by identity
+	private static final Cache<CompoundTag, CompiledFilter> COMPILED_FILTERS = CacheBuilder.newBuilder()
+		.weakKeys()
+		.build();
+
 	private FilterType type;
 
 	private enum FilterType {
@@ -185,7 +193,7 @@ public class FilterItem extends Item implements MenuProvider {
 		return test(world, stack, filter, true);
 	}
 
-	private static boolean test(Level world, ItemStack stack, ItemStack filter, boolean matchNBT) {
+	static boolean test(Level world, ItemStack stack, ItemStack filter, boolean matchNBT) {
 		if (filter.isEmpty())
 			return true;
 
@@ -193,70 +201,10 @@ public class FilterItem extends Item implements MenuProvider {
 			return (matchNBT ? ItemHandlerHelper.canItemStacksStack(filter, stack)
 				: ItemStack.isSame(filter, stack));
 
-		if (AllItems.FILTER.get() == filter.getItem()) {
-			ItemStackHandler filterItems = getFilterItems(filter);
-			boolean respectNBT = filter.getOrCreateTag()
-				.getBoolean("RespectNBT");
-			boolean blacklist = filter.getOrCreateTag()
-				.getBoolean("Blacklist");
-			for (int slot = 0; slot < filterItems.getSlots(); slot++) {
-				ItemStack stackInSlot = filterItems.getStackInSlot(slot);
-				if (stackInSlot.isEmpty())
-					continue;
-				boolean matches = test(world, stack, stackInSlot, respectNBT);
-				if (matches)
-					return !blacklist;
-			}
-			return blacklist;
-		}
-
-		if (AllItems.ATTRIBUTE_FILTER.get() == filter.getItem()) {
-			WhitelistMode whitelistMode = WhitelistMode.values()[filter.getOrCreateTag()
-				.getInt("WhitelistMode")];
-			ListTag attributes = filter.getOrCreateTag()
-				.getList("MatchedAttributes", Tag.TAG_COMPOUND);
-			for (Tag inbt : attributes) {
-				CompoundTag compound = (CompoundTag) inbt;
-				ItemAttribute attribute = ItemAttribute.fromNBT(compound);
-				if (attribute == null)
-					continue;
-				boolean matches = attribute.appliesTo(stack, world) != compound.getBoolean("Inverted");
-
-				if (matches) {
-					switch (whitelistMode) {
-					case BLACKLIST:
-						return false;
-					case WHITELIST_CONJ:
-						continue;
-					case WHITELIST_DISJ:
-						return true;
-					}
-				} else {
-					switch (whitelistMode) {
-					case BLACKLIST:
-						continue;
-					case WHITELIST_CONJ:
-						return false;
-					case WHITELIST_DISJ:
-						continue;
-					}
-				}
-			}
-
-			switch (whitelistMode) {
-			case BLACKLIST:
-				return true;
-			case WHITELIST_CONJ:
-				return true;
-			case WHITELIST_DISJ:
-				return false;
-			}
-		}
-
-		return false;
+		return getCompiledFilter(filter).test(world, stack);
 	}
 
-	private static boolean test(Level world, FluidStack stack, ItemStack filter, boolean matchNBT) {
+	static boolean test(Level world, FluidStack stack, ItemStack filter, boolean matchNBT) {
 		if (filter.isEmpty())
 			return true;
 		if (stack.isEmpty())
@@ -276,23 +224,27 @@ public class FilterItem extends Item implements MenuProvider {
 			return fluidEqual;
 		}
 
-		if (AllItems.FILTER.get() == filter.getItem()) {
-			ItemStackHandler filterItems = getFilterItems(filter);
-			boolean respectNBT = filter.getOrCreateTag()
-				.getBoolean("RespectNBT");
-			boolean blacklist = filter.getOrCreateTag()
-				.getBoolean("Blacklist");
-			for (int slot = 0; slot < filterItems.getSlots(); slot++) {
-				ItemStack stackInSlot = filterItems.getStackInSlot(slot);
-				if (stackInSlot.isEmpty())
-					continue;
-				boolean matches = test(world, stack, stackInSlot, respectNBT);
-				if (matches)
-					return !blacklist;
-			}
-			return blacklist;
+		return getCompiledFilter(filter).test(world, stack);
+	}
+
+	/**
+	 * Filters are compiled once per nbt instance of their stack. Code changing that
+	 * nbt in place has to call {@link #invalidateCompiledFilter(ItemStack)}
+	 */
+	static CompiledFilter getCompiledFilter(ItemStack filter) {
+		CompoundTag tag = filter.getOrCreateTag();
+		CompiledFilter compiled = COMPILED_FILTERS.getIfPresent(tag);
+		if (compiled == null) {
+			compiled = CompiledFilter.compile(filter);
+			COMPILED_FILTERS.put(tag, compiled);
 		}
-		return false;
+		return compiled;
+	}
+
+	public static void invalidateCompiledFilter(ItemStack filter) {
+		CompoundTag tag = filter.getTag();
+		if (tag != null)
+			COMPILED_FILTERS.invalidate(tag);
 	}
 
 }
@@ -12,7 +12,6 @@ import com.simibubi.create.foundation.utility.Iterate;
 import com.simibubi.create.foundation.utility.VecHelper;
 
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.Direction.Axis;
 import net.minecraft.core.particles.BlockParticleOption;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
@@ -20,7 +19,6 @@ import net.minecraft.nbt.NbtUtils;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.util.Mth;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
@@ -42,18 +40,13 @@ public class BezierConnection implements Iterable<BezierConnection.Segment> {
 
 	// runtime
 
-	Vec3 finish1;
-	Vec3 finish2;
-	private boolean resolved;
+	private BezierGeometry geometry;
 	private double length;
 	private float[] stepLUT;
 	private int segments;
 
-	private double radius;
 	private double handleLength;
 
-	private AABB bounds;
-
 	public BezierConnection(Couple<BlockPos> positions, Couple<Vec3> starts, Couple<Vec3> axes, Couple<Vec3> normals,
 		boolean primary, boolean girder) {
 		tePositions = positions;
@@ -62,7 +55,6 @@ public class BezierConnection implements Iterable<BezierConnection.Segment> {
 		this.normals = normals;
 		this.primary = primary;
 		this.hasGirder = girder;
-		resolved = false;
 	}
 
 	public BezierConnection secondary() {
@@ -136,12 +128,12 @@ public class BezierConnection implements Iterable<BezierConnection.Segment> {
 
 	public Vec3 getPosition(double t) {
 		resolve();
-		return VecHelper.bezier(starts.getFirst(), starts.getSecond(), finish1, finish2, (float) t);
+		return geometry.getPosition(t);
 	}
 
 	public double getRadius() {
 		resolve();
-		return radius;
+		return geometry.radius;
 	}
 
 	public double getHandleLength() {
@@ -155,136 +147,45 @@ public class BezierConnection implements Iterable<BezierConnection.Segment> {
 
 	public double incrementT(double currentT, double distance) {
 		resolve();
-		double dx =
-			VecHelper.bezierDerivative(starts.getFirst(), starts.getSecond(), finish1, finish2, (float) currentT)
-				.length() / getLength();
-		return currentT + distance / dx;
-
+		return geometry.incrementT(currentT, distance);
 	}
 
 	public AABB getBounds() {
 		resolve();
-		return bounds;
+		return geometry.bounds;
 	}
 
 	public Vec3 getNormal(double t) {
 		resolve();
-		Vec3 end1 = starts.getFirst();
-		Vec3 end2 = starts.getSecond();
-		Vec3 fn1 = normals.getFirst();
-		Vec3 fn2 = normals.getSecond();
-
-		Vec3 derivative = VecHelper.bezierDerivative(end1, end2, finish1, finish2, (float) t)
-			.normalize();
-		Vec3 faceNormal = fn1.equals(fn2) ? fn1 : VecHelper.slerp((float) t, fn1, fn2);
-		Vec3 normal = faceNormal.cross(derivative)
-			.normalize();
-		return derivative.cross(normal);
+		return geometry.getNormal(t);
 	}
 
-	private void resolve() {
-		if (resolved)
-			return;
-		resolved = true;
-
-		Vec3 end1 = starts.getFirst();
-		Vec3 end2 = starts.getSecond();
-		Vec3 axis1 = axes.getFirst()
-			.normalize();
-		Vec3 axis2 = axes.getSecond()
-			.normalize();
-
-		determineHandles(end1, end2, axis1, axis2);
-
-		finish1 = axis1.scale(handleLength)
-			.add(end1);
-		finish2 = axis2.scale(handleLength)
-			.add(end2);
-
-		int scanCount = 16;
-		length = 0;
-
-		{
-			Vec3 previous = end1;
-			for (int i = 0; i <= scanCount; i++) {
-				float t = i / (float) scanCount;
-				Vec3 result = VecHelper.bezier(end1, end2, finish1, finish2, t);
-				if (previous != null)
-					length += result.distanceTo(previous);
-				previous = result;
-			}
-		}
-
-		segments = (int) (length * 2);
-		stepLUT = new float[segments + 1];
-		stepLUT[0] = 1;
-		float combinedDistance = 0;
-
-		bounds = new AABB(end1, end2);
-
-		// determine step lut
-		{
-			Vec3 previous = end1;
-			for (int i = 0; i <= segments; i++) {
-				float t = i / (float) segments;
-				Vec3 result = VecHelper.bezier(end1, end2, finish1, finish2, t);
-				bounds = bounds.minmax(new AABB(result, result));
-				if (i > 0) {
-					combinedDistance += result.distanceTo(previous) / length;
-					stepLUT[i] = (float) (t / combinedDistance);
-				}
-				previous = result;
-			}
-		}
-
-		bounds = bounds.inflate(1.375f);
+	/**
+	 * @return the point at the t of the given step LUT entry
+	 */
+	public Vec3 getStepPosition(int index) {
+		resolve();
+		return geometry.getStepPosition(index);
 	}
 
-	private void determineHandles(Vec3 end1, Vec3 end2, Vec3 axis1, Vec3 axis2) {
-		Vec3 cross1 = axis1.cross(new Vec3(0, 1, 0));
-		Vec3 cross2 = axis2.cross(new Vec3(0, 1, 0));
-
-		radius = 0;
-		double a1 = Mth.atan2(-axis2.z, -axis2.x);
-		double a2 = Mth.atan2(axis1.z, axis1.x);
-		double angle = a1 - a2;
-
-		float circle = 2 * Mth.PI;
-		angle = (angle + circle) % circle;
-		if (Math.abs(circle - angle) < Math.abs(angle))
-			angle = circle - angle;
-
-		if (Mth.equal(angle, 0)) {
-			double[] intersect = VecHelper.intersect(end1, end2, axis1, cross2, Axis.Y);
-			if (intersect != null) {
-				double t = Math.abs(intersect[0]);
-				double u = Math.abs(intersect[1]);
-				double min = Math.min(t, u);
-				double max = Math.max(t, u);
-
-				if (min > 1.2 && max / min > 1 && max / min < 3) {
-					handleLength = (max - min);
-					return;
-				}
-			}
-
-			handleLength = end2.distanceTo(end1) / 3;
-			return;
-		}
-
-		double n = circle / angle;
-		double factor = 4 / 3d * Math.tan(Math.PI / (2 * n));
-		double[] intersect = VecHelper.intersect(end1, end2, cross1, cross2, Axis.Y);
+	/**
+	 * @return the normal at the t of the given step LUT entry
+	 */
+	public Vec3 getStepNormal(int index) {
+		resolve();
+		return geometry.getStepNormal(index);
+	}
 
-		if (intersect == null) {
-			handleLength = end2.distanceTo(end1) / 3;
+	private void resolve() {
+		if (geometry != null)
 			return;
-		}
 
-		radius = Math.abs(intersect[1]);
-		handleLength = radius * factor;
-		if (Mth.equal(handleLength, 0))
-			handleLength = 1;
+		BezierGeometry geometry = BezierGeometry.of(starts, axes, normals);
+		length = geometry.length;
+		stepLUT = geometry.stepLUT;
+		segments = geometry.segments;
+		handleLength = geometry.handleLength;
+		this.geometry = geometry;
 	}
 
 	@Override
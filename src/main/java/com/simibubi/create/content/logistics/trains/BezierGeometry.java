@@ -0,0 +1,258 @@
+package com.simibubi.create.content.logistics.trains;
+
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.simibubi.create.Create;
+import com.simibubi.create.foundation.utility.Couple;
+import com.simibubi.create.foundation.utility.VecHelper;
+
+import net.minecraft.core.Direction.Axis;
+import net.minecraft.util.Mth;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * The resolved shape of a curve. Curves do not change once placed, so all
+ * connections with the same ends, axes and normals share one instance, no
+ * matter if they were placed, loaded or synced. Both halves of a curve share an
+ * entry: the half starting at the greater end resolves the same curve walked
+ * from the other side, which is kept next to the first one. See {@link #of}
+ */
+public class BezierGeometry {
+
+	private static final Cache<Key, BezierGeometry> INTERNED = CacheBuilder.newBuilder()
+		.weakValues()
+		.build();
+
+	final Vec3 end1;
+	final Vec3 end2;
+	final Vec3 axis1;
+	final Vec3 axis2;
+	final Vec3 finish1;
+	final Vec3 finish2;
+	final Vec3 normal1;
+	final Vec3 normal2;
+	double length;
+	float[] stepLUT;
+	int segments;
+	double radius;
+	double handleLength;
+	AABB bounds;
+
+	// Points and normals at the t of each step LUT entry, built on first use
+	private volatile Vec3[] stepPositions;
+	private volatile Vec3[] stepNormals;
+	// The same curve resolved from its other end
+	private volatile BezierGeometry reversed;
+
+	public static BezierGeometry of(Couple<Vec3> starts, Couple<Vec3> axes, Couple<Vec3> normals) {
+		boolean reverse = compare(starts.getFirst(), starts.getSecond()) > 0;
+		Couple<Vec3> keyStarts = reverse ? starts.swap() : starts;
+		Couple<Vec3> keyAxes = reverse ? axes.swap() : axes;
+		Couple<Vec3> keyNormals = reverse ? normals.swap() : normals;
+		try {
+			Key key = new Key(keyStarts.getFirst(), keyStarts.getSecond(), keyAxes.getFirst(), keyAxes.getSecond(),
+				keyNormals.getFirst(), keyNormals.getSecond());
+			BezierGeometry geometry = INTERNED.get(key, () -> new BezierGeometry(keyStarts, keyAxes, keyNormals));
+			return reverse ? geometry.reversed() : geometry;
+		} catch (ExecutionException e) {
+			Create.LOGGER.error("Could not resolve curve geometry", e);
+		}
+		return new BezierGeometry(starts, axes, normals);
+	}
+
+	private static int compare(Vec3 v1, Vec3 v2) {
+		int x = Double.compare(v1.x, v2.x);
+		if (x != 0)
+			return x;
+		int y = Double.compare(v1.y, v2.y);
+		if (y != 0)
+			return y;
+		return Double.compare(v1.z, v2.z);
+	}
+
+	private BezierGeometry(Couple<Vec3> starts, Couple<Vec3> axes, Couple<Vec3> normals) {
+		end1 = starts.getFirst();
+		end2 = starts.getSecond();
+		axis1 = axes.getFirst();
+		axis2 = axes.getSecond();
+		normal1 = normals.getFirst();
+		normal2 = normals.getSecond();
+		Vec3 axis1 = this.axis1.normalize();
+		Vec3 axis2 = this.axis2.normalize();
+
+		determineHandles(end1, end2, axis1, axis2);
+
+		finish1 = axis1.scale(handleLength)
+			.add(end1);
+		finish2 = axis2.scale(handleLength)
+			.add(end2);
+
+		int scanCount = 16;
+		length = 0;
+
+		{
+			Vec3 previous = end1;
+			for (int i = 0; i <= scanCount; i++) {
+				float t = i / (float) scanCount;
+				Vec3 result = VecHelper.bezier(end1, end2, finish1, finish2, t);
+				if (previous != null)
+					length += result.distanceTo(previous);
+				previous = result;
+			}
+		}
+
+		segments = (int) (length * 2);
+		stepLUT = new float[segments + 1];
+		stepLUT[0] = 1;
+		float combinedDistance = 0;
+
+		bounds = new AABB(end1, end2);
+
+		// determine step lut
+		{
+			Vec3 previous = end1;
+			for (int i = 0; i <= segments; i++) {
+				float t = i / (float) segments;
+				Vec3 result = VecHelper.bezier(end1, end2, finish1, finish2, t);
+				bounds = bounds.minmax(new AABB(result, result));
+				if (i > 0) {
+					combinedDistance += result.distanceTo(previous) / length;
+					stepLUT[i] = (float) (t / combinedDistance);
+				}
+				previous = result;
+			}
+		}
+
+		bounds = bounds.inflate(1.375f);
+	}
+
+	/**
+	 * The handle length, and with it the shape, depends on which end a curve is
+	 * resolved from, and so does its step LUT. The other half of a curve is
+	 * therefore resolved separately, but only once and under the same entry.
+	 */
+	private BezierGeometry reversed() {
+		BezierGeometry reversed = this.reversed;
+		if (reversed != null)
+			return reversed;
+		synchronized (this) {
+			if (this.reversed == null) {
+				BezierGeometry geometry = new BezierGeometry(Couple.create(end2, end1), Couple.create(axis2, axis1),
+					Couple.create(normal2, normal1));
+				geometry.reversed = this;
+				this.reversed = geometry;
+			}
+			return this.reversed;
+		}
+	}
+
+	private void determineHandles(Vec3 end1, Vec3 end2, Vec3 axis1, Vec3 axis2) {
+		Vec3 cross1 = axis1.cross(new Vec3(0, 1, 0));
+		Vec3 cross2 = axis2.cross(new Vec3(0, 1, 0));
+
+		radius = 0;
+		double a1 = Mth.atan2(-axis2.z, -axis2.x);
+		double a2 = Mth.atan2(axis1.z, axis1.x);
+		double angle = a1 - a2;
+
+		float circle = 2 * Mth.PI;
+		angle = (angle + circle) % circle;
+		if (Math.abs(circle - angle) < Math.abs(angle))
+			angle = circle - angle;
+
+		if (Mth.equal(angle, 0)) {
+			double[] intersect = VecHelper.intersect(end1, end2, axis1, cross2, Axis.Y);
+			if (intersect != null) {
+				double t = Math.abs(intersect[0]);
+				double u = Math.abs(intersect[1]);
+				double min = Math.min(t, u);
+				double max = Math.max(t, u);
+
+				if (min > 1.2 && max / min > 1 && max / min < 3) {
+					handleLength = (max - min);
+					return;
+				}
+			}
+
+			handleLength = end2.distanceTo(end1) / 3;
+			return;
+		}
+
+		double n = circle / angle;
+		double factor = 4 / 3d * Math.tan(Math.PI / (2 * n));
+		double[] intersect = VecHelper.intersect(end1, end2, cross1, cross2, Axis.Y);
+
+		if (intersect == null) {
+			handleLength = end2.distanceTo(end1) / 3;
+			return;
+		}
+
+		radius = Math.abs(intersect[1]);
+		handleLength = radius * factor;
+		if (Mth.equal(handleLength, 0))
+			handleLength = 1;
+	}
+
+	public Vec3 getPosition(double t) {
+		return VecHelper.bezier(end1, end2, finish1, finish2, (float) t);
+	}
+
+	public Vec3 getNormal(double t) {
+		Vec3 derivative = VecHelper.bezierDerivative(end1, end2, finish1, finish2, (float) t)
+			.normalize();
+		Vec3 faceNormal = normal1.equals(normal2) ? normal1 : VecHelper.slerp((float) t, normal1, normal2);
+		Vec3 normal = faceNormal.cross(derivative)
+			.normalize();
+		return derivative.cross(normal);
+	}
+
+	public double incrementT(double currentT, double distance) {
+		// Same as the length of VecHelper.bezierDerivative, without creating vectors
+		float t = (float) currentT;
+		float c1 = -3 * t * t + 6 * t - 3;
+		float c2 = 9 * t * t - 12 * t + 3;
+		float c3 = -9 * t * t + 6 * t;
+		float c4 = 3 * t * t;
+		double x = end1.x * c1 + finish1.x * c2 + finish2.x * c3 + end2.x * c4;
+		double y = end1.y * c1 + finish1.y * c2 + finish2.y * c3 + end2.y * c4;
+		double z = end1.z * c1 + finish1.z * c2 + finish2.z * c3 + end2.z * c4;
+		double dx = Math.sqrt(x * x + y * y + z * z) / length;
+		return currentT + distance / dx;
+	}
+
+	/**
+	 * @return the t of the given step LUT entry
+	 */
+	public float getStepT(int index) {
+		return stepLUT[index] * index / segments;
+	}
+
+	public Vec3 getStepPosition(int index) {
+		Vec3[] positions = stepPositions;
+		if (positions == null) {
+			positions = new Vec3[stepLUT.length];
+			for (int i = 0; i < positions.length; i++)
+				positions[i] = getPosition(getStepT(i));
+			stepPositions = positions;
+		}
+		return positions[index];
+	}
+
+	public Vec3 getStepNormal(int index) {
+		Vec3[] normals = stepNormals;
+		if (normals == null) {
+			normals = new Vec3[stepLUT.length];
+			for (int i = 0; i < normals.length; i++)
+				normals[i] = getNormal(getStepT(i));
+			stepNormals = normals;
+		}
+		return normals[index];
+	}
+
+	private record Key(Vec3 start1, Vec3 start2, Vec3 axis1, Vec3 axis2, Vec3 normal1, Vec3 normal2) {
+	}
+
+}
@@ -1,9 +1,11 @@
 package com.simibubi.create.content.logistics.trains;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +21,8 @@ import org.apache.commons.lang3.mutable.MutableObject;
 import com.simibubi.create.CreateClient;
 import com.simibubi.create.content.contraptions.KineticDebugger;
 import com.simibubi.create.content.logistics.trains.entity.Train;
+import com.simibubi.create.content.logistics.trains.entity.TrainCollisionIndex;
+import com.simibubi.create.content.logistics.trains.entity.TrainEdgeIndex;
 import com.simibubi.create.content.logistics.trains.entity.TrainPacket;
 import com.simibubi.create.content.logistics.trains.management.display.GlobalTrainDisplayData;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.signal.SignalEdgeGroup;
@@ -39,6 +43,8 @@ public class GlobalRailwayManager {
 	public Map<UUID, SignalEdgeGroup> signalEdgeGroups;
 	public Map<UUID, Train> trains;
 	public TrackGraphSync sync;
+	public TrainCollisionIndex collisionIndex;
+	public TrainEdgeIndex edgeIndex;
 
 	private List<Train> movingTrains;
 	private List<Train> waitingTrains;
@@ -95,9 +101,11 @@ public class GlobalRailwayManager {
 		signalEdgeGroups = new HashMap<>();
 		trains = new HashMap<>();
 		sync = new TrackGraphSync();
+		collisionIndex = new TrainCollisionIndex();
+		edgeIndex = new TrainEdgeIndex();
 		movingTrains = new LinkedList<>();
 		waitingTrains = new LinkedList<>();
-		GlobalTrainDisplayData.statusByDestination.clear();
+		GlobalTrainDisplayData.clear();
 	}
 
 	public void markTracksDirty() {
@@ -108,6 +116,10 @@ public class GlobalRailwayManager {
 	public void addTrain(Train train) {
 		trains.put(train.id, train);
 		movingTrains.add(train);
+		if (collisionIndex.isActive())
+			collisionIndex.update(train);
+		if (edgeIndex.isActive())
+			edgeIndex.update(train);
 	}
 
 	public void removeTrain(UUID id) {
@@ -116,6 +128,8 @@ public class GlobalRailwayManager {
 			return;
 		movingTrains.remove(removed);
 		waitingTrains.remove(removed);
+		collisionIndex.remove(removed);
+		edgeIndex.remove(removed);
 	}
 
 	//
@@ -151,8 +165,8 @@ public class GlobalRailwayManager {
 		markTracksDirty();
 	}
 
-	public void updateSplitGraph(LevelAccessor level, TrackGraph graph) {
-		Set<TrackGraph> disconnected = graph.findDisconnectedGraphs(level, null);
+	public void updateSplitGraph(LevelAccessor level, TrackGraph graph, Collection<TrackNodeLocation> around) {
+		Set<TrackGraph> disconnected = graph.findDisconnectedGraphs(level, around);
 		disconnected.forEach(this::putGraphWithDefaultGroup);
 		if (!disconnected.isEmpty()) {
 			sync.graphSplit(graph, disconnected);
@@ -190,6 +204,8 @@ public class GlobalRailwayManager {
 		}
 
 		for (TrackGraph graph : trackNetworks.values()) {
+			graph.getRouting()
+				.invalidateCongestion();
 			graph.tickPoints(true);
 			graph.resolveIntersectingEdgeGroups(level);
 		}
@@ -217,10 +233,23 @@ public class GlobalRailwayManager {
 			train.earlyTick(level);
 		for (Train train : movingTrains)
 			train.earlyTick(level);
-		for (Train train : waitingTrains)
-			train.tick(level);
-		for (Train train : movingTrains)
-			train.tick(level);
+		collisionIndex.rebuild(trains.values());
+		if (!edgeIndex.isActive())
+			edgeIndex.rebuild(trains.values());
+		if (AllConfigs.SERVER.trains.parallelTrainTicking.get())
+			tickTrainsInParallel(level);
+		else {
+			for (Train train : waitingTrains) {
+				train.tick(level);
+				collisionIndex.update(train);
+				edgeIndex.update(train);
+			}
+			for (Train train : movingTrains) {
+				train.tick(level);
+				collisionIndex.update(train);
+				edgeIndex.update(train);
+			}
+		}
 
 		for (Iterator<Train> iterator = waitingTrains.iterator(); iterator.hasNext();) {
 			Train train = iterator.next();
@@ -228,6 +257,8 @@ public class GlobalRailwayManager {
 			if (train.invalid) {
 				iterator.remove();
 				trains.remove(train.id);
+				collisionIndex.remove(train);
+				edgeIndex.remove(train);
 				AllPackets.channel.sendToClientsInCurrentServer(new TrainPacket(train, false));
 				continue;
 			}
@@ -244,6 +275,8 @@ public class GlobalRailwayManager {
 			if (train.invalid) {
 				iterator.remove();
 				trains.remove(train.id);
+				collisionIndex.remove(train);
+				edgeIndex.remove(train);
 				AllPackets.channel.sendToClientsInCurrentServer(new TrainPacket(train, false));
 				continue;
 			}
@@ -256,6 +289,76 @@ public class GlobalRailwayManager {
 
 	}
 
+	/**
+	 * Moves the trains of separate graphs concurrently. The outcome does not
+	 * depend on how partitions end up scheduled on threads:
+	 * <ul>
+	 * <li>Schedules and navigation of all trains are ticked first on the main
+	 * thread, in the usual waiting-then-moving order.</li>
+	 * <li>A partition holds either the trains of one graph crossing no other graph,
+	 * or the trains of all crossing graphs, which are linked through their signal
+	 * groups. Partitions share no train, graph, signal group or routing state, and
+	 * each is moved on a single thread in tick order.</li>
+	 * <li>Congestion tables, the only routing data read across trains, are filled
+	 * in before any partition starts moving.</li>
+	 * <li>Anything reaching outside a partition, such as carriage entities,
+	 * collisions, advancements, status messages, route refreshes and schedule
+	 * updates after a stop, is deferred and replayed on the main thread in tick
+	 * order.</li>
+	 * <li>The signal group map is read by all partitions, so it is swapped for a
+	 * read-only view until they are done.</li>
+	 * </ul>
+	 * Unlike the serial tick, schedules and navigation see every train as it was
+	 * before it moved this tick, and a collision applies after the whole train has
+	 * moved.
+	 */
+	private void tickTrainsInParallel(Level level) {
+		List<Train> ordered = new ArrayList<>(waitingTrains.size() + movingTrains.size());
+		ordered.addAll(waitingTrains);
+		ordered.addAll(movingTrains);
+
+		for (Train train : ordered)
+			train.tickSchedule(level);
+
+		Map<TrackGraph, List<Train>> isolated = new LinkedHashMap<>();
+		List<Train> crossing = new ArrayList<>();
+		for (Train train : ordered) {
+			TrackGraph graph = train.graph;
+			if (graph == null)
+				continue;
+			// Congestion is collected from all trains, so it has to be ready beforehand
+			graph.getRouting()
+				.getCongestion();
+			if (graph.getRouting()
+				.crossesOtherGraphs())
+				crossing.add(train);
+			else
+				isolated.computeIfAbsent(graph, $ -> new ArrayList<>())
+					.add(train);
+			train.deferWorldAccess();
+		}
+
+		List<List<Train>> partitions = new ArrayList<>(isolated.values());
+		if (!crossing.isEmpty())
+			partitions.add(crossing);
+		Map<UUID, SignalEdgeGroup> groups = signalEdgeGroups;
+		signalEdgeGroups = Collections.unmodifiableMap(groups);
+		try {
+			partitions.parallelStream()
+				.forEach(partition -> partition.forEach(train -> train.tickMovement(level)));
+		} finally {
+			signalEdgeGroups = groups;
+		}
+
+		for (Train train : ordered)
+			collisionIndex.update(train);
+		for (Train train : ordered) {
+			train.runDeferredActions();
+			collisionIndex.update(train);
+			edgeIndex.update(train);
+		}
+	}
+
 	public void tickSignalOverlay() {
 		if (!isTrackGraphDebugActive())
 			for (TrackGraph trackGraph : trackNetworks.values())
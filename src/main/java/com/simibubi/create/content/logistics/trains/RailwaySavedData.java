@@ -1,8 +1,25 @@
 package com.simibubi.create.content.logistics.trains;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.simibubi.create.Create;
 import com.simibubi.create.content.logistics.trains.entity.Train;
@@ -11,23 +28,96 @@ import com.simibubi.create.content.logistics.trains.management.edgePoint.signal.
 import com.simibubi.create.content.logistics.trains.management.edgePoint.signal.SignalEdgeGroup;
 import com.simibubi.create.foundation.utility.NBTHelper;
 
+import net.minecraft.SharedConstants;
+import net.minecraft.Util;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtUtils;
 import net.minecraft.nbt.Tag;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.storage.LevelResource;
 
+/**
+ * Track graphs are stored in a file of their own next to the main data file,
+ * which lists them along with signal groups and trains. Only graphs marked
+ * dirty since they were last saved are rewritten. Their nbt is built on the
+ * main thread, only compression and file access happen on the io thread. The
+ * main file is written only once the graph files it lists are in place, and
+ * files of removed graphs are deleted only once a main file no longer listing
+ * them is.
+ */
 public class RailwaySavedData extends SavedData {
 
+	private static final String NAME = "create_tracks";
+	private static CompletableFuture<Void> pendingWrites = CompletableFuture.completedFuture(null);
+
 	private Map<UUID, TrackGraph> trackNetworks = new HashMap<>();
 	private Map<UUID, SignalEdgeGroup> signalEdgeGroups = new HashMap<>();
 	private Map<UUID, Train> trains = new HashMap<>();
 
+	private Path graphFolder;
+	// Graphs handed to the io thread at least once, main thread only
+	private Set<UUID> scheduledGraphs = new HashSet<>();
+	// Graphs with a complete file on disk, updated by the io thread
+	private Set<UUID> graphFiles = ConcurrentHashMap.newKeySet();
+	private Set<UUID> failedGraphs = ConcurrentHashMap.newKeySet();
+	// Removed graphs whose file outlived a failed save, io thread only
+	private Set<UUID> removedGraphs = new HashSet<>();
+	private AtomicBoolean saveFailed = new AtomicBoolean();
+
+	@Override
+	public void save(File file) {
+		if (!isDirty() && !saveFailed.getAndSet(false))
+			return;
+
+		Map<UUID, CompoundTag> changed = new HashMap<>();
+		Set<UUID> present = new HashSet<>();
+		for (TrackGraph graph : Create.RAILWAYS.trackNetworks.values()) {
+			present.add(graph.id);
+			boolean dirty = graph.consumeDirty();
+			if (failedGraphs.remove(graph.id) | !scheduledGraphs.contains(graph.id) | dirty)
+				changed.put(graph.id, writeGraph(graph));
+		}
+		List<UUID> removed = new ArrayList<>();
+		for (UUID id : scheduledGraphs)
+			if (!present.contains(id))
+				removed.add(id);
+		scheduledGraphs = present;
+
+		CompoundTag data = save(new CompoundTag());
+		setDirty(false);
+
+		Path folder = graphFolder;
+		pendingWrites = pendingWrites.thenRunAsync(() -> {
+			writeGraphFiles(folder, changed);
+			data.put("RailGraphFiles", listGraphFiles(present));
+
+			CompoundTag tag = new CompoundTag();
+			tag.put("data", data);
+			tag.putInt("DataVersion", SharedConstants.getCurrentVersion()
+				.getWorldVersion());
+			try {
+				writeAtomically(tag, file.toPath());
+			} catch (Exception e) {
+				Create.LOGGER.error("Could not save railway data", e);
+				saveFailed.set(true);
+				removedGraphs.addAll(removed);
+				return;
+			}
+
+			removedGraphs.addAll(removed);
+			deleteGraphFiles(folder, present);
+		}, Util.ioPool());
+	}
+
 	@Override
 	public CompoundTag save(CompoundTag nbt) {
 		GlobalRailwayManager railways = Create.RAILWAYS;
 //		Create.LOGGER.info("Saving Railway Information...");
 		DimensionPalette dimensions = new DimensionPalette();
-		nbt.put("RailGraphs", NBTHelper.writeCompoundList(railways.trackNetworks.values(), tg -> tg.write(dimensions)));
+		nbt.put("RailGraphFiles", listGraphFiles(railways.trackNetworks.keySet()));
 		nbt.put("SignalBlocks", NBTHelper.writeCompoundList(railways.signalEdgeGroups.values(), seg -> {
 			if (seg.fallbackGroup && !railways.trackNetworks.containsKey(seg.id))
 				return null;
@@ -38,18 +128,101 @@ public class RailwaySavedData extends SavedData {
 		return nbt;
 	}
 
-	private static RailwaySavedData load(CompoundTag nbt) {
-		RailwaySavedData sd = new RailwaySavedData();
+	private ListTag listGraphFiles(Collection<UUID> graphs) {
+		ListTag graphIds = new ListTag();
+		for (UUID id : graphs)
+			if (graphFiles.contains(id))
+				graphIds.add(NbtUtils.createUUID(id));
+		return graphIds;
+	}
+
+	private static CompoundTag writeGraph(TrackGraph graph) {
+		DimensionPalette dimensions = new DimensionPalette();
+		CompoundTag tag = new CompoundTag();
+		tag.put("Graph", graph.write(dimensions));
+		dimensions.write(tag);
+		return tag;
+	}
+
+	private void writeGraphFiles(Path folder, Map<UUID, CompoundTag> changed) {
+		try {
+			Files.createDirectories(folder);
+		} catch (IOException e) {
+			Create.LOGGER.error("Could not create track graph folder " + folder, e);
+		}
+
+		changed.forEach((id, tag) -> {
+			try {
+				writeAtomically(tag, getGraphFile(folder, id));
+				graphFiles.add(id);
+			} catch (Exception e) {
+				// Keeps the previous file if there is one, and retries with the next save
+				Create.LOGGER.error("Could not save track graph " + id, e);
+				failedGraphs.add(id);
+				saveFailed.set(true);
+			}
+		});
+	}
+
+	private void deleteGraphFiles(Path folder, Set<UUID> present) {
+		for (Iterator<UUID> iterator = removedGraphs.iterator(); iterator.hasNext();) {
+			UUID id = iterator.next();
+			iterator.remove();
+			if (present.contains(id))
+				continue;
+			try {
+				Files.deleteIfExists(getGraphFile(folder, id));
+				graphFiles.remove(id);
+			} catch (IOException e) {
+				Create.LOGGER.error("Could not delete track graph file of " + id, e);
+			}
+		}
+	}
+
+	private static void writeAtomically(CompoundTag tag, Path file) throws IOException {
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		NbtIo.writeCompressed(tag, temp.toFile());
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+			channel.force(true);
+		}
+		try {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Blocks until all railway files handed to the io thread are written
+	 */
+	public static void awaitPendingWrites() {
+		pendingWrites.join();
+	}
+
+	private static Path getGraphFile(Path folder, UUID id) {
+		return folder.resolve(id + ".dat");
+	}
+
+	private static RailwaySavedData load(CompoundTag nbt, Path graphFolder) {
+		RailwaySavedData sd = new RailwaySavedData(graphFolder);
 		sd.trackNetworks = new HashMap<>();
 		sd.signalEdgeGroups = new HashMap<>();
 		sd.trains = new HashMap<>();
 //		Create.LOGGER.info("Loading Railway Information...");
 
 		DimensionPalette dimensions = DimensionPalette.read(nbt);
+
+		// Worlds saved before graphs were split off keep them in the main file
 		NBTHelper.iterateCompoundList(nbt.getList("RailGraphs", Tag.TAG_COMPOUND), c -> {
 			TrackGraph graph = TrackGraph.read(c, dimensions);
 			sd.trackNetworks.put(graph.id, graph);
 		});
+		for (Tag t : nbt.getList("RailGraphFiles", Tag.TAG_INT_ARRAY)) {
+			TrackGraph graph = sd.loadGraph(NbtUtils.loadUUID(t));
+			if (graph != null)
+				sd.trackNetworks.put(graph.id, graph);
+		}
+
 		NBTHelper.iterateCompoundList(nbt.getList("SignalBlocks", Tag.TAG_COMPOUND), c -> {
 			SignalEdgeGroup group = SignalEdgeGroup.read(c);
 			sd.signalEdgeGroups.put(group.id, group);
@@ -77,6 +250,25 @@ public class RailwaySavedData extends SavedData {
 		return sd;
 	}
 
+	private TrackGraph loadGraph(UUID id) {
+		File file = getGraphFile(graphFolder, id).toFile();
+		if (!file.exists()) {
+			Create.LOGGER.error("Missing track graph file " + file);
+			return null;
+		}
+		try {
+			CompoundTag tag = NbtIo.readCompressed(file);
+			TrackGraph graph = TrackGraph.read(tag.getCompound("Graph"), DimensionPalette.read(tag));
+			graph.consumeDirty();
+			scheduledGraphs.add(graph.id);
+			graphFiles.add(graph.id);
+			return graph;
+		} catch (IOException e) {
+			Create.LOGGER.error("Could not load track graph file " + file, e);
+			return null;
+		}
+	}
+
 	public Map<UUID, TrackGraph> getTrackNetworks() {
 		return trackNetworks;
 	}
@@ -89,12 +281,18 @@ public class RailwaySavedData extends SavedData {
 		return signalEdgeGroups;
 	}
 
-	private RailwaySavedData() {}
+	private RailwaySavedData(Path graphFolder) {
+		this.graphFolder = graphFolder;
+	}
 
 	public static RailwaySavedData load(MinecraftServer server) {
+		awaitPendingWrites();
+		Path graphFolder = server.getWorldPath(LevelResource.ROOT)
+			.resolve("data")
+			.resolve(NAME);
 		return server.overworld()
 			.getDataStorage()
-			.computeIfAbsent(RailwaySavedData::load, RailwaySavedData::new, "create_tracks");
+			.computeIfAbsent(nbt -> load(nbt, graphFolder), () -> new RailwaySavedData(graphFolder), NAME);
 	}
 
 }
@@ -22,6 +22,7 @@ public class TrackEdge {
 	BezierConnection turn;
 	EdgeData edgeData;
 	boolean interDimensional;
+	double straightLength;
 
 	public TrackEdge(TrackNode node1, TrackNode node2, BezierConnection turn) {
 		this.interDimensional = !node1.location.dimension.equals(node2.location.dimension);
@@ -29,6 +30,8 @@ public class TrackEdge {
 		this.node1 = node1;
 		this.node2 = node2;
 		this.turn = turn;
+		this.straightLength = node1.location.getLocation()
+			.distanceTo(node2.location.getLocation());
 	}
 
 	public boolean isTurn() {
@@ -71,9 +74,7 @@ public class TrackEdge {
 
 	public double getLength() {
 		return isInterDimensional() ? 0
-			: isTurn() ? turn.getLength()
-				: node1.location.getLocation()
-					.distanceTo(node2.location.getLocation());
+			: isTurn() ? turn.getLength() : straightLength;
 	}
 
 	public double incrementT(double currentT, double distance) {
@@ -1,7 +1,9 @@
 package com.simibubi.create.content.logistics.trains;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -21,6 +23,7 @@ import javax.annotation.Nullable;
 import com.simibubi.create.Create;
 import com.simibubi.create.content.logistics.trains.TrackNodeLocation.DiscoveredLocation;
 import com.simibubi.create.content.logistics.trains.entity.Train;
+import com.simibubi.create.content.logistics.trains.entity.TrainEdgeIndex;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.EdgeData;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.EdgePointManager;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.EdgePointStorage;
@@ -28,6 +31,8 @@ import com.simibubi.create.content.logistics.trains.management.edgePoint.EdgePoi
 import com.simibubi.create.content.logistics.trains.management.edgePoint.TrackEdgeIntersection;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.signal.SignalEdgeGroup;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.signal.TrackEdgePoint;
+import com.simibubi.create.content.logistics.trains.management.edgePoint.station.GlobalStation;
+import com.simibubi.create.content.logistics.trains.management.edgePoint.station.StationNameIndex;
 import com.simibubi.create.foundation.utility.Color;
 import com.simibubi.create.foundation.utility.Couple;
 import com.simibubi.create.foundation.utility.NBTHelper;
@@ -57,9 +62,12 @@ public class TrackGraph {
 	Map<ResourceKey<Level>, TrackGraphBounds> bounds;
 
 	List<TrackEdge> deferredIntersectionUpdates;
+	TrackGraphRouting routing;
+	StationNameIndex stationNames;
 
 	int netId;
 	int checksum = 0;
+	boolean dirty = true;
 
 	public TrackGraph() {
 		this(UUID.randomUUID());
@@ -73,6 +81,8 @@ public class TrackGraph {
 		connectionsByNode = new IdentityHashMap<>();
 		edgePoints = new EdgePointStorage();
 		deferredIntersectionUpdates = new ArrayList<>();
+		routing = new TrackGraphRouting(this);
+		stationNames = new StationNameIndex();
 		netId = nextGraphId();
 	}
 
@@ -80,6 +90,7 @@ public class TrackGraph {
 
 	public <T extends TrackEdgePoint> void addPoint(EdgePointType<T> type, T point) {
 		edgePoints.put(type, point);
+		routing.invalidatePoints();
 		EdgePointManager.onEdgePointAdded(this, point, type);
 		Create.RAILWAYS.sync.pointAdded(this, point);
 		markDirty();
@@ -93,10 +104,24 @@ public class TrackGraph {
 		return edgePoints.values(type);
 	}
 
+	/**
+	 * @param filter a destination filter, where * matches anything
+	 * @return the stations whose name matches the filter
+	 */
+	public Collection<GlobalStation> findStations(String filter) {
+		return stationNames.find(filter, edgePoints);
+	}
+
+	public void stationRenamed() {
+		edgePoints.markChanged();
+		markDirty();
+	}
+
 	public <T extends TrackEdgePoint> T removePoint(EdgePointType<T> type, UUID id) {
 		T removed = edgePoints.remove(type, id);
 		if (removed == null)
 			return null;
+		routing.invalidatePoints();
 		EdgePointManager.onEdgePointRemoved(this, removed, type);
 		Create.RAILWAYS.sync.pointRemoved(this, removed);
 		markDirty();
@@ -118,6 +143,10 @@ public class TrackGraph {
 		bounds.clear();
 	}
 
+	public TrackGraphRouting getRouting() {
+		return routing;
+	}
+
 	//
 
 	public Set<TrackNodeLocation> getNodes() {
@@ -156,6 +185,7 @@ public class TrackGraph {
 			removeNode(null, location);
 		nodes.put(location, node);
 		nodesById.put(node.getNetId(), node);
+		layoutChanged();
 	}
 
 	public boolean addNodeIfAbsent(TrackNode node) {
@@ -170,11 +200,8 @@ public class TrackGraph {
 		if (removed == null)
 			return false;
 
-		Map<UUID, Train> trains = Create.RAILWAYS.trains;
-		for (Iterator<UUID> iterator = trains.keySet()
-			.iterator(); iterator.hasNext();) {
-			UUID uuid = iterator.next();
-			Train train = trains.get(uuid);
+		TrainEdgeIndex index = Create.RAILWAYS.edgeIndex;
+		for (Train train : index.isActive() ? index.getTrainsOn(removed) : Create.RAILWAYS.trains.values()) {
 			if (train.graph != this)
 				continue;
 			if (train.isTravellingOn(removed))
@@ -183,6 +210,7 @@ public class TrackGraph {
 
 		nodesById.remove(removed.netId);
 		invalidateBounds();
+		layoutChanged();
 
 		if (!connectionsByNode.containsKey(removed))
 			return true;
@@ -267,6 +295,8 @@ public class TrackGraph {
 		nodes.clear();
 		connectionsByNode.clear();
 		toOther.invalidateBounds();
+		layoutChanged();
+		toOther.layoutChanged();
 
 		Map<UUID, Train> trains = Create.RAILWAYS.trains;
 		for (Iterator<UUID> iterator = trains.keySet()
@@ -279,52 +309,162 @@ public class TrackGraph {
 		}
 	}
 
+	/**
+	 * Splits off parts of this graph that got disconnected by removing nodes
+	 * around the given locations. Every part left over has to contain one of
+	 * them, so a search is started from each and all of them advance in turns.
+	 * Once at most one search has not run into another or run out of nodes, the
+	 * others have found every part that has to be split off. This costs about as
+	 * much as the smaller parts, no matter how large the remaining graph is.
+	 * 
+	 * @return the new graphs, the largest part stays in this one
+	 */
 	public Set<TrackGraph> findDisconnectedGraphs(@Nullable LevelAccessor level,
-		@Nullable Map<Integer, Pair<Integer, UUID>> splitSubGraphs) {
+		Collection<TrackNodeLocation> around) {
 		Set<TrackGraph> dicovered = new HashSet<>();
-		Set<TrackNodeLocation> vertices = new HashSet<>(nodes.keySet());
-		List<TrackNodeLocation> frontier = new ArrayList<>();
-		TrackGraph target = null;
+		Map<TrackNode, Integer> owners = new IdentityHashMap<>();
+		List<ArrayDeque<TrackNode>> frontiers = new ArrayList<>();
 
-		while (!vertices.isEmpty()) {
-			if (target != null)
-				dicovered.add(target);
+		for (TrackNodeLocation location : around) {
+			TrackNode node = locateNode(location);
+			if (node == null || owners.containsKey(node))
+				continue;
+			owners.put(node, frontiers.size());
+			ArrayDeque<TrackNode> frontier = new ArrayDeque<>();
+			frontier.add(node);
+			frontiers.add(frontier);
+		}
 
-			TrackNodeLocation start = vertices.stream()
-				.findFirst()
-				.get();
-			frontier.add(start);
-			vertices.remove(start);
-
-			while (!frontier.isEmpty()) {
-				TrackNodeLocation current = frontier.remove(0);
-				TrackNode currentNode = locateNode(current);
-
-				Map<TrackNode, TrackEdge> connections = getConnectionsFrom(currentNode);
-				for (TrackNode connected : connections.keySet())
-					if (vertices.remove(connected.getLocation()))
-						frontier.add(connected.getLocation());
-
-				if (target != null) {
-					if (splitSubGraphs != null && splitSubGraphs.containsKey(currentNode.getNetId())) {
-						Pair<Integer, UUID> ids = splitSubGraphs.get(currentNode.getNetId());
-						target.setId(ids.getSecond());
-						target.netId = ids.getFirst();
-					}
-					transfer(level, currentNode, target);
+		int searches = frontiers.size();
+		if (searches < 2)
+			return dicovered;
+
+		// Searches that ran into each other share a root
+		int[] roots = new int[searches];
+		for (int i = 0; i < searches; i++)
+			roots[i] = i;
+
+		int[] countedInRound = new int[searches];
+		for (int round = 1; countOpenSearches(frontiers, roots, countedInRound, round) > 1; round++) {
+			for (int i = 0; i < searches; i++) {
+				TrackNode current = frontiers.get(i)
+					.poll();
+				if (current == null)
+					continue;
+				for (TrackNode connected : getConnectionsFrom(current).keySet()) {
+					Integer other = owners.putIfAbsent(connected, i);
+					if (other == null)
+						frontiers.get(i)
+							.add(connected);
+					else
+						roots[findRoot(roots, other)] = findRoot(roots, i);
 				}
 			}
+		}
+
+		boolean[] open = new boolean[searches];
+		for (int i = 0; i < searches; i++)
+			if (!frontiers.get(i)
+				.isEmpty())
+				open[findRoot(roots, i)] = true;
+
+		Map<Integer, List<TrackNode>> parts = new HashMap<>();
+		owners.forEach((node, search) -> {
+			int root = findRoot(roots, search);
+			if (!open[root])
+				parts.computeIfAbsent(root, $ -> new ArrayList<>())
+					.add(node);
+		});
+
+		// If every search finished, all of them found complete parts
+		Collection<List<TrackNode>> toSplit = parts.values();
+		if (parts.size() == countRoots(roots)) {
+			List<TrackNode> largest = toSplit.stream()
+				.max((p1, p2) -> Integer.compare(p1.size(), p2.size()))
+				.orElse(null);
+			toSplit.remove(largest);
+		}
+
+		for (List<TrackNode> part : toSplit) {
+			TrackGraph target = new TrackGraph();
+			for (TrackNode node : part)
+				transfer(level, node, target);
+			dicovered.add(target);
+		}
+
+		return dicovered;
+	}
+
+	/**
+	 * Repeats a split made by the server. Each entry maps the net id of a node to
+	 * the net id and id of the graph its part has been moved to.
+	 */
+	public Set<TrackGraph> applySplit(@Nullable LevelAccessor level, Map<Integer, Pair<Integer, UUID>> splitSubGraphs) {
+		Set<TrackGraph> dicovered = new HashSet<>();
 
-			frontier.clear();
-			target = new TrackGraph();
+		for (Entry<Integer, Pair<Integer, UUID>> entry : splitSubGraphs.entrySet()) {
+			TrackNode start = getNode(entry.getKey());
+			if (start == null)
+				continue;
+
+			Set<TrackNode> part = Collections.newSetFromMap(new IdentityHashMap<>());
+			ArrayDeque<TrackNode> frontier = new ArrayDeque<>();
+			part.add(start);
+			frontier.add(start);
+			while (!frontier.isEmpty())
+				for (TrackNode connected : getConnectionsFrom(frontier.poll()).keySet())
+					if (part.add(connected))
+						frontier.add(connected);
+
+			Pair<Integer, UUID> ids = entry.getValue();
+			TrackGraph target = new TrackGraph(ids.getSecond());
+			target.netId = ids.getFirst();
+			for (TrackNode node : part)
+				transfer(level, node, target);
+			dicovered.add(target);
 		}
 
 		return dicovered;
 	}
 
+	/**
+	 * Roots are marked with the round they were last counted in, so the marks
+	 * never have to be cleared
+	 */
+	private static int countOpenSearches(List<ArrayDeque<TrackNode>> frontiers, int[] roots, int[] countedInRound,
+		int round) {
+		int open = 0;
+		for (int i = 0; i < roots.length; i++) {
+			if (frontiers.get(i)
+				.isEmpty())
+				continue;
+			int root = findRoot(roots, i);
+			if (countedInRound[root] == round)
+				continue;
+			countedInRound[root] = round;
+			open++;
+		}
+		return open;
+	}
+
+	private static int countRoots(int[] roots) {
+		int count = 0;
+		for (int i = 0; i < roots.length; i++)
+			if (roots[i] == i)
+				count++;
+		return count;
+	}
+
+	private static int findRoot(int[] roots, int search) {
+		while (roots[search] != search)
+			search = roots[search] = roots[roots[search]];
+		return search;
+	}
+
 	public void setId(UUID id) {
 		this.id = id;
 		color = Color.rainbowColor(new Random(id.getLeastSignificantBits()).nextInt());
+		dirty = true;
 	}
 
 	public void setNetId(int id) {
@@ -345,7 +485,8 @@ public class TrackGraph {
 
 		TrackNodeLocation nodeLoc = node.getLocation();
 		Map<TrackNode, TrackEdge> connections = getConnectionsFrom(node);
-		Map<UUID, Train> trains = Create.RAILWAYS.sided(level).trains;
+		GlobalRailwayManager railways = Create.RAILWAYS.sided(level);
+		TrainEdgeIndex index = railways.edgeIndex;
 
 		if (!connections.isEmpty()) {
 			target.connectionsByNode.put(node, connections);
@@ -359,10 +500,7 @@ public class TrackGraph {
 		}
 
 		if (level != null)
-			for (Iterator<UUID> iterator = trains.keySet()
-				.iterator(); iterator.hasNext();) {
-				UUID uuid = iterator.next();
-				Train train = trains.get(uuid);
+			for (Train train : index.isActive() ? index.getTrainsOn(node) : railways.trains.values()) {
 				if (train.graph != this)
 					continue;
 				if (!train.isTravellingOn(node))
@@ -374,6 +512,8 @@ public class TrackGraph {
 		nodesById.remove(node.getNetId());
 		connectionsByNode.remove(node);
 		invalidateBounds();
+		layoutChanged();
+		target.layoutChanged();
 	}
 
 	public boolean isEmpty() {
@@ -383,7 +523,7 @@ public class TrackGraph {
 	public Map<TrackNode, TrackEdge> getConnectionsFrom(TrackNode node) {
 		if (node == null)
 			return null;
-		return connectionsByNode.getOrDefault(node, new HashMap<>());
+		return connectionsByNode.getOrDefault(node, Collections.emptyMap());
 	}
 
 	public TrackEdge getConnection(Couple<TrackNode> nodes) {
@@ -455,6 +595,7 @@ public class TrackGraph {
 			map1.remove(node2);
 		if (map2 != null)
 			map2.remove(node1);
+		layoutChanged();
 	}
 
 	public boolean putConnection(TrackNode node1, TrackNode node2, TrackEdge edge) {
@@ -463,6 +604,7 @@ public class TrackGraph {
 			.getEdgeData()
 			.hasPoints())
 			return false;
+		layoutChanged();
 		return connections.put(node2, edge) == null;
 	}
 
@@ -479,6 +621,7 @@ public class TrackGraph {
 
 	public void deferIntersectionUpdate(TrackEdge edge) {
 		deferredIntersectionUpdates.add(edge);
+		routing.invalidateIntersections();
 	}
 
 	public void resolveIntersectingEdgeGroups(Level level) {
@@ -510,6 +653,8 @@ public class TrackGraph {
 				if (group == null || otherGroup == null)
 					continue;
 
+				if (!groupId.equals(intersection.groupId))
+					markDirty();
 				intersection.groupId = groupId;
 				group.putIntersection(intersection.id, otherGroupId);
 				otherGroup.putIntersection(intersection.id, groupId);
@@ -519,9 +664,25 @@ public class TrackGraph {
 	}
 
 	public void markDirty() {
+		dirty = true;
 		Create.RAILWAYS.markTracksDirty();
 	}
 
+	private void layoutChanged() {
+		routing.invalidateLayout();
+		markDirty();
+	}
+
+	/**
+	 * @return whether anything saved with this graph changed since the last call
+	 */
+	public boolean consumeDirty() {
+		boolean pointsDirty = edgePoints.consumeDirty();
+		boolean wasDirty = dirty || pointsDirty;
+		dirty = false;
+		return wasDirty;
+	}
+
 	public CompoundTag write(DimensionPalette dimensions) {
 		CompoundTag tag = new CompoundTag();
 		tag.putUUID("Id", id);
@@ -0,0 +1,326 @@
+package com.simibubi.create.content.logistics.trains;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+import javax.annotation.Nullable;
+
+import com.simibubi.create.Create;
+import com.simibubi.create.content.logistics.trains.entity.Train;
+import com.simibubi.create.content.logistics.trains.management.edgePoint.EdgePointType;
+import com.simibubi.create.content.logistics.trains.management.edgePoint.TrackEdgeIntersection;
+import com.simibubi.create.content.logistics.trains.management.edgePoint.signal.TrackEdgePoint;
+import com.simibubi.create.content.logistics.trains.management.edgePoint.station.GlobalStation;
+import com.simibubi.create.foundation.utility.Iterate;
+
+import it.unimi.dsi.fastutil.objects.Reference2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Reference2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+
+/**
+ * Navigation data shared by all trains on a {@link TrackGraph}. Distances from
+ * a few landmark nodes only depend on the layout of the graph and are kept
+ * until nodes or connections change. Distances towards the nearest station are
+ * also kept until stations are added or removed. Congestion penalties depend on
+ * the trains present and are collected at most once per railway tick.
+ */
+public class TrackGraphRouting {
+
+	static final int LANDMARKS = 8;
+
+	private final TrackGraph graph;
+	private Reference2ObjectMap<TrackNode, LandmarkRow> landmarkDistances;
+	private Reference2DoubleMap<TrackNode> stationDistances;
+	private Map<TrackEdge, Integer> congestion;
+	private Map<Train, Map<TrackEdge, Integer>> congestionByTrain;
+	private Boolean crossesOtherGraphs;
+
+	public TrackGraphRouting(TrackGraph graph) {
+		this.graph = graph;
+	}
+
+	public void invalidateLayout() {
+		landmarkDistances = null;
+		stationDistances = null;
+		crossesOtherGraphs = null;
+	}
+
+	public void invalidatePoints() {
+		stationDistances = null;
+	}
+
+	public void invalidateIntersections() {
+		crossesOtherGraphs = null;
+	}
+
+	public void invalidateCongestion() {
+		congestion = null;
+		congestionByTrain = null;
+	}
+
+	/**
+	 * @return lower bounds of the track distance from each node to either end of
+	 *         the edge the point is placed on, ignoring turn restrictions and
+	 *         penalties. Since they never overestimate, they can guide searches
+	 *         towards the point.
+	 */
+	@Nullable
+	public DistanceBounds getDistancesTo(TrackEdgePoint point) {
+		if (point.edgeLocation == null)
+			return null;
+		TrackNode node1 = graph.locateNode(point.edgeLocation.getFirst());
+		TrackNode node2 = graph.locateNode(point.edgeLocation.getSecond());
+		if (node1 == null || node2 == null)
+			return null;
+		return getDistancesTo(node1, node2);
+	}
+
+	/**
+	 * @return the same as {@link #getDistancesTo(TrackEdgePoint)}, towards the
+	 *         nearer of two nodes
+	 */
+	@Nullable
+	public DistanceBounds getDistancesTo(TrackNode node1, TrackNode node2) {
+		Reference2ObjectMap<TrackNode, LandmarkRow> landmarks = getLandmarkDistances();
+		LandmarkRow target1 = landmarks.get(node1);
+		LandmarkRow target2 = landmarks.get(node2);
+		if (target1 == null || target2 == null)
+			return null;
+
+		// A path from the node to the target cannot be shorter than the difference of
+		// their distances to any landmark
+		return node -> {
+			LandmarkRow from = landmarks.get(node);
+			if (from == null)
+				return 0;
+			return Math.min(from.getBound(target1), from.getBound(target2));
+		};
+	}
+
+	/**
+	 * Each connected part of the graph gets its own landmarks, spread out by
+	 * picking the node farthest from all landmarks so far. A node keeps the
+	 * distances to the landmarks of its part only, so the tables hold a fixed
+	 * number of entries per node, however many stations trains navigate to.
+	 */
+	private Reference2ObjectMap<TrackNode, LandmarkRow> getLandmarkDistances() {
+		if (landmarkDistances != null)
+			return landmarkDistances;
+
+		landmarkDistances = new Reference2ObjectOpenHashMap<>();
+		int component = 0;
+		for (TrackNode start : graph.nodes.values()) {
+			if (landmarkDistances.containsKey(start))
+				continue;
+
+			Reference2DoubleMap<TrackNode> nearestLandmark = computeDistances(List.of(start));
+			int landmarks = Math.min(LANDMARKS, nearestLandmark.size());
+			for (TrackNode node : nearestLandmark.keySet())
+				landmarkDistances.put(node, new LandmarkRow(component, new double[landmarks]));
+
+			for (int i = 0; i < landmarks; i++) {
+				TrackNode landmark = null;
+				double farthest = -1;
+				for (Reference2DoubleMap.Entry<TrackNode> entry : nearestLandmark.reference2DoubleEntrySet()) {
+					if (entry.getDoubleValue() <= farthest)
+						continue;
+					farthest = entry.getDoubleValue();
+					landmark = entry.getKey();
+				}
+
+				Reference2DoubleMap<TrackNode> distances = computeDistances(List.of(landmark));
+				for (Reference2DoubleMap.Entry<TrackNode> entry : distances.reference2DoubleEntrySet()) {
+					TrackNode node = entry.getKey();
+					double distance = entry.getDoubleValue();
+					landmarkDistances.get(node).distances[i] = distance;
+					nearestLandmark.put(node, Math.min(nearestLandmark.getDouble(node), distance));
+				}
+			}
+
+			component++;
+		}
+
+		return landmarkDistances;
+	}
+
+	/**
+	 * @return the exact track distance from each node to whichever station of
+	 *         this graph is closest, ignoring turn restrictions and penalties.
+	 *         Nodes that cannot reach a station are bounded by
+	 *         {@link Double#MAX_VALUE}
+	 */
+	public DistanceBounds getDistancesToStations() {
+		if (stationDistances == null) {
+			List<TrackNode> sources = new ArrayList<>();
+			for (GlobalStation station : graph.getPoints(EdgePointType.STATION)) {
+				if (station.edgeLocation == null)
+					continue;
+				TrackNode node1 = graph.locateNode(station.edgeLocation.getFirst());
+				TrackNode node2 = graph.locateNode(station.edgeLocation.getSecond());
+				if (node1 == null || node2 == null)
+					continue;
+				sources.add(node1);
+				sources.add(node2);
+			}
+			stationDistances = computeDistances(sources);
+		}
+
+		Reference2DoubleMap<TrackNode> distances = stationDistances;
+		return node -> distances.containsKey(node) ? distances.getDouble(node) : Double.MAX_VALUE;
+	}
+
+	Reference2DoubleMap<TrackNode> computeDistances(Collection<TrackNode> sources) {
+		Reference2DoubleMap<TrackNode> table = new Reference2DoubleOpenHashMap<>();
+		PriorityQueue<NodeEntry> frontier = new PriorityQueue<>();
+		for (TrackNode source : sources)
+			frontier.add(new NodeEntry(source, 0));
+
+		while (!frontier.isEmpty()) {
+			NodeEntry entry = frontier.poll();
+			if (table.containsKey(entry.node))
+				continue;
+			table.put(entry.node, entry.distance);
+
+			for (Map.Entry<TrackNode, TrackEdge> connection : graph.getConnectionsFrom(entry.node)
+				.entrySet()) {
+				TrackNode next = connection.getKey();
+				if (table.containsKey(next))
+					continue;
+				frontier.add(new NodeEntry(next, entry.distance + connection.getValue()
+					.getLength()));
+			}
+		}
+
+		return table;
+	}
+
+	/**
+	 * @return whether any edge of this graph intersects track of another graph.
+	 *         Trains on such a graph share signal groups with trains elsewhere.
+	 */
+	public boolean crossesOtherGraphs() {
+		if (crossesOtherGraphs != null)
+			return crossesOtherGraphs;
+
+		crossesOtherGraphs = false;
+		for (Map<TrackNode, TrackEdge> connections : graph.connectionsByNode.values()) {
+			for (TrackEdge edge : connections.values()) {
+				for (TrackEdgeIntersection intersection : edge.getEdgeData()
+					.getIntersections()) {
+					if (graph.locateNode(intersection.target.getFirst()) != null)
+						continue;
+					crossesOtherGraphs = true;
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the summed penalty all trains on this graph add to the edges they
+	 *         occupy
+	 */
+	public Map<TrackEdge, Integer> getCongestion() {
+		if (congestion != null)
+			return congestion;
+
+		congestion = new IdentityHashMap<>();
+		congestionByTrain = new IdentityHashMap<>();
+		for (Train train : Create.RAILWAYS.trains.values()) {
+			if (train.graph != graph)
+				continue;
+			Map<TrackEdge, Integer> ownCongestion = new IdentityHashMap<>();
+			forEachOccupiedEdge(train, (edge, penalty) -> {
+				congestion.merge(edge, penalty, Integer::sum);
+				ownCongestion.merge(edge, penalty, Integer::sum);
+			});
+			congestionByTrain.put(train, ownCongestion);
+		}
+		return congestion;
+	}
+
+	/**
+	 * @return the part of {@link #getCongestion()} contributed by the given train
+	 */
+	public Map<TrackEdge, Integer> getCongestionOf(Train train) {
+		getCongestion();
+		return congestionByTrain.getOrDefault(train, Collections.emptyMap());
+	}
+
+	private void forEachOccupiedEdge(Train train, OccupiedEdgeConsumer consumer) {
+		int navigationPenalty = train.getNavigationPenalty();
+		train.getEndpointEdges()
+			.forEach(nodes -> {
+				if (nodes.either(Objects::isNull))
+					return;
+				for (boolean flip : Iterate.trueAndFalse) {
+					TrackEdge e = graph.getConnection(flip ? nodes.swap() : nodes);
+					if (e == null)
+						continue;
+					consumer.accept(e, navigationPenalty / 2);
+				}
+			});
+	}
+
+	@FunctionalInterface
+	private interface OccupiedEdgeConsumer {
+		void accept(TrackEdge edge, int penalty);
+	}
+
+	/**
+	 * Lower bounds of the remaining track distance from a node to a target
+	 */
+	@FunctionalInterface
+	public interface DistanceBounds {
+
+		/**
+		 * @return a distance no path from the node to the target undercuts, or
+		 *         {@link Double#MAX_VALUE} if no path reaches the target at all
+		 */
+		double getBound(TrackNode node);
+
+	}
+
+	/**
+	 * The distances of a node to the landmarks of the connected part of the graph
+	 * it is in
+	 */
+	private record LandmarkRow(int component, double[] distances) {
+
+		double getBound(LandmarkRow target) {
+			if (component != target.component)
+				return Double.MAX_VALUE;
+			double bound = 0;
+			for (int i = 0; i < distances.length; i++)
+				bound = Math.max(bound, Math.abs(distances[i] - target.distances[i]));
+			return bound;
+		}
+
+	}
+
+	private static class NodeEntry implements Comparable<NodeEntry> {
+
+		TrackNode node;
+		double distance;
+
+		public NodeEntry(TrackNode node, double distance) {
+			this.node = node;
+			this.distance = distance;
+		}
+
+		@Override
+		public int compareTo(NodeEntry o) {
+			return Double.compare(distance, o.distance);
+		}
+
+	}
+
+}
@@ -211,7 +211,7 @@ public class TrackGraphSyncPacket extends TrackGraphPacket {
 		handleEdgeData(manager, graph);
 
 		if (!splitSubGraphs.isEmpty())
-			graph.findDisconnectedGraphs(null, splitSubGraphs)
+			graph.applySplit(null, splitSubGraphs)
 				.forEach(manager::putGraph);
 	}
 
@@ -7,6 +7,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 import com.simibubi.create.Create;
 import com.simibubi.create.content.logistics.trains.TrackNodeLocation.DiscoveredLocation;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.signal.SignalPropagator;
@@ -41,12 +43,14 @@ public class TrackPropagator {
 
 		// 1. Remove any nodes this rail was part of
 
+		Set<TrackNodeLocation> splitCandidates = new HashSet<>();
 		for (DiscoveredLocation removedLocation : ends) {
 			List<TrackGraph> intersecting = manager.getGraphs(reader, removedLocation);
 			for (TrackGraph foundGraph : intersecting) {
 				TrackNode removedNode = foundGraph.locateNode(removedLocation);
 				if (removedNode == null)
 					continue;
+				addSplitCandidates(foundGraph, removedNode, splitCandidates);
 				foundGraph.removeNode(reader, removedLocation);
 				sync.nodeRemoved(foundGraph, removedNode);
 				if (!foundGraph.isEmpty())
@@ -65,7 +69,7 @@ public class TrackPropagator {
 		Set<TrackGraph> toUpdate = new HashSet<>();
 		for (BlockPos blockPos : positionsToUpdate)
 			if (!blockPos.equals(pos)) {
-				TrackGraph onRailAdded = onRailAdded(reader, blockPos, reader.getBlockState(blockPos));
+				TrackGraph onRailAdded = onRailAdded(reader, blockPos, reader.getBlockState(blockPos), splitCandidates);
 				if (onRailAdded != null)
 					toUpdate.add(onRailAdded);
 			}
@@ -73,12 +77,17 @@ public class TrackPropagator {
 		// 3. Ensure any affected graph gets checked for segmentation
 
 		for (TrackGraph railGraph : toUpdate)
-			manager.updateSplitGraph(reader, railGraph);
+			manager.updateSplitGraph(reader, railGraph, splitCandidates);
 
 		manager.markTracksDirty();
 	}
 
 	public static TrackGraph onRailAdded(LevelAccessor reader, BlockPos pos, BlockState state) {
+		return onRailAdded(reader, pos, state, null);
+	}
+
+	private static TrackGraph onRailAdded(LevelAccessor reader, BlockPos pos, BlockState state,
+		@Nullable Set<TrackNodeLocation> splitCandidates) {
 		if (!(state.getBlock()instanceof ITrackBlock track))
 			return null;
 
@@ -100,6 +109,8 @@ public class TrackPropagator {
 			List<TrackGraph> intersecting = manager.getGraphs(reader, entry.currentNode);
 			for (TrackGraph graph : intersecting) {
 				TrackNode node = graph.locateNode(entry.currentNode);
+				if (splitCandidates != null)
+					addSplitCandidates(graph, node, splitCandidates);
 				graph.removeNode(reader, entry.currentNode);
 				sync.nodeRemoved(graph, node);
 				connectedGraphs.add(graph);
@@ -207,6 +218,17 @@ public class TrackPropagator {
 		return graph;
 	}
 
+	/**
+	 * Any part of a graph that gets cut off by removing a node contains one of its
+	 * neighbours, or a node built again in its place
+	 */
+	private static void addSplitCandidates(TrackGraph graph, TrackNode removed, Set<TrackNodeLocation> candidates) {
+		candidates.add(removed.getLocation());
+		for (TrackNode connected : graph.getConnectionsFrom(removed)
+			.keySet())
+			candidates.add(connected.getLocation());
+	}
+
 	private static void addInitialEndsOf(LevelAccessor reader, BlockPos pos, BlockState state, ITrackBlock track,
 		List<FrontierEntry> frontier, boolean ignoreTurns) {
 		for (DiscoveredLocation initial : track.getConnected(reader, pos, state, ignoreTurns, null)) {
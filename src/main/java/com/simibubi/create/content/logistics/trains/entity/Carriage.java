@@ -12,18 +12,16 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
-import org.apache.commons.lang3.mutable.MutableDouble;
-
 import com.simibubi.create.content.contraptions.components.structureMovement.Contraption;
 import com.simibubi.create.content.contraptions.components.structureMovement.train.TrainCargoManager;
 import com.simibubi.create.content.logistics.trains.DimensionPalette;
 import com.simibubi.create.content.logistics.trains.TrackGraph;
 import com.simibubi.create.content.logistics.trains.TrackNodeLocation;
 import com.simibubi.create.content.logistics.trains.entity.TravellingPoint.IEdgePointListener;
+import com.simibubi.create.content.logistics.trains.entity.TravellingPoint.IPortalListener;
 import com.simibubi.create.content.logistics.trains.entity.TravellingPoint.ITrackSelector;
 import com.simibubi.create.foundation.advancement.AllAdvancements;
 import com.simibubi.create.foundation.utility.Couple;
@@ -67,6 +65,7 @@ public class Carriage {
 	Map<Integer, CompoundTag> serialisedPassengers;
 
 	private Map<ResourceKey<Level>, DimensionalCarriageEntity> entities;
+	private final IPortalListener portalListener = this::onPortal;
 
 	static final int FIRST = 0, MIDDLE = 1, LAST = 2, BOTH = 3;
 
@@ -123,16 +122,11 @@ public class Carriage {
 	public double travel(Level level, TrackGraph graph, double distance, TravellingPoint toFollowForward,
 		TravellingPoint toFollowBackward, int type) {
 
-		Function<TravellingPoint, ITrackSelector> forwardControl =
-			toFollowForward == null ? train.navigation::control : mp -> mp.follow(toFollowForward);
-		Function<TravellingPoint, ITrackSelector> backwardControl =
-			toFollowBackward == null ? train.navigation::control : mp -> mp.follow(toFollowBackward);
-
 		boolean onTwoBogeys = isOnTwoBogeys();
 		double stress = train.derailed ? 0 : onTwoBogeys ? bogeySpacing - getAnchorDiff() : 0;
 		blocked = false;
 
-		MutableDouble distanceMoved = new MutableDouble(distance);
+		double distanceMoved = distance;
 		boolean iterateFromBack = distance < 0;
 
 		for (boolean firstBogey : Iterate.trueAndFalse) {
@@ -153,12 +147,14 @@ public class Carriage {
 					: actuallyFirstBogey && onTwoBogeys ? bogeys.getSecond().points.getFirst() : null;
 
 				double correction = bogeyStress * (actuallyFirstWheel ? 0.5d : -0.5d);
-				double toMove = distanceMoved.getValue();
+				double toMove = distanceMoved;
+				toMove += correction + bogeyCorrection;
 
-				ITrackSelector frontTrackSelector =
-					prevPoint == null ? forwardControl.apply(point) : point.follow(prevPoint);
-				ITrackSelector backTrackSelector =
-					nextPoint == null ? backwardControl.apply(point) : point.follow(nextPoint);
+				// Only the selector for the direction of travel is needed
+				TravellingPoint toFollow = toMove > 0 ? prevPoint != null ? prevPoint : toFollowForward
+					: nextPoint != null ? nextPoint : toFollowBackward;
+				ITrackSelector trackSelector =
+					toFollow == null ? train.navigation.control(point) : point.follow(toFollow);
 
 				boolean atFront = (type == FIRST || type == BOTH) && actuallyFirstWheel && actuallyFirstBogey;
 				boolean atBack =
@@ -168,33 +164,33 @@ public class Carriage {
 				IEdgePointListener backListener = train.backSignalListener();
 				IEdgePointListener passiveListener = point.ignoreEdgePoints();
 
-				toMove += correction + bogeyCorrection;
-
-				ITrackSelector trackSelector = toMove > 0 ? frontTrackSelector : backTrackSelector;
 				IEdgePointListener signalListener =
 					toMove > 0 ? atFront ? frontListener : atBack ? backListener : passiveListener
 						: atFront ? backListener : atBack ? frontListener : passiveListener;
 
-				double moved = point.travel(graph, toMove, trackSelector, signalListener, point.ignoreTurns(), c -> {
-					for (DimensionalCarriageEntity dce : entities.values())
-						if (c.either(tnl -> tnl.equalsIgnoreDim(dce.pivot)))
-							return false;
-					if (entities.size() > 1) {
-						train.status.doublePortal();
-						return true;
-					}
-					return false;
-				});
+				double moved =
+					point.travel(graph, toMove, trackSelector, signalListener, point.ignoreTurns(), portalListener);
 
 				blocked |= point.blocked;
 
-				distanceMoved.setValue(moved);
+				distanceMoved = moved;
 			}
 		}
 
 		updateContraptionAnchors();
-		manageEntities(level);
-		return distanceMoved.getValue();
+		train.runOnMainThread(() -> manageEntities(level));
+		return distanceMoved;
+	}
+
+	private boolean onPortal(Couple<TrackNodeLocation> c) {
+		for (DimensionalCarriageEntity dce : entities.values())
+			if (c.either(tnl -> tnl.equalsIgnoreDim(dce.pivot)))
+				return false;
+		if (entities.size() > 1) {
+			train.runOnMainThread(train.status::doublePortal);
+			return true;
+		}
+		return false;
 	}
 
 	public double getAnchorDiff() {
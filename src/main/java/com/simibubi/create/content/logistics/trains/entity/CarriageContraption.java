@@ -295,9 +295,9 @@ public class CarriageContraption extends Contraption {
 	}
 
 	@Override
-	public Optional<List<AABB>> getSimplifiedEntityColliders() {
+	public Optional<List<AABB>> getSimplifiedEntityColliders(AABB localBB) {
 		if (notInPortal())
-			return super.getSimplifiedEntityColliders();
+			return super.getSimplifiedEntityColliders(localBB);
 		return Optional.empty();
 	}
 
@@ -2,8 +2,11 @@ package com.simibubi.create.content.logistics.trains.entity;
 
 import java.lang.ref.WeakReference;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -21,6 +24,7 @@ import com.simibubi.create.content.contraptions.components.structureMovement.int
 import com.simibubi.create.content.contraptions.particle.CubeParticleData;
 import com.simibubi.create.content.logistics.trains.TrackGraph;
 import com.simibubi.create.content.logistics.trains.entity.Carriage.DimensionalCarriageEntity;
+import com.simibubi.create.content.logistics.trains.entity.CarriageSyncData.Baseline;
 import com.simibubi.create.content.logistics.trains.entity.TravellingPoint.SteerDirection;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.station.GlobalStation;
 import com.simibubi.create.foundation.config.AllConfigs;
@@ -33,6 +37,7 @@ import com.simibubi.create.foundation.utility.VecHelper;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.Direction.Axis;
@@ -85,6 +90,12 @@ public class CarriageContraptionEntity extends OrientedContraptionEntity {
 
 	// fabric: cannot use custom entity data serializers
 	public CarriageSyncData carriageData = new CarriageSyncData();
+	private boolean nearSyncSettling;
+	private boolean distantSyncChanged;
+	private boolean distantSyncSettling;
+	// what each tracking player last received, updates are sent relative to it
+	private final Map<UUID, Baseline> syncBaselines = new HashMap<>();
+	private boolean resyncRequested;
 
 	public CarriageContraptionEntity(EntityType<?> type, Level world) {
 		super(type, world);
@@ -131,14 +142,94 @@ public class CarriageContraptionEntity extends OrientedContraptionEntity {
 	}
 
 	public void onCarriageDataUpdate(CarriageSyncData newData) {
+		if (!newData.resolve(carriageData)) {
+			// Updates keep building on the state the server thinks we have, ask for all of it
+			if (!resyncRequested)
+				AllPackets.channel.sendToServer(new CarriageDataResyncPacket(this));
+			resyncRequested = true;
+			return;
+		}
+		resyncRequested = false;
 		this.carriageData = newData;
 		if (carriage == null)
 			return;
 		carriageData.apply(this, carriage);
 	}
 
+	/**
+	 * Players close to the carriage receive every change. Players further away are
+	 * only updated every few syncs, with whatever changed in the meantime. After
+	 * the last change, the same state is sent once more so clients stop
+	 * extrapolating the movement. Each update is relative to what the player
+	 * received last.
+	 */
 	public void sendCarriageDataUpdate() {
-		AllPackets.channel.sendToClientsTracking(new CarriageDataUpdatePacket(this), this);
+		Train train = carriage.train;
+		long gameTime = level.getGameTime();
+		boolean dirty = carriageData.isDirty();
+		boolean syncNear = dirty || nearSyncSettling;
+		nearSyncSettling = dirty;
+		distantSyncChanged |= dirty;
+
+		boolean syncDistant = false;
+		if (train.shouldDistantCarriageSyncThisTick(gameTime, getType().updateInterval())) {
+			syncDistant = distantSyncChanged || distantSyncSettling;
+			distantSyncSettling = distantSyncChanged;
+			distantSyncChanged = false;
+		}
+
+		carriageData.setDirty(false);
+		if (!syncNear && !syncDistant)
+			return;
+
+		int range = AllConfigs.SERVER.trains.fullRateCarriageSyncRange.get();
+		Baseline sent = carriageData.baseline();
+		// Players that were synced together share a baseline and thus a packet
+		Map<Baseline, CarriageDataUpdatePacket> packets = new IdentityHashMap<>();
+		int bytes = 0;
+		for (ServerPlayer player : PlayerLookup.tracking(this)) {
+			boolean near = player.distanceToSqr(this) <= range * range;
+			if (near ? !syncNear : !syncDistant)
+				continue;
+			CarriageDataUpdatePacket packet = packets.computeIfAbsent(syncBaselines.get(player.getUUID()),
+				baseline -> new CarriageDataUpdatePacket(this, baseline));
+			AllPackets.channel.sendToClient(packet, player);
+			syncBaselines.put(player.getUUID(), sent);
+			bytes += packet.getSize();
+		}
+
+		if (bytes > 0)
+			train.recordCarriageSync(gameTime, bytes);
+	}
+
+	@Override
+	public void startSeenByPlayer(ServerPlayer player) {
+		super.startSeenByPlayer(player);
+		// Parked carriages are not synced, new viewers need the current state once
+		sendFullCarriageData(player);
+	}
+
+	/**
+	 * The player could not apply a relative update, so whatever they have is no
+	 * baseline. They get the full state now, later updates build on that.
+	 */
+	public void resyncCarriageData(ServerPlayer player) {
+		if (syncBaselines.remove(player.getUUID()) == null)
+			return;
+		sendFullCarriageData(player);
+	}
+
+	private void sendFullCarriageData(ServerPlayer player) {
+		if (!carriageData.hasData())
+			return;
+		AllPackets.channel.sendToClient(new CarriageDataUpdatePacket(this, null), player);
+		syncBaselines.put(player.getUUID(), carriageData.baseline());
+	}
+
+	@Override
+	public void stopSeenByPlayer(ServerPlayer player) {
+		super.stopSeenByPlayer(player);
+		syncBaselines.remove(player.getUUID());
 	}
 
 	public CarriageSyncData getCarriageData() {
@@ -242,10 +333,8 @@ public class CarriageContraptionEntity extends OrientedContraptionEntity {
 
 			boolean shouldCarriageSyncThisTick =
 				carriage.train.shouldCarriageSyncThisTick(level.getGameTime(), getType().updateInterval());
-			if (shouldCarriageSyncThisTick && carriageData.isDirty()) {
+			if (shouldCarriageSyncThisTick)
 				sendCarriageDataUpdate();
-				carriageData.setDirty(false);
-			}
 
 			Navigation navigation = carriage.train.navigation;
 			if (navigation.announceArrival && Math.abs(navigation.distanceToDestination) < 60
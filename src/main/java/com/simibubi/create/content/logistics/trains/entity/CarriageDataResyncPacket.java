@@ -0,0 +1,46 @@
+package com.simibubi.create.content.logistics.trains.entity;
+
+import java.util.function.Supplier;
+
+import com.simibubi.create.foundation.networking.SimplePacketBase;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+
+/**
+ * Sent by a client that could not apply a relative carriage update, so the
+ * server sends it the full state again
+ */
+public class CarriageDataResyncPacket extends SimplePacketBase {
+
+	private int entity;
+
+	public CarriageDataResyncPacket(CarriageContraptionEntity entity) {
+		this.entity = entity.getId();
+	}
+
+	public CarriageDataResyncPacket(FriendlyByteBuf buffer) {
+		entity = buffer.readVarInt();
+	}
+
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeVarInt(entity);
+	}
+
+	@Override
+	public void handle(Supplier<Context> context) {
+		Context ctx = context.get();
+		ctx.enqueueWork(() -> {
+			ServerPlayer player = ctx.getSender();
+			if (player == null)
+				return;
+			Entity entity = player.level.getEntity(this.entity);
+			if (entity instanceof CarriageContraptionEntity carriage)
+				carriage.resyncCarriageData(player);
+		});
+		ctx.setPacketHandled(true);
+	}
+
+}
@@ -2,7 +2,10 @@ package com.simibubi.create.content.logistics.trains.entity;
 
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+
 import com.simibubi.create.Create;
+import com.simibubi.create.content.logistics.trains.entity.CarriageSyncData.Baseline;
 import com.simibubi.create.foundation.networking.SimplePacketBase;
 
 import net.minecraft.client.Minecraft;
@@ -13,10 +16,12 @@ public class CarriageDataUpdatePacket extends SimplePacketBase {
 
 	private int entity;
 	private CarriageSyncData data;
+	private Baseline baseline;
 
-	public CarriageDataUpdatePacket(CarriageContraptionEntity entity) {
+	public CarriageDataUpdatePacket(CarriageContraptionEntity entity, @Nullable Baseline baseline) {
 		this.entity = entity.getId();
 		this.data = entity.carriageData;
+		this.baseline = baseline;
 	}
 
 	public CarriageDataUpdatePacket(FriendlyByteBuf buf) {
@@ -25,10 +30,14 @@ public class CarriageDataUpdatePacket extends SimplePacketBase {
 		this.data.read(buf);
 	}
 
+	public int getSize() {
+		return FriendlyByteBuf.getVarIntSize(entity) + data.getSyncSize(baseline);
+	}
+
 	@Override
 	public void write(FriendlyByteBuf buffer) {
 		buffer.writeVarInt(entity);
-		this.data.write(buffer);
+		this.data.write(buffer, baseline);
 	}
 
 	@Override
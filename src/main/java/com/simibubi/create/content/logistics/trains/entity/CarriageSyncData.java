@@ -11,6 +11,8 @@ import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.Vector;
 
+import javax.annotation.Nullable;
+
 import org.apache.commons.lang3.mutable.MutableBoolean;
 
 import com.simibubi.create.content.logistics.trains.TrackEdge;
@@ -30,6 +32,12 @@ import net.minecraft.world.phys.Vec3;
 
 public class CarriageSyncData {
 
+	private static final byte WHEEL_ABSENT = 1;
+	private static final byte WHEEL_SAME_EDGE = 2;
+	private static final byte WHEEL_BASELINE_EDGE = 4;
+	static final int POSITION_STEPS = 256;
+	static final int DISTANCE_STEPS = 16;
+
 	public Vector<Pair<Couple<Integer>, Float>> wheelLocations;
 	public Pair<Vec3, Couple<Vec3>> fallbackLocations;
 	public float distanceToDestination;
@@ -41,6 +49,8 @@ public class CarriageSyncData {
 	private float[] pointDistanceSnapshot;
 	private float destinationDistanceSnapshot;
 	private int ticksSince;
+	// Positions and distance of a relative update are offsets until resolved
+	private boolean relative;
 
 	public CarriageSyncData() {
 		wheelLocations = new Vector<>(4);
@@ -68,7 +78,53 @@ public class CarriageSyncData {
 		return data;
 	}
 
-	public void write(FriendlyByteBuf buffer) {
+	public boolean hasData() {
+		return fallbackLocations != null || wheelLocations.get(0) != null;
+	}
+
+	/**
+	 * The state a client last received, quantized like the packets. Updates
+	 * relative to it only send the offsets of wheels that stayed on their edge.
+	 */
+	public record Baseline(int[] nodes, int[] positions, int distance) {
+
+		private boolean hasEdge(int wheel, Couple<Integer> edge) {
+			return wheel < positions.length && nodes[wheel * 2] == edge.getFirst()
+				&& nodes[wheel * 2 + 1] == edge.getSecond();
+		}
+
+	}
+
+	/**
+	 * @return the state clients have after receiving this data, or null if the
+	 *         next update has to be sent in full
+	 */
+	@Nullable
+	public Baseline baseline() {
+		if (fallbackLocations != null)
+			return null;
+		int wheels = 0;
+		while (wheels < 4 && wheelLocations.get(wheels) != null)
+			wheels++;
+		int[] nodes = new int[wheels * 2];
+		int[] positions = new int[wheels];
+		for (int i = 0; i < wheels; i++) {
+			Pair<Couple<Integer>, Float> pair = wheelLocations.get(i);
+			nodes[i * 2] = pair.getFirst()
+				.getFirst();
+			nodes[i * 2 + 1] = pair.getFirst()
+				.getSecond();
+			positions[i] = toSteps(pair.getSecond(), POSITION_STEPS);
+		}
+		return new Baseline(nodes, positions, toSteps(distanceToDestination, DISTANCE_STEPS));
+	}
+
+	/**
+	 * Positions are sent in 1/{@value #POSITION_STEPS} blocks and the distance to
+	 * the destination in 1/{@value #DISTANCE_STEPS} blocks, as var ints. With a
+	 * baseline, wheels still on their previous edge only send how far they moved.
+	 */
+	public void write(FriendlyByteBuf buffer, @Nullable Baseline baseline) {
 		buffer.writeBoolean(leadingCarriage);
 		buffer.writeBoolean(fallbackLocations != null);
 
@@ -81,15 +137,65 @@ public class CarriageSyncData {
 			return;
 		}
 
-		for (Pair<Couple<Integer>, Float> pair : wheelLocations) {
-			buffer.writeBoolean(pair == null);
+		buffer.writeBoolean(baseline != null);
+
+		// Wheels on the same edge as the previously written one only send their position
+		Couple<Integer> previousEdge = null;
+		for (int i = 0; i < 4; i++) {
+			Pair<Couple<Integer>, Float> pair = wheelLocations.get(i);
+			if (pair == null) {
+				buffer.writeByte(WHEEL_ABSENT);
+				break;
+			}
+			Couple<Integer> edge = pair.getFirst();
+			int position = toSteps(pair.getSecond(), POSITION_STEPS);
+			if (baseline != null && baseline.hasEdge(i, edge)) {
+				buffer.writeByte(WHEEL_BASELINE_EDGE);
+				writeSigned(buffer, position - baseline.positions[i]);
+				continue;
+			}
+			boolean sameEdge = edge.equals(previousEdge);
+			buffer.writeByte(sameEdge ? WHEEL_SAME_EDGE : 0);
+			if (!sameEdge)
+				edge.forEach(buffer::writeVarInt);
+			writeSigned(buffer, position);
+			previousEdge = edge;
+		}
+
+		int distance = toSteps(distanceToDestination, DISTANCE_STEPS);
+		writeSigned(buffer, baseline != null ? distance - baseline.distance : distance);
+	}
+
+	/**
+	 * @return the amount of bytes {@link #write(FriendlyByteBuf, Baseline)}
+	 *         produces
+	 */
+	public int getSyncSize(@Nullable Baseline baseline) {
+		int size = 2;
+		if (fallbackLocations != null)
+			return size + 9 * Double.BYTES;
+
+		size++;
+		Couple<Integer> previousEdge = null;
+		for (int i = 0; i < 4; i++) {
+			Pair<Couple<Integer>, Float> pair = wheelLocations.get(i);
+			size++;
 			if (pair == null)
 				break;
-			pair.getFirst()
-				.forEach(buffer::writeInt);
-			buffer.writeFloat(pair.getSecond());
+			Couple<Integer> edge = pair.getFirst();
+			int position = toSteps(pair.getSecond(), POSITION_STEPS);
+			if (baseline != null && baseline.hasEdge(i, edge)) {
+				size += getSignedSize(position - baseline.positions[i]);
+				continue;
+			}
+			if (!edge.equals(previousEdge))
+				size += FriendlyByteBuf.getVarIntSize(edge.getFirst()) + FriendlyByteBuf.getVarIntSize(edge.getSecond());
+			size += getSignedSize(position);
+			previousEdge = edge;
 		}
-		buffer.writeFloat(distanceToDestination);
+
+		int distance = toSteps(distanceToDestination, DISTANCE_STEPS);
+		return size + getSignedSize(baseline != null ? distance - baseline.distance : distance);
 	}
 
 	public void read(FriendlyByteBuf buffer) {
@@ -104,12 +210,75 @@ public class CarriageSyncData {
 		}
 
 		fallbackLocations = null;
+		relative = buffer.readBoolean();
+		Couple<Integer> previousEdge = null;
+		for (int i = 0; i < 4; i++) {
+			byte flags = buffer.readByte();
+			if ((flags & WHEEL_ABSENT) != 0)
+				break;
+			if ((flags & WHEEL_BASELINE_EDGE) != 0) {
+				// The edge is filled in by resolve
+				wheelLocations.set(i, Pair.of(null, fromSteps(readSigned(buffer), POSITION_STEPS)));
+				continue;
+			}
+			Couple<Integer> edge =
+				(flags & WHEEL_SAME_EDGE) != 0 ? previousEdge : Couple.create(buffer::readVarInt);
+			wheelLocations.set(i, Pair.of(edge, fromSteps(readSigned(buffer), POSITION_STEPS)));
+			previousEdge = edge;
+		}
+		distanceToDestination = fromSteps(readSigned(buffer), DISTANCE_STEPS);
+	}
+
+	/**
+	 * Adds the offsets of a relative update to the state the client had before.
+	 *
+	 * @return false if that state does not have the wheels the update refers to
+	 */
+	public boolean resolve(CarriageSyncData previous) {
+		if (!relative)
+			return true;
+		relative = false;
+		if (previous.fallbackLocations != null)
+			return false;
+
 		for (int i = 0; i < 4; i++) {
-			if (buffer.readBoolean())
+			Pair<Couple<Integer>, Float> pair = wheelLocations.get(i);
+			if (pair == null)
 				break;
-			wheelLocations.set(i, Pair.of(Couple.create(buffer::readInt), buffer.readFloat()));
+			if (pair.getFirst() != null)
+				continue;
+			Pair<Couple<Integer>, Float> base = previous.wheelLocations.get(i);
+			if (base == null)
+				return false;
+			int position = toSteps(base.getSecond(), POSITION_STEPS) + toSteps(pair.getSecond(), POSITION_STEPS);
+			wheelLocations.set(i, Pair.of(base.getFirst(), fromSteps(position, POSITION_STEPS)));
 		}
-		distanceToDestination = buffer.readFloat();
+
+		int distance = toSteps(previous.distanceToDestination, DISTANCE_STEPS)
+			+ toSteps(distanceToDestination, DISTANCE_STEPS);
+		distanceToDestination = fromSteps(distance, DISTANCE_STEPS);
+		return true;
+	}
+
+	static int toSteps(double value, int steps) {
+		return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, Math.round(value * steps)));
+	}
+
+	static float fromSteps(int value, int steps) {
+		return value / (float) steps;
+	}
+
+	private static void writeSigned(FriendlyByteBuf buffer, int value) {
+		buffer.writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	private static int readSigned(FriendlyByteBuf buffer) {
+		int value = buffer.readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static int getSignedSize(int value) {
+		return FriendlyByteBuf.getVarIntSize((value << 1) ^ (value >> 31));
 	}
 
 	public void update(CarriageContraptionEntity entity, Carriage carriage) {
@@ -117,15 +286,23 @@ public class CarriageSyncData {
 
 		TrackGraph graph = carriage.train.graph;
 		if (graph == null) {
-			fallbackLocations = Pair.of(dce.positionAnchor, dce.rotationAnchors);
+			Pair<Vec3, Couple<Vec3>> previousFallback = fallbackLocations;
+			fallbackLocations = Pair.of(dce.positionAnchor, dce.rotationAnchors.copy());
 			dce.pointsInitialised = true;
-			setDirty(true);
+			if (!fallbackLocations.equals(previousFallback))
+				setDirty(true);
 			return;
 		}
 
+		// Only mark dirty if anything changed, parked trains do not have to be synced
+		boolean changed = fallbackLocations != null;
 		fallbackLocations = null;
-		leadingCarriage = entity.carriageIndex == (carriage.train.speed >= 0 ? 0 : carriage.train.carriages.size() - 1);
+		boolean leading =
+			entity.carriageIndex == (carriage.train.speed >= 0 ? 0 : carriage.train.carriages.size() - 1);
+		changed |= leading != leadingCarriage;
+		leadingCarriage = leading;
 
+		// Quantized as sent, so the baselines kept for clients match what they decode
 		for (boolean first : Iterate.trueAndFalse) {
 			if (!first && !carriage.isOnTwoBogeys())
 				break;
@@ -134,13 +311,18 @@ public class CarriageSyncData {
 				TravellingPoint point = bogey.points.get(firstPoint);
 				int index = (first ? 0 : 2) + (firstPoint ? 0 : 1);
 				Pair<Couple<Integer>, Float> pair =
-					Pair.of(Couple.create(point.node1.getNetId(), point.node2.getNetId()), (float) point.position);
-				wheelLocations.set(index, pair);
+					Pair.of(Couple.create(point.node1.getNetId(), point.node2.getNetId()),
+						fromSteps(toSteps(point.position, POSITION_STEPS), POSITION_STEPS));
+				changed |= !pair.equals(wheelLocations.set(index, pair));
 			}
 		}
 
-		distanceToDestination = (float) carriage.train.navigation.distanceToDestination;
-		setDirty(true);
+		float distance =
+			fromSteps(toSteps(carriage.train.navigation.distanceToDestination, DISTANCE_STEPS), DISTANCE_STEPS);
+		changed |= distance != distanceToDestination;
+		distanceToDestination = distance;
+		if (changed)
+			setDirty(true);
 	}
 
 	public void apply(CarriageContraptionEntity entity, Carriage carriage) {
@@ -1,13 +1,13 @@
 package com.simibubi.create.content.logistics.trains.entity;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.UUID;
@@ -21,6 +21,8 @@ import com.simibubi.create.Create;
 import com.simibubi.create.content.logistics.trains.DimensionPalette;
 import com.simibubi.create.content.logistics.trains.TrackEdge;
 import com.simibubi.create.content.logistics.trains.TrackGraph;
+import com.simibubi.create.content.logistics.trains.TrackGraphRouting;
+import com.simibubi.create.content.logistics.trains.TrackGraphRouting.DistanceBounds;
 import com.simibubi.create.content.logistics.trains.TrackNode;
 import com.simibubi.create.content.logistics.trains.TrackNodeLocation;
 import com.simibubi.create.content.logistics.trains.entity.TravellingPoint.ITrackSelector;
@@ -428,6 +430,18 @@ public class Navigation {
 		if (graph == null)
 			return null;
 
+		// Skip the search entirely when the destination cannot be reached at all, or
+		// not within the cost limit. Most candidates of a schedule end here
+		DistanceBounds distancesToDestination = graph.getRouting()
+			.getDistancesTo(destination);
+		if (distancesToDestination != null) {
+			double distanceBound = getDistanceBoundFromEnds(distancesToDestination);
+			if (distanceBound == Double.MAX_VALUE)
+				return null;
+			if (maxCost >= 0 && distanceBound > maxCost)
+				return null;
+		}
+
 		Couple<DiscoveredPath> results = Couple.create(null, null);
 		for (boolean forward : Iterate.trueAndFalse) {
 
@@ -443,7 +457,7 @@ public class Navigation {
 				: graph.getConnectionsFrom(initialPoint.node2)
 					.get(initialPoint.node1);
 
-			search(Double.MAX_VALUE, maxCost, forward, (distance, cost, reachedVia, currentEntry, globalStation) -> {
+			search(Double.MAX_VALUE, maxCost, forward, distancesToDestination, (distance, cost, reachedVia, currentEntry, globalStation) -> {
 				if (globalStation != destination)
 					return false;
 
@@ -491,6 +505,23 @@ public class Navigation {
 		return frontBetter ? front : back;
 	}
 
+	/**
+	 * @return the lowest value the table holds for the nodes around either end of
+	 *         the train, which no path from the train can undercut
+	 */
+	private double getDistanceBoundFromEnds(DistanceBounds distances) {
+		TravellingPoint leadingPoint = train.carriages.get(0)
+			.getLeadingPoint();
+		TravellingPoint trailingPoint = train.carriages.get(train.carriages.size() - 1)
+			.getTrailingPoint();
+		double bound = Double.MAX_VALUE;
+		for (TrackNode node : new TrackNode[] { leadingPoint.node1, leadingPoint.node2, trailingPoint.node1,
+			trailingPoint.node2 })
+			if (node != null)
+				bound = Math.min(bound, distances.getBound(node));
+		return bound;
+	}
+
 	public class DiscoveredPath {
 		List<Couple<TrackNode>> path;
 		double distance;
@@ -513,7 +544,12 @@ public class Navigation {
 		double minDistance = .75f * (train.speed * train.speed) / (2 * acceleration);
 		double maxDistance = Math.max(32, 1.5f * (train.speed * train.speed) / (2 * acceleration));
 
-		search(maxDistance, forward, (distance, cost, reachedVia, currentEntry, globalStation) -> {
+		// Lower bounds towards the nearest station keep the search from expanding
+		// track that cannot reach any station within the look-ahead distance
+		DistanceBounds distancesToStations = graph.getRouting()
+			.getDistancesToStations();
+
+		search(maxDistance, -1, forward, distancesToStations, (distance, cost, reachedVia, currentEntry, globalStation) -> {
 			if (distance < minDistance)
 				return false;
 
@@ -536,32 +572,29 @@ public class Navigation {
 	}
 
 	public void search(double maxDistance, double maxCost, boolean forward, StationTest stationTest) {
+		search(maxDistance, maxCost, forward, null, stationTest);
+	}
+
+	/**
+	 * @param distanceBounds optional lower bounds of the remaining distance from a
+	 *                       node to the searched target, expanding the most
+	 *                       promising edges first and skipping those that cannot
+	 *                       reach a target within maxDistance or maxCost
+	 */
+	public void search(double maxDistance, double maxCost, boolean forward,
+		@Nullable DistanceBounds distanceBounds, StationTest stationTest) {
 		TrackGraph graph = train.graph;
 		if (graph == null)
 			return;
 
-		Map<TrackEdge, Integer> penalties = new IdentityHashMap<>();
+		// Congestion is shared by all searches of a tick, minus the penalty of this train
+		TrackGraphRouting routing = graph.getRouting();
+		Map<TrackEdge, Integer> penalties = Collections.emptyMap();
+		Map<TrackEdge, Integer> ownPenalties = Collections.emptyMap();
 		boolean costRelevant = maxCost >= 0;
 		if (costRelevant) {
-			for (Train otherTrain : Create.RAILWAYS.trains.values()) {
-				if (otherTrain.graph != graph)
-					continue;
-				if (otherTrain == train)
-					continue;
-				int navigationPenalty = otherTrain.getNavigationPenalty();
-				otherTrain.getEndpointEdges()
-					.forEach(nodes -> {
-						if (nodes.either(Objects::isNull))
-							return;
-						for (boolean flip : Iterate.trueAndFalse) {
-							TrackEdge e = graph.getConnection(flip ? nodes.swap() : nodes);
-							if (e == null)
-								continue;
-							int existing = penalties.getOrDefault(e, 0);
-							penalties.put(e, existing + navigationPenalty / 2);
-						}
-					});
-			}
+			penalties = routing.getCongestion();
+			ownPenalties = routing.getCongestionOf(train);
 		}
 
 		TravellingPoint startingPoint = forward ? train.carriages.get(0)
@@ -582,7 +615,8 @@ public class Navigation {
 		
 		double distanceToNode2 = forward ? initialEdge.getLength() - startingPoint.position : startingPoint.position;
 
-		frontier.add(new FrontierEntry(distanceToNode2, 0, initialNode1, initialNode2, initialEdge));
+		frontier.add(new FrontierEntry(distanceToNode2, 0, getDistanceBound(distanceBounds, initialNode2),
+			initialNode1, initialNode2, initialEdge));
 		int signalWeight = Mth.clamp(ticksWaitingForSignal * 2, Train.Penalties.RED_SIGNAL, 200);
 
 		Search: while (!frontier.isEmpty()) {
@@ -593,7 +627,7 @@ public class Navigation {
 			double distance = entry.distance;
 			int penalty = entry.penalty;
 
-			if (distance > maxDistance)
+			if (distance + entry.remaining > maxDistance)
 				continue;
 
 			TrackEdge edge = entry.edge;
@@ -601,7 +635,7 @@ public class Navigation {
 			TrackNode node2 = entry.node2;
 
 			if (costRelevant)
-				penalty += penalties.getOrDefault(edge, 0);
+				penalty += penalties.getOrDefault(edge, 0) - ownPenalties.getOrDefault(edge, 0);
 
 			EdgeData signalData = edge.getEdgeData();
 			if (signalData.hasPoints()) {
@@ -642,7 +676,7 @@ public class Navigation {
 				}
 			}
 
-			if (costRelevant && distance + penalty > maxCost)
+			if (costRelevant && distance + penalty + entry.remaining > maxCost)
 				continue;
 
 			List<Entry<TrackNode, TrackEdge>> validTargets = new ArrayList<>();
@@ -664,22 +698,33 @@ public class Navigation {
 				double newDistance = newEdge.getLength() + distance;
 				int newPenalty = penalty;
 				reachedVia.putIfAbsent(newEdge, Pair.of(validTargets.size() > 1, Couple.create(node1, node2)));
-				frontier.add(new FrontierEntry(newDistance, newPenalty, node2, newNode, newEdge));
+				frontier.add(new FrontierEntry(newDistance, newPenalty, getDistanceBound(distanceBounds, newNode), node2,
+					newNode, newEdge));
 			}
 		}
 	}
 
+	private static double getDistanceBound(@Nullable DistanceBounds distanceBounds, TrackNode node) {
+		if (distanceBounds == null)
+			return 0;
+		// Halved so that adding a distance to it cannot overflow
+		return Math.min(distanceBounds.getBound(node), Double.MAX_VALUE / 2);
+	}
+
 	private class FrontierEntry implements Comparable<FrontierEntry> {
 
 		double distance;
 		int penalty;
+		double remaining;
 		TrackNode node1;
 		TrackNode node2;
 		TrackEdge edge;
 
-		public FrontierEntry(double distance, int penalty, TrackNode node1, TrackNode node2, TrackEdge edge) {
+		public FrontierEntry(double distance, int penalty, double remaining, TrackNode node1, TrackNode node2,
+			TrackEdge edge) {
 			this.distance = distance;
 			this.penalty = penalty;
+			this.remaining = remaining;
 			this.node1 = node1;
 			this.node2 = node2;
 			this.edge = edge;
@@ -687,7 +732,7 @@ public class Navigation {
 
 		@Override
 		public int compareTo(FrontierEntry o) {
-			return Double.compare(distance + penalty, o.distance + o.penalty);
+			return Double.compare(distance + penalty + remaining, o.distance + o.penalty + o.remaining);
 		}
 
 	}
@@ -26,6 +26,7 @@ import com.simibubi.create.content.contraptions.components.structureMovement.Con
 import com.simibubi.create.content.contraptions.components.structureMovement.MovementBehaviour;
 import com.simibubi.create.content.logistics.item.filter.FilterItem;
 import com.simibubi.create.content.logistics.trains.DimensionPalette;
+import com.simibubi.create.content.logistics.trains.GlobalRailwayManager;
 import com.simibubi.create.content.logistics.trains.GraphLocation;
 import com.simibubi.create.content.logistics.trains.TrackEdge;
 import com.simibubi.create.content.logistics.trains.TrackGraph;
@@ -130,6 +131,16 @@ public class Train {
 
 	int tickOffset;
 	double[] stress;
+	List<Runnable> deferredActions;
+
+	// created once, every carriage point uses them each tick
+	private IEdgePointListener frontSignalListener;
+	private IEdgePointListener backSignalListener;
+
+	// network usage of carriage syncs
+	private long syncWindowStart;
+	private int syncedBytes;
+	private int syncedBytesPerSecond;
 
 	// advancements
 	public Player backwardsDriver;
@@ -242,6 +253,16 @@ public class Train {
 	}
 
 	public void tick(Level level) {
+		tickSchedule(level);
+		tickMovement(level);
+	}
+
+	/**
+	 * First half of {@link #tick(Level)}. Schedule conditions read the world, and
+	 * navigation burns fuel from carriage inventories and looks ahead through
+	 * signal groups of other graphs, so this always runs on the main thread.
+	 */
+	public void tickSchedule(Level level) {
 		Create.RAILWAYS.markTracksDirty();
 
 		if (graph == null) {
@@ -253,6 +274,15 @@ public class Train {
 		updateConductors();
 		runtime.tick(level);
 		navigation.tick(level);
+	}
+
+	/**
+	 * Second half of {@link #tick(Level)}. Only touches the train and its own
+	 * graph, anything else goes through {@link #runOnMainThread(Runnable)}.
+	 */
+	public void tickMovement(Level level) {
+		if (graph == null)
+			return;
 
 		tickPassiveSlowdown();
 		if (derailed)
@@ -373,33 +403,65 @@ public class Train {
 
 			if (index == 0) {
 				distance = actualDistance;
-				collideWithOtherTrains(level, carriage);
-				backwardsDriver = null;
-				if (graph == null)
+				if (!collideLeadingCarriage(level, carriage))
 					return;
 			}
 		}
 
 		if (blocked) {
 			speed = 0;
-			navigation.cancelNavigation();
-			runtime.tick(level);
-			status.endOfTrack();
+			runOnMainThread(() -> {
+				navigation.cancelNavigation();
+				runtime.tick(level);
+				status.endOfTrack();
+			});
 
 		} else if (maxStress > 4) {
 			speed = 0;
-			navigation.cancelNavigation();
-			runtime.tick(level);
 			derailed = true;
-			status.highStress();
+			runOnMainThread(() -> {
+				navigation.cancelNavigation();
+				runtime.tick(level);
+				status.highStress();
+			});
 
 		} else if (speed != 0)
-			status.trackOK();
+			runOnMainThread(status::trackOK);
 
 		updateNavigationTarget(distance);
 	}
 
+	/**
+	 * @return false if the train crashed and has to stop moving this tick. A
+	 *         deferred collision only applies once the whole train has moved.
+	 */
+	private boolean collideLeadingCarriage(Level level, Carriage carriage) {
+		if (deferredActions != null) {
+			deferredActions.add(() -> {
+				collideWithOtherTrains(level, carriage);
+				backwardsDriver = null;
+			});
+			return true;
+		}
+
+		collideWithOtherTrains(level, carriage);
+		backwardsDriver = null;
+		return graph != null;
+	}
+
 	public IEdgePointListener frontSignalListener() {
+		if (frontSignalListener == null)
+			frontSignalListener = createFrontSignalListener();
+		return frontSignalListener;
+	}
+
+	public IEdgePointListener backSignalListener() {
+		if (backSignalListener == null)
+			backSignalListener = createBackSignalListener();
+		return backSignalListener;
+	}
+
+	private IEdgePointListener createFrontSignalListener() {
 		return (distance, couple) -> {
 
 			if (couple.getFirst()instanceof GlobalStation station) {
@@ -435,8 +497,8 @@ public class Train {
 				return false;
 
 			if ((runtime.getSchedule() == null || runtime.paused) && signalEdgeGroup.isOccupiedUnless(this))
-				carriages.forEach(c -> c.forEachPresentEntity(cce -> cce.getControllingPlayer()
-					.ifPresent(uuid -> AllAdvancements.RED_SIGNAL.awardTo(cce.level.getPlayerByUUID(uuid)))));
+				runOnMainThread(() -> carriages.forEach(c -> c.forEachPresentEntity(cce -> cce.getControllingPlayer()
+					.ifPresent(uuid -> AllAdvancements.RED_SIGNAL.awardTo(cce.level.getPlayerByUUID(uuid))))));
 
 			signalEdgeGroup.reserved = signal;
 			occupy(groupId, signal.id);
@@ -445,6 +507,29 @@ public class Train {
 		};
 	}
 
+	/**
+	 * Holds back everything that reaches into the world or other trains until
+	 * {@link #runDeferredActions()}, so {@link #tickMovement(Level)} can be run
+	 * off the main thread.
+	 */
+	public void deferWorldAccess() {
+		deferredActions = new ArrayList<>();
+	}
+
+	public void runDeferredActions() {
+		List<Runnable> actions = deferredActions;
+		deferredActions = null;
+		if (actions != null)
+			actions.forEach(Runnable::run);
+	}
+
+	void runOnMainThread(Runnable action) {
+		if (deferredActions == null)
+			action.run();
+		else
+			deferredActions.add(action);
+	}
+
 	public void cancelStall() {
 		speedBeforeStall = null;
 		carriages.forEach(c -> {
@@ -467,7 +552,7 @@ public class Train {
 		return occupiedSignalBlocks.put(groupId, boundaryId) == null;
 	}
 
-	public IEdgePointListener backSignalListener() {
+	private IEdgePointListener createBackSignalListener() {
 		return (distance, couple) -> {
 			if (couple.getFirst()instanceof TrackObserver observer) {
 				occupiedObservers.remove(observer.getId());
@@ -516,8 +601,17 @@ public class Train {
 		if (!reservedSignalBlocks.isEmpty())
 			return;
 
+		boolean restartInstruction = !navigatingManually && fullRefresh;
+		runOnMainThread(() -> refreshNavigation(restartInstruction, navigatingManually));
+	}
+
+	private void refreshNavigation(boolean restartInstruction, boolean navigatingManually) {
+		// A deferred collision or stop may have cancelled navigation in the meantime
 		GlobalStation destination = navigation.destination;
-		if (!navigatingManually && fullRefresh) {
+		if (destination == null)
+			return;
+
+		if (restartInstruction) {
 			GlobalStation preferredDestination = runtime.startCurrentInstruction();
 			if (preferredDestination != null)
 				destination = preferredDestination;
@@ -596,74 +690,107 @@ public class Train {
 
 	public static Pair<Train, Vec3> findCollidingTrain(Level level, Vec3 start, Vec3 end, Train ignore,
 		ResourceKey<Level> dimension) {
-		for (Train train : Create.RAILWAYS.sided(level).trains.values()) {
+		GlobalRailwayManager railways = Create.RAILWAYS.sided(level);
+		TrainCollisionIndex index = railways.collisionIndex;
+		Collection<Train> candidates =
+			index.isActive() ? index.getCandidates(dimension, start, end) : railways.trains.values();
+
+		for (Train train : candidates) {
 			if (train == ignore)
 				continue;
+			Vec3 collision = findCollision(train.getCollisionSegments(), start, end, dimension);
+			if (collision != null)
+				return Pair.of(train, collision);
+		}
+		return null;
+	}
 
-			Vec3 diff = end.subtract(start);
-			Vec3 lastPoint = null;
+	/**
+	 * The parts of this train others can run into: each carriage from its leading
+	 * to its trailing point, and the gap to the previous carriage in the same
+	 * dimension.
+	 */
+	public List<CollisionSegment> getCollisionSegments() {
+		List<CollisionSegment> segments = new ArrayList<>(carriages.size() * 2);
+		Vec3 lastPoint = null;
+		ResourceKey<Level> lastDimension = null;
 
-			for (Carriage otherCarriage : train.carriages) {
-				for (boolean betweenBits : Iterate.trueAndFalse) {
-					if (betweenBits && lastPoint == null)
-						continue;
+		for (Carriage carriage : carriages) {
+			TravellingPoint leading = carriage.getLeadingPoint();
+			TravellingPoint trailing = carriage.getTrailingPoint();
+			if (leading.edge == null || trailing.edge == null || leading.node1 == null || trailing.node1 == null)
+				continue;
 
-					TravellingPoint otherLeading = otherCarriage.getLeadingPoint();
-					TravellingPoint otherTrailing = otherCarriage.getTrailingPoint();
-					if (otherLeading.edge == null || otherTrailing.edge == null)
-						continue;
-					ResourceKey<Level> otherDimension = otherLeading.node1.getLocation().dimension;
-					if (!otherDimension.equals(otherTrailing.node1.getLocation().dimension))
-						continue;
-					if (!otherDimension.equals(dimension))
-						continue;
+			ResourceKey<Level> dimension = leading.node1.getLocation().dimension;
+			if (!dimension.equals(trailing.node1.getLocation().dimension))
+				continue;
 
-					Vec3 start2 = otherLeading.getPosition();
-					Vec3 end2 = otherTrailing.getPosition();
-					if (betweenBits) {
-						end2 = start2;
-						start2 = lastPoint;
-					}
+			Vec3 start = leading.getPosition();
+			Vec3 end = trailing.getPosition();
+			if (lastPoint != null && dimension.equals(lastDimension))
+				segments.add(new CollisionSegment(dimension, lastPoint, start));
+			segments.add(new CollisionSegment(dimension, start, end));
 
-					lastPoint = end2;
+			lastPoint = end;
+			lastDimension = dimension;
+		}
 
-					if ((end.y < end2.y - 3 || end2.y < end.y - 3)
-						&& (start.y < start2.y - 3 || start2.y < start.y - 3))
-						continue;
+		return segments;
+	}
 
-					Vec3 diff2 = end2.subtract(start2);
-					Vec3 normedDiff = diff.normalize();
-					Vec3 normedDiff2 = diff2.normalize();
-					double[] intersect = VecHelper.intersect(start, start2, normedDiff, normedDiff2, Axis.Y);
+	/**
+	 * Finds where the segment from start to end first runs into one of the given
+	 * segments, or null if it misses all of them.
+	 */
+	static Vec3 findCollision(List<CollisionSegment> segments, Vec3 start, Vec3 end, ResourceKey<Level> dimension) {
+		Vec3 diff = end.subtract(start);
 
-					if (intersect == null) {
-						Vec3 intersectSphere = VecHelper.intersectSphere(start2, normedDiff2, start, .125f);
-						if (intersectSphere == null)
-							continue;
-						if (!Mth.equal(normedDiff2.dot(intersectSphere.subtract(start2)
-							.normalize()), 1))
-							continue;
-						intersect = new double[2];
-						intersect[0] = intersectSphere.distanceTo(start) - .125;
-						intersect[1] = intersectSphere.distanceTo(start2) - .125;
-					}
+		for (CollisionSegment segment : segments) {
+			if (!segment.dimension()
+				.equals(dimension))
+				continue;
 
-					if (intersect[0] > diff.length())
-						continue;
-					if (intersect[1] > diff2.length())
-						continue;
-					if (intersect[0] < 0)
-						continue;
-					if (intersect[1] < 0)
-						continue;
+			Vec3 start2 = segment.start();
+			Vec3 end2 = segment.end();
 
-					return Pair.of(train, start.add(normedDiff.scale(intersect[0])));
-				}
+			if ((end.y < end2.y - 3 || end2.y < end.y - 3)
+				&& (start.y < start2.y - 3 || start2.y < start.y - 3))
+				continue;
+
+			Vec3 diff2 = end2.subtract(start2);
+			Vec3 normedDiff = diff.normalize();
+			Vec3 normedDiff2 = diff2.normalize();
+			double[] intersect = VecHelper.intersect(start, start2, normedDiff, normedDiff2, Axis.Y);
+
+			if (intersect == null) {
+				Vec3 intersectSphere = VecHelper.intersectSphere(start2, normedDiff2, start, .125f);
+				if (intersectSphere == null)
+					continue;
+				if (!Mth.equal(normedDiff2.dot(intersectSphere.subtract(start2)
+					.normalize()), 1))
+					continue;
+				intersect = new double[2];
+				intersect[0] = intersectSphere.distanceTo(start) - .125;
+				intersect[1] = intersectSphere.distanceTo(start2) - .125;
 			}
+
+			if (intersect[0] > diff.length())
+				continue;
+			if (intersect[1] > diff2.length())
+				continue;
+			if (intersect[0] < 0)
+				continue;
+			if (intersect[1] < 0)
+				continue;
+
+			return start.add(normedDiff.scale(intersect[0]));
 		}
 		return null;
 	}
 
+	public record CollisionSegment(ResourceKey<Level> dimension, Vec3 start, Vec3 end) {
+	}
+
 	public void crash() {
 		navigation.cancelNavigation();
 		if (derailed)
@@ -875,7 +1002,7 @@ public class Train {
 	public void arriveAt(GlobalStation station) {
 		setCurrentStation(station);
 		reservedSignalBlocks.clear();
-		runtime.destinationReached();
+		runOnMainThread(runtime::destinationReached);
 	}
 
 	public void setCurrentStation(GlobalStation station) {
@@ -997,6 +1124,33 @@ public class Train {
 		return (gameTicks + tickOffset) % updateInterval == 0;
 	}
 
+	public boolean shouldDistantCarriageSyncThisTick(long gameTicks, int updateInterval) {
+		int interval = AllConfigs.SERVER.trains.distantCarriageSyncInterval.get();
+		return (gameTicks + tickOffset) / updateInterval % interval == 0;
+	}
+
+	public void recordCarriageSync(long gameTicks, int bytes) {
+		updateSyncWindow(gameTicks);
+		syncedBytes += bytes;
+	}
+
+	/**
+	 * @return the bytes sent for this train's carriages during the last second
+	 */
+	public int getSyncedBytesPerSecond(long gameTicks) {
+		updateSyncWindow(gameTicks);
+		return syncedBytesPerSecond;
+	}
+
+	private void updateSyncWindow(long gameTicks) {
+		long elapsed = gameTicks - syncWindowStart;
+		if (elapsed < 20)
+			return;
+		syncedBytesPerSecond = elapsed < 40 ? syncedBytes : 0;
+		syncedBytes = 0;
+		syncWindowStart = gameTicks;
+	}
+
 	public Couple<Couple<TrackNode>> getEndpointEdges() {
 		return Couple.create(carriages.get(0)
 			.getLeadingPoint(),
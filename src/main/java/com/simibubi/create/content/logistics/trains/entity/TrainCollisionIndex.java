@@ -0,0 +1,139 @@
+package com.simibubi.create.content.logistics.trains.entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.simibubi.create.content.logistics.trains.entity.Train.CollisionSegment;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Broadphase for train collisions. Every carriage, and the gap between two
+ * coupled carriages, is registered in the 16x16 columns its horizontal bounds
+ * overlap, so a collision check only has to test trains sharing a column with
+ * the swept segment.
+ */
+public class TrainCollisionIndex {
+
+	private static final double MARGIN = 1;
+
+	private final Map<ResourceKey<Level>, Long2ObjectMap<List<Train>>> cells;
+	private final Map<Train, List<CellEntry>> occupiedCells;
+	private boolean active;
+
+	public TrainCollisionIndex() {
+		cells = new HashMap<>();
+		occupiedCells = new HashMap<>();
+	}
+
+	/**
+	 * The index only tracks trains on the side that ticks them. Until it was built
+	 * once, queries have to fall back to testing every train.
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	public void rebuild(Collection<Train> trains) {
+		cells.clear();
+		occupiedCells.clear();
+		for (Train train : trains)
+			add(train, train.getCollisionSegments());
+		active = true;
+	}
+
+	public void update(Train train) {
+		update(train, train.getCollisionSegments());
+	}
+
+	void update(Train train, List<CollisionSegment> segments) {
+		remove(train);
+		add(train, segments);
+	}
+
+	public void remove(Train train) {
+		List<CellEntry> entries = occupiedCells.remove(train);
+		if (entries == null)
+			return;
+		for (CellEntry entry : entries) {
+			Long2ObjectMap<List<Train>> dimensionCells = cells.get(entry.dimension);
+			if (dimensionCells == null)
+				continue;
+			List<Train> list = dimensionCells.get(entry.cell);
+			if (list == null)
+				continue;
+			list.remove(train);
+			if (list.isEmpty())
+				dimensionCells.remove(entry.cell);
+		}
+	}
+
+	public Set<Train> getCandidates(ResourceKey<Level> dimension, Vec3 start, Vec3 end) {
+		Set<Train> candidates = new LinkedHashSet<>();
+		Long2ObjectMap<List<Train>> dimensionCells = cells.get(dimension);
+		if (dimensionCells == null)
+			return candidates;
+
+		int minX = cell(Math.min(start.x, end.x) - MARGIN);
+		int maxX = cell(Math.max(start.x, end.x) + MARGIN);
+		int minZ = cell(Math.min(start.z, end.z) - MARGIN);
+		int maxZ = cell(Math.max(start.z, end.z) + MARGIN);
+
+		for (int x = minX; x <= maxX; x++) {
+			for (int z = minZ; z <= maxZ; z++) {
+				List<Train> list = dimensionCells.get(ChunkPos.asLong(x, z));
+				if (list != null)
+					candidates.addAll(list);
+			}
+		}
+
+		return candidates;
+	}
+
+	private void add(Train train, List<CollisionSegment> segments) {
+		List<CellEntry> entries = new ArrayList<>();
+		for (CollisionSegment segment : segments)
+			insert(train, segment.dimension(), segment.start(), segment.end(), entries);
+		if (!entries.isEmpty())
+			occupiedCells.put(train, entries);
+	}
+
+	private void insert(Train train, ResourceKey<Level> dimension, Vec3 start, Vec3 end, List<CellEntry> entries) {
+		Long2ObjectMap<List<Train>> dimensionCells = cells.computeIfAbsent(dimension, $ -> new Long2ObjectOpenHashMap<>());
+
+		int minX = cell(Math.min(start.x, end.x) - MARGIN);
+		int maxX = cell(Math.max(start.x, end.x) + MARGIN);
+		int minZ = cell(Math.min(start.z, end.z) - MARGIN);
+		int maxZ = cell(Math.max(start.z, end.z) + MARGIN);
+
+		for (int x = minX; x <= maxX; x++) {
+			for (int z = minZ; z <= maxZ; z++) {
+				long key = ChunkPos.asLong(x, z);
+				List<Train> list = dimensionCells.computeIfAbsent(key, $ -> new ArrayList<>());
+				if (list.contains(train))
+					continue;
+				list.add(train);
+				entries.add(new CellEntry(dimension, key));
+			}
+		}
+	}
+
+	private static int cell(double coordinate) {
+		return Mth.floor(coordinate) >> 4;
+	}
+
+	private record CellEntry(ResourceKey<Level> dimension, long cell) {
+	}
+
+}
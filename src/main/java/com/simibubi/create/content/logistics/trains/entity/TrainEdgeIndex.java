@@ -0,0 +1,126 @@
+package com.simibubi.create.content.logistics.trains.entity;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.simibubi.create.content.logistics.trains.TrackEdge;
+import com.simibubi.create.content.logistics.trains.TrackNode;
+
+/**
+ * Trains by the edges and nodes their travelling points are on, so that changes
+ * to a part of a track graph only have to look at the trains on it. A train is
+ * re-registered after it ticked, which only touches the index when one of its
+ * points crossed a node.
+ */
+public class TrainEdgeIndex {
+
+	private final Map<TrackEdge, Set<Train>> trainsByEdge;
+	private final Map<TrackNode, Set<Train>> trainsByNode;
+	private final Map<Train, Occupied> occupied;
+	private boolean active;
+
+	// Collect the points of a train without allocating, unless it moved on
+	private Set<TrackEdge> scratchEdges;
+	private Set<TrackNode> scratchNodes;
+	private final Consumer<TravellingPoint> collectPoint = this::collectPoint;
+
+	public TrainEdgeIndex() {
+		trainsByEdge = new HashMap<>();
+		trainsByNode = new HashMap<>();
+		occupied = new HashMap<>();
+		scratchEdges = new HashSet<>();
+		scratchNodes = new HashSet<>();
+	}
+
+	/**
+	 * The index only tracks trains on the side that ticks them. Until it was built
+	 * once, queries have to fall back to testing every train.
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	public void rebuild(Collection<Train> trains) {
+		trainsByEdge.clear();
+		trainsByNode.clear();
+		occupied.clear();
+		for (Train train : trains)
+			update(train);
+		active = true;
+	}
+
+	public void update(Train train) {
+		scratchEdges.clear();
+		scratchNodes.clear();
+		train.forEachTravellingPoint(collectPoint);
+
+		Occupied previous = occupied.get(train);
+		if (previous != null && previous.edges.equals(scratchEdges) && previous.nodes.equals(scratchNodes))
+			return;
+
+		remove(train);
+		for (TrackEdge edge : scratchEdges)
+			trainsByEdge.computeIfAbsent(edge, $ -> new HashSet<>())
+				.add(train);
+		for (TrackNode node : scratchNodes)
+			trainsByNode.computeIfAbsent(node, $ -> new HashSet<>())
+				.add(train);
+		occupied.put(train, new Occupied(scratchEdges, scratchNodes));
+
+		// The sets the train occupied before are free to collect the next train
+		scratchEdges = previous == null ? new HashSet<>() : previous.edges;
+		scratchNodes = previous == null ? new HashSet<>() : previous.nodes;
+	}
+
+	private void collectPoint(TravellingPoint tp) {
+		if (tp.edge != null)
+			scratchEdges.add(tp.edge);
+		if (tp.node1 != null)
+			scratchNodes.add(tp.node1);
+		if (tp.node2 != null)
+			scratchNodes.add(tp.node2);
+	}
+
+	public void remove(Train train) {
+		Occupied previous = occupied.remove(train);
+		if (previous == null)
+			return;
+		for (TrackEdge edge : previous.edges)
+			removeFrom(trainsByEdge, edge, train);
+		for (TrackNode node : previous.nodes)
+			removeFrom(trainsByNode, node, train);
+	}
+
+	/**
+	 * @return the trains with a point on the given edge. Not to be modified
+	 */
+	public Set<Train> getTrainsOn(TrackEdge edge) {
+		return trainsByEdge.getOrDefault(edge, Collections.emptySet());
+	}
+
+	/**
+	 * @return the trains with a point on an edge starting or ending at the given
+	 *         node. Not to be modified
+	 */
+	public Set<Train> getTrainsOn(TrackNode node) {
+		return trainsByNode.getOrDefault(node, Collections.emptySet());
+	}
+
+	private static <K> void removeFrom(Map<K, Set<Train>> map, K key, Train train) {
+		Set<Train> set = map.get(key);
+		if (set == null)
+			return;
+		set.remove(train);
+		if (set.isEmpty())
+			map.remove(key);
+	}
+
+	private record Occupied(Set<TrackEdge> edges, Set<TrackNode> nodes) {
+	}
+
+}
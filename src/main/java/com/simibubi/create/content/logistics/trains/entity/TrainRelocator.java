@@ -262,6 +262,9 @@ public class TrainRelocator {
 		for (Carriage carriage : train.carriages)
 			carriage.updateContraptionAnchors();
 
+		TrainEdgeIndex index = Create.RAILWAYS.sided(level).edgeIndex;
+		if (index.isActive())
+			index.update(train);
 		train.status.successfulMigration();
 		train.collectInitiallyOccupiedSignalBlocks();
 		return true;
@@ -34,11 +34,21 @@ import net.minecraft.world.phys.Vec3;
 
 public class TravellingPoint {
 
+	private static final IEdgePointListener IGNORE_EDGE_POINTS = (d, c) -> false;
+	private static final ITurnListener IGNORE_TURNS = (d, c) -> {
+	};
+	private static final IPortalListener IGNORE_PORTALS = $ -> false;
+
 	public TrackNode node1, node2;
 	public TrackEdge edge;
 	public double position;
 	public boolean blocked;
 
+	// Reused between calls to travel, created on the first node passed
+	private List<Entry<TrackNode, TrackEdge>> validTargets;
+	private TravellingPoint followed;
+	private ITrackSelector followSelector;
+
 	public static enum SteerDirection {
 		NONE(0), LEFT(-1), RIGHT(1);
 
@@ -72,16 +82,15 @@ public class TravellingPoint {
 	}
 
 	public IEdgePointListener ignoreEdgePoints() {
-		return (d, c) -> false;
+		return IGNORE_EDGE_POINTS;
 	}
 
 	public ITurnListener ignoreTurns() {
-		return (d, c) -> {
-		};
+		return IGNORE_TURNS;
 	}
 
 	public IPortalListener ignorePortals() {
-		return $ -> false;
+		return IGNORE_PORTALS;
 	}
 
 	public ITrackSelector random() {
@@ -91,7 +100,12 @@ public class TravellingPoint {
 	}
 
 	public ITrackSelector follow(TravellingPoint other) {
-		return follow(other, null);
+		// Carriages follow the same point every tick
+		if (followed != other) {
+			followSelector = follow(other, null);
+			followed = other;
+		}
+		return followSelector;
 	}
 
 	public ITrackSelector follow(TravellingPoint other, @Nullable Consumer<Boolean> success) {
@@ -223,8 +237,6 @@ public class TravellingPoint {
 
 		// A workaround was added in TrackEdge::incrementT
 
-		List<Entry<TrackNode, TrackEdge>> validTargets = new ArrayList<>();
-
 		boolean forward = distance > 0;
 		double collectedDistance = forward ? -prevPos : -edgeLength + prevPos;
 
@@ -239,7 +251,7 @@ public class TravellingPoint {
 		if (forward) {
 			// Moving forward
 			while (position > edgeLength) {
-				validTargets.clear();
+				List<Entry<TrackNode, TrackEdge>> validTargets = clearValidTargets();
 
 				for (Entry<TrackNode, TrackEdge> entry : graph.getConnectionsFrom(node2)
 					.entrySet()) {
@@ -299,7 +311,7 @@ public class TravellingPoint {
 		} else {
 			// Moving backwards
 			while (position < 0) {
-				validTargets.clear();
+				List<Entry<TrackNode, TrackEdge>> validTargets = clearValidTargets();
 
 				for (Entry<TrackNode, TrackEdge> entry : graph.getConnectionsFrom(node1)
 					.entrySet()) {
@@ -358,6 +370,13 @@ public class TravellingPoint {
 		return traveled;
 	}
 
+	private List<Entry<TrackNode, TrackEdge>> clearValidTargets() {
+		if (validTargets == null)
+			validTargets = new ArrayList<>();
+		validTargets.clear();
+		return validTargets;
+	}
+
 	private Double edgeTraversedFrom(TrackGraph graph, boolean forward, IEdgePointListener edgePointListener,
 		ITurnListener turnListener, double prevPos, double totalDistance) {
 		if (edge.isTurn())
@@ -2,12 +2,20 @@ package com.simibubi.create.content.logistics.trains.management.display;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import com.simibubi.create.Create;
 import com.simibubi.create.content.logistics.trains.entity.Train;
+import com.simibubi.create.content.logistics.trains.management.schedule.ScheduleRuntime.PredictionInputs;
 
 import net.minecraft.network.chat.MutableComponent;
 
@@ -16,29 +24,130 @@ public class GlobalTrainDisplayData {
 	public static final Map<String, Collection<TrainDeparturePrediction>> statusByDestination = new HashMap<>();
 	public static boolean updateTick = false;
 
+	private static final Map<String, BoardQuery> queriesByFilter = new HashMap<>();
+	private static final Map<Train, SubmittedPredictions> predictionsByTrain = new HashMap<>();
+
 	public static void refresh() {
 		statusByDestination.clear();
+		queriesByFilter.values()
+			.removeIf(query -> !query.used);
+
+		// Trains only submit predictions again once something they depend on changed
+		Set<String> changedDestinations = new HashSet<>();
+		Map<Train, SubmittedPredictions> previous = new HashMap<>(predictionsByTrain);
+		predictionsByTrain.clear();
+
 		for (Train train : Create.RAILWAYS.trains.values()) {
 			if (train.runtime.paused || train.runtime.getSchedule() == null)
 				continue;
 			if (train.derailed || train.graph == null)
 				continue;
-			for (TrainDeparturePrediction prediction : train.runtime.submitPredictions())
+
+			PredictionInputs inputs = train.runtime.getPredictionInputs();
+			SubmittedPredictions submitted = previous.remove(train);
+			if (submitted == null || !submitted.inputs()
+				.equals(inputs)) {
+				if (submitted != null)
+					submitted.addDestinationsTo(changedDestinations);
+				submitted = new SubmittedPredictions(inputs, train.runtime.submitPredictions());
+				submitted.addDestinationsTo(changedDestinations);
+			}
+			predictionsByTrain.put(train, submitted);
+
+			for (TrainDeparturePrediction prediction : submitted.predictions())
 				statusByDestination.computeIfAbsent(prediction.destination, $ -> new ArrayList<>())
 					.add(prediction);
 		}
+
+		previous.values()
+			.forEach(submitted -> submitted.addDestinationsTo(changedDestinations));
+		queriesByFilter.values()
+			.forEach(query -> query.invalidate(changedDestinations));
 	}
 
 	public static List<TrainDeparturePrediction> prepare(String filter, int maxLines) {
-		return statusByDestination.entrySet()
-			.stream()
-			.filter(e -> e.getKey()
-				.matches(filter.replace("*", ".*")))
-			.flatMap(e -> e.getValue()
-				.stream())
-			.sorted()
-			.limit(maxLines)
-			.toList();
+		return queriesByFilter.computeIfAbsent(filter, BoardQuery::new)
+			.getEarliest(maxLines);
+	}
+
+	public static void clear() {
+		statusByDestination.clear();
+		queriesByFilter.clear();
+		predictionsByTrain.clear();
+	}
+
+	private record SubmittedPredictions(PredictionInputs inputs, Collection<TrainDeparturePrediction> predictions) {
+
+		private void addDestinationsTo(Set<String> destinations) {
+			for (TrainDeparturePrediction prediction : predictions)
+				destinations.add(prediction.destination);
+		}
+
+	}
+
+	/**
+	 * The filter of a display board, compiled once. Boards sharing a filter also
+	 * share the departures it matched, until a refresh changes the predictions
+	 * for one of the destinations it matches.
+	 */
+	private static class BoardQuery {
+
+		private final Pattern pattern;
+		private List<TrainDeparturePrediction> earliest;
+		private int limit;
+		private boolean used;
+
+		private BoardQuery(String filter) {
+			pattern = Pattern.compile(filter.replace("*", ".*"));
+		}
+
+		private void invalidate(Set<String> changedDestinations) {
+			used = false;
+			if (earliest == null)
+				return;
+			for (String destination : changedDestinations) {
+				if (!pattern.matcher(destination)
+					.matches())
+					continue;
+				earliest = null;
+				return;
+			}
+		}
+
+		private List<TrainDeparturePrediction> getEarliest(int maxLines) {
+			used = true;
+			if (earliest == null || maxLines > limit) {
+				earliest = collectEarliest(maxLines);
+				limit = maxLines;
+			}
+			return earliest.size() > maxLines ? earliest.subList(0, maxLines) : earliest;
+		}
+
+		private List<TrainDeparturePrediction> collectEarliest(int maxLines) {
+			if (maxLines <= 0)
+				return Collections.emptyList();
+
+			// Only keeps the latest of the earliest departures at hand, instead of sorting all
+			PriorityQueue<TrainDeparturePrediction> queue = new PriorityQueue<>(maxLines, Comparator.reverseOrder());
+			for (Entry<String, Collection<TrainDeparturePrediction>> entry : statusByDestination.entrySet()) {
+				if (!pattern.matcher(entry.getKey())
+					.matches())
+					continue;
+				for (TrainDeparturePrediction prediction : entry.getValue()) {
+					if (queue.size() < maxLines)
+						queue.add(prediction);
+					else if (prediction.compareTo(queue.peek()) < 0) {
+						queue.poll();
+						queue.add(prediction);
+					}
+				}
+			}
+
+			List<TrainDeparturePrediction> sorted = new ArrayList<>(queue);
+			Collections.sort(sorted);
+			return Collections.unmodifiableList(sorted);
+		}
+
 	}
 
 	public static class TrainDeparturePrediction implements Comparable<TrainDeparturePrediction> {
@@ -51,8 +51,10 @@ public class EdgeData {
 	}
 
 	public void setSingleSignalGroup(@Nullable TrackGraph graph, UUID singleSignalGroup) {
-		if (graph != null && !Objects.equal(singleSignalGroup, this.singleSignalGroup))
+		if (graph != null && !Objects.equal(singleSignalGroup, this.singleSignalGroup)) {
 			refreshIntersectingSignalGroups(graph);
+			graph.markDirty();
+		}
 		this.singleSignalGroup = singleSignalGroup;
 	}
 
@@ -97,6 +99,7 @@ public class EdgeData {
 		intersection.targetLocation = targetPosition;
 		intersections.add(intersection);
 		graph.deferIntersectionUpdate(edge);
+		graph.markDirty();
 	}
 
 	public void removeIntersection(TrackGraph graph, UUID id) {
@@ -106,6 +109,7 @@ public class EdgeData {
 			if (existing.id.equals(id))
 				iterator.remove();
 		}
+		graph.markDirty();
 	}
 
 	public UUID getGroupAtPosition(TrackGraph graph, double position) {
@@ -135,6 +139,7 @@ public class EdgeData {
 
 	public void removePoint(TrackGraph graph, TrackEdgePoint point) {
 		points.remove(point);
+		graph.markDirty();
 		if (point.getType() == EdgePointType.SIGNAL) {
 			boolean noSignalsRemaining = next(point.getType(), 0) == null;
 			setSingleSignalGroup(graph, noSignalsRemaining ? passiveGroup : null);
@@ -151,6 +156,7 @@ public class EdgeData {
 				.getLocationOn(edge) > locationOn)
 				break;
 		points.add(i, point);
+		graph.markDirty();
 	}
 
 	@Nullable
@@ -19,6 +19,7 @@ import net.minecraft.nbt.Tag;
 public class EdgePointStorage {
 
 	private Map<EdgePointType<?>, Map<UUID, TrackEdgePoint>> pointsByType;
+	private int version;
 
 	public EdgePointStorage() {
 		pointsByType = new HashMap<>();
@@ -26,6 +27,7 @@ public class EdgePointStorage {
 
 	public <T extends TrackEdgePoint> void put(EdgePointType<T> type, TrackEdgePoint point) {
 		getMap(type).put(point.getId(), point);
+		version++;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -35,6 +37,7 @@ public class EdgePointStorage {
 
 	@SuppressWarnings("unchecked")
 	public <T extends TrackEdgePoint> T remove(EdgePointType<T> type, UUID id) {
+		version++;
 		return (T) getMap(type).remove(id);
 	}
 
@@ -46,6 +49,17 @@ public class EdgePointStorage {
 			.toList();
 	}
 
+	/**
+	 * Changes whenever points were added or removed, or marked as changed
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	public void markChanged() {
+		version++;
+	}
+
 	public Map<UUID, TrackEdgePoint> getMap(EdgePointType<? extends TrackEdgePoint> type) {
 		return pointsByType.computeIfAbsent(type, t -> new HashMap<>());
 	}
@@ -56,6 +70,14 @@ public class EdgePointStorage {
 				.forEach(p -> p.tick(graph, preTrains)));
 	}
 
+	public boolean consumeDirty() {
+		boolean dirty = false;
+		for (Map<UUID, TrackEdgePoint> map : pointsByType.values())
+			for (TrackEdgePoint point : map.values())
+				dirty |= point.consumeDirty();
+		return dirty;
+	}
+
 	public void transferAll(TrackGraph target, EdgePointStorage other) {
 		pointsByType.forEach((type, map) -> {
 			other.getMap(type)
@@ -64,6 +86,8 @@ public class EdgePointStorage {
 				.forEach(ep -> Create.RAILWAYS.sync.pointAdded(target, ep));
 		});
 		pointsByType.clear();
+		other.markChanged();
+		markChanged();
 	}
 
 	public CompoundTag write(DimensionPalette dimensions) {
@@ -93,6 +117,7 @@ public class EdgePointStorage {
 				map.put(edgePoint.getId(), edgePoint);
 			});
 		}
+		markChanged();
 	}
 
 }
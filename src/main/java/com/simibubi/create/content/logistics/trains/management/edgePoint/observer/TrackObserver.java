@@ -42,14 +42,19 @@ public class TrackObserver extends SingleTileEdgePoint {
 	@Override
 	public void tick(TrackGraph graph, boolean preTrains) {
 		super.tick(graph, preTrains);
-		if (isActivated())
+		if (isActivated()) {
 			activated--;
+			// Only turning off is worth a save, not each step of the countdown
+			if (!isActivated())
+				markDirty();
+		}
 		if (!isActivated())
 			currentTrain = null;
 	}
 
 	public void setFilterAndNotify(Level level, ItemStack filter) {
 		this.filter = filter;
+		markDirty();
 		notifyTrains(level);
 	}
 
@@ -77,6 +82,8 @@ public class TrackObserver extends SingleTileEdgePoint {
 	}
 
 	public void keepAlive(Train train) {
+		if (!isActivated() || !train.id.equals(currentTrain))
+			markDirty();
 		activated = 8;
 		currentTrain = train.id;
 	}
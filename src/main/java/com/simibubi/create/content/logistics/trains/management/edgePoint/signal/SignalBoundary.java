@@ -49,6 +49,7 @@ public class SignalBoundary extends TrackEdgePoint {
 		UUID previous = groups.get(primary);
 
 		groups.set(primary, groupId);
+		markDirty();
 
 		UUID opposite = groups.get(!primary);
 		Map<UUID, SignalEdgeGroup> signalEdgeGroups = Create.RAILWAYS.signalEdgeGroups;
@@ -103,17 +104,20 @@ public class SignalBoundary extends TrackEdgePoint {
 				.getOptionalValue(SignalBlock.TYPE)
 				.ifPresent(type -> types.set(front, type));
 		tilesOnSide.put(tile.getBlockPos(), tile instanceof SignalTileEntity ste && ste.getReportedPower());
+		markDirty();
 	}
 
 	public void updateTilePower(SignalTileEntity tile) {
 		for (boolean front : Iterate.trueAndFalse)
 			blockEntities.get(front)
 				.computeIfPresent(tile.getBlockPos(), (p, c) -> tile.getReportedPower());
+		markDirty();
 	}
 
 	@Override
 	public void tileRemoved(BlockPos tilePos, boolean front) {
 		blockEntities.forEach(s -> s.remove(tilePos));
+		markDirty();
 		if (blockEntities.both(Map::isEmpty))
 			removeFromAllGraphs();
 	}
@@ -126,6 +130,7 @@ public class SignalBoundary extends TrackEdgePoint {
 
 	public void queueUpdate(TrackNode side) {
 		sidesToUpdate.set(isPrimary(side), true);
+		markDirty();
 	}
 
 	public UUID getGroup(TrackNode side) {
@@ -176,6 +181,7 @@ public class SignalBoundary extends TrackEdgePoint {
 			if (!sidesToUpdate.get(front))
 				continue;
 			sidesToUpdate.set(front, false);
+			markDirty();
 			SignalPropagator.propagateSignalGroup(graph, this, front);
 			chainedSignals.set(front, null);
 		}
@@ -193,22 +199,29 @@ public class SignalBoundary extends TrackEdgePoint {
 
 			UUID group = groups.get(current);
 			if (Objects.equal(group, groups.get(!current))) {
-				cachedStates.set(current, SignalState.INVALID);
+				setCachedState(current, SignalState.INVALID);
 				continue;
 			}
 
 			Map<UUID, SignalEdgeGroup> signalEdgeGroups = Create.RAILWAYS.signalEdgeGroups;
 			SignalEdgeGroup signalEdgeGroup = signalEdgeGroups.get(group);
 			if (signalEdgeGroup == null) {
-				cachedStates.set(current, SignalState.INVALID);
+				setCachedState(current, SignalState.INVALID);
 				continue;
 			}
 
 			boolean occupiedUnlessBySelf = forcedRed || signalEdgeGroup.isOccupiedUnless(this);
-			cachedStates.set(current, occupiedUnlessBySelf ? SignalState.RED : resolveSignalChain(graph, current));
+			setCachedState(current, occupiedUnlessBySelf ? SignalState.RED : resolveSignalChain(graph, current));
 		}
 	}
 
+	private void setCachedState(boolean side, SignalState state) {
+		if (cachedStates.get(side) == state)
+			return;
+		cachedStates.set(side, state);
+		markDirty();
+	}
+
 	public boolean isForcedRed(TrackNode side) {
 		return isForcedRed(isPrimary(side));
 	}
@@ -333,6 +346,7 @@ public class SignalBoundary extends TrackEdgePoint {
 	public void cycleSignalType(BlockPos pos) {
 		types.set(blockEntities.getFirst()
 			.containsKey(pos), SignalType.values()[(getTypeFor(pos).ordinal() + 1) % SignalType.values().length]);
+		markDirty();
 	}
 
 }
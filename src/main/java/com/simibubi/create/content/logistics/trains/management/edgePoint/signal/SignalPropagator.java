@@ -18,6 +18,7 @@ import com.simibubi.create.content.logistics.trains.TrackGraphSync;
 import com.simibubi.create.content.logistics.trains.TrackNode;
 import com.simibubi.create.content.logistics.trains.TrackNodeLocation;
 import com.simibubi.create.content.logistics.trains.entity.Train;
+import com.simibubi.create.content.logistics.trains.entity.TrainEdgeIndex;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.EdgeData;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.EdgePointType;
 import com.simibubi.create.foundation.utility.Couple;
@@ -219,8 +220,9 @@ public class SignalPropagator {
 	}
 
 	public static void notifyTrains(TrackGraph graph, TrackEdge... edges) {
+		TrainEdgeIndex index = Create.RAILWAYS.edgeIndex;
 		for (TrackEdge trackEdge : edges) {
-			for (Train train : Create.RAILWAYS.trains.values()) {
+			for (Train train : index.isActive() ? index.getTrainsOn(trackEdge) : Create.RAILWAYS.trains.values()) {
 				if (train.graph != graph)
 					continue;
 				if (train.updateSignalBlocks)
@@ -28,6 +28,7 @@ public abstract class SingleTileEdgePoint extends TrackEdgePoint {
 		this.tilePos = tile.getBlockPos();
 		this.tileDimension = tile.getLevel()
 			.dimension();
+		markDirty();
 	}
 
 	@Override
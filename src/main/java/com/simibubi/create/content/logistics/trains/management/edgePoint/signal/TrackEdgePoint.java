@@ -26,6 +26,7 @@ public abstract class TrackEdgePoint {
 	public Couple<TrackNodeLocation> edgeLocation;
 	public double position;
 	private EdgePointType<?> type;
+	private boolean dirty;
 
 	public void setId(UUID id) {
 		this.id = id;
@@ -71,6 +72,7 @@ public abstract class TrackEdgePoint {
 	public void setLocation(Couple<TrackNodeLocation> nodes, double position) {
 		this.edgeLocation = nodes;
 		this.position = position;
+		markDirty();
 	}
 
 	public double getLocationOn(TrackEdge edge) {
@@ -117,6 +119,20 @@ public abstract class TrackEdgePoint {
 
 	public void tick(TrackGraph graph, boolean preTrains) {}
 
+	/**
+	 * Flags the state this point saves as changed, see {@link TrackGraph#consumeDirty}
+	 */
+	public void markDirty() {
+		dirty = true;
+		Create.RAILWAYS.markTracksDirty();
+	}
+
+	public boolean consumeDirty() {
+		boolean wasDirty = dirty;
+		dirty = false;
+		return wasDirty;
+	}
+
 	protected void removeFromAllGraphs() {
 		for (TrackGraph trackGraph : Create.RAILWAYS.trackNetworks.values())
 			if (trackGraph.removePoint(getType(), id) != null)
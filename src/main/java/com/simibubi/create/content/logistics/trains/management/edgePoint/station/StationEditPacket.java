@@ -101,6 +101,7 @@ public class StationEditPacket extends TileEntityConfigurationPacket<StationTile
 			GraphLocation graphLocation = te.edgePoint.determineGraphLocation();
 			if (station != null && graphLocation != null) {
 				station.name = name;
+				graphLocation.graph.stationRenamed();
 				Create.RAILWAYS.sync.pointAdded(graphLocation.graph, station);
 				Create.RAILWAYS.markTracksDirty();
 			}
@@ -149,8 +150,8 @@ public class StationEditPacket extends TileEntityConfigurationPacket<StationTile
 		GraphLocation graphLocation = te.edgePoint.determineGraphLocation();
 		if (station != null && graphLocation != null) {
 			station.assembling = nowAssembling;
+			station.markDirty();
 			Create.RAILWAYS.sync.pointAdded(graphLocation.graph, station);
-			Create.RAILWAYS.markTracksDirty();
 
 			if (nowAssembling)
 				for (Train train : Create.RAILWAYS.sided(level).trains.values()) {
@@ -0,0 +1,72 @@
+package com.simibubi.create.content.logistics.trains.management.edgePoint.station;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+
+import com.simibubi.create.content.logistics.trains.management.edgePoint.EdgePointStorage;
+import com.simibubi.create.content.logistics.trains.management.edgePoint.EdgePointType;
+import com.simibubi.create.content.logistics.trains.management.schedule.destination.DestinationInstruction;
+
+/**
+ * The stations of a track graph by name. Filters without a wildcard are looked
+ * up directly, the matches of other filters are remembered. Both are rebuilt
+ * lazily after stations were added, removed or renamed.
+ */
+public class StationNameIndex {
+
+	private static final int MAX_CACHED_FILTERS = 256;
+
+	private final Map<String, List<GlobalStation>> stationsByName;
+	private final Map<String, List<GlobalStation>> stationsByWildcardFilter;
+	private int version;
+	private boolean built;
+
+	public StationNameIndex() {
+		stationsByName = new HashMap<>();
+		stationsByWildcardFilter = new HashMap<>();
+	}
+
+	public List<GlobalStation> find(String filter, EdgePointStorage edgePoints) {
+		if (!built || version != edgePoints.getVersion())
+			rebuild(edgePoints.values(EdgePointType.STATION), edgePoints.getVersion());
+		return find(filter);
+	}
+
+	List<GlobalStation> find(String filter) {
+		if (!filter.contains("*"))
+			return stationsByName.getOrDefault(filter, Collections.emptyList());
+
+		List<GlobalStation> cached = stationsByWildcardFilter.get(filter);
+		if (cached != null)
+			return cached;
+
+		Pattern pattern = Pattern.compile(DestinationInstruction.getFilterForRegex(filter));
+		List<GlobalStation> matches = new ArrayList<>();
+		for (Entry<String, List<GlobalStation>> entry : stationsByName.entrySet())
+			if (pattern.matcher(entry.getKey())
+				.matches())
+				matches.addAll(entry.getValue());
+
+		if (stationsByWildcardFilter.size() >= MAX_CACHED_FILTERS)
+			stationsByWildcardFilter.clear();
+		stationsByWildcardFilter.put(filter, matches);
+		return matches;
+	}
+
+	void rebuild(Collection<GlobalStation> stations, int version) {
+		stationsByName.clear();
+		stationsByWildcardFilter.clear();
+		for (GlobalStation station : stations)
+			stationsByName.computeIfAbsent(station.name, $ -> new ArrayList<>())
+				.add(station);
+		this.version = version;
+		built = true;
+	}
+
+}
@@ -9,7 +9,6 @@ import com.simibubi.create.AllItems;
 import com.simibubi.create.content.logistics.trains.entity.Carriage;
 import com.simibubi.create.content.logistics.trains.entity.Train;
 import com.simibubi.create.content.logistics.trains.management.display.GlobalTrainDisplayData.TrainDeparturePrediction;
-import com.simibubi.create.content.logistics.trains.management.edgePoint.EdgePointType;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.station.GlobalStation;
 import com.simibubi.create.content.logistics.trains.management.schedule.condition.ScheduleWaitCondition;
 import com.simibubi.create.content.logistics.trains.management.schedule.condition.ScheduledDelay;
@@ -172,7 +171,6 @@ public class ScheduleRuntime {
 		ScheduleInstruction instruction = entry.instruction;
 
 		if (instruction instanceof DestinationInstruction destination) {
-			String regex = destination.getFilterForRegex();
 			GlobalStation best = null;
 			double bestCost = Double.MAX_VALUE;
 			boolean anyMatch = false;
@@ -183,9 +181,7 @@ public class ScheduleRuntime {
 				return null;
 			}
 
-			for (GlobalStation globalStation : train.graph.getPoints(EdgePointType.STATION)) {
-				if (!globalStation.name.matches(regex))
-					continue;
+			for (GlobalStation globalStation : train.graph.findStations(destination.getFilter())) {
 				anyMatch = true;
 				boolean matchesCurrent = train.currentStation != null && train.currentStation.equals(globalStation.id);
 				double cost = matchesCurrent ? 0 : train.navigation.startNavigation(globalStation, bestCost, true);
@@ -260,6 +256,24 @@ public class ScheduleRuntime {
 		predictionTicks = new ArrayList<>();
 	}
 
+	/**
+	 * Everything {@link #submitPredictions()} reads. Predictions submitted earlier
+	 * still hold as long as this stays equal.
+	 */
+	public PredictionInputs getPredictionInputs() {
+		GlobalStation currentStation = train.getCurrentStation();
+		GlobalStation destination = train.navigation.destination;
+		return new PredictionInputs(schedule, currentEntry, state, currentTitle, new ArrayList<>(predictionTicks),
+			train.name.getString(), currentStation == null ? null : currentStation.name,
+			destination == null ? null : destination.name, train.navigation.distanceToDestination,
+			train.navigation.distanceStartedAt, train.throttle, train.maxSpeed(), train.maxTurnSpeed());
+	}
+
+	public record PredictionInputs(Schedule schedule, int currentEntry, State state, String currentTitle,
+		List<Integer> predictionTicks, String trainName, String currentStation, String destination,
+		double distanceToDestination, double distanceStartedAt, double throttle, float maxSpeed, float maxTurnSpeed) {
+	}
+
 	public Collection<TrainDeparturePrediction> submitPredictions() {
 		Collection<TrainDeparturePrediction> predictions = new ArrayList<>();
 		int entryCount = schedule.entries.size();
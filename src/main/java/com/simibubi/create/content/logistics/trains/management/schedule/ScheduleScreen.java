@@ -3,7 +3,6 @@ package com.simibubi.create.content.logistics.trains.management.schedule;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -26,7 +25,6 @@ import com.simibubi.create.Create;
 import com.simibubi.create.content.logistics.trains.GlobalRailwayManager;
 import com.simibubi.create.content.logistics.trains.TrackGraph;
 import com.simibubi.create.content.logistics.trains.management.edgePoint.EdgePointType;
-import com.simibubi.create.content.logistics.trains.management.edgePoint.station.GlobalStation;
 import com.simibubi.create.content.logistics.trains.management.schedule.condition.ScheduleWaitCondition;
 import com.simibubi.create.content.logistics.trains.management.schedule.condition.ScheduledDelay;
 import com.simibubi.create.content.logistics.trains.management.schedule.destination.DestinationInstruction;
@@ -317,17 +315,11 @@ public class ScheduleScreen extends AbstractSimiContainerScreen<ScheduleContaine
 				continue;
 			if (destination == field)
 				continue;
-			String filter = destination.getFilterForRegex();
+			String filter = destination.getFilter();
 			if (filter.isBlank())
 				continue;
-			Graphs: for (Iterator<TrackGraph> iterator = viableGraphs.iterator(); iterator.hasNext();) {
-				TrackGraph trackGraph = iterator.next();
-				for (GlobalStation station : trackGraph.getPoints(EdgePointType.STATION)) {
-					if (station.name.matches(filter))
-						continue Graphs;
-				}
-				iterator.remove();
-			}
+			viableGraphs.removeIf(trackGraph -> trackGraph.findStations(filter)
+				.isEmpty());
 		}
 
 		if (viableGraphs.isEmpty())
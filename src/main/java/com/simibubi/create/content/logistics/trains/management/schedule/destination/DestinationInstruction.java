@@ -46,7 +46,10 @@ public class DestinationInstruction extends TextScheduleInstruction {
 	}
 	
 	public String getFilterForRegex() {
-		String filter = getFilter();
+		return getFilterForRegex(getFilter());
+	}
+
+	public static String getFilterForRegex(String filter) {
 		if (filter.isBlank())
 			return filter;
 		return "\\Q" + filter.replace("*", "\\E.*\\Q") + "\\E";
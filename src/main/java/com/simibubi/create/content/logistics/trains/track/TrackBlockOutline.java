@@ -1,7 +1,5 @@
 package com.simibubi.create.content.logistics.trains.track;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -42,8 +40,7 @@ import net.minecraft.world.phys.shapes.VoxelShape;
 
 public class TrackBlockOutline {
 
-	public static WorldAttached<Map<BlockPos, TrackTileEntity>> TRACKS_WITH_TURNS =
-		new WorldAttached<>(w -> new HashMap<>());
+	public static WorldAttached<TrackCurveIndex> TRACKS_WITH_TURNS = new WorldAttached<>(w -> new TrackCurveIndex());
 
 	public static BezierPointSelection result;
 
@@ -64,9 +61,9 @@ public class TrackBlockOutline {
 
 		double range = ReachUtil.reach(mc.player);
 		Vec3 target = RaycastHelper.getTraceTarget(player, Math.min(maxRange, range) + 1, origin);
-		Map<BlockPos, TrackTileEntity> turns = TRACKS_WITH_TURNS.get(mc.level);
+		TrackCurveIndex turns = TRACKS_WITH_TURNS.get(mc.level);
 
-		for (TrackTileEntity te : turns.values()) {
+		for (TrackTileEntity te : turns.getNear(new AABB(origin, target))) {
 			for (BezierConnection bc : te.connections.values()) {
 				if (!bc.isPrimary())
 					continue;
@@ -77,7 +74,6 @@ public class TrackBlockOutline {
 					continue;
 
 				float[] stepLUT = bc.getStepLUT();
-				int segments = (int) (bc.getLength() * 2);
 				AABB segmentBounds = AllShapes.TRACK_ORTHO.get(Direction.SOUTH)
 					.bounds();
 				segmentBounds = segmentBounds.move(-.5, segmentBounds.getYsize() / -2, -.5);
@@ -87,14 +83,10 @@ public class TrackBlockOutline {
 				double newMaxRange = maxRange;
 
 				for (int i = 0; i < stepLUT.length - 2; i++) {
-					float t = stepLUT[i] * i / segments;
-					float t1 = stepLUT[i + 1] * (i + 1) / segments;
-					float t2 = stepLUT[i + 2] * (i + 2) / segments;
-
-					Vec3 v1 = bc.getPosition(t);
-					Vec3 v2 = bc.getPosition(t2);
+					Vec3 v1 = bc.getStepPosition(i);
+					Vec3 v2 = bc.getStepPosition(i + 2);
 					Vec3 diff = v2.subtract(v1);
-					Vec3 angles = TrackRenderer.getModelAngles(bc.getNormal(t1), diff);
+					Vec3 angles = TrackRenderer.getModelAngles(bc.getStepNormal(i + 1), diff);
 
 					Vec3 anchor = v1.add(diff.scale(.5));
 					Vec3 localOrigin = origin.subtract(anchor);
@@ -0,0 +1,86 @@
+package com.simibubi.create.content.logistics.trains.track;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.simibubi.create.content.logistics.trains.BezierConnection;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * Track tile entities with curves, by the chunk sections the bounds of their
+ * curves overlap. Curve targeting only looks at the curves around the area in
+ * question instead of every curve in the level.
+ */
+public class TrackCurveIndex {
+
+	private final Map<BlockPos, LongSet> sectionsByTrack = new HashMap<>();
+	private final Long2ObjectMap<Set<TrackTileEntity>> tracksBySection = new Long2ObjectOpenHashMap<>();
+
+	public void put(TrackTileEntity te) {
+		remove(te.getBlockPos());
+		LongSet sections = new LongOpenHashSet();
+		for (BezierConnection bc : te.getConnections()
+			.values())
+			if (bc.isPrimary())
+				sections.addAll(sectionsOf(bc.getBounds()));
+		for (LongIterator iterator = sections.iterator(); iterator.hasNext();)
+			tracksBySection.computeIfAbsent(iterator.nextLong(), $ -> Collections.newSetFromMap(new IdentityHashMap<>()))
+				.add(te);
+		sectionsByTrack.put(te.getBlockPos(), sections);
+	}
+
+	public void remove(BlockPos pos) {
+		LongSet sections = sectionsByTrack.remove(pos);
+		if (sections == null)
+			return;
+		for (LongIterator iterator = sections.iterator(); iterator.hasNext();) {
+			long section = iterator.nextLong();
+			Set<TrackTileEntity> tracks = tracksBySection.get(section);
+			if (tracks == null)
+				continue;
+			tracks.removeIf(te -> te.getBlockPos()
+				.equals(pos));
+			if (tracks.isEmpty())
+				tracksBySection.remove(section);
+		}
+	}
+
+	/**
+	 * @return the track tile entities with a curve whose bounds may overlap the
+	 *         given area
+	 */
+	public Set<TrackTileEntity> getNear(AABB area) {
+		Set<TrackTileEntity> near = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (LongIterator iterator = sectionsOf(area).iterator(); iterator.hasNext();) {
+			Set<TrackTileEntity> tracks = tracksBySection.get(iterator.nextLong());
+			if (tracks != null)
+				near.addAll(tracks);
+		}
+		return near;
+	}
+
+	private static LongSet sectionsOf(AABB bounds) {
+		LongSet sections = new LongOpenHashSet();
+		for (int x = SectionPos.blockToSectionCoord(Mth.floor(bounds.minX)); x <= SectionPos
+			.blockToSectionCoord(Mth.floor(bounds.maxX)); x++)
+			for (int y = SectionPos.blockToSectionCoord(Mth.floor(bounds.minY)); y <= SectionPos
+				.blockToSectionCoord(Mth.floor(bounds.maxY)); y++)
+				for (int z = SectionPos.blockToSectionCoord(Mth.floor(bounds.minZ)); z <= SectionPos
+					.blockToSectionCoord(Mth.floor(bounds.maxZ)); z++)
+					sections.add(SectionPos.asLong(x, y, z));
+		return sections;
+	}
+
+}
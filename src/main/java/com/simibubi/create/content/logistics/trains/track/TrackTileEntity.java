@@ -306,7 +306,7 @@ public class TrackTileEntity extends SmartTileEntity implements ITransformableTE
 	@Environment(EnvType.CLIENT)
 	private void registerToCurveInteractionUnsafe() {
 		TrackBlockOutline.TRACKS_WITH_TURNS.get(level)
-			.put(worldPosition, this);
+			.put(this);
 	}
 
 	@Environment(EnvType.CLIENT)
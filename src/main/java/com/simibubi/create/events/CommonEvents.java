@@ -31,7 +31,9 @@ import com.simibubi.create.content.curiosities.tools.ExtendoGripItem;
 import com.simibubi.create.content.curiosities.weapons.PotatoProjectileTypeManager;
 import com.simibubi.create.content.curiosities.zapper.ZapperInteractionHandler;
 import com.simibubi.create.content.curiosities.zapper.ZapperItem;
+import com.simibubi.create.content.logistics.block.belts.tunnel.BrassTunnelActivity;
 import com.simibubi.create.content.logistics.item.LinkedControllerServerHandler;
+import com.simibubi.create.content.logistics.trains.RailwaySavedData;
 import com.simibubi.create.content.logistics.trains.entity.CarriageEntityHandler;
 import com.simibubi.create.content.logistics.trains.management.schedule.ScheduleItemEntityInteraction;
 import com.simibubi.create.foundation.block.ItemUseOverrides;
@@ -103,6 +105,7 @@ public class CommonEvents {
 		Create.LAGGER.tick();
 		ServerSpeedProvider.serverTick(server);
 		Create.RAILWAYS.sync.serverTick();
+		BrassTunnelActivity.serverTick();
 	}
 
 	public static void onChunkUnloaded(Level world, LevelChunk chunk) {
@@ -184,6 +187,7 @@ public class CommonEvents {
 
 	public static void serverStopping(MinecraftServer server) {
 		Create.SCHEMATIC_RECEIVER.shutdown();
+		RailwaySavedData.awaitPendingWrites();
 	}
 
 	public static void onLoadWorld(Executor executor, LevelAccessor world) {
@@ -27,6 +27,7 @@ public class AllCommands {
 				.then(FabulousWarningCommand.register())
 				.then(OverlayConfigCommand.register())
 				.then(DumpRailwaysCommand.register())
+				.then(TunnelActivityCommand.register())
 				.then(FixLightingCommand.register())
 				.then(HighlightCommand.register())
 				.then(KillTrainCommand.register())
@@ -109,6 +109,9 @@ public class DumpRailwaysCommand {
 				else if (train.graph != null)
 					chat.accept(" -> On Track: " + train.graph.id.toString()
 						.substring(0, 5), blue);
+				int syncedBytes = train.getSyncedBytesPerSecond(level.getGameTime());
+				if (syncedBytes > 0)
+					chat.accept(" -> Syncing " + syncedBytes + " bytes/s", darkBlue);
 				LivingEntity owner = train.getOwner(level);
 				if (owner != null)
 					chat.accept(" -> Owned by " + owner.getName()
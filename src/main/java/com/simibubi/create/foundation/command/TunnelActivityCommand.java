@@ -0,0 +1,28 @@
+package com.simibubi.create.foundation.command;
+
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.simibubi.create.content.logistics.block.belts.tunnel.BrassTunnelActivity;
+import com.simibubi.create.foundation.utility.Components;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+
+public class TunnelActivityCommand {
+
+	static ArgumentBuilder<CommandSourceStack, ?> register() {
+		return Commands.literal("tunnels")
+			.requires(cs -> cs.hasPermission(2))
+			.executes(ctx -> {
+				CommandSourceStack source = ctx.getSource();
+				source.sendSuccess(Components.literal("Brass Tunnels active last tick: "
+					+ BrassTunnelActivity.getActiveLastTick())
+					.withStyle(ChatFormatting.WHITE), false);
+				source.sendSuccess(Components.literal("Brass Tunnels sleeping last tick: "
+					+ BrassTunnelActivity.getSleepingLastTick())
+					.withStyle(ChatFormatting.GRAY), false);
+				return 1;
+			});
+	}
+
+}
@@ -16,6 +16,8 @@ public class CKinetics extends ConfigBase {
 		e(DeployerAggroSetting.CREEPERS, "ignoreDeployerAttacks", Comments.ignoreDeployerAttacks);
 	public final ConfigInt kineticValidationFrequency =
 		i(60, 5, "kineticValidationFrequency", Comments.kineticValidationFrequency);
+	public final ConfigInt kineticNetworkRecalculationInterval =
+		i(600, 20, "kineticNetworkRecalculationInterval", Comments.kineticNetworkRecalculationInterval);
 	public final ConfigFloat crankHungerMultiplier = f(.01f, 0, 1, "crankHungerMultiplier", Comments.crankHungerMultiplier);
 	public final ConfigInt minimumWindmillSails = i(8, 0, "minimumWindmillSails", Comments.minimumWindmillSails);
 	public final ConfigInt windmillSailsPerRPM = i(8, 1, "windmillSailsPerRPM", Comments.windmillSailsPerRPM);
@@ -107,6 +109,8 @@ public class CKinetics extends ConfigBase {
 		static String disableStress = "Disable the Stress mechanic altogether.";
 		static String kineticValidationFrequency =
 			"Game ticks between Kinetic Blocks checking whether their source is still valid.";
+		static String kineticNetworkRecalculationInterval =
+			"Game ticks between Kinetic Networks fully recalculating their stress and capacity totals, which are otherwise updated incrementally.";
 		static String minimumWindmillSails =
 			"Amount of sail-type blocks required for a windmill to assemble successfully.";
 		static String windmillSailsPerRPM = "Number of sail-type blocks required to increase windmill speed by 1RPM.";
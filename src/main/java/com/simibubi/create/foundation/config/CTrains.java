@@ -7,6 +7,9 @@ public class CTrains extends ConfigBase {
 	public final ConfigInt maxAssemblyLength = i(128, 5, "maxAssemblyLength", Comments.maxAssemblyLength);
 	public final ConfigInt maxBogeyCount = i(20, 1, "maxBogeyCount", Comments.maxBogeyCount);
 	public final ConfigFloat manualTrainSpeedModifier = f(.75f, 0, "manualTrainSpeedModifier", Comments.manualTrainSpeedModifier);
+	public final ConfigBool parallelTrainTicking = b(false, "parallelTrainTicking", Comments.parallelTrainTicking);
+	public final ConfigInt fullRateCarriageSyncRange = i(64, 0, 1024, "fullRateCarriageSyncRange", Comments.fullRateCarriageSyncRange);
+	public final ConfigInt distantCarriageSyncInterval = i(4, 1, 20, "distantCarriageSyncInterval", Comments.distantCarriageSyncInterval);
 	
 	public final ConfigGroup trainStats = group(1, "trainStats", "Standard Trains");
 	public final ConfigFloat trainTopSpeed = f(28, 0, "trainTopSpeed", Comments.mps, Comments.trainTopSpeed);
@@ -38,6 +41,9 @@ public class CTrains extends ConfigBase {
 		static String maxAssemblyLength = "Maximum length of a Train Stations' assembly track.";
 		static String maxBogeyCount = "Maximum amount of bogeys assembled as a single Train.";
 		static String manualTrainSpeedModifier = "Relative speed of a manually controlled Train compared to a Scheduled one.";
+		static String fullRateCarriageSyncRange = "Players within this many blocks of a Carriage receive every change of its position.";
+		static String distantCarriageSyncInterval = "Players further away than the full rate range only receive every n-th position update of a Carriage.";
+		static String parallelTrainTicking = "[Experimental] Move Trains on separate track networks on multiple threads. Networks crossing other networks are still handled one after another.";
 	}
 
 }
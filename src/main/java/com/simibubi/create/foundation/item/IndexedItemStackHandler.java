@@ -0,0 +1,86 @@
+package com.simibubi.create.foundation.item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.simibubi.create.foundation.item.SlotIndexedStorage.PartListener;
+
+import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandler;
+import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandlerSnapshot;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * An ItemStackHandler that lets the {@link SlotIndexedStorage}s it is part of
+ * know whenever its contents may have changed, including when a transaction is
+ * rolled back. Stacks changed in place are not noticed.
+ */
+public class IndexedItemStackHandler extends ItemStackHandler {
+
+	private List<PartListener> listeners;
+
+	public IndexedItemStackHandler() {
+		super();
+	}
+
+	public IndexedItemStackHandler(int size) {
+		super(size);
+	}
+
+	public IndexedItemStackHandler(ItemStack[] stacks) {
+		super(stacks);
+	}
+
+	void addListener(PartListener listener) {
+		if (listeners == null)
+			listeners = new ArrayList<>(2);
+		listeners.removeIf(PartListener::isDiscarded);
+		listeners.add(listener);
+	}
+
+	protected void contentsMayHaveChanged() {
+		if (listeners == null)
+			return;
+		for (int i = 0; i < listeners.size(); i++)
+			listeners.get(i)
+				.changed();
+	}
+
+	@Override
+	public void setStackInSlot(int slot, ItemStack stack) {
+		super.setStackInSlot(slot, stack);
+		contentsMayHaveChanged();
+	}
+
+	@Override
+	protected void contentsChangedInternal(int slot, ItemStack newStack, TransactionContext ctx) {
+		super.contentsChangedInternal(slot, newStack, ctx);
+		contentsMayHaveChanged();
+	}
+
+	@Override
+	public void deserializeNBT(CompoundTag nbt) {
+		super.deserializeNBT(nbt);
+		contentsMayHaveChanged();
+	}
+
+	@Override
+	protected ItemStackHandlerSnapshot createSnapshot() {
+		return new IndexedSnapshotData(super.createSnapshot());
+	}
+
+	public static class IndexedSnapshotData implements ItemStackHandlerSnapshot {
+		public final ItemStackHandlerSnapshot base;
+
+		public IndexedSnapshotData(ItemStackHandlerSnapshot base) {
+			this.base = base;
+		}
+
+		@Override
+		public void apply(ItemStackHandler handler) {
+			base.apply(handler);
+			((IndexedItemStackHandler) handler).contentsMayHaveChanged();
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package com.simibubi.create.foundation.item;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Combines item storages like {@link CombinedStorage}, but remembers which
+ * parts hold which items and which parts have empty slots. Insertion and
+ * extraction skip the parts that could not take part in them and visit the rest
+ * in the same order CombinedStorage would. Parts that are not an
+ * {@link IndexedItemStackHandler} are always visited.
+ */
+public class SlotIndexedStorage<S extends Storage<ItemVariant>> extends CombinedStorage<ItemVariant, S> {
+
+	private final Map<Item, BitSet> byItem;
+	private final List<Set<Item>> itemsOfPart;
+	private final BitSet withEmptySlots;
+	private final BitSet unindexed;
+	private final BitSet dirty;
+
+	public SlotIndexedStorage(List<S> parts) {
+		super(parts);
+		byItem = new IdentityHashMap<>();
+		itemsOfPart = new ArrayList<>(parts.size());
+		withEmptySlots = new BitSet(parts.size());
+		unindexed = new BitSet(parts.size());
+		dirty = new BitSet(parts.size());
+
+		for (int i = 0; i < parts.size(); i++) {
+			if (parts.get(i) instanceof IndexedItemStackHandler handler) {
+				itemsOfPart.add(new ReferenceOpenHashSet<>());
+				handler.addListener(new PartListener(this, i));
+				dirty.set(i);
+				continue;
+			}
+			itemsOfPart.add(null);
+			unindexed.set(i);
+			withEmptySlots.set(i);
+		}
+	}
+
+	@Override
+	public long insert(ItemVariant resource, long maxAmount, TransactionContext transaction) {
+		StoragePreconditions.notBlankNotNegative(resource, maxAmount);
+		updateIndex();
+
+		// Unindexed parts are counted as having empty slots
+		BitSet holding = byItem.get(resource.getItem());
+		long amount = 0;
+		for (int i = nextPart(withEmptySlots, holding, 0); i >= 0; i = nextPart(withEmptySlots, holding, i + 1)) {
+			amount += parts.get(i)
+				.insert(resource, maxAmount - amount, transaction);
+			if (amount == maxAmount)
+				break;
+		}
+		return amount;
+	}
+
+	@Override
+	public long extract(ItemVariant resource, long maxAmount, TransactionContext transaction) {
+		StoragePreconditions.notBlankNotNegative(resource, maxAmount);
+		updateIndex();
+
+		BitSet holding = byItem.get(resource.getItem());
+		long amount = 0;
+		for (int i = nextPart(unindexed, holding, 0); i >= 0; i = nextPart(unindexed, holding, i + 1)) {
+			amount += parts.get(i)
+				.extract(resource, maxAmount - amount, transaction);
+			if (amount == maxAmount)
+				break;
+		}
+		return amount;
+	}
+
+	private static int nextPart(BitSet parts, @Nullable BitSet otherParts, int from) {
+		int next = parts.nextSetBit(from);
+		if (otherParts == null)
+			return next;
+		int otherNext = otherParts.nextSetBit(from);
+		if (next < 0 || otherNext < 0)
+			return Math.max(next, otherNext);
+		return Math.min(next, otherNext);
+	}
+
+	private void updateIndex() {
+		if (dirty.isEmpty())
+			return;
+		for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1))
+			indexPart(i);
+		dirty.clear();
+	}
+
+	private void indexPart(int part) {
+		Set<Item> items = itemsOfPart.get(part);
+		for (Item item : items)
+			byItem.get(item)
+				.clear(part);
+		items.clear();
+
+		IndexedItemStackHandler handler = (IndexedItemStackHandler) parts.get(part);
+		boolean emptySlot = false;
+		for (int slot = 0; slot < handler.getSlots(); slot++) {
+			ItemStack stack = handler.getStackInSlot(slot);
+			if (stack.isEmpty()) {
+				emptySlot = true;
+				continue;
+			}
+			Item item = stack.getItem();
+			if (items.add(item))
+				byItem.computeIfAbsent(item, $ -> new BitSet())
+					.set(part);
+		}
+		withEmptySlots.set(part, emptySlot);
+	}
+
+	/**
+	 * Held by the parts, so that a storage nobody uses anymore can be collected
+	 */
+	static class PartListener {
+
+		private final WeakReference<SlotIndexedStorage<?>> storage;
+		private final int part;
+
+		PartListener(SlotIndexedStorage<?> storage, int part) {
+			this.storage = new WeakReference<>(storage);
+			this.part = part;
+		}
+
+		void changed() {
+			SlotIndexedStorage<?> indexed = storage.get();
+			if (indexed != null)
+				indexed.dirty.set(part);
+		}
+
+		boolean isDiscarded() {
+			return storage.get() == null;
+		}
+
+	}
+
+}
@@ -1,13 +1,17 @@
 package com.simibubi.create.foundation.item;
 
 import com.simibubi.create.foundation.tileEntity.SyncedTileEntity;
+
+import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandler;
 import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandlerContainer;
+import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandlerSnapshot;
 
 import io.github.fabricators_of_create.porting_lib.util.INBTSerializable;
 import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.ItemStack;
 
 public class SmartInventory extends ItemStackHandlerContainer implements INBTSerializable<CompoundTag> {
 
@@ -102,4 +106,41 @@ public class SmartInventory extends ItemStackHandlerContainer implements INBTSer
 	public int getMaxStackSize() {
 		return Math.min(64, stackSize);
 	}
+
+	@Override
+	protected ItemStackHandlerSnapshot createSnapshot() {
+		return new SharedSnapshotData(this);
+	}
+
+	/**
+	 * Keeps the stacks themselves instead of copies, along with their counts.
+	 * Inserting and extracting either replace a stack or change its count, so
+	 * this is enough to roll them back. Basins open a nested transaction for
+	 * every insertion, which made copying each stack expensive.
+	 */
+	public static class SharedSnapshotData implements ItemStackHandlerSnapshot {
+		private final ItemStack[] stacks;
+		private final int[] counts;
+
+		public SharedSnapshotData(ItemStackHandler handler) {
+			int slots = handler.getSlots();
+			stacks = new ItemStack[slots];
+			counts = new int[slots];
+			for (int slot = 0; slot < slots; slot++) {
+				ItemStack stack = handler.getStackInSlot(slot);
+				stacks[slot] = stack;
+				counts[slot] = stack.getCount();
+			}
+		}
+
+		@Override
+		public void apply(ItemStackHandler handler) {
+			for (int slot = 0; slot < stacks.length; slot++) {
+				ItemStack stack = stacks[slot];
+				if (stack.getCount() != counts[slot])
+					stack.setCount(counts[slot]);
+				handler.setStackInSlot(slot, stack);
+			}
+		}
+	}
 }
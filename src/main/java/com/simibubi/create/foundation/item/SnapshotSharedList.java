@@ -0,0 +1,58 @@
+package com.simibubi.create.foundation.item;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+
+/**
+ * A list that transaction snapshots refer to instead of copying it. It is only
+ * copied once it gets changed while a snapshot may still need the old contents,
+ * so a transaction that never changes it does not pay for it. Elements have to
+ * be replaced rather than changed in place during a transaction.
+ */
+public class SnapshotSharedList<T, L extends List<T>> {
+
+	private final UnaryOperator<L> copier;
+	private L list;
+	private boolean shared;
+
+	public SnapshotSharedList(L list, UnaryOperator<L> copier) {
+		this.list = list;
+		this.copier = copier;
+	}
+
+	/**
+	 * The returned list must not be changed, see {@link #mutable()}
+	 */
+	public L get() {
+		return list;
+	}
+
+	public L mutable() {
+		if (shared) {
+			// Snapshots do not outlive their transaction
+			if (Transaction.isOpen())
+				list = copier.apply(list);
+			shared = false;
+		}
+		return list;
+	}
+
+	public void set(L list) {
+		this.list = list;
+		shared = false;
+	}
+
+	public L snapshot() {
+		shared = true;
+		return list;
+	}
+
+	public void restore(L snapshot) {
+		// Snapshots of enclosing transactions may hold the same list
+		list = snapshot;
+		shared = true;
+	}
+
+}
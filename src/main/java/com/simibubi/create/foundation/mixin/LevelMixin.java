@@ -0,0 +1,22 @@
+package com.simibubi.create.foundation.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import com.simibubi.create.content.contraptions.components.fan.AirCurrentTracker;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+
+@Mixin(Level.class)
+public class LevelMixin {
+	@Inject(method = "setBlock(Lnet/minecraft/core/BlockPos;Lnet/minecraft/world/level/block/state/BlockState;II)Z", at = @At("RETURN"))
+	private void create$notifyAirCurrents(BlockPos pos, BlockState state, int flags, int recursionLeft,
+		CallbackInfoReturnable<Boolean> cir) {
+		if (cir.getReturnValueZ())
+			AirCurrentTracker.onBlockChanged((Level) (Object) this, pos);
+	}
+}
@@ -9,6 +9,7 @@ import java.util.function.Supplier;
 
 import com.simibubi.create.Create;
 import com.simibubi.create.content.contraptions.components.structureMovement.ContraptionBlockChangedPacket;
+import com.simibubi.create.content.contraptions.components.structureMovement.ContraptionBlockStreamPacket;
 import com.simibubi.create.content.contraptions.components.structureMovement.ContraptionDisassemblyPacket;
 import com.simibubi.create.content.contraptions.components.structureMovement.ContraptionRelocationPacket;
 import com.simibubi.create.content.contraptions.components.structureMovement.ContraptionStallPacket;
@@ -30,6 +31,7 @@ import com.simibubi.create.content.contraptions.components.structureMovement.tra
 import com.simibubi.create.content.contraptions.components.structureMovement.train.capability.MinecartControllerUpdatePacket;
 import com.simibubi.create.content.contraptions.fluids.actors.FluidSplashPacket;
 import com.simibubi.create.content.contraptions.relays.advanced.sequencer.ConfigureSequencedGearshiftPacket;
+import com.simibubi.create.content.contraptions.relays.belt.transport.BeltItemsPacket;
 import com.simibubi.create.content.contraptions.relays.gauge.GaugeObservedPacket;
 import com.simibubi.create.content.curiosities.bell.SoulPulseEffectPacket;
 import com.simibubi.create.content.curiosities.symmetry.ConfigureSymmetryWandPacket;
@@ -58,6 +60,7 @@ import com.simibubi.create.content.logistics.packet.TunnelFlapPacket;
 import com.simibubi.create.content.logistics.trains.TrackGraphRequestPacket;
 import com.simibubi.create.content.logistics.trains.TrackGraphRollCallPacket;
 import com.simibubi.create.content.logistics.trains.TrackGraphSyncPacket;
+import com.simibubi.create.content.logistics.trains.entity.CarriageDataResyncPacket;
 import com.simibubi.create.content.logistics.trains.entity.CarriageDataUpdatePacket;
 import com.simibubi.create.content.logistics.trains.entity.TrainPacket;
 import com.simibubi.create.content.logistics.trains.entity.TrainPromptPacket;
@@ -186,10 +189,15 @@ public enum AllPackets {
 
 	// fabric: extra packet in place of custom entity data serializer
 	CARRIAGE_DATA_UPDATE(CarriageDataUpdatePacket.class, CarriageDataUpdatePacket::new, PLAY_TO_CLIENT),
+
+	BATCHED_TE_DATA(BatchedTileEntityDataPacket.class, BatchedTileEntityDataPacket::new, PLAY_TO_CLIENT),
+	CONTRAPTION_BLOCK_STREAM(ContraptionBlockStreamPacket.class, ContraptionBlockStreamPacket::new, PLAY_TO_CLIENT),
+	BELT_ITEMS(BeltItemsPacket.class, BeltItemsPacket::new, PLAY_TO_CLIENT),
+	CARRIAGE_DATA_RESYNC(CarriageDataResyncPacket.class, CarriageDataResyncPacket::new, PLAY_TO_SERVER),
 	;
 
 	public static final ResourceLocation CHANNEL_NAME = Create.asResource("main");
-	public static final int NETWORK_VERSION = 2;
+	public static final int NETWORK_VERSION = 4;
 	public static final String NETWORK_VERSION_STR = String.valueOf(NETWORK_VERSION);
 	public static SimpleChannel channel;
 
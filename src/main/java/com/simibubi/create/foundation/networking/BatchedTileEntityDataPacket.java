@@ -0,0 +1,73 @@
+package com.simibubi.create.foundation.networking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.simibubi.create.foundation.tileEntity.SyncedTileEntity;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+/**
+ * Client update tags of several tile entities in the same chunk, sent as one
+ * packet in place of a block entity data packet per tile.
+ */
+public class BatchedTileEntityDataPacket extends SimplePacketBase {
+
+	public static final int MAX_ENTRIES = 256;
+
+	private List<BlockPos> positions;
+	private List<CompoundTag> tags;
+
+	public BatchedTileEntityDataPacket(List<? extends SyncedTileEntity> tiles) {
+		positions = new ArrayList<>(tiles.size());
+		tags = new ArrayList<>(tiles.size());
+		for (SyncedTileEntity te : tiles) {
+			positions.add(te.getBlockPos());
+			tags.add(te.getUpdateTag());
+		}
+	}
+
+	public BatchedTileEntityDataPacket(FriendlyByteBuf buffer) {
+		int count = buffer.readVarInt();
+		positions = new ArrayList<>(count);
+		tags = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			positions.add(buffer.readBlockPos());
+			tags.add(buffer.readNbt());
+		}
+	}
+
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeVarInt(positions.size());
+		for (int i = 0; i < positions.size(); i++) {
+			buffer.writeBlockPos(positions.get(i));
+			buffer.writeNbt(tags.get(i));
+		}
+	}
+
+	@Override
+	public void handle(Supplier<Context> context) {
+		Context ctx = context.get();
+		ctx.enqueueWork(() -> {
+			ClientLevel world = Minecraft.getInstance().level;
+			if (world == null)
+				return;
+
+			for (int i = 0; i < positions.size(); i++) {
+				BlockEntity tile = world.getBlockEntity(positions.get(i));
+				CompoundTag tag = tags.get(i);
+				if (tile instanceof SyncedTileEntity synced)
+					synced.readClient(tag == null ? new CompoundTag() : tag);
+			}
+		});
+		ctx.setPacketHandled(true);
+	}
+
+}
@@ -2,6 +2,8 @@ package com.simibubi.create.foundation.utility.recipe;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -10,14 +12,21 @@ import javax.annotation.Nullable;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 
 import com.simibubi.create.Create;
 
+import io.github.fabricators_of_create.porting_lib.mixin.common.accessor.RecipeManagerAccessor;
 import net.fabricmc.fabric.api.resource.IdentifiableResourceReloadListener;
 import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
 
 /**
@@ -31,6 +40,11 @@ import net.minecraft.world.level.Level;
 public class RecipeFinder {
 
 	private static Cache<Object, List<Recipe<?>>> cachedSearches = CacheBuilder.newBuilder().build();
+	// Keyed by the recipe map of a type, which is replaced whenever recipes are
+	// reloaded or synced to the client
+	private static LoadingCache<Map<ResourceLocation, Recipe<?>>, RecipeIndex> indices = CacheBuilder.newBuilder()
+		.weakKeys()
+		.build(CacheLoader.from(recipes -> new RecipeIndex(recipes.values())));
 
 	/**
 	 * Find all IRecipes matching the condition predicate. If this search is made
@@ -55,6 +69,47 @@ public class RecipeFinder {
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Same as {@link net.minecraft.world.item.crafting.RecipeManager#getRecipeFor},
+	 * but only tests the recipes that accept the item in the first non-empty slot
+	 * of the container. Results for single slot containers are remembered per item
+	 * and nbt until recipes are reloaded.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <C extends Container, T extends Recipe<C>> Optional<T> find(RecipeType<T> type, C inv,
+		Level world) {
+		ItemStack first = ItemStack.EMPTY;
+		for (int slot = 0; slot < inv.getContainerSize() && first.isEmpty(); slot++)
+			first = inv.getItem(slot);
+		if (first.isEmpty())
+			return world.getRecipeManager()
+				.getRecipeFor(type, inv, world);
+
+		RecipeIndex index = getIndex(type, world);
+		if (index == null)
+			return Optional.empty();
+		return (Optional<T>) index.find(first, inv, world);
+	}
+
+	/**
+	 * @return the recipes of the given type that could use this item, in the
+	 *         order of the recipe manager
+	 */
+	public static List<Recipe<?>> getCandidates(RecipeType<?> type, Level world, Item item) {
+		RecipeIndex index = getIndex(type, world);
+		return index == null ? Collections.emptyList() : index.getCandidates(item);
+	}
+
+	@Nullable
+	private static RecipeIndex getIndex(RecipeType<?> type, Level world) {
+		Map<ResourceLocation, Recipe<?>> recipes = ((RecipeManagerAccessor) world.getRecipeManager())
+			.port_lib$getRecipes()
+			.get(type);
+		if (recipes == null)
+			return null;
+		return indices.getUnchecked(recipes);
+	}
+
 	private static List<Recipe<?>> startSearch(Level world, Predicate<? super Recipe<?>> conditions) {
 		List<Recipe<?>> list = world.getRecipeManager().getRecipes().stream().filter(conditions)
 				.collect(Collectors.toList());
@@ -70,6 +125,7 @@ public class RecipeFinder {
 		@Override
 		public void onResourceManagerReload(ResourceManager resourceManager) {
 			cachedSearches.invalidateAll();
+			indices.invalidateAll();
 		}
 	};
 
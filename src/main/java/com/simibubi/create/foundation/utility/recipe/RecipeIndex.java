@@ -0,0 +1,186 @@
+package com.simibubi.create.foundation.utility.recipe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableSet;
+import com.simibubi.create.content.contraptions.components.crafter.MechanicalCraftingRecipe;
+import com.simibubi.create.content.contraptions.itemAssembly.SequencedAssemblyRecipe;
+import com.simibubi.create.content.contraptions.processing.ProcessingRecipe;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.BlastingRecipe;
+import net.minecraft.world.item.crafting.CampfireCookingRecipe;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.ShapedRecipe;
+import net.minecraft.world.item.crafting.ShapelessRecipe;
+import net.minecraft.world.item.crafting.SmeltingRecipe;
+import net.minecraft.world.item.crafting.SmokingRecipe;
+import net.minecraft.world.item.crafting.StonecutterRecipe;
+import net.minecraft.world.level.Level;
+
+/**
+ * The recipes of one type, grouped by the items their ingredients accept. A
+ * recipe only appears under an item if it could match a container holding that
+ * item, recipes that cannot be told apart this way are candidates for every
+ * item. Candidates keep the order of the recipe manager. See
+ * {@link RecipeFinder#find}<br>
+ * Lookups in single slot containers are remembered per item and nbt, as long as
+ * every recipe is one whose match only depends on the ingredients.
+ */
+public class RecipeIndex {
+
+	// Recipe classes known to only match when an ingredient accepts each item
+	private static final Set<Class<?>> INGREDIENT_BOUND = ImmutableSet.of(ShapedRecipe.class,
+		ShapelessRecipe.class, SmeltingRecipe.class, BlastingRecipe.class, SmokingRecipe.class,
+		CampfireCookingRecipe.class, StonecutterRecipe.class, MechanicalCraftingRecipe.class);
+
+	private static final int MEMO_SIZE = 256;
+
+	private final Map<Item, List<Recipe<?>>> byItem;
+	private final List<Recipe<?>> unindexed;
+	private final boolean memoizable;
+	private final Map<MemoKey, Optional<Recipe<?>>> memo;
+
+	public RecipeIndex(Collection<? extends Recipe<?>> recipes) {
+		byItem = new IdentityHashMap<>();
+		unindexed = new ArrayList<>();
+		memo = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<MemoKey, Optional<Recipe<?>>> eldest) {
+				return size() > MEMO_SIZE;
+			}
+		};
+		Object2IntMap<Recipe<?>> order = new Object2IntOpenHashMap<>();
+		boolean ownRecipesOnly = true;
+
+		for (Recipe<?> recipe : recipes) {
+			order.put(recipe, order.size());
+			Set<Item> items = getAcceptedItems(recipe);
+			if (items == null) {
+				unindexed.add(recipe);
+				continue;
+			}
+			ownRecipesOnly &= INGREDIENT_BOUND.contains(recipe.getClass()) || recipe.getClass()
+				.getName()
+				.startsWith("com.simibubi.create.");
+			for (Item item : items)
+				byItem.computeIfAbsent(item, $ -> new ArrayList<>())
+					.add(recipe);
+		}
+
+		// Recipes of other mods could look at the count or the world
+		memoizable = ownRecipesOnly && unindexed.isEmpty();
+		if (unindexed.isEmpty())
+			return;
+
+		// Merge once here so lookups never have to
+		byItem.replaceAll((item, indexed) -> {
+			List<Recipe<?>> merged = new ArrayList<>(indexed.size() + unindexed.size());
+			int i = 0;
+			int j = 0;
+			while (i < indexed.size() || j < unindexed.size()) {
+				if (j == unindexed.size()
+					|| i < indexed.size() && order.getInt(indexed.get(i)) < order.getInt(unindexed.get(j)))
+					merged.add(indexed.get(i++));
+				else
+					merged.add(unindexed.get(j++));
+			}
+			return merged;
+		});
+	}
+
+	/**
+	 * @return all recipes that could match a container whose first non-empty slot
+	 *         holds this item
+	 */
+	public List<Recipe<?>> getCandidates(Item item) {
+		return byItem.getOrDefault(item, unindexed);
+	}
+
+	/**
+	 * @param first the stack in the first non-empty slot of the container
+	 * @return the first candidate matching the container
+	 */
+	@SuppressWarnings("unchecked")
+	Optional<Recipe<?>> find(ItemStack first, Container inv, @Nullable Level world) {
+		MemoKey key = null;
+		if (memoizable && inv.getContainerSize() == 1) {
+			key = new MemoKey(first.getItem(), first.getTag());
+			synchronized (memo) {
+				Optional<Recipe<?>> result = memo.get(key);
+				if (result != null)
+					return result;
+			}
+		}
+
+		Optional<Recipe<?>> result = Optional.empty();
+		for (Recipe<?> recipe : getCandidates(first.getItem())) {
+			if (((Recipe<Container>) recipe).matches(inv, world)) {
+				result = Optional.of(recipe);
+				break;
+			}
+		}
+
+		if (key != null) {
+			// The stack keeps its tag, so the key has to hold a copy
+			MemoKey copy = new MemoKey(key.item(), key.tag() == null ? null : key.tag()
+				.copy());
+			synchronized (memo) {
+				memo.put(copy, result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return null if the recipe cannot be narrowed down to a set of items
+	 */
+	private static Set<Item> getAcceptedItems(Recipe<?> recipe) {
+		if (!(recipe instanceof ProcessingRecipe) && !(recipe instanceof SequencedAssemblyRecipe)
+			&& !INGREDIENT_BOUND.contains(recipe.getClass()))
+			return null;
+
+		List<Ingredient> ingredients = recipe.getIngredients();
+		if (ingredients.isEmpty())
+			return null;
+
+		Set<Item> items = new ReferenceOpenHashSet<>();
+		for (Ingredient ingredient : ingredients) {
+			// Empty cells of a shaped recipe
+			if (ingredient.isEmpty())
+				continue;
+			ItemStack[] stacks = ingredient.getItems();
+			if (stacks.length == 0)
+				return null;
+			for (ItemStack stack : stacks)
+				items.add(stack.getItem());
+		}
+
+		// Partially assembled items are matched by the id in their nbt
+		if (recipe instanceof SequencedAssemblyRecipe sequenced)
+			items.add(sequenced.getTransitionalItem()
+				.getItem());
+
+		return items.isEmpty() ? null : items;
+	}
+
+	private record MemoKey(Item item, @Nullable CompoundTag tag) {
+	}
+
+}
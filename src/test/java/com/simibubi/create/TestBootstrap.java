@@ -0,0 +1,17 @@
+package com.simibubi.create;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+/**
+ * Sets up vanilla registries, for tests that create items and other registered
+ * game objects without a running game.
+ */
+public class TestBootstrap {
+
+	public static void bootstrap() {
+		SharedConstants.tryDetectVersion();
+		Bootstrap.bootStrap();
+	}
+
+}
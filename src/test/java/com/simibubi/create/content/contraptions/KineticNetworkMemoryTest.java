@@ -0,0 +1,98 @@
+package com.simibubi.create.content.contraptions;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.openjdk.jol.info.GraphLayout;
+
+import com.simibubi.create.content.contraptions.base.KineticTileEntity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+
+/**
+ * Checks the retained heap per network member of {@link KineticNetwork}, both
+ * against a fixed budget and against the pair of identity-hashed
+ * HashMap<KineticTileEntity, Float> tables it used to keep. The members and
+ * their level are excluded from both sides. Both measurements are published as
+ * report entries for each network size.
+ */
+class KineticNetworkMemoryTest {
+
+	private static final int[] SIZES = { 64, 1024, 8192 };
+
+	/**
+	 * A member takes a reference, a flag and four floats in the slot arrays, and
+	 * a long key and int value in the position map. Both grow by doubling, so
+	 * about 45 bytes are expected at these sizes and twice as much would mean a
+	 * per-member object crept back in.
+	 */
+	private static final double MAX_BYTES_PER_MEMBER = 64;
+
+	@Test
+	void bytesPerMember(TestReporter reporter) {
+		Level level = mock(Level.class);
+		for (int size : SIZES) {
+			List<KineticTileEntity> members = new ArrayList<>(size);
+			for (int i = 0; i < size; i++)
+				members.add(member(level, i));
+
+			KineticNetwork network = new KineticNetwork();
+			network.id = 1L;
+			Map<KineticTileEntity, Float> legacySources = new HashMap<>();
+			Map<KineticTileEntity, Float> legacyMembers = new HashMap<>();
+			for (KineticTileEntity te : members) {
+				network.add(te);
+				if (te.isSource())
+					legacySources.put(te, te.calculateAddedStressCapacity());
+				legacyMembers.put(te, te.calculateStressApplied());
+			}
+
+			List<Object> shared = new ArrayList<>(members);
+			shared.add(level);
+			// Walking the mocks the first time fills reflection caches reachable from them,
+			// which would otherwise only show up in the second measurement
+			GraphLayout.parseInstance(network);
+			GraphLayout excluded = GraphLayout.parseInstance(shared.toArray());
+			long current = GraphLayout.parseInstance(network)
+				.subtract(excluded)
+				.totalSize();
+			long legacy = GraphLayout.parseInstance(legacySources, legacyMembers)
+				.subtract(excluded)
+				.totalSize();
+
+			double perMember = current / (double) size;
+			double legacyPerMember = legacy / (double) size;
+			reporter.publishEntry(Map.of("members", String.valueOf(size), "bytesPerMember",
+				String.format(Locale.ROOT, "%.1f", perMember), "legacyBytesPerMember",
+				String.format(Locale.ROOT, "%.1f", legacyPerMember)));
+			assertTrue(perMember <= MAX_BYTES_PER_MEMBER,
+				"Network of " + size + " members takes " + perMember + " bytes per member");
+			assertTrue(current < legacy, "Network of " + size + " members takes " + current + " bytes, previously "
+				+ legacy);
+		}
+	}
+
+	private static KineticTileEntity member(Level level, int index) {
+		boolean source = index % 16 == 0;
+		KineticTileEntity te = mock(KineticTileEntity.class);
+		when(te.getBlockPos()).thenReturn(new BlockPos(index % 256, 64, index / 256));
+		when(te.getLevel()).thenReturn(level);
+		when(te.isSource()).thenReturn(source);
+		when(te.getGeneratedSpeed()).thenReturn(source ? 32f : 0);
+		when(te.getTheoreticalSpeed()).thenReturn(32f);
+		when(te.calculateAddedStressCapacity()).thenReturn(source ? 256f + index : 0);
+		when(te.calculateStressApplied()).thenReturn(source ? 0 : 1f + index % 8);
+		return te;
+	}
+
+}
@@ -0,0 +1,197 @@
+package com.simibubi.create.content.contraptions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.content.contraptions.base.KineticTileEntity;
+import com.simibubi.create.foundation.config.TestConfigs;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+/**
+ * Checks the running stress and capacity totals of a {@link KineticNetwork}
+ * against a full {@link KineticNetwork#recalculate()} after each kind of change.
+ */
+class KineticNetworkTest {
+
+	private static final float EPSILON = 1e-3f;
+
+	private Level level;
+	private Map<BlockPos, BlockEntity> blockEntities;
+	private KineticNetwork network;
+
+	@BeforeAll
+	static void loadConfig() {
+		TestConfigs.loadServerDefaults();
+	}
+
+	@BeforeEach
+	void setUp() {
+		blockEntities = new HashMap<>();
+		level = mock(Level.class);
+		when(level.getGameTime()).thenReturn(0L);
+		when(level.getBlockEntity(any(BlockPos.class))).thenAnswer(i -> blockEntities.get(i.getArgument(0)));
+
+		network = new KineticNetwork();
+		network.id = 1L;
+		network.initFromTE(0, 0, 0);
+		TorquePropagator.networks.put(level, new Long2ObjectOpenHashMap<>());
+		TorquePropagator.networks.get(level)
+			.put(1L, network);
+	}
+
+	@Test
+	void addMatchesRecalculation() {
+		network.add(new Member(0, 32, 4).te);
+		network.add(new Member(1, 0, 2).te);
+		network.add(new Member(2, 0, 8).te);
+		assertMatchesRecalculation();
+		assertEquals(32 * 4, network.calculateCapacity(), EPSILON);
+		assertEquals(32 * 2 + 32 * 8, network.calculateStress(), EPSILON);
+	}
+
+	@Test
+	void removeMatchesRecalculation() {
+		Member source = new Member(0, 16, 8);
+		Member first = new Member(1, 0, 1);
+		Member second = new Member(2, 0, 4);
+		network.add(source.te);
+		network.add(first.te);
+		network.add(second.te);
+
+		network.remove(first.te);
+		blockEntities.remove(first.pos);
+		assertMatchesRecalculation();
+		assertEquals(16 * 4, network.calculateStress(), EPSILON);
+		assertEquals(2, network.getSize());
+	}
+
+	@Test
+	void speedChangeMatchesRecalculation() {
+		Member source = new Member(0, 16, 8);
+		Member consumer = new Member(1, 0, 4);
+		network.add(source.te);
+		network.add(consumer.te);
+
+		source.setSpeed(-64);
+		network.updateSpeedFor(source.te);
+		consumer.setSpeed(-64);
+		network.updateSpeedFor(consumer.te);
+		assertMatchesRecalculation();
+		assertEquals(64 * 8, network.calculateCapacity(), EPSILON);
+		assertEquals(64 * 4, network.calculateStress(), EPSILON);
+	}
+
+	@Test
+	void impactChangeMatchesRecalculation() {
+		Member source = new Member(0, 16, 8);
+		Member consumer = new Member(1, 0, 4);
+		network.add(source.te);
+		network.add(consumer.te);
+
+		network.updateStressFor(consumer.te, 2);
+		network.updateCapacityFor(source.te, 16);
+		assertMatchesRecalculation();
+		assertEquals(16 * 16, network.calculateCapacity(), EPSILON);
+		assertEquals(16 * 2, network.calculateStress(), EPSILON);
+	}
+
+	@Test
+	void recalculationDropsMembersMissingFromTheWorld() {
+		network.add(new Member(0, 16, 8).te);
+		Member unloaded = new Member(1, 0, 4);
+		network.add(unloaded.te);
+
+		blockEntities.remove(unloaded.pos);
+		network.recalculate();
+		assertEquals(1, network.getSize());
+		assertEquals(0, network.calculateStress(), EPSILON);
+	}
+
+	@Test
+	void randomChangesMatchRecalculation() {
+		Random random = new Random(42);
+		List<Member> members = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			int action = random.nextInt(4);
+			if (action == 0 || members.size() < 2) {
+				float generated = random.nextBoolean() ? random.nextInt(256) - 128 : 0;
+				Member member = new Member(i, generated, random.nextInt(16));
+				members.add(member);
+				network.add(member.te);
+			} else if (action == 1) {
+				Member member = members.remove(random.nextInt(members.size()));
+				network.remove(member.te);
+				blockEntities.remove(member.pos);
+			} else if (action == 2) {
+				Member member = members.get(random.nextInt(members.size()));
+				member.setSpeed(random.nextInt(512) - 256);
+				network.updateSpeedFor(member.te);
+			} else {
+				Member member = members.get(random.nextInt(members.size()));
+				network.updateStressFor(member.te, random.nextInt(16));
+			}
+
+			if (i % 50 == 0)
+				assertMatchesRecalculation();
+		}
+		assertMatchesRecalculation();
+	}
+
+	@Test
+	void recalculationIsCounted() {
+		long before = KineticNetwork.fullRecalculations.get();
+		network.recalculate();
+		assertEquals(before + 1, KineticNetwork.fullRecalculations.get());
+	}
+
+	private void assertMatchesRecalculation() {
+		float stress = network.calculateStress();
+		float capacity = network.calculateCapacity();
+		network.recalculate();
+		assertEquals(network.calculateStress(), stress, EPSILON * Math.max(1, Math.abs(stress)));
+		assertEquals(network.calculateCapacity(), capacity, EPSILON * Math.max(1, Math.abs(capacity)));
+	}
+
+	private class Member {
+
+		private final KineticTileEntity te;
+		private final BlockPos pos;
+		private float speed;
+
+		Member(int index, float generatedSpeed, float impact) {
+			pos = new BlockPos(index, 64, 0);
+			speed = generatedSpeed == 0 ? 32 : generatedSpeed;
+			te = mock(KineticTileEntity.class);
+			when(te.getBlockPos()).thenReturn(pos);
+			when(te.getLevel()).thenReturn(level);
+			when(te.isSource()).thenReturn(generatedSpeed != 0);
+			when(te.getGeneratedSpeed()).thenAnswer(i -> generatedSpeed == 0 ? 0 : speed);
+			when(te.getTheoreticalSpeed()).thenAnswer(i -> speed);
+			when(te.calculateAddedStressCapacity()).thenReturn(generatedSpeed == 0 ? 0 : impact);
+			when(te.calculateStressApplied()).thenReturn(generatedSpeed == 0 ? impact : 0);
+			blockEntities.put(pos, te);
+		}
+
+		void setSpeed(float speed) {
+			this.speed = speed;
+		}
+
+	}
+
+}
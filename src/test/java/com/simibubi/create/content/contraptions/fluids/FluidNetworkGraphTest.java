@@ -0,0 +1,75 @@
+package com.simibubi.create.content.contraptions.fluids;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.content.contraptions.fluids.FluidNetwork.Endpoint;
+import com.simibubi.create.content.contraptions.fluids.FluidNetwork.Graph;
+import com.simibubi.create.content.contraptions.fluids.FluidNetwork.Node;
+import com.simibubi.create.foundation.utility.BlockFace;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+
+/**
+ * Solves the pressure on compiled fluid networks, built by hand the way
+ * {@link FluidNetwork#compile} adds their nodes.
+ */
+class FluidNetworkGraphTest {
+
+	@Test
+	void pressureSplitsEvenlyAtJunctions() {
+		Graph graph = new Graph(64);
+		Node root = graph.add(new Node(null));
+		Node junction = graph.add(new Node(root));
+		Endpoint near = endpoint(graph, root);
+		Endpoint far1 = endpoint(graph, junction);
+		Endpoint far2 = endpoint(graph, junction);
+		graph.solve();
+
+		assertEquals(64, root.pressure);
+		assertEquals(32, junction.pressure);
+		assertEquals(32, near.pressure);
+		assertEquals(16, far1.pressure);
+		assertEquals(16, far2.pressure);
+	}
+
+	@Test
+	void branchesWithoutEndpointsGetNoPressure() {
+		Graph graph = new Graph(64);
+		Node root = graph.add(new Node(null));
+		Node deadEnd = graph.add(new Node(root));
+		Node deadJunction = graph.add(new Node(deadEnd));
+		Node junction = graph.add(new Node(root));
+		Endpoint endpoint = endpoint(graph, junction);
+		graph.solve();
+
+		assertEquals(0, deadEnd.pressure);
+		assertEquals(0, deadJunction.pressure);
+		assertEquals(64, junction.pressure);
+		assertEquals(64, endpoint.pressure);
+	}
+
+	@Test
+	void solvingAgainGivesTheSamePressure() {
+		Graph graph = new Graph(48);
+		Node root = graph.add(new Node(null));
+		Endpoint endpoint1 = endpoint(graph, root);
+		Endpoint endpoint2 = endpoint(graph, root);
+		Endpoint endpoint3 = endpoint(graph, root);
+		graph.solve();
+		graph.solve();
+
+		assertEquals(16, endpoint1.pressure);
+		assertEquals(16, endpoint2.pressure);
+		assertEquals(16, endpoint3.pressure);
+	}
+
+	private static Endpoint endpoint(Graph graph, Node parent) {
+		Endpoint endpoint = graph.add(new Endpoint(parent, new BlockFace(BlockPos.ZERO, Direction.UP)));
+		graph.endpoints.add(endpoint);
+		return endpoint;
+	}
+
+}
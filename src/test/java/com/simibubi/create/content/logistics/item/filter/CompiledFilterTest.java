@@ -0,0 +1,146 @@
+package com.simibubi.create.content.logistics.item.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.TestBootstrap;
+import com.simibubi.create.content.logistics.item.filter.AttributeFilterContainer.WhitelistMode;
+import com.simibubi.create.content.logistics.item.filter.CompiledFilter.AttributeFilter;
+import com.simibubi.create.content.logistics.item.filter.CompiledFilter.ListFilter;
+import com.simibubi.create.content.logistics.item.filter.ItemAttribute.StandardTraits;
+import com.simibubi.create.foundation.utility.Components;
+
+import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandler;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.Level;
+
+/**
+ * Tests random stacks against random filters, once through a
+ * {@link CompiledFilter} and once with the loops {@link FilterItem#test} ran
+ * on the filter's nbt before filters were compiled.
+ */
+class CompiledFilterTest {
+
+	private static final int FILTERS = 200;
+	private static final int STACKS = 100;
+	private static final StandardTraits[] TRAITS = { StandardTraits.PLACEABLE, StandardTraits.CONSUMABLE,
+		StandardTraits.RENAMED, StandardTraits.DAMAGED, StandardTraits.NOT_STACKABLE, StandardTraits.EQUIPABLE };
+
+	private static Item[] items;
+	private Level level = mock(Level.class);
+
+	@BeforeAll
+	static void bootstrap() {
+		TestBootstrap.bootstrap();
+		items = new Item[] { Items.STONE, Items.DIRT, Items.OAK_LOG, Items.APPLE, Items.BREAD, Items.DIAMOND_SWORD,
+			Items.IRON_HELMET, Items.PAPER, Items.DIAMOND, Items.TORCH };
+	}
+
+	@Test
+	void listFilterMatchesSlotLoop() {
+		Random random = new Random(11);
+		for (int i = 0; i < FILTERS; i++) {
+			ItemStackHandler filterItems = new ItemStackHandler(18);
+			int size = random.nextInt(19);
+			for (int slot = 0; slot < size; slot++)
+				filterItems.setStackInSlot(random.nextInt(18), randomStack(random));
+			boolean blacklist = random.nextBoolean();
+			boolean respectNBT = random.nextBoolean();
+
+			ListFilter compiled = new ListFilter(filterItems, blacklist, respectNBT);
+			for (int j = 0; j < STACKS; j++) {
+				ItemStack stack = random.nextInt(20) == 0 ? ItemStack.EMPTY : randomStack(random);
+				assertEquals(legacyListTest(level, stack, filterItems, blacklist, respectNBT),
+					compiled.test(level, stack),
+					() -> "List filter disagrees on " + stack);
+			}
+		}
+	}
+
+	@Test
+	void attributeFilterMatchesAttributeLoop() {
+		Random random = new Random(13);
+		for (int i = 0; i < FILTERS; i++) {
+			ListTag attributes = new ListTag();
+			int size = random.nextInt(4);
+			for (int a = 0; a < size; a++) {
+				CompoundTag compound = new CompoundTag();
+				TRAITS[random.nextInt(TRAITS.length)].serializeNBT(compound);
+				compound.putBoolean("Inverted", random.nextBoolean());
+				attributes.add(compound);
+			}
+			WhitelistMode mode = WhitelistMode.values()[random.nextInt(WhitelistMode.values().length)];
+
+			ItemStack filter = new ItemStack(Items.PAPER);
+			filter.getOrCreateTag()
+				.putInt("WhitelistMode", mode.ordinal());
+			filter.getOrCreateTag()
+				.put("MatchedAttributes", attributes);
+
+			AttributeFilter compiled = new AttributeFilter(filter);
+			for (int j = 0; j < STACKS; j++) {
+				ItemStack stack = randomStack(random);
+				assertEquals(legacyAttributeTest(level, stack, attributes, mode), compiled.test(level, stack),
+					() -> "Attribute filter disagrees on " + stack);
+			}
+		}
+	}
+
+	private static ItemStack randomStack(Random random) {
+		Item item = items[random.nextInt(items.length)];
+		ItemStack stack = new ItemStack(item, 1 + random.nextInt(item.getMaxStackSize()));
+		if (random.nextInt(4) == 0)
+			stack.setHoverName(Components.literal("Stack " + random.nextInt(3)));
+		if (stack.isDamageableItem() && random.nextBoolean())
+			stack.setDamageValue(1 + random.nextInt(stack.getMaxDamage() - 1));
+		return stack;
+	}
+
+	static boolean legacyListTest(Level level, ItemStack stack, ItemStackHandler filterItems, boolean blacklist,
+		boolean respectNBT) {
+		for (int slot = 0; slot < filterItems.getSlots(); slot++) {
+			ItemStack stackInSlot = filterItems.getStackInSlot(slot);
+			if (stackInSlot.isEmpty())
+				continue;
+			if (FilterItem.test(level, stack, stackInSlot, respectNBT))
+				return !blacklist;
+		}
+		return blacklist;
+	}
+
+	static boolean legacyAttributeTest(Level level, ItemStack stack, ListTag attributes,
+		WhitelistMode whitelistMode) {
+		List<Boolean> results = new ArrayList<>();
+		for (Tag inbt : attributes) {
+			CompoundTag compound = (CompoundTag) inbt;
+			ItemAttribute attribute = ItemAttribute.fromNBT(compound);
+			if (attribute == null)
+				continue;
+			results.add(attribute.appliesTo(stack, level) != compound.getBoolean("Inverted"));
+		}
+
+		for (boolean matches : results) {
+			if (matches) {
+				if (whitelistMode == WhitelistMode.BLACKLIST)
+					return false;
+				if (whitelistMode == WhitelistMode.WHITELIST_DISJ)
+					return true;
+			} else if (whitelistMode == WhitelistMode.WHITELIST_CONJ)
+				return false;
+		}
+		return whitelistMode != WhitelistMode.WHITELIST_DISJ;
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.simibubi.create.content.logistics.trains;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.foundation.utility.Couple;
+import com.simibubi.create.foundation.utility.VecHelper;
+
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Checks that both halves of a curve share one {@link BezierGeometry} entry and
+ * that increments follow the curve's derivative.
+ */
+class BezierGeometryTest {
+
+	static final Couple<Vec3> STARTS = Couple.create(new Vec3(0.5, 64, 0.5), new Vec3(24.5, 64, 24.5));
+	static final Couple<Vec3> AXES = Couple.create(new Vec3(1, 0, 0), new Vec3(0, 0, -1));
+	static final Couple<Vec3> NORMALS = Couple.create(new Vec3(0, 1, 0), new Vec3(0, 1, 0));
+
+	@Test
+	void halvesShareAnEntry() {
+		BezierGeometry primary = BezierGeometry.of(STARTS, AXES, NORMALS);
+		BezierGeometry secondary = BezierGeometry.of(STARTS.swap(), AXES.swap(), NORMALS.swap());
+
+		assertSame(primary, BezierGeometry.of(STARTS, AXES, NORMALS));
+		assertSame(secondary, BezierGeometry.of(STARTS.swap(), AXES.swap(), NORMALS.swap()));
+		assertTrue(secondary.getPosition(0)
+			.distanceTo(STARTS.getSecond()) < 1e-6);
+		assertTrue(secondary.getPosition(1)
+			.distanceTo(STARTS.getFirst()) < 1e-6);
+	}
+
+	@Test
+	void incrementTMatchesDerivativeVector() {
+		Random random = new Random(20);
+		for (int i = 0; i < 100; i++) {
+			Couple<Vec3> starts = Couple.create(randomPoint(random), randomPoint(random));
+			Couple<Vec3> axes = Couple.create(randomAxis(random), randomAxis(random));
+			BezierGeometry geometry = BezierGeometry.of(starts, axes, NORMALS);
+
+			for (int j = 0; j < 100; j++) {
+				double t = random.nextDouble();
+				double distance = random.nextDouble() * 4 - 2;
+				double dx = VecHelper.bezierDerivative(geometry.end1, geometry.end2, geometry.finish1, geometry.finish2,
+					(float) t)
+					.length() / geometry.length;
+				assertEquals(t + distance / dx, geometry.incrementT(t, distance));
+			}
+		}
+	}
+
+	private static Vec3 randomAxis(Random random) {
+		double angle = random.nextDouble() * Math.PI * 2;
+		return new Vec3(Math.cos(angle), 0, Math.sin(angle));
+	}
+
+	private static Vec3 randomPoint(Random random) {
+		return new Vec3(random.nextDouble() * 32 - 4, 60 + random.nextDouble() * 8, random.nextDouble() * 32 - 4);
+	}
+
+}
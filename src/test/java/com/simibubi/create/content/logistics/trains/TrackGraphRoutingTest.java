@@ -0,0 +1,141 @@
+package com.simibubi.create.content.logistics.trains;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.content.logistics.trains.TrackGraphRouting.DistanceBounds;
+
+import it.unimi.dsi.fastutil.objects.Reference2DoubleMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Compares the landmark bounds of {@link TrackGraphRouting} with exact
+ * distances on generated networks. Bounds may never exceed the exact distance,
+ * and have to tell apart the nodes that cannot reach a target at all.
+ */
+class TrackGraphRoutingTest {
+
+	private static final ResourceKey<Level> OVERWORLD =
+		ResourceKey.create(ResourceKey.createRegistryKey(new ResourceLocation("dimension")),
+			new ResourceLocation("overworld"));
+	private static final int COLUMNS = 25;
+	private static final int SPACING = 16;
+
+	@Test
+	void boundsNeverExceedDistances() {
+		Random random = new Random(5);
+		List<TrackNode> nodes = new ArrayList<>();
+		TrackGraph graph = syntheticNetwork(random, 1000, nodes);
+		TrackGraphRouting routing = graph.getRouting();
+
+		double tightness = 0;
+		int pairs = 0;
+		for (int target = 0; target < 50; target++) {
+			TrackNode node1 = nodes.get(random.nextInt(nodes.size()));
+			TrackNode node2 = graph.getConnectionsFrom(node1)
+				.keySet()
+				.iterator()
+				.next();
+			DistanceBounds bounds = routing.getDistancesTo(node1, node2);
+			assertNotNull(bounds);
+			Reference2DoubleMap<TrackNode> distances = routing.computeDistances(List.of(node1, node2));
+
+			for (TrackNode node : nodes) {
+				double bound = bounds.getBound(node);
+				double distance = distances.getDouble(node);
+				assertTrue(bound <= distance + 1e-6, () -> "Bound " + bound + " exceeds distance " + distance);
+				if (distance > 0) {
+					tightness += bound / distance;
+					pairs++;
+				}
+			}
+		}
+
+		// Bounds of zero would pass as well, but would not guide any search
+		assertTrue(tightness / pairs > .3, "The landmark bounds are too loose to guide a search");
+	}
+
+	@Test
+	void unreachableNodesAreBoundedByMaxValue() {
+		Random random = new Random(6);
+		List<TrackNode> nodes = new ArrayList<>();
+		TrackGraph graph = syntheticNetwork(random, 200, nodes);
+		List<TrackNode> island = new ArrayList<>();
+		addNetwork(graph, random, 100, 10_000, island);
+
+		DistanceBounds bounds = graph.getRouting()
+			.getDistancesTo(nodes.get(0), nodes.get(1));
+		assertNotNull(bounds);
+		for (TrackNode node : nodes)
+			assertTrue(bounds.getBound(node) < Double.MAX_VALUE);
+		for (TrackNode node : island)
+			assertEquals(Double.MAX_VALUE, bounds.getBound(node));
+	}
+
+	@Test
+	void tablesFollowLayoutChanges() {
+		Random random = new Random(7);
+		List<TrackNode> nodes = new ArrayList<>();
+		TrackGraph graph = syntheticNetwork(random, 200, nodes);
+		TrackGraphRouting routing = graph.getRouting();
+		TrackNode start = nodes.get(0);
+		TrackNode end = nodes.get(nodes.size() - 1);
+		TrackNode beforeEnd = nodes.get(nodes.size() - 2);
+		routing.getDistancesTo(end, beforeEnd);
+
+		// A shortcut across the network, which the old tables know nothing about
+		connect(graph, start, end);
+		DistanceBounds bounds = routing.getDistancesTo(end, beforeEnd);
+		Reference2DoubleMap<TrackNode> distances = routing.computeDistances(List.of(end, beforeEnd));
+		for (TrackNode node : nodes)
+			assertTrue(bounds.getBound(node) <= distances.getDouble(node) + 1e-6,
+				() -> "Bound exceeds the distance after the shortcut was added");
+	}
+
+	/**
+	 * A grid of nodes {@link #SPACING} blocks apart. Each row is connected along
+	 * its length and the first column joins the rows, the other links between
+	 * rows are present at random. All connections go both ways.
+	 */
+	public static TrackGraph syntheticNetwork(Random random, int nodeCount, List<TrackNode> nodes) {
+		TrackGraph graph = new TrackGraph();
+		addNetwork(graph, random, nodeCount, 0, nodes);
+		return graph;
+	}
+
+	private static void addNetwork(TrackGraph graph, Random random, int nodeCount, int offset, List<TrackNode> nodes) {
+		int first = nodes.size();
+		for (int i = 0; i < nodeCount; i++) {
+			TrackNodeLocation location = new TrackNodeLocation(
+				new Vec3(offset + (i % COLUMNS) * SPACING, 64, (i / COLUMNS) * SPACING))
+				.in(OVERWORLD);
+			TrackNode node = new TrackNode(location, TrackGraph.nextNodeId(), new Vec3(0, 1, 0));
+			graph.addNode(node);
+			nodes.add(node);
+		}
+
+		for (int i = 0; i < nodeCount; i++) {
+			TrackNode node = nodes.get(first + i);
+			if (i % COLUMNS + 1 < COLUMNS && i + 1 < nodeCount)
+				connect(graph, node, nodes.get(first + i + 1));
+			if (i + COLUMNS < nodeCount && (i % COLUMNS == 0 || random.nextInt(3) == 0))
+				connect(graph, node, nodes.get(first + i + COLUMNS));
+		}
+	}
+
+	private static void connect(TrackGraph graph, TrackNode node1, TrackNode node2) {
+		graph.putConnection(node1, node2, new TrackEdge(node1, node2, null));
+		graph.putConnection(node2, node1, new TrackEdge(node2, node1, null));
+	}
+
+}
@@ -0,0 +1,238 @@
+package com.simibubi.create.content.logistics.trains;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.TestBootstrap;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Removes nodes and edges from graphs and checks that
+ * {@link TrackGraph#findDisconnectedGraphs} leaves the same parts behind as a
+ * flood fill over everything that is left. Split candidates are collected the
+ * way {@link TrackPropagator} does: the removed node and its neighbours, or
+ * both ends of a removed edge.
+ */
+class TrackGraphSplitTest {
+
+	private static final ResourceKey<Level> OVERWORLD =
+		ResourceKey.create(ResourceKey.createRegistryKey(new ResourceLocation("dimension")),
+			new ResourceLocation("overworld"));
+
+	private final LevelAccessor level = mock(LevelAccessor.class);
+
+	@BeforeAll
+	static void bootstrap() {
+		TestBootstrap.bootstrap();
+	}
+
+	@Test
+	void cutBridgeSplitsOffTheSmallerSide() {
+		TrackGraph graph = new TrackGraph();
+		List<TrackNode> large = grid(graph, 0, 5, 5);
+		List<TrackNode> small = grid(graph, 1000, 2, 3);
+		TrackNode end1 = large.get(large.size() - 1);
+		TrackNode end2 = small.get(0);
+		connect(graph, end1, end2);
+
+		Set<TrackNodeLocation> candidates = new HashSet<>();
+		removeEdge(graph, end1, end2, candidates);
+		Set<TrackGraph> split = assertSameParts(graph, candidates);
+
+		assertEquals(1, split.size());
+		assertEquals(small.size(), split.iterator()
+			.next()
+			.getNodes()
+			.size());
+		assertEquals(large.size(), graph.getNodes()
+			.size());
+	}
+
+	@Test
+	void cycleDoesNotSplit() {
+		TrackGraph graph = new TrackGraph();
+		List<TrackNode> ring = ring(graph, 40);
+		Set<TrackNodeLocation> candidates = new HashSet<>();
+		removeEdge(graph, ring.get(0), ring.get(1), candidates);
+		assertTrue(assertSameParts(graph, candidates).isEmpty());
+
+		graph = new TrackGraph();
+		ring = ring(graph, 40);
+		candidates.clear();
+		removeNode(graph, ring.get(20), candidates);
+		assertTrue(assertSameParts(graph, candidates).isEmpty());
+		assertEquals(ring.size() - 1, graph.getNodes()
+			.size());
+	}
+
+	@Test
+	void removedHubLeavesSeveralParts() {
+		TrackGraph graph = new TrackGraph();
+		TrackNode hub = node(graph, -100, -100);
+		for (int i = 0; i < 4; i++) {
+			List<TrackNode> part = grid(graph, i * 1000, 2 + i, 3);
+			connect(graph, hub, part.get(0));
+		}
+
+		Set<TrackNodeLocation> candidates = new HashSet<>();
+		removeNode(graph, hub, candidates);
+		assertEquals(3, assertSameParts(graph, candidates).size());
+	}
+
+	@Test
+	void candidatesInTheSamePartAreNotSplit() {
+		TrackGraph graph = new TrackGraph();
+		List<TrackNode> grid = grid(graph, 0, 6, 6);
+		// An inner node has four neighbours that stay connected around it
+		TrackNode inner = grid.get(2 * 6 + 2);
+		TrackNode tail = node(graph, -1000, 0);
+		connect(graph, inner, tail);
+
+		Set<TrackNodeLocation> candidates = new HashSet<>();
+		removeNode(graph, inner, candidates);
+		assertEquals(6, candidates.size());
+		Set<TrackGraph> split = assertSameParts(graph, candidates);
+
+		assertEquals(1, split.size());
+		assertEquals(1, split.iterator()
+			.next()
+			.getNodes()
+			.size());
+	}
+
+	@Test
+	void randomRemovalsMatchFloodFill() {
+		Random random = new Random(19);
+		List<TrackNode> nodes = new ArrayList<>();
+		TrackGraph graph = TrackGraphRoutingTest.syntheticNetwork(random, 600, nodes);
+		List<TrackGraph> graphs = new ArrayList<>();
+		graphs.add(graph);
+
+		for (int step = 0; step < 150; step++) {
+			TrackGraph target = graphs.get(random.nextInt(graphs.size()));
+			List<TrackNode> present = new ArrayList<>();
+			for (TrackNode node : nodes)
+				if (target.locateNode(node.getLocation()) == node)
+					present.add(node);
+			if (present.isEmpty())
+				continue;
+
+			TrackNode node = present.get(random.nextInt(present.size()));
+			Set<TrackNodeLocation> candidates = new HashSet<>();
+			List<TrackNode> neighbours = new ArrayList<>(target.getConnectionsFrom(node)
+				.keySet());
+			if (random.nextBoolean() && !neighbours.isEmpty())
+				removeEdge(target, node, neighbours.get(random.nextInt(neighbours.size())), candidates);
+			else
+				removeNode(target, node, candidates);
+
+			graphs.addAll(assertSameParts(target, candidates));
+		}
+	}
+
+	/**
+	 * Splits the graph, and checks that it and the graphs split off from it
+	 * hold exactly the parts a flood fill finds before the split
+	 */
+	private Set<TrackGraph> assertSameParts(TrackGraph graph, Set<TrackNodeLocation> candidates) {
+		Set<Set<TrackNodeLocation>> expected = floodFill(graph);
+		Set<TrackGraph> split = graph.findDisconnectedGraphs(level, candidates);
+
+		Set<Set<TrackNodeLocation>> actual = new HashSet<>();
+		if (!graph.isEmpty())
+			actual.add(new HashSet<>(graph.getNodes()));
+		for (TrackGraph other : split) {
+			assertTrue(floodFill(other).size() == 1, "A split off graph is not connected");
+			actual.add(new HashSet<>(other.getNodes()));
+		}
+		assertEquals(expected, actual);
+		return split;
+	}
+
+	private static Set<Set<TrackNodeLocation>> floodFill(TrackGraph graph) {
+		Set<Set<TrackNodeLocation>> parts = new HashSet<>();
+		Set<TrackNodeLocation> visited = new HashSet<>();
+		for (TrackNodeLocation start : graph.getNodes()) {
+			if (!visited.add(start))
+				continue;
+			Set<TrackNodeLocation> part = new HashSet<>();
+			ArrayDeque<TrackNode> frontier = new ArrayDeque<>();
+			part.add(start);
+			frontier.add(graph.locateNode(start));
+			while (!frontier.isEmpty())
+				for (TrackNode connected : graph.getConnectionsFrom(frontier.poll())
+					.keySet())
+					if (visited.add(connected.getLocation()) && part.add(connected.getLocation()))
+						frontier.add(connected);
+			parts.add(part);
+		}
+		return parts;
+	}
+
+	private void removeNode(TrackGraph graph, TrackNode node, Set<TrackNodeLocation> candidates) {
+		candidates.add(node.getLocation());
+		for (TrackNode connected : graph.getConnectionsFrom(node)
+			.keySet())
+			candidates.add(connected.getLocation());
+		graph.removeNode(level, node.getLocation());
+	}
+
+	private static void removeEdge(TrackGraph graph, TrackNode node1, TrackNode node2,
+		Set<TrackNodeLocation> candidates) {
+		candidates.add(node1.getLocation());
+		candidates.add(node2.getLocation());
+		graph.disconnectNodes(node1, node2);
+	}
+
+	private static List<TrackNode> grid(TrackGraph graph, int offset, int columns, int rows) {
+		List<TrackNode> nodes = new ArrayList<>();
+		for (int row = 0; row < rows; row++)
+			for (int column = 0; column < columns; column++)
+				nodes.add(node(graph, offset + column * 16, row * 16));
+		for (int i = 0; i < nodes.size(); i++) {
+			if (i % columns + 1 < columns)
+				connect(graph, nodes.get(i), nodes.get(i + 1));
+			if (i + columns < nodes.size())
+				connect(graph, nodes.get(i), nodes.get(i + columns));
+		}
+		return nodes;
+	}
+
+	private static List<TrackNode> ring(TrackGraph graph, int length) {
+		List<TrackNode> nodes = new ArrayList<>();
+		for (int i = 0; i < length; i++)
+			nodes.add(node(graph, i * 16, 0));
+		for (int i = 0; i < length; i++)
+			connect(graph, nodes.get(i), nodes.get((i + 1) % length));
+		return nodes;
+	}
+
+	private static TrackNode node(TrackGraph graph, int x, int z) {
+		TrackNodeLocation location = new TrackNodeLocation(new Vec3(x, 64, z)).in(OVERWORLD);
+		TrackNode node = new TrackNode(location, TrackGraph.nextNodeId(), new Vec3(0, 1, 0));
+		graph.addNode(node);
+		return node;
+	}
+
+	private static void connect(TrackGraph graph, TrackNode node1, TrackNode node2) {
+		graph.putConnection(node1, node2, new TrackEdge(node1, node2, null));
+		graph.putConnection(node2, node1, new TrackEdge(node2, node1, null));
+	}
+
+}
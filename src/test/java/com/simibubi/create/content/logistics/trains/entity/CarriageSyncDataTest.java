@@ -0,0 +1,131 @@
+package com.simibubi.create.content.logistics.trains.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.content.logistics.trains.entity.CarriageSyncData.Baseline;
+import com.simibubi.create.foundation.utility.Couple;
+import com.simibubi.create.foundation.utility.Pair;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * Sends a carriage moving along random edges to a client, once relative to
+ * what the client received before and once in full every time. The client has
+ * to end up with the server state after every update either way.
+ */
+class CarriageSyncDataTest {
+
+	private static final int UPDATES = 2000;
+
+	@Test
+	void relativeUpdatesMatchServerState() {
+		Random random = new Random(7);
+		CarriageSyncData server = new CarriageSyncData();
+		CarriageSyncData client = new CarriageSyncData();
+		Baseline baseline = null;
+		int relativeBytes = 0;
+		int fullBytes = 0;
+
+		for (int update = 0; update < UPDATES; update++) {
+			move(server, random);
+
+			CarriageSyncData received = send(server, baseline);
+			assertTrue(received.resolve(client), "The client could not resolve a relative update");
+			assertSameState(server, received);
+			relativeBytes += server.getSyncSize(baseline);
+			fullBytes += server.getSyncSize(null);
+
+			client = received;
+			baseline = server.baseline();
+		}
+
+		assertTrue(relativeBytes < fullBytes * 3 / 4,
+			"Relative updates are not smaller: " + relativeBytes + " of " + fullBytes + " bytes");
+	}
+
+	@Test
+	void fullUpdatesNeedNoPreviousState() {
+		Random random = new Random(8);
+		CarriageSyncData server = new CarriageSyncData();
+		for (int update = 0; update < 100; update++) {
+			move(server, random);
+			CarriageSyncData received = send(server, null);
+			assertTrue(received.resolve(new CarriageSyncData()));
+			assertSameState(server, received);
+		}
+	}
+
+	@Test
+	void relativeUpdateWithoutPreviousStateIsRefused() {
+		Random random = new Random(9);
+		CarriageSyncData server = new CarriageSyncData();
+		move(server, random);
+		Baseline baseline = server.baseline();
+		move(server, random);
+
+		assertFalse(send(server, baseline).resolve(new CarriageSyncData()));
+	}
+
+	private static CarriageSyncData send(CarriageSyncData data, Baseline baseline) {
+		FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+		data.write(buffer, baseline);
+		assertEquals(data.getSyncSize(baseline), buffer.readableBytes());
+		CarriageSyncData received = new CarriageSyncData();
+		received.read(buffer);
+		assertEquals(0, buffer.readableBytes());
+		return received;
+	}
+
+	/**
+	 * Moves every wheel a bit along its edge, some onto a new edge, and
+	 * occasionally takes the second bogey on or off like a carriage that was
+	 * reassembled. Values are quantized, as {@link CarriageSyncData#update} does.
+	 */
+	private static void move(CarriageSyncData data, Random random) {
+		int wheels = data.wheelLocations.get(0) == null || random.nextInt(50) == 0 ? random.nextBoolean() ? 2 : 4
+			: data.wheelLocations.get(2) == null ? 2 : 4;
+
+		for (int i = 0; i < 4; i++) {
+			if (i >= wheels) {
+				data.wheelLocations.set(i, null);
+				continue;
+			}
+			Pair<Couple<Integer>, Float> previous = data.wheelLocations.get(i);
+			Couple<Integer> edge;
+			float position;
+			if (previous == null || random.nextInt(8) == 0) {
+				edge = i % 2 == 1 && random.nextBoolean() ? data.wheelLocations.get(i - 1)
+					.getFirst() : Couple.create(random.nextInt(5000), random.nextInt(5000));
+				position = random.nextFloat() * 32;
+			} else {
+				edge = previous.getFirst();
+				position = previous.getSecond() + (random.nextFloat() - .5f) * 8;
+			}
+			data.wheelLocations.set(i, Pair.of(edge, quantize(position, CarriageSyncData.POSITION_STEPS)));
+		}
+
+		data.distanceToDestination =
+			quantize(Math.max(0, data.distanceToDestination - random.nextFloat() * 4 + (random.nextInt(20) == 0 ? 500 : 0)),
+				CarriageSyncData.DISTANCE_STEPS);
+		data.leadingCarriage = random.nextInt(10) == 0 != data.leadingCarriage;
+	}
+
+	private static float quantize(double value, int steps) {
+		return CarriageSyncData.fromSteps(CarriageSyncData.toSteps(value, steps), steps);
+	}
+
+	private static void assertSameState(CarriageSyncData expected, CarriageSyncData actual) {
+		assertEquals(expected.leadingCarriage, actual.leadingCarriage);
+		assertEquals(expected.distanceToDestination, actual.distanceToDestination);
+		for (int i = 0; i < 4; i++)
+			assertEquals(expected.wheelLocations.get(i), actual.wheelLocations.get(i), "Wheel " + i);
+	}
+
+}
@@ -0,0 +1,148 @@
+package com.simibubi.create.content.logistics.trains.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.content.logistics.trains.entity.Train.CollisionSegment;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Checks that the {@link TrainCollisionIndex} broadphase finds exactly the
+ * trains the all-pairs loop it replaced would collide with.
+ */
+class TrainCollisionIndexTest {
+
+	static final ResourceKey<Level> OVERWORLD = dimension("overworld");
+	static final ResourceKey<Level> NETHER = dimension("the_nether");
+
+	private Random random;
+	private List<Train> trains;
+	private TrainCollisionIndex index;
+
+	@BeforeEach
+	void setUp() {
+		random = new Random(7);
+		trains = new ArrayList<>();
+		for (int i = 0; i < 300; i++)
+			trains.add(syntheticTrain(random, 256));
+		index = new TrainCollisionIndex();
+		index.rebuild(trains);
+	}
+
+	@Test
+	void findsSameCollisionsAsAllPairs() {
+		int hits = assertQueriesMatch(3000);
+		assertTrue(hits > 0, "No query hit a train, the layout is too sparse to test anything");
+	}
+
+	@Test
+	void followsMovedTrains() {
+		for (int i = 0; i < 100; i++) {
+			Train train = trains.get(random.nextInt(trains.size()));
+			List<CollisionSegment> moved = randomSegments(random, 256);
+			when(train.getCollisionSegments()).thenReturn(moved);
+			index.update(train);
+		}
+		assertQueriesMatch(3000);
+	}
+
+	@Test
+	void forgetsRemovedTrains() {
+		Set<Train> removed = new HashSet<>();
+		for (int i = 0; i < 100; i++) {
+			Train train = trains.remove(random.nextInt(trains.size()));
+			index.remove(train);
+			removed.add(train);
+		}
+		for (int i = 0; i < 1000; i++) {
+			Query query = randomQuery(random, 256);
+			for (Train candidate : index.getCandidates(query.dimension, query.start, query.end))
+				assertFalse(removed.contains(candidate), "Removed train is still a candidate");
+		}
+		assertQueriesMatch(3000);
+	}
+
+	private int assertQueriesMatch(int queries) {
+		int hits = 0;
+		for (int i = 0; i < queries; i++) {
+			Query query = randomQuery(random, 256);
+
+			Set<Train> expected = new HashSet<>();
+			for (Train train : trains)
+				if (Train.findCollision(train.getCollisionSegments(), query.start, query.end, query.dimension) != null)
+					expected.add(train);
+
+			Set<Train> actual = new HashSet<>();
+			for (Train train : index.getCandidates(query.dimension, query.start, query.end))
+				if (Train.findCollision(train.getCollisionSegments(), query.start, query.end, query.dimension) != null)
+					actual.add(train);
+
+			assertEquals(expected, actual, "Query from " + query.start + " to " + query.end);
+			hits += expected.size();
+		}
+		return hits;
+	}
+
+	static Train syntheticTrain(Random random, int area) {
+		Train train = mock(Train.class);
+		List<CollisionSegment> segments = randomSegments(random, area);
+		when(train.getCollisionSegments()).thenReturn(segments);
+		return train;
+	}
+
+	/**
+	 * Lays out one to four carriages of two to six blocks in a line, joined by
+	 * the gaps between them, the way {@link Train#getCollisionSegments} does.
+	 */
+	static List<CollisionSegment> randomSegments(Random random, int area) {
+		ResourceKey<Level> dimension = random.nextInt(4) == 0 ? NETHER : OVERWORLD;
+		double angle = random.nextDouble() * Math.PI * 2;
+		Vec3 direction = new Vec3(Math.cos(angle), 0, Math.sin(angle));
+		Vec3 position = new Vec3(random.nextDouble() * area - area / 2d, 64 + random.nextInt(3) * 4,
+			random.nextDouble() * area - area / 2d);
+
+		List<CollisionSegment> segments = new ArrayList<>();
+		Vec3 lastPoint = null;
+		int carriages = 1 + random.nextInt(4);
+		for (int i = 0; i < carriages; i++) {
+			Vec3 start = position;
+			Vec3 end = start.add(direction.scale(2 + random.nextInt(5)));
+			if (lastPoint != null)
+				segments.add(new CollisionSegment(dimension, lastPoint, start));
+			segments.add(new CollisionSegment(dimension, start, end));
+			lastPoint = end;
+			position = end.add(direction.scale(1.5));
+		}
+		return segments;
+	}
+
+	static Query randomQuery(Random random, int area) {
+		CollisionSegment segment = randomSegments(random, area).get(0);
+		return new Query(segment.dimension(), segment.start(), segment.end());
+	}
+
+	private static ResourceKey<Level> dimension(String name) {
+		return ResourceKey.create(ResourceKey.createRegistryKey(new ResourceLocation("dimension")),
+			new ResourceLocation(name));
+	}
+
+	record Query(ResourceKey<Level> dimension, Vec3 start, Vec3 end) {
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.simibubi.create.content.logistics.trains.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.content.logistics.trains.TrackEdge;
+import com.simibubi.create.content.logistics.trains.TrackGraph;
+import com.simibubi.create.content.logistics.trains.TrackNode;
+import com.simibubi.create.content.logistics.trains.TrackNodeLocation;
+import com.simibubi.create.content.logistics.trains.entity.TravellingPoint.ITrackSelector;
+
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Lets points follow a leader through a graph full of junctions. One point is
+ * kept between steps, so it reuses its target list and follow selector. The
+ * other is created anew each step and gets a fresh selector and listeners, like
+ * every step did before. Both have to take the same route to the same position.
+ */
+class TravellingPointTest {
+
+	static final int LAYERS = 40;
+	static final int WIDTH = 6;
+	private static final int SEGMENT_LENGTH = 16;
+	private static final int STEPS = 2000;
+
+	@Test
+	void reusedPointFollowsLikeFreshPoints() {
+		Random random = new Random(20);
+		TrackNode[][] nodes = new TrackNode[LAYERS][WIDTH];
+		TrackGraph graph = junctionGraph(nodes);
+
+		TravellingPoint leader = pointAt(graph, nodes[0][0], nodes[1][0], 12);
+		TravellingPoint reused = pointAt(graph, nodes[0][0], nodes[1][0], 4);
+		TravellingPoint fresh = pointAt(graph, nodes[0][0], nodes[1][0], 4);
+
+		// The leader picks junction branches at random, so the followers have to search
+		Random branches = new Random(21);
+		ITrackSelector wander = (g, pair) -> pair.getSecond()
+			.get(branches.nextInt(pair.getSecond()
+				.size()));
+
+		int junctionsPassed = 0;
+		for (int step = 0; step < STEPS && leader.edge != null; step++) {
+			double distance = 0.5 + random.nextDouble() * 3;
+			leader.travel(graph, distance, wander);
+			if (leader.blocked)
+				break;
+
+			TrackEdge edgeBefore = reused.edge;
+			ITrackSelector selector = reused.follow(leader);
+			assertSame(selector, reused.follow(leader), "Following the same point should reuse its selector");
+			double movedReused = reused.travel(graph, distance, selector, reused.ignoreEdgePoints(),
+				reused.ignoreTurns(), reused.ignorePortals());
+
+			TravellingPoint copy = new TravellingPoint(fresh.node1, fresh.node2, fresh.edge, fresh.position);
+			double movedFresh = copy.travel(graph, distance, copy.follow(leader, null), (d, c) -> false, (d, c) -> {
+			}, $ -> false);
+			fresh = copy;
+
+			assertEquals(movedFresh, movedReused, "Step " + step + " moved a different distance");
+			assertSame(fresh.node1, reused.node1, "Step " + step + " took a different route");
+			assertSame(fresh.node2, reused.node2, "Step " + step + " took a different route");
+			assertSame(fresh.edge, reused.edge, "Step " + step + " ended on a different edge");
+			assertEquals(fresh.position, reused.position, "Step " + step + " ended at a different position");
+			if (edgeBefore != reused.edge)
+				junctionsPassed++;
+		}
+
+		assertTrue(junctionsPassed > LAYERS / 2, "The followers passed too few junctions to test anything");
+	}
+
+	@Test
+	void straightEdgeLengthMatchesDistance() {
+		TrackNode[][] nodes = new TrackNode[LAYERS][WIDTH];
+		TrackGraph graph = junctionGraph(nodes);
+		for (TrackNode[] layer : nodes)
+			for (TrackNode node : layer)
+				graph.getConnectionsFrom(node)
+					.forEach((other, edge) -> assertEquals(node.getLocation()
+						.getLocation()
+						.distanceTo(other.getLocation()
+							.getLocation()),
+						edge.getLength()));
+	}
+
+	/**
+	 * Each node connects to the node straight ahead and to the one beside that,
+	 * both ways. Branches are shallow enough for points to travel along them.
+	 */
+	static TrackGraph junctionGraph(TrackNode[][] nodes) {
+		TrackGraph graph = new TrackGraph();
+		for (int layer = 0; layer < LAYERS; layer++)
+			for (int lane = 0; lane < WIDTH; lane++) {
+				TrackNodeLocation location = new TrackNodeLocation(new Vec3(layer * SEGMENT_LENGTH, 64, lane * 2))
+					.in(TrainCollisionIndexTest.OVERWORLD);
+				TrackNode node = new TrackNode(location, TrackGraph.nextNodeId(), new Vec3(0, 1, 0));
+				graph.addNode(node);
+				nodes[layer][lane] = node;
+			}
+
+		List<TrackNode[]> connections = new ArrayList<>();
+		for (int layer = 0; layer + 1 < LAYERS; layer++)
+			for (int lane = 0; lane < WIDTH; lane++) {
+				connections.add(new TrackNode[] { nodes[layer][lane], nodes[layer + 1][lane] });
+				if (lane + 1 < WIDTH)
+					connections.add(new TrackNode[] { nodes[layer][lane], nodes[layer + 1][lane + 1] });
+			}
+
+		for (TrackNode[] pair : connections) {
+			graph.putConnection(pair[0], pair[1], new TrackEdge(pair[0], pair[1], null));
+			graph.putConnection(pair[1], pair[0], new TrackEdge(pair[1], pair[0], null));
+		}
+		return graph;
+	}
+
+	private static TravellingPoint pointAt(TrackGraph graph, TrackNode node1, TrackNode node2, double position) {
+		return new TravellingPoint(node1, node2, graph.getConnectionsFrom(node1)
+			.get(node2), position);
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.simibubi.create.content.logistics.trains.management.edgePoint.station;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.content.logistics.trains.management.schedule.destination.DestinationInstruction;
+
+/**
+ * Checks that the {@link StationNameIndex} finds exactly the stations that
+ * matching every station name against the filter regex found, before and after
+ * stations are added, removed or renamed.
+ */
+class StationNameIndexTest {
+
+	private static final String[] WORDS = { "North", "South", "Yard", "Depot", "Platform 1", "Platform 2", "a.b", "x+y",
+		"(loop)", "" };
+
+	private Random random;
+	private List<GlobalStation> stations;
+	private StationNameIndex index;
+	private int version;
+
+	@BeforeEach
+	void setUp() {
+		random = new Random(17);
+		stations = new ArrayList<>();
+		for (int i = 0; i < 500; i++)
+			stations.add(station(randomName()));
+		index = new StationNameIndex();
+		index.rebuild(stations, version);
+	}
+
+	@Test
+	void findsSameStationsAsRegexScan() {
+		int hits = assertFiltersMatch(2000);
+		assertTrue(hits > 0, "No filter matched a station, the names are too sparse to test anything");
+	}
+
+	@Test
+	void followsAddedRemovedAndRenamedStations() {
+		for (int round = 0; round < 20; round++) {
+			for (int i = 0; i < 25; i++) {
+				switch (random.nextInt(3)) {
+				case 0 -> stations.add(station(randomName()));
+				case 1 -> stations.remove(random.nextInt(stations.size()));
+				default -> stations.get(random.nextInt(stations.size())).name = randomName();
+				}
+			}
+			index.rebuild(stations, ++version);
+			assertFiltersMatch(200);
+		}
+	}
+
+	private int assertFiltersMatch(int filters) {
+		int hits = 0;
+		for (int i = 0; i < filters; i++) {
+			String filter = randomFilter();
+			Set<GlobalStation> expected = scan(filter);
+			List<GlobalStation> found = index.find(filter);
+			assertEquals(expected.size(), found.size(), () -> "Filter '" + filter + "' found a different amount");
+			assertEquals(expected, new HashSet<>(found), () -> "Filter '" + filter + "' found other stations");
+			// Wildcard results are cached, asking again has to give the same answer
+			assertEquals(found, index.find(filter));
+			hits += found.size();
+		}
+		return hits;
+	}
+
+	private Set<GlobalStation> scan(String filter) {
+		String regex = DestinationInstruction.getFilterForRegex(filter);
+		Set<GlobalStation> matches = new HashSet<>();
+		for (GlobalStation station : stations)
+			if (station.name.matches(regex))
+				matches.add(station);
+		return matches;
+	}
+
+	private String randomName() {
+		String name = WORDS[random.nextInt(WORDS.length)];
+		if (random.nextBoolean())
+			name += " " + WORDS[random.nextInt(WORDS.length)];
+		return name;
+	}
+
+	private String randomFilter() {
+		String name = random.nextInt(10) == 0 ? "Nowhere" : randomName();
+		int half = name.length() / 2;
+		return switch (random.nextInt(5)) {
+		case 0 -> name;
+		case 1 -> name + "*";
+		case 2 -> "*" + name.substring(half);
+		case 3 -> name.substring(0, half) + "*" + name.substring(Math.min(half + 1, name.length()));
+		default -> random.nextBoolean() ? "*" : "";
+		};
+	}
+
+	private static GlobalStation station(String name) {
+		GlobalStation station = new GlobalStation();
+		station.name = name;
+		return station;
+	}
+
+}
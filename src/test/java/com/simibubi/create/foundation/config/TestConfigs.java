@@ -0,0 +1,28 @@
+package com.simibubi.create.foundation.config;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+
+/**
+ * Loads the server config with its default values into memory, for tests that
+ * run logic reading {@link AllConfigs#SERVER} without a running server.
+ */
+public class TestConfigs {
+
+	public static void loadServerDefaults() {
+		if (AllConfigs.SERVER != null)
+			return;
+		Pair<CServer, ForgeConfigSpec> specPair = new ForgeConfigSpec.Builder().configure(builder -> {
+			CServer config = new CServer();
+			config.registerAll(builder);
+			return config;
+		});
+		specPair.getRight()
+			.setConfig(CommentedConfig.inMemory());
+		AllConfigs.SERVER = specPair.getLeft();
+	}
+
+}
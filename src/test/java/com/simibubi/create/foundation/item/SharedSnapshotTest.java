@@ -0,0 +1,157 @@
+package com.simibubi.create.foundation.item;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.TestBootstrap;
+import com.simibubi.create.foundation.tileEntity.SyncedTileEntity;
+
+import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandler;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * Runs the same random changes through nested transactions that randomly
+ * commit or abort, once against shared snapshots and once against the deep
+ * copies they replaced. Both have to hold the same contents after every
+ * transaction.
+ */
+class SharedSnapshotTest {
+
+	private static final int ROUNDS = 500;
+	private static final int MAX_DEPTH = 4;
+
+	@BeforeAll
+	static void bootstrap() {
+		TestBootstrap.bootstrap();
+	}
+
+	@Test
+	void sharedListMatchesCopiedList() {
+		Random random = new Random(13);
+		SharedList shared = new SharedList();
+		CopiedList copied = new CopiedList();
+
+		for (int round = 0; round < ROUNDS; round++) {
+			runNested(null, 0, random, (transaction, r) -> {
+				int op = r.nextInt(3);
+				int size = copied.list.size();
+				int index = size == 0 ? 0 : r.nextInt(size);
+				String value = "item" + r.nextInt(50);
+				if (op == 1 && size > 0) {
+					shared.updateSnapshots(transaction);
+					shared.list.mutable()
+						.remove(index);
+					copied.updateSnapshots(transaction);
+					copied.list.remove(index);
+				} else if (op == 2 && size > 0) {
+					shared.updateSnapshots(transaction);
+					shared.list.mutable()
+						.set(index, value);
+					copied.updateSnapshots(transaction);
+					copied.list.set(index, value);
+				} else {
+					shared.updateSnapshots(transaction);
+					shared.list.mutable()
+						.add(value);
+					copied.updateSnapshots(transaction);
+					copied.list.add(value);
+				}
+			}, () -> assertEquals(copied.list, shared.list.get()));
+		}
+	}
+
+	@Test
+	void smartInventoryMatchesCopiedSnapshots() {
+		Random random = new Random(17);
+		Item[] items = { Items.STONE, Items.DIRT, Items.APPLE, Items.DIAMOND_SWORD, Items.ENDER_PEARL };
+		SmartInventory shared = new SmartInventory(6, mock(SyncedTileEntity.class));
+		ItemStackHandler copied = new ItemStackHandler(6);
+
+		for (int round = 0; round < ROUNDS; round++) {
+			runNested(null, 0, random, (transaction, r) -> {
+				ItemVariant variant = ItemVariant.of(items[r.nextInt(items.length)]);
+				long amount = 1 + r.nextInt(40);
+				if (r.nextBoolean())
+					assertEquals(copied.insert(variant, amount, transaction), shared.insert(variant, amount, transaction));
+				else
+					assertEquals(copied.extract(variant, amount, transaction),
+						shared.extract(variant, amount, transaction));
+			}, () -> {
+				for (int slot = 0; slot < copied.getSlots(); slot++) {
+					ItemStack expected = copied.getStackInSlot(slot);
+					ItemStack actual = shared.getStackInSlot(slot);
+					assertTrue(ItemStack.matches(expected, actual),
+						"Slot " + slot + " holds " + actual + " instead of " + expected);
+				}
+			});
+		}
+	}
+
+	private static void runNested(TransactionContext parent, int depth, Random random, Change change,
+		Runnable check) {
+		try (Transaction transaction = parent == null ? Transaction.openOuter() : parent.openNested()) {
+			int changes = random.nextInt(4);
+			for (int i = 0; i < changes; i++) {
+				change.apply(transaction, random);
+				if (depth < MAX_DEPTH && random.nextInt(3) == 0)
+					runNested(transaction, depth + 1, random, change, check);
+			}
+			if (random.nextBoolean())
+				transaction.commit();
+		}
+		check.run();
+	}
+
+	@FunctionalInterface
+	private interface Change {
+		void apply(TransactionContext transaction, Random random);
+	}
+
+	private static class SharedList extends SnapshotParticipant<List<String>> {
+
+		private final SnapshotSharedList<String, List<String>> list =
+			new SnapshotSharedList<>(new ArrayList<>(), ArrayList::new);
+
+		@Override
+		protected List<String> createSnapshot() {
+			return list.snapshot();
+		}
+
+		@Override
+		protected void readSnapshot(List<String> snapshot) {
+			list.restore(snapshot);
+		}
+
+	}
+
+	private static class CopiedList extends SnapshotParticipant<List<String>> {
+
+		private List<String> list = new ArrayList<>();
+
+		@Override
+		protected List<String> createSnapshot() {
+			return new ArrayList<>(list);
+		}
+
+		@Override
+		protected void readSnapshot(List<String> snapshot) {
+			list = snapshot;
+		}
+
+	}
+
+}
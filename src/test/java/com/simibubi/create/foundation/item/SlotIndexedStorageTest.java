@@ -0,0 +1,160 @@
+package com.simibubi.create.foundation.item;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.TestBootstrap;
+
+import io.github.fabricators_of_create.porting_lib.transfer.item.ItemStackHandler;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.minecraft.network.chat.TextComponent;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * Runs the same random insertions and extractions through a
+ * {@link SlotIndexedStorage} and through the {@link CombinedStorage} it
+ * replaced, inside nested transactions that randomly commit or abort. Slots are
+ * also changed directly and read from nbt in between. Both have to move the
+ * same amounts and hold the same stacks in every slot afterwards.
+ */
+class SlotIndexedStorageTest {
+
+	private static final int PARTS = 12;
+	private static final int SLOTS = 4;
+	private static final int ROUNDS = 500;
+	private static final int MAX_DEPTH = 3;
+
+	private static ItemVariant[] variants;
+
+	@BeforeAll
+	static void bootstrap() {
+		TestBootstrap.bootstrap();
+		ItemStack named = new ItemStack(Items.STONE);
+		named.setHoverName(new TextComponent("Named"));
+		variants = new ItemVariant[] { ItemVariant.of(Items.STONE), ItemVariant.of(named), ItemVariant.of(Items.DIRT),
+			ItemVariant.of(Items.ENDER_PEARL), ItemVariant.of(Items.DIAMOND_SWORD), ItemVariant.of(Items.APPLE) };
+	}
+
+	@Test
+	void indexedPartsMatchCombinedStorage() {
+		assertMatchesCombinedStorage(new Random(25), -1);
+	}
+
+	@Test
+	void mixedPartsMatchCombinedStorage() {
+		// One part is a plain handler that the index cannot see into
+		assertMatchesCombinedStorage(new Random(26), PARTS / 2);
+	}
+
+	private static void assertMatchesCombinedStorage(Random random, int plainPart) {
+		List<ItemStackHandler> indexedParts = new ArrayList<>();
+		List<ItemStackHandler> plainParts = new ArrayList<>();
+		for (int i = 0; i < PARTS; i++) {
+			indexedParts.add(i == plainPart ? new ItemStackHandler(SLOTS) : new IndexedItemStackHandler(SLOTS));
+			plainParts.add(new ItemStackHandler(SLOTS));
+		}
+		SlotIndexedStorage<ItemStackHandler> indexed = new SlotIndexedStorage<>(indexedParts);
+		CombinedStorage<ItemVariant, ItemStackHandler> combined = new CombinedStorage<>(plainParts);
+
+		// Start out with some parts full, some empty and some mixed
+		for (int i = 0; i < PARTS * SLOTS / 2; i++)
+			setRandomSlot(random, indexedParts, plainParts);
+
+		long moved = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			long[] movedInRound = { 0 };
+			runNested(null, 0, random, transaction -> {
+				ItemVariant variant = variants[random.nextInt(variants.length)];
+				long amount = 1 + random.nextInt(100);
+				long expected;
+				long actual;
+				if (random.nextBoolean()) {
+					expected = combined.insert(variant, amount, transaction);
+					actual = indexed.insert(variant, amount, transaction);
+				} else {
+					expected = combined.extract(variant, amount, transaction);
+					actual = indexed.extract(variant, amount, transaction);
+				}
+				assertEquals(expected, actual, "Moved a different amount of " + variant);
+				movedInRound[0] += actual;
+			}, () -> assertSameSlots(indexedParts, plainParts));
+			moved += movedInRound[0];
+
+			switch (random.nextInt(8)) {
+			case 0 -> setRandomSlot(random, indexedParts, plainParts);
+			case 1 -> {
+				int part = random.nextInt(PARTS);
+				indexedParts.get(part)
+					.deserializeNBT(plainParts.get(part)
+						.serializeNBT());
+			}
+			default -> {
+			}
+			}
+			assertSameSlots(indexedParts, plainParts);
+		}
+		assertTrue(moved > 0, "Nothing was moved, the storages are too full or too empty to test anything");
+	}
+
+	private static void setRandomSlot(Random random, List<ItemStackHandler> indexedParts,
+		List<ItemStackHandler> plainParts) {
+		int part = random.nextInt(PARTS);
+		int slot = random.nextInt(SLOTS);
+		ItemStack stack = ItemStack.EMPTY;
+		if (random.nextInt(4) != 0) {
+			ItemVariant variant = variants[random.nextInt(variants.length)];
+			stack = variant.toStack(1 + random.nextInt(variant.getItem()
+				.getMaxStackSize()));
+		}
+		indexedParts.get(part)
+			.setStackInSlot(slot, stack.copy());
+		plainParts.get(part)
+			.setStackInSlot(slot, stack);
+	}
+
+	private static void assertSameSlots(List<ItemStackHandler> indexedParts, List<ItemStackHandler> plainParts) {
+		for (int part = 0; part < PARTS; part++) {
+			for (int slot = 0; slot < SLOTS; slot++) {
+				ItemStack expected = plainParts.get(part)
+					.getStackInSlot(slot);
+				ItemStack actual = indexedParts.get(part)
+					.getStackInSlot(slot);
+				assertTrue(ItemStack.matches(expected, actual),
+					"Part " + part + " slot " + slot + " holds " + actual + " instead of " + expected);
+			}
+		}
+	}
+
+	private static void runNested(TransactionContext parent, int depth, Random random, Change change,
+		Runnable check) {
+		try (Transaction transaction = parent == null ? Transaction.openOuter() : parent.openNested()) {
+			int changes = random.nextInt(4);
+			for (int i = 0; i < changes; i++) {
+				change.apply(transaction);
+				if (depth < MAX_DEPTH && random.nextInt(3) == 0)
+					runNested(transaction, depth + 1, random, change, check);
+			}
+			if (random.nextBoolean())
+				transaction.commit();
+		}
+		check.run();
+	}
+
+	@FunctionalInterface
+	private interface Change {
+		void apply(TransactionContext transaction);
+	}
+
+}
@@ -0,0 +1,193 @@
+package com.simibubi.create.foundation.utility.recipe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.simibubi.create.TestBootstrap;
+
+import net.minecraft.core.NonNullList;
+import net.minecraft.network.chat.TextComponent;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.Container;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.ShapedRecipe;
+import net.minecraft.world.item.crafting.ShapelessRecipe;
+import net.minecraft.world.item.crafting.SmeltingRecipe;
+import net.minecraft.world.item.crafting.StonecutterRecipe;
+
+/**
+ * Looks up random containers through a {@link RecipeIndex} and through the
+ * linear scan of the recipe manager it replaced, which returns the first recipe
+ * in order whose matches passes. Both have to find the same recipe, also when
+ * single slot results come from the memo.
+ */
+class RecipeIndexTest {
+
+	private static Item[] items;
+
+	@BeforeAll
+	static void bootstrap() {
+		TestBootstrap.bootstrap();
+		items = new Item[] { Items.STONE, Items.DIRT, Items.COBBLESTONE, Items.OAK_PLANKS, Items.STICK, Items.IRON_INGOT,
+			Items.GOLD_INGOT, Items.DIAMOND, Items.APPLE, Items.WHEAT, Items.SAND, Items.GRAVEL };
+	}
+
+	@Test
+	void craftingGridFindsSameRecipeAsLinearScan() {
+		Random random = new Random(21);
+		List<Recipe<?>> recipes = new ArrayList<>();
+		for (int i = 0; i < 300; i++)
+			recipes.add(random.nextBoolean() ? shaped(random, i) : shapeless(random, i));
+		RecipeIndex index = new RecipeIndex(recipes);
+
+		int hits = 0;
+		for (int i = 0; i < 3000; i++) {
+			CraftingContainer grid = new CraftingContainer(mock(AbstractContainerMenu.class), 3, 3);
+			if (random.nextBoolean())
+				fillRandomly(random, grid);
+			else
+				fillFrom(random, grid, recipes.get(random.nextInt(recipes.size())));
+			Optional<Recipe<?>> expected = scan(recipes, grid);
+			assertEquals(expected, find(index, recipes, grid), "Grid " + i + " found another recipe");
+			if (expected.isPresent())
+				hits++;
+		}
+		assertTrue(hits > 100, "Too few grids matched a recipe to test anything");
+	}
+
+	@Test
+	void singleSlotFindsSameRecipeAsLinearScan() {
+		Random random = new Random(22);
+		List<Recipe<?>> recipes = new ArrayList<>();
+		for (int i = 0; i < 40; i++)
+			recipes.add(random.nextBoolean() ? smelting(random, i) : stonecutting(random, i));
+		RecipeIndex index = new RecipeIndex(recipes);
+		assertSingleSlotLookupsMatch(random, recipes, index);
+	}
+
+	@Test
+	void singleSlotWithUnindexedRecipeFindsSameRecipeAsLinearScan() {
+		Random random = new Random(23);
+		List<Recipe<?>> recipes = new ArrayList<>();
+		for (int i = 0; i < 40; i++)
+			recipes.add(random.nextBoolean() ? smelting(random, i) : stonecutting(random, i));
+
+		// Looks at the count, so a result must never be remembered per item
+		@SuppressWarnings("unchecked")
+		Recipe<Container> byCount = mock(Recipe.class);
+		when(byCount.matches(any(), any())).thenAnswer(invocation -> invocation.<Container>getArgument(0)
+			.getItem(0)
+			.getCount() > 32);
+		recipes.add(random.nextInt(recipes.size()), byCount);
+
+		RecipeIndex index = new RecipeIndex(recipes);
+		assertSingleSlotLookupsMatch(random, recipes, index);
+	}
+
+	private static void assertSingleSlotLookupsMatch(Random random, List<Recipe<?>> recipes, RecipeIndex index) {
+		int hits = 0;
+		for (int i = 0; i < 3000; i++) {
+			ItemStack stack = new ItemStack(items[random.nextInt(items.length)], 1 + random.nextInt(64));
+			// Named stacks are distinct memo entries
+			if (random.nextInt(4) == 0)
+				stack.setHoverName(new TextComponent("Stack " + random.nextInt(3)));
+			SimpleContainer container = new SimpleContainer(stack);
+			Optional<Recipe<?>> expected = scan(recipes, container);
+			assertEquals(expected, find(index, recipes, container), "Stack " + stack + " found another recipe");
+			if (expected.isPresent())
+				hits++;
+		}
+		assertTrue(hits > 100, "Too few stacks matched a recipe to test anything");
+	}
+
+	// Same as RecipeFinder.find, empty containers still go through the recipe manager
+	private static Optional<Recipe<?>> find(RecipeIndex index, List<Recipe<?>> recipes, Container container) {
+		for (int slot = 0; slot < container.getContainerSize(); slot++)
+			if (!container.getItem(slot)
+				.isEmpty())
+				return index.find(container.getItem(slot), container, null);
+		return scan(recipes, container);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Optional<Recipe<?>> scan(List<Recipe<?>> recipes, Container container) {
+		for (Recipe<?> recipe : recipes)
+			if (((Recipe<Container>) recipe).matches(container, null))
+				return Optional.of(recipe);
+		return Optional.empty();
+	}
+
+	private static void fillRandomly(Random random, CraftingContainer grid) {
+		for (int slot = 0; slot < grid.getContainerSize(); slot++)
+			if (random.nextInt(3) == 0)
+				grid.setItem(slot, new ItemStack(items[random.nextInt(items.length)]));
+	}
+
+	private static void fillFrom(Random random, CraftingContainer grid, Recipe<?> recipe) {
+		List<Ingredient> ingredients = recipe.getIngredients();
+		int width = recipe instanceof ShapedRecipe shaped ? shaped.getWidth() : 3;
+		for (int i = 0; i < ingredients.size(); i++) {
+			ItemStack[] accepted = ingredients.get(i)
+				.getItems();
+			if (accepted.length == 0)
+				continue;
+			grid.setItem(i / width * 3 + i % width, accepted[random.nextInt(accepted.length)].copy());
+		}
+	}
+
+	private static ShapedRecipe shaped(Random random, int id) {
+		int width = 1 + random.nextInt(3);
+		int height = 1 + random.nextInt(3);
+		NonNullList<Ingredient> ingredients = NonNullList.withSize(width * height, Ingredient.EMPTY);
+		for (int i = 0; i < ingredients.size(); i++)
+			if (random.nextInt(4) != 0)
+				ingredients.set(i, ingredient(random));
+		return new ShapedRecipe(id("shaped", id), "", width, height, ingredients, new ItemStack(Items.STONE));
+	}
+
+	private static ShapelessRecipe shapeless(Random random, int id) {
+		NonNullList<Ingredient> ingredients = NonNullList.create();
+		int count = 1 + random.nextInt(4);
+		for (int i = 0; i < count; i++)
+			ingredients.add(ingredient(random));
+		return new ShapelessRecipe(id("shapeless", id), "", new ItemStack(Items.STONE), ingredients);
+	}
+
+	private static SmeltingRecipe smelting(Random random, int id) {
+		return new SmeltingRecipe(id("smelting", id), "", ingredient(random), new ItemStack(Items.STONE), 0, 200);
+	}
+
+	private static StonecutterRecipe stonecutting(Random random, int id) {
+		return new StonecutterRecipe(id("stonecutting", id), "", ingredient(random), new ItemStack(Items.STONE));
+	}
+
+	private static Ingredient ingredient(Random random) {
+		Item[] accepted = new Item[1 + random.nextInt(2)];
+		for (int i = 0; i < accepted.length; i++)
+			accepted[i] = items[random.nextInt(items.length)];
+		return Ingredient.of(accepted);
+	}
+
+	private static ResourceLocation id(String type, int id) {
+		return new ResourceLocation("test", type + "_" + id);
+	}
+
+}